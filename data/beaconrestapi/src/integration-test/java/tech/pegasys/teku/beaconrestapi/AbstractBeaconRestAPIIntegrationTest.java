@@ -105,7 +105,12 @@ public abstract class AbstractBeaconRestAPIIntegrationTest {
             voluntaryExitPool);
 
     beaconRestApi =
-        new BeaconRestApi(dataProvider, restApiConfig, eventChannels, SyncAsyncRunner.SYNC_RUNNER);
+        new BeaconRestApi(
+            dataProvider,
+            restApiConfig,
+            eventChannels,
+            SyncAsyncRunner.SYNC_RUNNER,
+            SyncAsyncRunner.SYNC_RUNNER);
     beaconRestApi.start();
     client = new OkHttpClient();
   }
@@ -160,7 +160,12 @@ public abstract class AbstractDataBackedRestAPIIntegrationTest {
             proposerSlashingPool,
             voluntaryExitPool);
     beaconRestApi =
-        new BeaconRestApi(dataProvider, config, eventChannels, SyncAsyncRunner.SYNC_RUNNER);
+        new BeaconRestApi(
+            dataProvider,
+            config,
+            eventChannels,
+            SyncAsyncRunner.SYNC_RUNNER,
+            SyncAsyncRunner.SYNC_RUNNER);
     beaconRestApi.start();
     client = new OkHttpClient.Builder().readTimeout(0, TimeUnit.SECONDS).build();
   }
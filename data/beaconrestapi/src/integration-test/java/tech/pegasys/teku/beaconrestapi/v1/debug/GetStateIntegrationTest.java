@@ -57,10 +57,10 @@ public class GetStateIntegrationTest extends AbstractDataBackedRestAPIIntegratio
   public void shouldGetStateAsOctetStream() throws IOException {
     final Response response = get("head", HEADER_ACCEPT_OCTET);
     assertThat(response.code()).isEqualTo(SC_OK);
+    final byte[] body = response.body().bytes();
+    assertThat(response.header("Content-Length")).isEqualTo(Integer.toString(body.length));
     final BeaconState state =
-        spec.getGenesisSchemaDefinitions()
-            .getBeaconStateSchema()
-            .sszDeserialize(Bytes.wrap(response.body().bytes()));
+        spec.getGenesisSchemaDefinitions().getBeaconStateSchema().sszDeserialize(Bytes.wrap(body));
     assertThat(state).isNotNull();
   }
 
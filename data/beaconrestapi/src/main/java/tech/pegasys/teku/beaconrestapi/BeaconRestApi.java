@@ -99,7 +99,8 @@ public class BeaconRestApi {
       final DataProvider dataProvider,
       final BeaconRestApiConfig configuration,
       final EventChannels eventChannels,
-      final AsyncRunner asyncRunner) {
+      final AsyncRunner asyncRunner,
+      final AsyncRunner sszResponseAsyncRunner) {
     if (app.config != null) {
       // the beaconRestApi test mocks the app object, and will skip this
       app.config.server(
@@ -120,10 +121,10 @@ public class BeaconRestApi {
     addV1NodeHandlers(dataProvider);
     addV1ValidatorHandlers(dataProvider);
     addV1ConfigHandlers(dataProvider, configuration.getEth1DepositContractAddress());
-    addV1DebugHandlers(dataProvider);
+    addV1DebugHandlers(dataProvider, sszResponseAsyncRunner);
 
     // Endpoints from before standard API
-    addTekuSpecificHandlers(dataProvider);
+    addTekuSpecificHandlers(dataProvider, sszResponseAsyncRunner);
   }
 
   private void addV1ConfigHandlers(
@@ -135,11 +136,13 @@ public class BeaconRestApi {
     app.get(GetSpec.ROUTE, new GetSpec(dataProvider, jsonProvider));
   }
 
-  private void addV1DebugHandlers(final DataProvider dataProvider) {
+  private void addV1DebugHandlers(
+      final DataProvider dataProvider, final AsyncRunner sszResponseAsyncRunner) {
     app.get(GetChainHeads.ROUTE, new GetChainHeads(dataProvider, jsonProvider));
     app.get(
         tech.pegasys.teku.beaconrestapi.handlers.v1.debug.GetState.ROUTE,
-        new tech.pegasys.teku.beaconrestapi.handlers.v1.debug.GetState(dataProvider, jsonProvider));
+        new tech.pegasys.teku.beaconrestapi.handlers.v1.debug.GetState(
+            dataProvider, jsonProvider, sszResponseAsyncRunner));
   }
 
   private void addHostAllowlistHandler(final BeaconRestApiConfig configuration) {
@@ -190,7 +193,8 @@ public class BeaconRestApi {
       final DataProvider dataProvider,
       final BeaconRestApiConfig configuration,
       final EventChannels eventChannels,
-      final AsyncRunner asyncRunner) {
+      final AsyncRunner asyncRunner,
+      final AsyncRunner sszResponseAsyncRunner) {
     this.app =
         Javalin.create(
             config -> {
@@ -209,7 +213,7 @@ public class BeaconRestApi {
                 }
               }
             });
-    initialize(dataProvider, configuration, eventChannels, asyncRunner);
+    initialize(dataProvider, configuration, eventChannels, asyncRunner, sszResponseAsyncRunner);
   }
 
   BeaconRestApi(
@@ -217,9 +221,10 @@ public class BeaconRestApi {
       final BeaconRestApiConfig configuration,
       final EventChannels eventChannels,
       final AsyncRunner asyncRunner,
+      final AsyncRunner sszResponseAsyncRunner,
       final Javalin app) {
     this.app = app;
-    initialize(dataProvider, configuration, eventChannels, asyncRunner);
+    initialize(dataProvider, configuration, eventChannels, asyncRunner, sszResponseAsyncRunner);
   }
 
   public void start() {
@@ -264,10 +269,13 @@ public class BeaconRestApi {
     return options;
   }
 
-  private void addTekuSpecificHandlers(final DataProvider provider) {
+  private void addTekuSpecificHandlers(
+      final DataProvider provider, final AsyncRunner sszResponseAsyncRunner) {
     app.put(PutLogLevel.ROUTE, new PutLogLevel(jsonProvider));
-    app.get(GetSszState.ROUTE, new GetSszState(provider, jsonProvider));
-    app.get(GetStateByBlockRoot.ROUTE, new GetStateByBlockRoot(provider, jsonProvider));
+    app.get(GetSszState.ROUTE, new GetSszState(provider, jsonProvider, sszResponseAsyncRunner));
+    app.get(
+        GetStateByBlockRoot.ROUTE,
+        new GetStateByBlockRoot(provider, jsonProvider, sszResponseAsyncRunner));
     app.get(Liveness.ROUTE, new Liveness());
   }
 
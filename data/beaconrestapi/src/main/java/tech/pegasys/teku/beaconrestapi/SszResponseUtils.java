@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.beaconrestapi;
+
+import io.javalin.http.Context;
+import java.io.OutputStream;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.ssz.backing.SszData;
+
+public class SszResponseUtils {
+
+  /**
+   * Writes the SSZ serialization of the data directly to the response stream in chunks while
+   * walking its backing tree, so large objects such as states are never fully serialized in memory.
+   * The content length is calculated upfront from the backing tree.
+   *
+   * <p>Writing blocks for as long as the client takes to read the response, so it is done on the
+   * given runner rather than on the thread which loaded the data, typically a storage thread. The
+   * returned future completes with a {@code null} result for Javalin once the response is written.
+   */
+  public static SafeFuture<String> writeSszResponse(
+      final Context ctx, final SszData data, final AsyncRunner asyncRunner) {
+    return asyncRunner
+        .runAsync(
+            () -> {
+              ctx.res.setContentLength(data.getSszSize());
+              final OutputStream out = ctx.res.getOutputStream();
+              data.sszSerialize(out);
+            })
+        .thenApply(__ -> null);
+  }
+}
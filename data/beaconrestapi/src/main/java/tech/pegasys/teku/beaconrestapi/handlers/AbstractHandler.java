@@ -13,13 +13,16 @@
 
 package tech.pegasys.teku.beaconrestapi.handlers;
 
+import static tech.pegasys.teku.beaconrestapi.SszResponseUtils.writeSszResponse;
+
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
-import java.io.ByteArrayInputStream;
 import java.util.Optional;
 import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
+import tech.pegasys.teku.ssz.backing.SszData;
 
 public abstract class AbstractHandler implements Handler {
   protected final JsonProvider jsonProvider;
@@ -99,22 +102,28 @@ public abstract class AbstractHandler implements Handler {
       SafeFuture<Optional<T>> future,
       ResultSszProcessor<T> resultProcessor,
       SszFilenameFromResult<T> resultFilename,
-      final int missingStatus) {
+      final int missingStatus,
+      final AsyncRunner asyncRunner) {
     ctx.result(
-        future.thenApplyChecked(
-            result -> {
-              if (result.isPresent()) {
-                ctx.contentType("application/octet-stream");
-                ctx.header(
-                    "Content-Disposition",
-                    "filename=\"" + resultFilename.getFilename(result.get()) + "\"");
-                return resultProcessor.process(ctx, result.get()).orElse(null);
-              } else {
-                ctx.status(missingStatus);
-                ctx.result(BadRequest.serialize(jsonProvider, missingStatus, "Not found"));
-                return null;
-              }
-            }));
+        future
+            .thenApplyChecked(
+                result -> {
+                  if (result.isPresent()) {
+                    ctx.contentType("application/octet-stream");
+                    ctx.header(
+                        "Content-Disposition",
+                        "filename=\"" + resultFilename.getFilename(result.get()) + "\"");
+                    return resultProcessor.process(ctx, result.get());
+                  } else {
+                    ctx.status(missingStatus);
+                    ctx.result(BadRequest.serialize(jsonProvider, missingStatus, "Not found"));
+                    return Optional.<SszData>empty();
+                  }
+                })
+            .thenCompose(
+                data ->
+                    data.map(sszData -> writeSszResponse(ctx, sszData, asyncRunner))
+                        .orElseGet(() -> SafeFuture.completedFuture(null))));
   }
 
   @FunctionalInterface
@@ -125,8 +134,8 @@ public abstract class AbstractHandler implements Handler {
 
   @FunctionalInterface
   public interface ResultSszProcessor<T> {
-    // Process result, returning an optional Ssz byte stream response
-    Optional<ByteArrayInputStream> process(Context context, T result) throws Exception;
+    // Process result, returning optional data to send as Ssz response
+    Optional<SszData> process(Context context, T result) throws Exception;
   }
 
   @FunctionalInterface
@@ -23,6 +23,7 @@ import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_OK;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_SERVICE_UNAVAILABLE;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.SERVICE_UNAVAILABLE;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.TAG_TEKU;
+import static tech.pegasys.teku.beaconrestapi.SszResponseUtils.writeSszResponse;
 import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_NOT_FOUND;
 
 import io.javalin.core.util.Header;
@@ -40,6 +41,7 @@ import tech.pegasys.teku.api.ChainDataProvider;
 import tech.pegasys.teku.api.DataProvider;
 import tech.pegasys.teku.api.response.StateSszResponse;
 import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
 
@@ -47,15 +49,22 @@ public class GetStateByBlockRoot implements Handler {
   public static final String ROUTE = "/teku/v1/beacon/blocks/:block_id/state";
   private final ChainDataProvider chainDataProvider;
   private final JsonProvider jsonProvider;
+  private final AsyncRunner asyncRunner;
 
-  public GetStateByBlockRoot(final DataProvider dataProvider, final JsonProvider jsonProvider) {
-    this(dataProvider.getChainDataProvider(), jsonProvider);
+  public GetStateByBlockRoot(
+      final DataProvider dataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
+    this(dataProvider.getChainDataProvider(), jsonProvider, asyncRunner);
   }
 
   public GetStateByBlockRoot(
-      final ChainDataProvider chainDataProvider, final JsonProvider jsonProvider) {
+      final ChainDataProvider chainDataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
     this.jsonProvider = jsonProvider;
     this.chainDataProvider = chainDataProvider;
+    this.asyncRunner = asyncRunner;
   }
 
   @OpenApi(
@@ -83,21 +92,22 @@ public class GetStateByBlockRoot implements Handler {
     SafeFuture<Optional<StateSszResponse>> future =
         chainDataProvider.getBeaconStateSszByBlockRoot(pathParamMap.get(PARAM_BLOCK_ID));
     ctx.result(
-        future.thenApplyChecked(
+        future.thenCompose(
             result -> {
               if (result.isEmpty()) {
                 ctx.status(SC_NOT_FOUND);
-                return BadRequest.serialize(
-                    jsonProvider,
-                    SC_NOT_FOUND,
-                    "State by block root not found: " + pathParamMap.get(PARAM_BLOCK_ID));
+                return SafeFuture.completedFuture(
+                    BadRequest.serialize(
+                        jsonProvider,
+                        SC_NOT_FOUND,
+                        "State by block root not found: " + pathParamMap.get(PARAM_BLOCK_ID)));
               }
               final StateSszResponse stateSszResponse = result.get();
               ctx.header(
                   "Content-Disposition",
                   "filename=\"" + stateSszResponse.stateAbbreviatedHash + ".ssz\"");
               ctx.contentType("application/octet-stream");
-              return stateSszResponse.byteStream;
+              return writeSszResponse(ctx, stateSszResponse.state, asyncRunner);
             }));
   }
 }
@@ -36,7 +36,6 @@ import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
-import java.io.ByteArrayInputStream;
 import java.util.Map;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -47,20 +46,30 @@ import tech.pegasys.teku.api.response.v1.debug.GetStateResponse;
 import tech.pegasys.teku.api.schema.BeaconState;
 import tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler;
 import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
+import tech.pegasys.teku.ssz.backing.SszData;
 
 public class GetState extends AbstractHandler implements Handler {
   public static final String ROUTE = "/eth/v1/debug/beacon/states/:state_id";
   private final ChainDataProvider chainDataProvider;
+  private final AsyncRunner asyncRunner;
 
-  public GetState(final DataProvider dataProvider, final JsonProvider jsonProvider) {
-    this(dataProvider.getChainDataProvider(), jsonProvider);
+  public GetState(
+      final DataProvider dataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
+    this(dataProvider.getChainDataProvider(), jsonProvider, asyncRunner);
   }
 
-  public GetState(final ChainDataProvider chainDataProvider, final JsonProvider jsonProvider) {
+  public GetState(
+      final ChainDataProvider chainDataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
     super(jsonProvider);
     this.chainDataProvider = chainDataProvider;
+    this.asyncRunner = asyncRunner;
   }
 
   @OpenApi(
@@ -96,7 +105,7 @@ public class GetState extends AbstractHandler implements Handler {
       final SafeFuture<Optional<StateSszResponse>> future =
           chainDataProvider.getBeaconStateSsz(pathParamMap.get(PARAM_STATE_ID));
       handleOptionalSszResult(
-          ctx, future, this::handleSszResult, this::resultFilename, SC_NOT_FOUND);
+          ctx, future, this::handleSszResult, this::resultFilename, SC_NOT_FOUND, asyncRunner);
     } else {
       ctx.status(SC_BAD_REQUEST);
       ctx.result(
@@ -109,9 +118,9 @@ public class GetState extends AbstractHandler implements Handler {
     return response.stateAbbreviatedHash + ".ssz";
   }
 
-  private Optional<ByteArrayInputStream> handleSszResult(
+  private Optional<SszData> handleSszResult(
       final Context context, final StateSszResponse response) {
-    return Optional.of(response.byteStream);
+    return Optional.of(response.state);
   }
 
   private Optional<String> handleJsonResult(Context ctx, final BeaconState response)
@@ -88,6 +88,7 @@ class BeaconRestApiTest {
         beaconRestApiConfig,
         eventChannels,
         new StubAsyncRunner(),
+        new StubAsyncRunner(),
         app);
   }
 
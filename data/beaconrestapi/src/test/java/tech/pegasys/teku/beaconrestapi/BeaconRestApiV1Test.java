@@ -128,6 +128,7 @@ public class BeaconRestApiV1Test {
         beaconRestApiConfig,
         eventChannels,
         new StubAsyncRunner(),
+        new StubAsyncRunner(),
         app);
   }
 
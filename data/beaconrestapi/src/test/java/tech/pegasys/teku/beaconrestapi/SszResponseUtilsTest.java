@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.beaconrestapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.javalin.http.Context;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class SszResponseUtilsTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final HttpServletRequest req = mock(HttpServletRequest.class);
+  private final HttpServletResponse res = mock(HttpServletResponse.class);
+  private final Context ctx = new Context(req, res, Collections.emptyMap());
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    when(res.getOutputStream())
+        .thenReturn(
+            new ServletOutputStream() {
+              @Override
+              public void write(final int b) {
+                written.write(b);
+              }
+
+              @Override
+              public boolean isReady() {
+                return true;
+              }
+
+              @Override
+              public void setWriteListener(final WriteListener writeListener) {}
+            });
+  }
+
+  @Test
+  void writeSszResponse_shouldWriteOnAsyncRunner() throws IOException {
+    final BeaconState state = dataStructureUtil.randomBeaconState();
+
+    final SafeFuture<String> result = SszResponseUtils.writeSszResponse(ctx, state, asyncRunner);
+
+    assertThat(result).isNotDone();
+    verify(res, never()).getOutputStream();
+
+    asyncRunner.executeQueuedActions();
+
+    assertThat(result).isCompletedWithValue(null);
+    verify(res).setContentLength(state.getSszSize());
+    assertThat(Bytes.wrap(written.toByteArray())).isEqualTo(state.sszSerialize());
+  }
+}
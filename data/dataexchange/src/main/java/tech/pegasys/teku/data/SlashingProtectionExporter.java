@@ -16,18 +16,16 @@ package tech.pegasys.teku.data;
 import static tech.pegasys.teku.data.slashinginterchange.Metadata.INTERCHANGE_VERSION;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.teku.api.schema.BLSPubKey;
-import tech.pegasys.teku.api.schema.PublicKeyException;
+import tech.pegasys.teku.data.signingrecord.SigningRecordLog;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
 import tech.pegasys.teku.data.slashinginterchange.Metadata;
 import tech.pegasys.teku.data.slashinginterchange.SigningHistory;
@@ -48,42 +46,30 @@ public class SlashingProtectionExporter {
   }
 
   public void initialise(final Path slashProtectionPath) {
-    File slashingProtectionRecords = slashProtectionPath.toFile();
-    Arrays.stream(slashingProtectionRecords.listFiles())
-        .filter(file -> file.isFile() && file.getName().endsWith(".yml"))
-        .forEach(this::readSlashProtectionFile);
-  }
-
-  private void readSlashProtectionFile(final File file) {
     try {
-      Optional<ValidatorSigningRecord> maybeRecord =
-          syncDataAccessor.read(file.toPath()).map(ValidatorSigningRecord::fromBytes);
-      if (maybeRecord.isEmpty()) {
-        log.exit(1, "Failed to read from file " + file.getName());
-      }
-      ValidatorSigningRecord validatorSigningRecord = maybeRecord.get();
-
-      if (genesisValidatorsRoot == null
-          && validatorSigningRecord.getGenesisValidatorsRoot() != null) {
-        this.genesisValidatorsRoot = validatorSigningRecord.getGenesisValidatorsRoot();
-      } else if (validatorSigningRecord.getGenesisValidatorsRoot() != null
-          && !genesisValidatorsRoot.equals(validatorSigningRecord.getGenesisValidatorsRoot())) {
-        log.exit(
-            1,
-            "The genesisValidatorsRoot of "
-                + file.getName()
-                + " does not match the expected "
-                + genesisValidatorsRoot.toHexString());
-      }
-      final String pubkey = file.getName().substring(0, file.getName().length() - ".yml".length());
-      log.display("Exporting " + pubkey);
-      signingHistoryList.add(
-          new SigningHistory(BLSPubKey.fromHexString(pubkey), validatorSigningRecord));
+      SigningRecordLog.readRecords(slashProtectionPath).forEach(this::addSigningRecord);
     } catch (IOException e) {
-      log.exit(1, "Failed to read from file " + file.toString(), e);
-    } catch (PublicKeyException e) {
-      log.exit(1, "Public key in file " + file.getName() + " does not appear valid.");
+      log.exit(1, "Failed to read slashing protection records from " + slashProtectionPath, e);
+    }
+  }
+
+  private void addSigningRecord(
+      final Bytes48 validator, final ValidatorSigningRecord validatorSigningRecord) {
+    final String pubkey = validator.toUnprefixedHexString();
+    if (genesisValidatorsRoot == null
+        && validatorSigningRecord.getGenesisValidatorsRoot() != null) {
+      this.genesisValidatorsRoot = validatorSigningRecord.getGenesisValidatorsRoot();
+    } else if (validatorSigningRecord.getGenesisValidatorsRoot() != null
+        && !genesisValidatorsRoot.equals(validatorSigningRecord.getGenesisValidatorsRoot())) {
+      log.exit(
+          1,
+          "The genesisValidatorsRoot of validator "
+              + pubkey
+              + " does not match the expected "
+              + genesisValidatorsRoot.toHexString());
     }
+    log.display("Exporting " + pubkey);
+    signingHistoryList.add(new SigningHistory(new BLSPubKey(validator), validatorSigningRecord));
   }
 
   public void saveToFile(final String toFileName) throws IOException {
@@ -27,23 +27,22 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.data.signingrecord.SigningRecordLog;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
 import tech.pegasys.teku.data.slashinginterchange.Metadata;
 import tech.pegasys.teku.data.slashinginterchange.SignedAttestation;
 import tech.pegasys.teku.data.slashinginterchange.SignedBlock;
 import tech.pegasys.teku.data.slashinginterchange.SigningHistory;
-import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
 import tech.pegasys.teku.infrastructure.logging.SubCommandLogger;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.provider.JsonProvider;
 
 public class SlashingProtectionImporter {
   private final JsonProvider jsonProvider = new JsonProvider();
-  private Path slashingProtectionPath;
   private List<SigningHistory> data = new ArrayList<>();
   private Metadata metadata;
   private final SubCommandLogger log;
-  private final SyncDataAccessor syncDataAccessor = new SyncDataAccessor();
 
   public SlashingProtectionImporter(final SubCommandLogger log) {
     this.log = log;
@@ -117,24 +116,20 @@ public class SlashingProtectionImporter {
   }
 
   public void updateLocalRecords(final Path slashingProtectionPath) {
-    this.slashingProtectionPath = slashingProtectionPath;
-    data.forEach(this::updateLocalRecord);
+    try (SigningRecordLog signingRecordLog = SigningRecordLog.open(slashingProtectionPath)) {
+      data.forEach(signingHistory -> updateLocalRecord(signingRecordLog, signingHistory));
+      signingRecordLog.sync();
+    } catch (IOException e) {
+      log.exit(1, "Failed to update slashing protection records in " + slashingProtectionPath, e);
+    }
     log.display("Updated " + data.size() + " validator slashing protection records");
   }
 
-  private void updateLocalRecord(final SigningHistory signingHistory) {
-    String validatorString = signingHistory.pubkey.toBytes().toUnprefixedHexString().toLowerCase();
-
-    log.display("Importing " + validatorString);
-    Path outputFile = slashingProtectionPath.resolve(validatorString + ".yml");
-    Optional<ValidatorSigningRecord> existingRecord = Optional.empty();
-    if (outputFile.toFile().exists()) {
-      try {
-        existingRecord = syncDataAccessor.read(outputFile).map(ValidatorSigningRecord::fromBytes);
-      } catch (IOException e) {
-        log.exit(1, "Failed to read existing file: " + outputFile.toString());
-      }
-    }
+  private void updateLocalRecord(
+      final SigningRecordLog signingRecordLog, final SigningHistory signingHistory) {
+    final Bytes48 validator = Bytes48.wrap(signingHistory.pubkey.toBytes());
+    log.display("Importing " + validator.toUnprefixedHexString());
+    final Optional<ValidatorSigningRecord> existingRecord = signingRecordLog.get(validator);
     if (existingRecord.isPresent()
         && metadata.genesisValidatorsRoot.compareTo(existingRecord.get().getGenesisValidatorsRoot())
             != 0) {
@@ -146,11 +141,9 @@ public class SlashingProtectionImporter {
     }
 
     try {
-      syncDataAccessor.syncedWrite(
-          outputFile,
-          signingHistory
-              .toValidatorSigningRecord(existingRecord, metadata.genesisValidatorsRoot)
-              .toBytes());
+      signingRecordLog.append(
+          validator,
+          signingHistory.toValidatorSigningRecord(existingRecord, metadata.genesisValidatorsRoot));
     } catch (IOException e) {
       log.exit(1, "Validator " + signingHistory.pubkey.toHexString() + " was not updated.");
     }
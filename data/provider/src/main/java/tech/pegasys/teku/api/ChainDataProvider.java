@@ -21,7 +21,6 @@ import static tech.pegasys.teku.spec.constants.SpecConstants.FAR_FUTURE_EPOCH;
 import static tech.pegasys.teku.spec.datastructures.util.ValidatorsUtil.getValidatorIndex;
 
 import com.google.common.annotations.VisibleForTesting;
-import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -169,8 +168,7 @@ public class ChainDataProvider {
                 maybeState.map(
                     state ->
                         new StateSszResponse(
-                            new ByteArrayInputStream(state.sszSerialize().toArrayUnsafe()),
-                            state.hashTreeRoot().toUnprefixedHexString())));
+                            state, state.hashTreeRoot().toUnprefixedHexString())));
   }
 
   public SafeFuture<Optional<StateSszResponse>> getBeaconStateSszByBlockRoot(
@@ -183,8 +181,7 @@ public class ChainDataProvider {
                 maybeState.map(
                     state ->
                         new StateSszResponse(
-                            new ByteArrayInputStream(state.sszSerialize().toArrayUnsafe()),
-                            state.hashTreeRoot().toUnprefixedHexString())));
+                            state, state.hashTreeRoot().toUnprefixedHexString())));
   }
 
   public boolean isFinalized(final SignedBeaconBlock signedBeaconBlock) {
@@ -13,15 +13,14 @@
 
 package tech.pegasys.teku.api.response;
 
-import java.io.ByteArrayInputStream;
+import tech.pegasys.teku.ssz.backing.SszData;
 
 public class StateSszResponse {
-  public final ByteArrayInputStream byteStream;
+  public final SszData state;
   public final String stateAbbreviatedHash;
 
-  public StateSszResponse(
-      final ByteArrayInputStream byteStream, final String stateAbbreviatedHash) {
-    this.byteStream = byteStream;
+  public StateSszResponse(final SszData state, final String stateAbbreviatedHash) {
+    this.state = state;
     this.stateAbbreviatedHash = stateAbbreviatedHash;
   }
 }
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.data.signingrecord;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
+
+/**
+ * Append-only log of validator signing records stored in a single file.
+ *
+ * <p>Every entry is {@code [payload length: int][crc32 of payload: int][payload]} where the payload
+ * is the 48 bytes of the compressed validator public key followed by the serialized {@link
+ * ValidatorSigningRecord}. The latest entry of a validator wins. Entries are written with {@link
+ * #append(Bytes48, ValidatorSigningRecord)} and only become durable after {@link #sync()}, so a
+ * single fsync may cover many records.
+ *
+ * <p>On open the whole log is replayed. Only a torn final entry (e.g. left by a crash in the middle
+ * of a write) is truncated: it was never synced and so never acknowledged. A corrupted entry
+ * followed by more data can't be a torn write and may hide records which were already
+ * acknowledged, so the log then fails to open rather than risk signing slashable messages. When the
+ * log doesn't exist yet, records of the older one-file-per-validator {@code <pubkey>.yml} format
+ * found in the same directory are imported into it and the legacy files are renamed to {@code
+ * <pubkey>.yml.migrated}.
+ *
+ * <p>An open log holds an exclusive lock on a {@code slashing-protection.lock} file in its
+ * directory, so only one process (e.g. the validator client or the slashing protection importer)
+ * can write to it at a time.
+ *
+ * <p>The log is compacted during {@link #sync()} once it contains considerably more entries than
+ * validators.
+ */
+public class SigningRecordLog implements AutoCloseable {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final String LOG_FILE_NAME = "slashing-protection.log";
+  private static final String COMPACTION_FILE_NAME = LOG_FILE_NAME + ".tmp";
+  private static final String LOCK_FILE_NAME = "slashing-protection.lock";
+  private static final String LEGACY_RECORD_SUFFIX = ".yml";
+  private static final String MIGRATED_RECORD_SUFFIX = ".migrated";
+
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int MAX_PAYLOAD_SIZE = 64 * 1024;
+  private static final int MIN_ENTRIES_TO_COMPACT = 100_000;
+
+  private final Map<Bytes48, ValidatorSigningRecord> records;
+  private final Path directory;
+  private final FileChannel lockChannel;
+  private FileChannel channel;
+  private long entryCount;
+
+  private SigningRecordLog(
+      final Path directory,
+      final FileChannel lockChannel,
+      final FileChannel channel,
+      final Map<Bytes48, ValidatorSigningRecord> records,
+      final long entryCount) {
+    this.directory = directory;
+    this.lockChannel = lockChannel;
+    this.channel = channel;
+    this.records = records;
+    this.entryCount = entryCount;
+  }
+
+  /**
+   * Opens the log in the specified directory for reading and writing, recovering it if required.
+   * The log is created (and legacy per-validator records migrated) if it doesn't exist yet
+   */
+  public static SigningRecordLog open(final Path directory) throws IOException {
+    Files.createDirectories(directory);
+    final FileChannel lockChannel = acquireLock(directory);
+    try {
+      return open(directory, lockChannel);
+    } catch (final IOException | RuntimeException e) {
+      lockChannel.close();
+      throw e;
+    }
+  }
+
+  private static SigningRecordLog open(final Path directory, final FileChannel lockChannel)
+      throws IOException {
+    final Path logFile = directory.resolve(LOG_FILE_NAME);
+    if (!Files.exists(logFile)) {
+      final Map<Bytes48, ValidatorSigningRecord> legacyRecords = readLegacyRecords(directory);
+      if (!legacyRecords.isEmpty()) {
+        LOG.info("Migrating {} validator signing records to {}", legacyRecords.size(), logFile);
+      }
+      writeSnapshot(directory, legacyRecords);
+      archiveLegacyRecords(directory);
+    }
+
+    final Map<Bytes48, ValidatorSigningRecord> records = new ConcurrentHashMap<>();
+    final Bytes data = Bytes.wrap(Files.readAllBytes(logFile));
+    final ReplayResult replayResult = replay(logFile, data, records);
+    final FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE);
+    try {
+      if (replayResult.validLength < data.size()) {
+        LOG.warn(
+            "Discarding {} bytes of an incomplete signing record at the end of {}",
+            data.size() - replayResult.validLength,
+            logFile);
+        channel.truncate(replayResult.validLength);
+        channel.force(true);
+      }
+      channel.position(replayResult.validLength);
+    } catch (final IOException e) {
+      channel.close();
+      throw e;
+    }
+    return new SigningRecordLog(
+        directory, lockChannel, channel, records, replayResult.entryCount);
+  }
+
+  private static FileChannel acquireLock(final Path directory) throws IOException {
+    final Path lockFile = directory.resolve(LOCK_FILE_NAME);
+    final FileChannel lockChannel =
+        FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    final FileLock lock;
+    try {
+      lock = lockChannel.tryLock();
+    } catch (final IOException | OverlappingFileLockException e) {
+      lockChannel.close();
+      throw new IOException("Unable to lock slashing protection records in " + directory, e);
+    }
+    if (lock == null) {
+      lockChannel.close();
+      throw new IOException(
+          "Slashing protection records in "
+              + directory
+              + " are in use by another process. Only one process may update them at a time.");
+    }
+    return lockChannel;
+  }
+
+  /**
+   * Reads all signing records stored in the specified directory without modifying it. Records of
+   * the legacy per-validator format are returned if the log doesn't exist yet
+   */
+  public static Map<Bytes48, ValidatorSigningRecord> readRecords(final Path directory)
+      throws IOException {
+    final Path logFile = directory.resolve(LOG_FILE_NAME);
+    if (!Files.exists(logFile)) {
+      return readLegacyRecords(directory);
+    }
+    final Map<Bytes48, ValidatorSigningRecord> records = new HashMap<>();
+    replay(logFile, Bytes.wrap(Files.readAllBytes(logFile)), records);
+    return records;
+  }
+
+  /**
+   * Returns the latest record of the validator including records which were appended but not yet
+   * synced
+   */
+  public Optional<ValidatorSigningRecord> get(final Bytes48 validator) {
+    return Optional.ofNullable(records.get(validator));
+  }
+
+  public Map<Bytes48, ValidatorSigningRecord> getAll() {
+    return Collections.unmodifiableMap(records);
+  }
+
+  /** Writes the record to the end of the log. The record is not durable until {@link #sync()} */
+  public synchronized void append(final Bytes48 validator, final ValidatorSigningRecord record)
+      throws IOException {
+    final long position = channel.position();
+    try {
+      writeFully(channel, encodeEntry(validator, record));
+    } catch (final IOException e) {
+      discardPartialWrite(position);
+      throw e;
+    }
+    records.put(validator, record);
+    entryCount++;
+  }
+
+  /** Flushes all the appended records to the storage device */
+  public synchronized void sync() throws IOException {
+    channel.force(false);
+    if (entryCount >= MIN_ENTRIES_TO_COMPACT && entryCount > 4L * records.size()) {
+      compact();
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      // Closing the channel releases the lock
+      lockChannel.close();
+    }
+  }
+
+  private void discardPartialWrite(final long position) {
+    // A partially written entry would hide all the following ones on replay
+    try {
+      channel.truncate(position);
+      channel.position(position);
+    } catch (final IOException e) {
+      LOG.error("Unable to discard partially written signing record, closing the log", e);
+      try {
+        channel.close();
+      } catch (final IOException closeException) {
+        e.addSuppressed(closeException);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void compact() throws IOException {
+    final Path logFile = directory.resolve(LOG_FILE_NAME);
+    LOG.debug("Compacting {} entries of {} to {} records", entryCount, logFile, records.size());
+    writeSnapshot(directory, records);
+    channel.close();
+    channel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    entryCount = records.size();
+  }
+
+  private static void writeSnapshot(
+      final Path directory, final Map<Bytes48, ValidatorSigningRecord> records)
+      throws IOException {
+    final Path tempFile = directory.resolve(COMPACTION_FILE_NAME);
+    try (FileChannel tempChannel =
+        FileChannel.open(
+            tempFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (Map.Entry<Bytes48, ValidatorSigningRecord> entry : records.entrySet()) {
+        writeFully(tempChannel, encodeEntry(entry.getKey(), entry.getValue()));
+      }
+      tempChannel.force(true);
+    }
+    Files.move(
+        tempFile,
+        directory.resolve(LOG_FILE_NAME),
+        StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    syncDirectory(directory);
+  }
+
+  private static void syncDirectory(final Path directory) {
+    // Makes the rename durable. Not every platform allows to open a directory so it's best effort
+    try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      directoryChannel.force(true);
+    } catch (final IOException e) {
+      LOG.trace("Unable to sync directory {}", directory, e);
+    }
+  }
+
+  private static Map<Bytes48, ValidatorSigningRecord> readLegacyRecords(final Path directory)
+      throws IOException {
+    final Map<Bytes48, ValidatorSigningRecord> records = new HashMap<>();
+    if (!Files.isDirectory(directory)) {
+      return records;
+    }
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, "*" + LEGACY_RECORD_SUFFIX)) {
+      for (Path file : files) {
+        final String fileName = file.getFileName().toString();
+        final String pubkey =
+            fileName.substring(0, fileName.length() - LEGACY_RECORD_SUFFIX.length());
+        final Bytes48 validator;
+        try {
+          validator = Bytes48.fromHexString(pubkey);
+        } catch (final IllegalArgumentException e) {
+          LOG.warn("Ignoring unexpected file {} in slashing protection directory", file);
+          continue;
+        }
+        records.put(
+            validator, ValidatorSigningRecord.fromBytes(Bytes.wrap(Files.readAllBytes(file))));
+      }
+    }
+    return records;
+  }
+
+  private static void archiveLegacyRecords(final Path directory) throws IOException {
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, "*" + LEGACY_RECORD_SUFFIX)) {
+      for (Path file : files) {
+        Files.move(file, file.resolveSibling(file.getFileName() + MIGRATED_RECORD_SUFFIX));
+      }
+    }
+    syncDirectory(directory);
+  }
+
+  /**
+   * Replays the log into the records map.
+   *
+   * @return the length of the valid prefix of the log, which is shorter than the data only if the
+   *     final entry is torn
+   * @throws IOException if a corrupted entry is followed by further data
+   */
+  private static ReplayResult replay(
+      final Path logFile, final Bytes data, final Map<Bytes48, ValidatorSigningRecord> records)
+      throws IOException {
+    int position = 0;
+    long entryCount = 0;
+    while (position < data.size()) {
+      if (!replayEntry(data, position, records)) {
+        if (isTornFinalEntry(data, position)) {
+          break;
+        }
+        throw new IOException(
+            String.format(
+                "Slashing protection log %s is corrupted at offset %d with %d bytes following it. "
+                    + "Restore it from a backup or an interchange file before signing again.",
+                logFile, position, data.size() - position));
+      }
+      entryCount++;
+      position += HEADER_SIZE + data.getInt(position);
+    }
+    return new ReplayResult(position, entryCount);
+  }
+
+  /** Applies the entry at the position to the records map if it is valid */
+  private static boolean replayEntry(
+      final Bytes data, final int position, final Map<Bytes48, ValidatorSigningRecord> records) {
+    if (position + HEADER_SIZE > data.size()) {
+      return false;
+    }
+    final int payloadSize = data.getInt(position);
+    final int checksum = data.getInt(position + Integer.BYTES);
+    if (payloadSize <= Bytes48.SIZE
+        || payloadSize > MAX_PAYLOAD_SIZE
+        || position + HEADER_SIZE + payloadSize > data.size()) {
+      return false;
+    }
+    final Bytes payload = data.slice(position + HEADER_SIZE, payloadSize);
+    if (checksum(payload) != checksum) {
+      return false;
+    }
+    final ValidatorSigningRecord record;
+    try {
+      record = ValidatorSigningRecord.fromBytes(payload.slice(Bytes48.SIZE));
+    } catch (final RuntimeException e) {
+      return false;
+    }
+    records.put(Bytes48.wrap(payload.slice(0, Bytes48.SIZE)), record);
+    return true;
+  }
+
+  /**
+   * An invalid entry can only be the result of an interrupted append if nothing was written after
+   * it: either its header or payload is cut short by the end of the file, it ends exactly at the
+   * end of the file, or the rest of the file is zero filled (space allocated but never written).
+   */
+  private static boolean isTornFinalEntry(final Bytes data, final int position) {
+    final int remaining = data.size() - position;
+    if (remaining < HEADER_SIZE) {
+      return true;
+    }
+    final int payloadSize = data.getInt(position);
+    if (payloadSize > Bytes48.SIZE
+        && payloadSize <= MAX_PAYLOAD_SIZE
+        && HEADER_SIZE + payloadSize >= remaining) {
+      return true;
+    }
+    return data.slice(position).isZero();
+  }
+
+  private static ByteBuffer encodeEntry(
+      final Bytes48 validator, final ValidatorSigningRecord record) {
+    final Bytes payload = Bytes.wrap(validator, record.toBytes());
+    final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.size());
+    buffer.putInt(payload.size());
+    buffer.putInt(checksum(payload));
+    buffer.put(payload.toArrayUnsafe());
+    buffer.flip();
+    return buffer;
+  }
+
+  private static int checksum(final Bytes payload) {
+    final CRC32 crc = new CRC32();
+    crc.update(payload.toArrayUnsafe());
+    return (int) crc.getValue();
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static class ReplayResult {
+    private final int validLength;
+    private final long entryCount;
+
+    private ReplayResult(final int validLength, final long entryCount) {
+      this.validLength = validLength;
+      this.entryCount = entryCount;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.data.signingrecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class SigningRecordLogTest {
+  private static final Bytes32 GENESIS_VALIDATORS_ROOT = Bytes32.fromHexString("0x1234");
+  private static final Bytes48 VALIDATOR_1 = Bytes48.fromHexStringLenient("0x01");
+  private static final Bytes48 VALIDATOR_2 = Bytes48.fromHexStringLenient("0x02");
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldReadLatestRecordsAfterReopening() throws IOException {
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      log.append(VALIDATOR_1, record(1));
+      log.append(VALIDATOR_2, record(2));
+      log.append(VALIDATOR_1, record(3));
+      log.sync();
+      assertThat(log.get(VALIDATOR_1)).contains(record(3));
+    }
+
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      assertThat(log.getAll()).isEqualTo(Map.of(VALIDATOR_1, record(3), VALIDATOR_2, record(2)));
+    }
+  }
+
+  @Test
+  void shouldDiscardTornEntryAtTheEndOfLog() throws IOException {
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      log.append(VALIDATOR_1, record(1));
+      log.sync();
+    }
+    final Path logFile = directory.resolve(SigningRecordLog.LOG_FILE_NAME);
+    final long validLength = Files.size(logFile);
+    Files.write(logFile, new byte[] {0, 0, 1, 0, 5, 6, 7}, StandardOpenOption.APPEND);
+
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      assertThat(Files.size(logFile)).isEqualTo(validLength);
+      assertThat(log.getAll()).isEqualTo(Map.of(VALIDATOR_1, record(1)));
+      log.append(VALIDATOR_2, record(2));
+      log.sync();
+    }
+
+    assertThat(SigningRecordLog.readRecords(directory))
+        .isEqualTo(Map.of(VALIDATOR_1, record(1), VALIDATOR_2, record(2)));
+  }
+
+  @Test
+  void shouldDiscardEntryWithInvalidChecksum() throws IOException {
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      log.append(VALIDATOR_1, record(1));
+      log.sync();
+    }
+    final Path logFile = directory.resolve(SigningRecordLog.LOG_FILE_NAME);
+    final long validLength = Files.size(logFile);
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      log.append(VALIDATOR_2, record(2));
+      log.sync();
+    }
+    final byte[] data = Files.readAllBytes(logFile);
+    data[data.length - 1] ^= 1;
+    Files.write(logFile, data);
+
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      assertThat(Files.size(logFile)).isEqualTo(validLength);
+      assertThat(log.getAll()).isEqualTo(Map.of(VALIDATOR_1, record(1)));
+    }
+  }
+
+  @Test
+  void shouldFailToOpenWhenCorruptedEntryIsFollowedByMoreEntries() throws IOException {
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      log.append(VALIDATOR_1, record(1));
+      log.append(VALIDATOR_2, record(2));
+      log.sync();
+    }
+    final Path logFile = directory.resolve(SigningRecordLog.LOG_FILE_NAME);
+    final byte[] data = Files.readAllBytes(logFile);
+    // Corrupt the payload of the first entry
+    data[10] ^= 1;
+    Files.write(logFile, data);
+
+    assertThatThrownBy(() -> SigningRecordLog.open(directory))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("corrupted");
+    assertThatThrownBy(() -> SigningRecordLog.readRecords(directory))
+        .isInstanceOf(IOException.class);
+    // The log must be left untouched
+    assertThat(Files.readAllBytes(logFile)).isEqualTo(data);
+  }
+
+  @Test
+  void shouldDiscardZeroFilledTail() throws IOException {
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      log.append(VALIDATOR_1, record(1));
+      log.sync();
+    }
+    final Path logFile = directory.resolve(SigningRecordLog.LOG_FILE_NAME);
+    final long validLength = Files.size(logFile);
+    Files.write(logFile, new byte[4096], StandardOpenOption.APPEND);
+
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      assertThat(Files.size(logFile)).isEqualTo(validLength);
+      assertThat(log.getAll()).isEqualTo(Map.of(VALIDATOR_1, record(1)));
+    }
+  }
+
+  @Test
+  void shouldNotAllowLogToBeOpenedTwice() throws IOException {
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      assertThatThrownBy(() -> SigningRecordLog.open(directory))
+          .isInstanceOf(IOException.class);
+      log.append(VALIDATOR_1, record(1));
+      log.sync();
+    }
+
+    // The lock is released on close
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      assertThat(log.getAll()).isEqualTo(Map.of(VALIDATOR_1, record(1)));
+    }
+  }
+
+  @Test
+  void shouldMigrateLegacyRecordFiles() throws IOException {
+    final Path legacyFile = directory.resolve(VALIDATOR_1.toUnprefixedHexString() + ".yml");
+    Files.write(legacyFile, record(1).toBytes().toArrayUnsafe());
+    assertThat(SigningRecordLog.readRecords(directory)).isEqualTo(Map.of(VALIDATOR_1, record(1)));
+    assertThat(directory.resolve(SigningRecordLog.LOG_FILE_NAME)).doesNotExist();
+
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      assertThat(log.getAll()).isEqualTo(Map.of(VALIDATOR_1, record(1)));
+      log.append(VALIDATOR_1, record(2));
+      log.sync();
+    }
+    assertThat(legacyFile).doesNotExist();
+    assertThat(legacyFile.resolveSibling(legacyFile.getFileName() + ".migrated")).exists();
+
+    // Legacy files are ignored once the log exists
+    assertThat(SigningRecordLog.readRecords(directory)).isEqualTo(Map.of(VALIDATOR_1, record(2)));
+  }
+
+  @Test
+  void shouldKeepLatestRecordsWhenCompacting() throws IOException {
+    final Path logFile = directory.resolve(SigningRecordLog.LOG_FILE_NAME);
+    try (SigningRecordLog log = SigningRecordLog.open(directory)) {
+      for (int i = 0; i < 10; i++) {
+        log.append(VALIDATOR_1, record(i));
+        log.append(VALIDATOR_2, record(i + 100));
+      }
+      log.sync();
+      final long uncompactedSize = Files.size(logFile);
+
+      log.compact();
+      assertThat(Files.size(logFile)).isLessThan(uncompactedSize);
+
+      log.append(VALIDATOR_1, record(50));
+      log.sync();
+    }
+
+    assertThat(SigningRecordLog.readRecords(directory))
+        .isEqualTo(Map.of(VALIDATOR_1, record(50), VALIDATOR_2, record(109)));
+  }
+
+  private ValidatorSigningRecord record(final int blockSlot) {
+    return new ValidatorSigningRecord(
+        GENESIS_VALIDATORS_ROOT,
+        UInt64.valueOf(blockSlot),
+        ValidatorSigningRecord.NEVER_SIGNED,
+        ValidatorSigningRecord.NEVER_SIGNED);
+  }
+}
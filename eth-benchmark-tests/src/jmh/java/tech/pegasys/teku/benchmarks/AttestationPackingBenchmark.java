@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.time.SystemTimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.spec.datastructures.operations.Attestation;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.spec.util.operationvalidators.AttestationDataStateTransitionValidator;
+import tech.pegasys.teku.spec.util.operationvalidators.OperationInvalidReason;
+import tech.pegasys.teku.ssz.backing.collections.SszBitlist;
+import tech.pegasys.teku.statetransition.attestation.AggregatingAttestationPool;
+import tech.pegasys.teku.statetransition.attestation.AttestationForkChecker;
+import tech.pegasys.teku.util.config.Constants;
+
+/**
+ * Measures {@link AggregatingAttestationPool#getAttestationsForBlock} with a pool filled with an
+ * epoch worth of overlapping attestations for every committee
+ */
+@Fork(1)
+@State(Scope.Thread)
+public class AttestationPackingBenchmark {
+  private static final int COMMITTEE_SIZE = 128;
+  // Fraction of the committee members included in each pooled attestation
+  private static final double PARTICIPATION = 0.3;
+
+  @Param({"16", "32"})
+  int slotCount;
+
+  @Param({"16", "64"})
+  int committeesPerSlot;
+
+  @Param({"4"})
+  int attestationsPerCommittee;
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final Random random = new Random(1);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+
+  private AggregatingAttestationPool pool;
+  private BeaconState state;
+  private AttestationForkChecker forkChecker;
+
+  public AttestationPackingBenchmark() {
+    Constants.setConstants("mainnet");
+  }
+
+  @Setup(Level.Trial)
+  public void init() {
+    final UInt64 blockSlot = UInt64.valueOf(2L * Constants.SLOTS_PER_EPOCH);
+    state = dataStructureUtil.randomBeaconState(blockSlot);
+    forkChecker = new AttestationForkChecker(state);
+    pool =
+        new AggregatingAttestationPool(
+            new AttestationDataStateTransitionValidator() {
+              @Override
+              public Optional<OperationInvalidReason> validate(
+                  final BeaconState state, final AttestationData data) {
+                return Optional.empty();
+              }
+            },
+            new NoOpMetricsSystem(),
+            new SystemTimeProvider(),
+            asyncRunner);
+
+    for (int slot = 1; slot <= slotCount; slot++) {
+      final UInt64 attestationSlot = blockSlot.minus(slot);
+      for (int committee = 0; committee < committeesPerSlot; committee++) {
+        final AttestationData data =
+            new AttestationData(
+                attestationSlot,
+                UInt64.valueOf(committee),
+                dataStructureUtil.randomBytes32(),
+                dataStructureUtil.randomCheckpoint(),
+                dataStructureUtil.randomCheckpoint());
+        for (int i = 0; i < attestationsPerCommittee; i++) {
+          final ValidateableAttestation attestation =
+              ValidateableAttestation.from(
+                  new Attestation(randomBits(), data, dataStructureUtil.randomSignature()));
+          attestation.saveCommitteeShufflingSeed(state);
+          pool.add(attestation);
+        }
+      }
+    }
+    // Build the aggregates as the background aggregation would have done
+    asyncRunner.executeQueuedActions();
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void getAttestationsForBlock(Blackhole bh) {
+    bh.consume(pool.getAttestationsForBlock(state, forkChecker));
+  }
+
+  private SszBitlist randomBits() {
+    final int[] bits =
+        IntStream.range(0, COMMITTEE_SIZE)
+            .filter(__ -> random.nextDouble() < PARTICIPATION)
+            .toArray();
+    return Attestation.SSZ_SCHEMA.getAggregationBitsSchema().ofBits(COMMITTEE_SIZE, bits);
+  }
+}
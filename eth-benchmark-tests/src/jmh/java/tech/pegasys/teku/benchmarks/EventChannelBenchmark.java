@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.infrastructure.events.EventChannels;
+import tech.pegasys.teku.infrastructure.events.LoggingChannelExceptionHandler;
+import tech.pegasys.teku.infrastructure.events.VoidReturningChannelInterface;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Measures the overhead of publishing an event to a single subscriber through a synchronous event
+ * channel compared to a reflective {@link Method#invoke(Object, Object...)} call which was used by
+ * channels before and to a direct interface call
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class EventChannelBenchmark {
+  private static final UInt64 SLOT = UInt64.valueOf(12345);
+
+  private final EventChannels eventChannels =
+      EventChannels.createSyncChannels(
+          LoggingChannelExceptionHandler.LOGGING_EXCEPTION_HANDLER, new NoOpMetricsSystem());
+
+  private BenchmarkChannel subscriber;
+  private BenchmarkChannel publisher;
+  private Method method;
+
+  @Setup
+  public void init(final Blackhole blackhole) throws Exception {
+    subscriber = blackhole::consume;
+    eventChannels.subscribe(BenchmarkChannel.class, subscriber);
+    publisher = eventChannels.getPublisher(BenchmarkChannel.class);
+    method = BenchmarkChannel.class.getMethod("onSlot", UInt64.class);
+  }
+
+  @Benchmark
+  public void publish() {
+    publisher.onSlot(SLOT);
+  }
+
+  @Benchmark
+  public void reflectiveInvoke() throws Exception {
+    method.invoke(subscriber, SLOT);
+  }
+
+  @Benchmark
+  public void directCall() {
+    subscriber.onSlot(SLOT);
+  }
+
+  public interface BenchmarkChannel extends VoidReturningChannelInterface {
+    void onSlot(UInt64 slot);
+  }
+}
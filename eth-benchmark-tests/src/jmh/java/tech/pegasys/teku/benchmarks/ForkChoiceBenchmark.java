@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.protoarray.ForkChoiceStrategy;
+import tech.pegasys.teku.protoarray.ProtoArray;
+import tech.pegasys.teku.spec.datastructures.forkchoice.TestStoreFactory;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+
+/**
+ * Measures {@link ForkChoiceStrategy#findHead} on a large block tree where a slot worth of
+ * validators change their votes before every head calculation
+ */
+@State(Scope.Thread)
+public class ForkChoiceBenchmark {
+  private static final UInt64 BALANCE = UInt64.valueOf(32_000_000_000L);
+  // Validators attesting in a single slot with 32 slots per epoch
+  private static final int SLOTS_PER_EPOCH = 32;
+  // Votes are spread across the most recent blocks
+  private static final int VOTED_BLOCK_COUNT = 64;
+  // Every n-th block is a fork of its grandparent
+  private static final int FORK_FREQUENCY = 8;
+
+  @Param({"10000", "20000"})
+  int nodeCount;
+
+  @Param({"500000"})
+  int validatorCount;
+
+  private final Random random = new Random(1);
+  private final Checkpoint checkpoint = new Checkpoint(UInt64.ZERO, getRoot(0));
+
+  private VoteUpdater voteUpdater;
+  private ForkChoiceStrategy forkChoiceStrategy;
+  private List<UInt64> balances;
+  private int nextValidatorIndex = 0;
+
+  @Setup(Level.Trial)
+  public void init() {
+    final ProtoArray protoArray =
+        ProtoArray.builder().justifiedEpoch(UInt64.ZERO).finalizedEpoch(UInt64.ZERO).build();
+    protoArray.onBlock(
+        UInt64.ZERO, getRoot(0), Bytes32.ZERO, Bytes32.ZERO, UInt64.ZERO, UInt64.ZERO);
+    for (int i = 1; i < nodeCount; i++) {
+      final int parentIndex = i % FORK_FREQUENCY == 0 && i > 1 ? i - 2 : i - 1;
+      protoArray.onBlock(
+          UInt64.valueOf(i),
+          getRoot(i),
+          getRoot(parentIndex),
+          Bytes32.ZERO,
+          UInt64.ZERO,
+          UInt64.ZERO);
+    }
+    forkChoiceStrategy = ForkChoiceStrategy.initialize(protoArray);
+    voteUpdater = new TestStoreFactory().createEmptyStore();
+    balances = Collections.nCopies(validatorCount, BALANCE);
+
+    for (int i = 0; i < validatorCount; i++) {
+      voteUpdater.putVote(
+          UInt64.valueOf(i), new VoteTracker(Bytes32.ZERO, randomVotedRoot(), UInt64.ZERO));
+    }
+    // Apply the initial votes so that the benchmark only measures the incremental changes
+    forkChoiceStrategy.findHead(voteUpdater, checkpoint, checkpoint, balances);
+  }
+
+  @Setup(Level.Invocation)
+  public void updateVotes() {
+    final int updatedCount = validatorCount / SLOTS_PER_EPOCH;
+    for (int i = 0; i < updatedCount; i++) {
+      final UInt64 validatorIndex = UInt64.valueOf(nextValidatorIndex);
+      final VoteTracker vote = voteUpdater.getVote(validatorIndex);
+      voteUpdater.putVote(
+          validatorIndex,
+          new VoteTracker(vote.getCurrentRoot(), randomVotedRoot(), vote.getNextEpoch()));
+      nextValidatorIndex = (nextValidatorIndex + 1) % validatorCount;
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void findHead(Blackhole bh) {
+    bh.consume(forkChoiceStrategy.findHead(voteUpdater, checkpoint, checkpoint, balances));
+  }
+
+  private Bytes32 randomVotedRoot() {
+    return getRoot(nodeCount - 1 - random.nextInt(VOTED_BLOCK_COUNT));
+  }
+
+  private static Bytes32 getRoot(final int blockIndex) {
+    return Bytes32.fromHexStringLenient(Integer.toHexString(blockIndex + 1));
+  }
+}
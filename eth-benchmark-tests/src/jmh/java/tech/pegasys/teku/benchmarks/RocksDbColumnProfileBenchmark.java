@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks;
+
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.UINT64_SERIALIZER;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.server.rocksdb.RocksDbConfiguration;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbInstanceFactory;
+import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumn;
+import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile;
+
+/**
+ * Compares read latency and disk usage of a database using per-column profiles with one using the
+ * same options for every column. The size of the database directory is reported as the {@code
+ * diskUsageMb} secondary result of each benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RocksDbColumnProfileBenchmark {
+  private static final RocksDbColumn<Bytes32, UInt64> SLOTS_BY_ROOT =
+      RocksDbColumn.create(
+          1, BYTES32_SERIALIZER, UINT64_SERIALIZER, RocksDbColumnProfile.POINT_LOOKUP);
+  private static final RocksDbColumn<UInt64, Bytes> BLOBS_BY_SLOT =
+      RocksDbColumn.create(
+          2, UINT64_SERIALIZER, BYTES_SERIALIZER, RocksDbColumnProfile.APPEND_ONLY_BLOB);
+  private static final int BATCH_SIZE = 1000;
+  // Roughly the size of a block, half of which is zeros to be about as compressible as SSZ
+  private static final int BLOB_SIZE = 8 << 10;
+
+  @Param({"true", "false"})
+  boolean columnProfilesEnabled;
+
+  @Param({"200000"})
+  int entryCount;
+
+  private final Random random = new Random(1);
+  private Path databaseDir;
+  private RocksDbAccessor db;
+
+  @Setup(Level.Trial)
+  public void init() throws Exception {
+    databaseDir = Files.createTempDirectory("rocksdb-profile-benchmark");
+    db = open();
+    for (int batchStart = 0; batchStart < entryCount; batchStart += BATCH_SIZE) {
+      try (final RocksDbTransaction transaction = db.startTransaction()) {
+        for (int i = batchStart; i < Math.min(entryCount, batchStart + BATCH_SIZE); i++) {
+          transaction.put(SLOTS_BY_ROOT, getRoot(i), UInt64.valueOf(i));
+          transaction.put(BLOBS_BY_SLOT, UInt64.valueOf(i), createBlob());
+        }
+        transaction.commit();
+      }
+    }
+    // Reopen so the data is read from SST files rather than the memtable
+    db.close();
+    db = open();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    db.close();
+    try (final Stream<Path> paths = Files.walk(databaseDir)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void getExistingRoot(Blackhole bh, DiskUsage diskUsage) {
+    bh.consume(db.get(SLOTS_BY_ROOT, getRoot(random.nextInt(entryCount))));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void getMissingRoot(Blackhole bh, DiskUsage diskUsage) {
+    bh.consume(db.get(SLOTS_BY_ROOT, getRoot(entryCount + random.nextInt(entryCount))));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void getBlob(Blackhole bh, DiskUsage diskUsage) {
+    bh.consume(db.get(BLOBS_BY_SLOT, UInt64.valueOf(random.nextInt(entryCount))));
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class DiskUsage {
+    public long diskUsageMb;
+
+    @Setup(Level.Iteration)
+    public void measure(final RocksDbColumnProfileBenchmark benchmark) throws IOException {
+      diskUsageMb = getDirectorySize(benchmark.databaseDir) >> 20;
+    }
+  }
+
+  private RocksDbAccessor open() {
+    final RocksDbConfiguration configuration =
+        columnProfilesEnabled
+            ? RocksDbConfiguration.v6SingleDefaults().withDatabaseDir(databaseDir)
+            : RocksDbConfiguration.v4Settings(databaseDir);
+    return RocksDbInstanceFactory.create(
+        new NoOpMetricsSystem(),
+        TekuMetricCategory.STORAGE,
+        configuration,
+        List.of(SLOTS_BY_ROOT, BLOBS_BY_SLOT));
+  }
+
+  private Bytes createBlob() {
+    final byte[] data = new byte[BLOB_SIZE];
+    final byte[] randomData = new byte[BLOB_SIZE / 2];
+    random.nextBytes(randomData);
+    System.arraycopy(randomData, 0, data, 0, randomData.length);
+    return Bytes.wrap(data);
+  }
+
+  private static Bytes32 getRoot(final int index) {
+    return Hash.sha2_256(Bytes.ofUnsignedInt(index));
+  }
+
+  private static long getDirectorySize(final Path dir) throws IOException {
+    try (final Stream<Path> paths = Files.walk(dir)) {
+      return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+    }
+  }
+}
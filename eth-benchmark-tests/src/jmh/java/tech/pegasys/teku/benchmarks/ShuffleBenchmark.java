@@ -13,29 +13,41 @@
 
 package tech.pegasys.teku.benchmarks;
 
+import java.util.List;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes32;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.benchmarks.gen.BlsKeyPairIO;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.SpecConfiguration;
 import tech.pegasys.teku.spec.constants.SpecConstants;
+import tech.pegasys.teku.spec.datastructures.interop.InteropStartupUtil;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.TransitionCaches;
 import tech.pegasys.teku.spec.datastructures.util.CommitteeUtil;
+import tech.pegasys.teku.spec.util.BeaconStateUtil;
 import tech.pegasys.teku.util.config.Constants;
 
 @Fork(3)
 @BenchmarkMode(Mode.SingleShotTime)
 @State(Scope.Thread)
 public class ShuffleBenchmark {
+  private static final String KEYS_FILE = "/bls-key-pairs/bls-key-pairs-200k-seed-0.txt.gz";
 
   @Param({"16384", "32768"})
   int indexCount;
@@ -48,10 +60,30 @@ public class ShuffleBenchmark {
   private final tech.pegasys.teku.spec.util.CommitteeUtil committeeUtil =
       spec.atSlot(UInt64.ZERO).getCommitteeUtil();
 
+  private BeaconState state;
+  private UInt64 epoch;
+
   public ShuffleBenchmark() {
     Constants.setConstants("mainnet");
   }
 
+  @Setup(Level.Trial)
+  public void createState() throws Exception {
+    tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.BLS_VERIFY_DEPOSIT = false;
+    List<BLSKeyPair> validatorKeys =
+        BlsKeyPairIO.createReaderForResource(KEYS_FILE).readAll(indexCount);
+    state = InteropStartupUtil.createMockedStartInitialBeaconState(spec, 0, validatorKeys, false);
+    epoch = spec.getCurrentEpoch(state);
+  }
+
+  /** Clears the state's caches so that each invocation computes the indices again */
+  @Setup(Level.Invocation)
+  public void clearCaches() {
+    TransitionCaches caches = BeaconStateCache.getTransitionCaches(state);
+    caches.getActiveValidators().clear();
+    caches.getBeaconCommittee().clear();
+  }
+
   @Benchmark
   @Warmup(iterations = 2)
   @Measurement(iterations = 5)
@@ -70,4 +102,41 @@ public class ShuffleBenchmark {
     CommitteeUtil.shuffle_list(indexes, seed);
     bh.consume(indexes);
   }
+
+  /**
+   * Computes the active validator indices of a genesis state where all {@code indexCount}
+   * validators are active. Run with {@code -prof gc} to measure the allocations.
+   */
+  @Benchmark
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public void activeValidatorIndicesBench(Blackhole bh) {
+    IntList activeIndices = spec.getActiveValidatorIndices(state, epoch);
+    for (int i = 0; i < activeIndices.size(); i++) {
+      bh.consume(activeIndices.getInt(i));
+    }
+  }
+
+  /**
+   * Computes every beacon committee of the epoch from a genesis state and reads back each member.
+   * The epoch shuffle is computed once and then served from the shared shuffle cache. Run with
+   * {@code -prof gc} to measure the allocations.
+   */
+  @Benchmark
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public void beaconCommitteesBench(Blackhole bh) {
+    BeaconStateUtil beaconStateUtil = spec.getBeaconStateUtil(state.getSlot());
+    UInt64 committeeCount = spec.getCommitteeCountPerSlot(state, epoch);
+    UInt64 startSlot = spec.computeStartSlotAtEpoch(epoch);
+    for (int slot = 0; slot < specConstants.getSlotsPerEpoch(); slot++) {
+      for (int index = 0; index < committeeCount.intValue(); index++) {
+        IntList committee =
+            beaconStateUtil.getBeaconCommittee(state, startSlot.plus(slot), UInt64.valueOf(index));
+        for (int i = 0; i < committee.size(); i++) {
+          bh.consume(committee.getInt(i));
+        }
+      }
+    }
+  }
 }
@@ -30,13 +30,19 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 import tech.pegasys.teku.benchmarks.gen.BlockIO;
 import tech.pegasys.teku.benchmarks.gen.BlsKeyPairIO;
 import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.infrastructure.async.eventthread.InlineEventThread;
+import tech.pegasys.teku.infrastructure.collections.IntList;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.SpecFactory;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.TransitionCaches;
 import tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil;
 import tech.pegasys.teku.spec.statetransition.results.BlockImportResult;
 import tech.pegasys.teku.statetransition.BeaconChainUtil;
@@ -165,4 +171,61 @@ public abstract class TransitionBenchmark {
       importNextBlock();
     }
   }
+
+  /**
+   * Measures computing the active validator indices and every beacon committee of the current epoch
+   * from the chain head state after the first epoch of blocks is imported. The state's caches are
+   * cleared before each invocation so both are computed again, while the epoch shuffle is served
+   * from the shared shuffle cache as it is during block import. Run with {@code -prof gc} to
+   * measure the allocations.
+   */
+  public static class Committees extends TransitionBenchmark {
+    BeaconState state;
+    UInt64 epoch;
+
+    @Setup(Level.Trial)
+    public void importFirstEpoch() throws Exception {
+      while (lastResult == null
+          || (lastResult.getBlock().getSlot().longValue() + 1) % Constants.SLOTS_PER_EPOCH != 0) {
+        importNextBlock();
+      }
+      state = recentChainData.getBestState().orElseThrow();
+      epoch = spec.getCurrentEpoch(state);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCaches() {
+      TransitionCaches caches = BeaconStateCache.getTransitionCaches(state);
+      caches.getActiveValidators().clear();
+      caches.getBeaconCommittee().clear();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 20)
+    public void activeValidatorIndices(Blackhole bh) {
+      IntList activeIndices = spec.getActiveValidatorIndices(state, epoch);
+      for (int i = 0; i < activeIndices.size(); i++) {
+        bh.consume(activeIndices.getInt(i));
+      }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 20)
+    public void beaconCommittees(Blackhole bh) {
+      UInt64 committeeCount = spec.getCommitteeCountPerSlot(state, epoch);
+      UInt64 startSlot = spec.computeStartSlotAtEpoch(epoch);
+      for (int slot = 0; slot < Constants.SLOTS_PER_EPOCH; slot++) {
+        for (int index = 0; index < committeeCount.intValue(); index++) {
+          IntList committee =
+              spec.getBeaconStateUtil(state.getSlot())
+                  .getBeaconCommittee(state, startSlot.plus(slot), UInt64.valueOf(index));
+          for (int i = 0; i < committee.size(); i++) {
+            bh.consume(committee.getInt(i));
+          }
+        }
+      }
+    }
+  }
 }
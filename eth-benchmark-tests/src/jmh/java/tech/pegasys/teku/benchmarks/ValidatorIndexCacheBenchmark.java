@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+/**
+ * Measures state copies and validator index lookups with the validator index cache shared by all
+ * states of a chain. Run with {@code -prof gc} to see the allocation rate of state copies and
+ * with {@code -t <threads>} to see the lookup scalability.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorIndexCacheBenchmark {
+
+  @Param({"32768"})
+  int validatorCount;
+
+  private BeaconState state;
+  private final List<BLSPublicKey> publicKeys = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void init() {
+    state = new DataStructureUtil(0).randomBeaconState(validatorCount);
+    state
+        .getValidators()
+        .forEach(
+            validator -> publicKeys.add(BLSPublicKey.fromBytesCompressed(validator.getPubkey())));
+    // warm up the index so that lookups don't scan the state
+    getValidatorIndex(state, publicKeys.get(validatorCount - 1));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void copyState(Blackhole bh) {
+    bh.consume(state.updated(mutableState -> mutableState.setSlot(UInt64.ONE)));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void getValidatorIndex(Blackhole bh) {
+    final int index = ThreadLocalRandom.current().nextInt(validatorCount);
+    bh.consume(getValidatorIndex(state, publicKeys.get(index)));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void getValidatorIndexFromStateCopy(Blackhole bh) {
+    final BeaconState stateCopy = state.updated(mutableState -> mutableState.setSlot(UInt64.ONE));
+    final int index = ThreadLocalRandom.current().nextInt(validatorCount);
+    bh.consume(getValidatorIndex(stateCopy, publicKeys.get(index)));
+  }
+
+  private static Optional<Integer> getValidatorIndex(
+      final BeaconState state, final BLSPublicKey publicKey) {
+    return BeaconStateCache.getTransitionCaches(state)
+        .getValidatorIndexCache(state)
+        .getValidatorIndex(state, publicKey);
+  }
+}
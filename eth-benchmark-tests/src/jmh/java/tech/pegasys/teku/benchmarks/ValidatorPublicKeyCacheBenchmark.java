@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.BLSTestUtil;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.ValidatorPublicKeyCache;
+
+/**
+ * Compares signature verification with validator public keys created from their compressed form
+ * (as it happened for every state which didn't share caches) against keys from the shared {@link
+ * ValidatorPublicKeyCache}. A single signer corresponds to the proposer signature checked by the
+ * block validator while a committee corresponds to the aggregate checked by the attestation
+ * validator.
+ */
+@Fork(1)
+@State(Scope.Thread)
+public class ValidatorPublicKeyCacheBenchmark {
+  @Param({"1", "128"})
+  int signerCount;
+
+  private final ValidatorPublicKeyCache publicKeyCache =
+      ValidatorPublicKeyCache.getGlobalInstance();
+  private final Bytes message = Bytes32.random();
+  private final List<Bytes48> compressedPublicKeys = new ArrayList<>();
+  private BLSSignature signature;
+
+  @Setup(Level.Trial)
+  public void init() {
+    final List<BLSSignature> signatures = new ArrayList<>();
+    for (int i = 0; i < signerCount; i++) {
+      final BLSKeyPair keyPair = BLSTestUtil.randomKeyPair(i);
+      compressedPublicKeys.add(keyPair.getPublicKey().toBytesCompressed());
+      signatures.add(BLS.sign(keyPair.getSecretKey(), message));
+    }
+    signature = BLS.aggregate(signatures);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void verifyWithDecompressedKeys() {
+    final List<BLSPublicKey> publicKeys = new ArrayList<>(signerCount);
+    for (Bytes48 compressedPublicKey : compressedPublicKeys) {
+      publicKeys.add(BLSPublicKey.fromBytesCompressed(compressedPublicKey));
+    }
+    verify(publicKeys);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void verifyWithCachedKeys() {
+    final List<BLSPublicKey> publicKeys = new ArrayList<>(signerCount);
+    for (int i = 0; i < signerCount; i++) {
+      publicKeys.add(publicKeyCache.get(i, compressedPublicKeys.get(i)));
+    }
+    verify(publicKeys);
+  }
+
+  private void verify(final List<BLSPublicKey> publicKeys) {
+    if (!BLS.fastAggregateVerify(publicKeys, message, signature)) {
+      throw new IllegalStateException("Invalid signature");
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks.util.backing;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.ssz.backing.tree.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.LeafNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeUtil;
+
+/** Compares batched {@link TreeNode#hashTreeRoot()} against plain recursive node hashing */
+@State(Scope.Thread)
+public class TreeHashBenchmark {
+
+  @Param({"1024", "65536"})
+  int leafCount;
+
+  private List<LeafNode> leaves;
+  private TreeNode tree;
+  private int cnt = 0;
+
+  @Setup(Level.Trial)
+  public void initLeaves() {
+    leaves =
+        IntStream.range(0, leafCount)
+            .mapToObj(i -> LeafNode.create(Bytes32.random()))
+            .collect(Collectors.toList());
+  }
+
+  @Setup(Level.Invocation)
+  public void createTree() {
+    // the tree is recreated on every invocation to have all the branch nodes unhashed
+    leaves.set(cnt++ % leafCount, LeafNode.create(Bytes32.random()));
+    tree = TreeUtil.createTree(leaves);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void batchedHashTreeRoot(Blackhole bh) {
+    bh.consume(tree.hashTreeRoot());
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void recursiveHashTreeRoot(Blackhole bh) {
+    bh.consume(recursiveHashTreeRoot(tree));
+  }
+
+  private static Bytes32 recursiveHashTreeRoot(TreeNode node) {
+    if (node instanceof BranchNode) {
+      BranchNode branchNode = (BranchNode) node;
+      return Hash.sha2_256(
+          Bytes.concatenate(
+              recursiveHashTreeRoot(branchNode.left()), recursiveHashTreeRoot(branchNode.right())));
+    } else {
+      return node.hashTreeRoot();
+    }
+  }
+}
@@ -34,7 +34,7 @@ public class DefaultEpochProcessingExecutor implements EpochProcessingExecutor {
   @Override
   public void processRegistryUpdates(final MutableBeaconState state)
       throws EpochProcessingException {
-    epochProcessor.processRegistryUpdates(state, ValidatorStatuses.create(state).getStatuses());
+    epochProcessor.processRegistryUpdates(state, ValidatorStatuses.create(state));
   }
 
   @Override
@@ -14,90 +14,120 @@
 package tech.pegasys.teku.core.signatures;
 
 import java.io.IOException;
-import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.SigningRecordLog;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
-import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
+/**
+ * Slashing protection backed by a local {@link SigningRecordLog}.
+ *
+ * <p>Each validator is guarded by its own lock so checks of different validators don't wait for
+ * each other. A new signing record is appended to the log right away but signing is only allowed
+ * once the record is durable. Syncs run on the async runner and every sync covers all the records
+ * appended before it started, so validators signing in the same slot share a single fsync.
+ */
 public class LocalSlashingProtector implements SlashingProtector {
 
-  private final Map<BLSPublicKey, ValidatorSigningRecord> signingRecords = new HashMap<>();
+  private final Map<Bytes48, Object> validatorLocks = new ConcurrentHashMap<>();
+  private final Queue<SafeFuture<Boolean>> pendingSyncs = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean syncScheduled = new AtomicBoolean();
+  private final Object syncLock = new Object();
 
-  private final SyncDataAccessor dataAccessor;
-  private final Path slashingProtectionBaseDir;
+  private final SigningRecordLog signingRecordLog;
+  private final AsyncRunner asyncRunner;
 
   public LocalSlashingProtector(
-      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir) {
-    this.dataAccessor = dataAccessor;
-    this.slashingProtectionBaseDir = slashingProtectionBaseDir;
+      final SigningRecordLog signingRecordLog, final AsyncRunner asyncRunner) {
+    this.signingRecordLog = signingRecordLog;
+    this.asyncRunner = asyncRunner;
   }
 
   @Override
-  public synchronized SafeFuture<Boolean> maySignBlock(
+  public SafeFuture<Boolean> maySignBlock(
       final BLSPublicKey validator, final Bytes32 genesisValidatorsRoot, final UInt64 slot) {
-    return SafeFuture.of(
-        () -> {
-          final ValidatorSigningRecord signingRecord =
-              loadSigningRecord(validator, genesisValidatorsRoot);
-          return handleResult(validator, signingRecord.maySignBlock(genesisValidatorsRoot, slot));
-        });
+    return updateSigningRecord(
+        validator,
+        genesisValidatorsRoot,
+        signingRecord -> signingRecord.maySignBlock(genesisValidatorsRoot, slot));
   }
 
   @Override
-  public synchronized SafeFuture<Boolean> maySignAttestation(
+  public SafeFuture<Boolean> maySignAttestation(
       final BLSPublicKey validator,
       final Bytes32 genesisValidatorsRoot,
       final UInt64 sourceEpoch,
       final UInt64 targetEpoch) {
-    return SafeFuture.of(
-        () -> {
-          final ValidatorSigningRecord signingRecord =
-              loadSigningRecord(validator, genesisValidatorsRoot);
-          return handleResult(
-              validator,
-              signingRecord.maySignAttestation(genesisValidatorsRoot, sourceEpoch, targetEpoch));
-        });
+    return updateSigningRecord(
+        validator,
+        genesisValidatorsRoot,
+        signingRecord ->
+            signingRecord.maySignAttestation(genesisValidatorsRoot, sourceEpoch, targetEpoch));
   }
 
-  private Boolean handleResult(
-      final BLSPublicKey validator, final Optional<ValidatorSigningRecord> newRecord)
-      throws IOException {
-    if (newRecord.isEmpty()) {
-      return false;
+  private SafeFuture<Boolean> updateSigningRecord(
+      final BLSPublicKey validator,
+      final Bytes32 genesisValidatorsRoot,
+      final Function<ValidatorSigningRecord, Optional<ValidatorSigningRecord>> check) {
+    final Bytes48 validatorKey = validator.toBytesCompressed();
+    synchronized (validatorLocks.computeIfAbsent(validatorKey, __ -> new Object())) {
+      final ValidatorSigningRecord signingRecord =
+          signingRecordLog
+              .get(validatorKey)
+              .orElseGet(() -> new ValidatorSigningRecord(genesisValidatorsRoot));
+      final Optional<ValidatorSigningRecord> newRecord = check.apply(signingRecord);
+      if (newRecord.isEmpty()) {
+        return SafeFuture.completedFuture(false);
+      }
+      try {
+        signingRecordLog.append(validatorKey, newRecord.get());
+      } catch (final IOException e) {
+        return SafeFuture.failedFuture(e);
+      }
     }
-    writeSigningRecord(validator, newRecord.get());
-    return true;
+    return scheduleSync();
   }
 
-  private ValidatorSigningRecord loadSigningRecord(
-      final BLSPublicKey validator, final Bytes32 genesisValidatorsRoot) throws IOException {
-    ValidatorSigningRecord record = signingRecords.get(validator);
-    if (record != null) {
-      return record;
+  private SafeFuture<Boolean> scheduleSync() {
+    final SafeFuture<Boolean> result = new SafeFuture<>();
+    pendingSyncs.add(result);
+    if (syncScheduled.compareAndSet(false, true)) {
+      asyncRunner.runAsync(this::syncPendingRecords).reportExceptions();
     }
-    record =
-        dataAccessor
-            .read(validatorRecordPath(validator))
-            .map(ValidatorSigningRecord::fromBytes)
-            .orElseGet(() -> new ValidatorSigningRecord(genesisValidatorsRoot));
-    signingRecords.put(validator, record);
-    return record;
+    return result;
   }
 
-  private void writeSigningRecord(final BLSPublicKey validator, final ValidatorSigningRecord record)
-      throws IOException {
-    dataAccessor.syncedWrite(validatorRecordPath(validator), record.toBytes());
-    signingRecords.put(validator, record);
-  }
-
-  private Path validatorRecordPath(final BLSPublicKey validator) {
-    return slashingProtectionBaseDir.resolve(
-        validator.toBytesCompressed().toUnprefixedHexString() + ".yml");
+  private void syncPendingRecords() {
+    synchronized (syncLock) {
+      // Cleared before draining so records appended from now on schedule their own sync
+      syncScheduled.set(false);
+      final List<SafeFuture<Boolean>> syncedRecords = new ArrayList<>();
+      SafeFuture<Boolean> pendingSync;
+      while ((pendingSync = pendingSyncs.poll()) != null) {
+        syncedRecords.add(pendingSync);
+      }
+      if (syncedRecords.isEmpty()) {
+        return;
+      }
+      try {
+        signingRecordLog.sync();
+        syncedRecords.forEach(future -> future.complete(true));
+      } catch (final Throwable t) {
+        syncedRecords.forEach(future -> future.completeExceptionally(t));
+      }
+    }
   }
 }
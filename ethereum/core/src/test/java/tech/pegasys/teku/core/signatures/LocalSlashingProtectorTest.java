@@ -14,24 +14,24 @@
 package tech.pegasys.teku.core.signatures;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
-import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.SigningRecordLog;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
-import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 
@@ -43,14 +43,55 @@ class LocalSlashingProtectorTest {
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
 
   private final BLSPublicKey validator = dataStructureUtil.randomPublicKey();
-  private final SyncDataAccessor dataWriter = mock(SyncDataAccessor.class);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
 
-  private final Path baseDir = Path.of("/data");
-  private final Path signingRecordPath =
-      baseDir.resolve(validator.toBytesCompressed().toUnprefixedHexString() + ".yml");
+  @TempDir Path baseDir;
+  private SigningRecordLog signingRecordLog;
+  private LocalSlashingProtector slashingProtectionStorage;
 
-  private final LocalSlashingProtector slashingProtectionStorage =
-      new LocalSlashingProtector(dataWriter, baseDir);
+  @BeforeEach
+  void setUp() throws IOException {
+    signingRecordLog = SigningRecordLog.open(baseDir);
+    slashingProtectionStorage = new LocalSlashingProtector(signingRecordLog, asyncRunner);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    signingRecordLog.close();
+  }
+
+  @Test
+  void shouldSyncRecordsOfAllValidatorsTogether() throws Exception {
+    final BLSPublicKey otherValidator = dataStructureUtil.randomPublicKey();
+    final SafeFuture<Boolean> result1 =
+        slashingProtectionStorage.maySignBlock(validator, GENESIS_VALIDATORS_ROOT, UInt64.ONE);
+    final SafeFuture<Boolean> result2 =
+        slashingProtectionStorage.maySignBlock(otherValidator, GENESIS_VALIDATORS_ROOT, UInt64.ONE);
+    assertThat(result1).isNotDone();
+    assertThat(result2).isNotDone();
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+
+    asyncRunner.executeQueuedActions();
+
+    assertThat(result1).isCompletedWithValue(true);
+    assertThat(result2).isCompletedWithValue(true);
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+    signingRecordLog.close();
+    assertThat(SigningRecordLog.readRecords(baseDir))
+        .containsOnlyKeys(validator.toBytesCompressed(), otherValidator.toBytesCompressed());
+  }
+
+  @Test
+  void shouldNotAllowSigningSameBlockSlotTwiceBeforeSync() {
+    final SafeFuture<Boolean> result1 =
+        slashingProtectionStorage.maySignBlock(validator, GENESIS_VALIDATORS_ROOT, UInt64.ONE);
+    final SafeFuture<Boolean> result2 =
+        slashingProtectionStorage.maySignBlock(validator, GENESIS_VALIDATORS_ROOT, UInt64.ONE);
+
+    assertThat(result2).isCompletedWithValue(false);
+    asyncRunner.executeQueuedActions();
+    assertThat(result1).isCompletedWithValue(true);
+  }
 
   @ParameterizedTest(name = "maySignBlock({0})")
   @MethodSource("blockCases")
@@ -134,13 +175,13 @@ class LocalSlashingProtectorTest {
       final UInt64 sourceEpoch,
       final UInt64 targetEpoch)
       throws Exception {
-    when(dataWriter.read(signingRecordPath))
-        .thenReturn(lastSignedAttestation.map(ValidatorSigningRecord::toBytes));
+    givenExistingRecord(lastSignedAttestation);
 
-    assertThat(
-            slashingProtectionStorage.maySignAttestation(
-                validator, GENESIS_VALIDATORS_ROOT, sourceEpoch, targetEpoch))
-        .isCompletedWithValue(true);
+    final SafeFuture<Boolean> result =
+        slashingProtectionStorage.maySignAttestation(
+            validator, GENESIS_VALIDATORS_ROOT, sourceEpoch, targetEpoch);
+    asyncRunner.executeQueuedActions();
+    assertThat(result).isCompletedWithValue(true);
 
     final ValidatorSigningRecord updatedRecord =
         new ValidatorSigningRecord(
@@ -148,7 +189,7 @@ class LocalSlashingProtectorTest {
             lastSignedAttestation.isPresent() ? ATTESTATION_TEST_BLOCK_SLOT : UInt64.ZERO,
             sourceEpoch,
             targetEpoch);
-    verify(dataWriter).syncedWrite(signingRecordPath, updatedRecord.toBytes());
+    assertThat(signingRecordLog.get(validator.toBytesCompressed())).contains(updatedRecord);
   }
 
   private void assertAttestationSigningDisallowed(
@@ -156,54 +197,59 @@ class LocalSlashingProtectorTest {
       final UInt64 sourceEpoch,
       final UInt64 targetEpoch)
       throws IOException {
-    when(dataWriter.read(signingRecordPath))
-        .thenReturn(lastSignedAttestation.map(ValidatorSigningRecord::toBytes));
+    givenExistingRecord(lastSignedAttestation);
 
     assertThat(
             slashingProtectionStorage.maySignAttestation(
                 validator, GENESIS_VALIDATORS_ROOT, sourceEpoch, targetEpoch))
         .isCompletedWithValue(false);
-    verify(dataWriter, never()).syncedWrite(any(), any());
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+    assertThat(signingRecordLog.get(validator.toBytesCompressed()))
+        .isEqualTo(lastSignedAttestation);
   }
 
   private void assertBlockSigningAllowed(
       final Optional<UInt64> lastSignedBlockSlot, final UInt64 newBlockSlot) throws Exception {
-    when(dataWriter.read(signingRecordPath))
-        .thenReturn(lastSignedBlockSlot.map(this::blockTestSigningRecord));
+    givenExistingRecord(lastSignedBlockSlot.map(this::blockTestSigningRecord));
 
-    assertThat(
-            slashingProtectionStorage.maySignBlock(
-                validator, GENESIS_VALIDATORS_ROOT, newBlockSlot))
-        .isCompletedWithValue(true);
+    final SafeFuture<Boolean> result =
+        slashingProtectionStorage.maySignBlock(validator, GENESIS_VALIDATORS_ROOT, newBlockSlot);
+    asyncRunner.executeQueuedActions();
+    assertThat(result).isCompletedWithValue(true);
 
-    final Bytes updatedRecord =
+    final ValidatorSigningRecord updatedRecord =
         lastSignedBlockSlot.isPresent()
             ? blockTestSigningRecord(newBlockSlot)
             : new ValidatorSigningRecord(
                     GENESIS_VALIDATORS_ROOT,
                     newBlockSlot,
                     ValidatorSigningRecord.NEVER_SIGNED,
-                    ValidatorSigningRecord.NEVER_SIGNED)
-                .toBytes();
-    verify(dataWriter).syncedWrite(signingRecordPath, updatedRecord);
+                    ValidatorSigningRecord.NEVER_SIGNED);
+    assertThat(signingRecordLog.get(validator.toBytesCompressed())).contains(updatedRecord);
   }
 
-  private Bytes blockTestSigningRecord(final UInt64 blockSlot) {
+  private ValidatorSigningRecord blockTestSigningRecord(final UInt64 blockSlot) {
     return new ValidatorSigningRecord(
-            GENESIS_VALIDATORS_ROOT, blockSlot, BLOCK_TEST_SOURCE_EPOCH, BLOCK_TEST_TARGET_EPOCH)
-        .toBytes();
+        GENESIS_VALIDATORS_ROOT, blockSlot, BLOCK_TEST_SOURCE_EPOCH, BLOCK_TEST_TARGET_EPOCH);
+  }
+
+  private void givenExistingRecord(final Optional<ValidatorSigningRecord> record)
+      throws IOException {
+    if (record.isPresent()) {
+      signingRecordLog.append(validator.toBytesCompressed(), record.get());
+      signingRecordLog.sync();
+    }
   }
 
   private void assertBlockSigningDisallowed(
       final Optional<UInt64> lastSignedBlockSlot, final UInt64 newBlockSlot) throws Exception {
-    when(dataWriter.read(signingRecordPath))
-        .thenReturn(lastSignedBlockSlot.map(this::blockTestSigningRecord));
+    givenExistingRecord(lastSignedBlockSlot.map(this::blockTestSigningRecord));
 
     assertThat(
             slashingProtectionStorage.maySignBlock(
                 validator, GENESIS_VALIDATORS_ROOT, newBlockSlot))
         .isCompletedWithValue(false);
 
-    verify(dataWriter, never()).syncedWrite(any(), any());
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
   }
 }
@@ -22,6 +22,8 @@ import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.cache.IndexedAttestationCache;
 import tech.pegasys.teku.spec.constants.SpecConstants;
@@ -51,6 +53,7 @@ import tech.pegasys.teku.spec.statetransition.exceptions.EpochProcessingExceptio
 import tech.pegasys.teku.spec.statetransition.exceptions.SlotProcessingException;
 import tech.pegasys.teku.spec.statetransition.exceptions.StateTransitionException;
 import tech.pegasys.teku.spec.statetransition.results.BlockImportResult;
+import tech.pegasys.teku.spec.util.AsyncBLSSignatureVerifier;
 import tech.pegasys.teku.spec.util.BeaconStateUtil;
 import tech.pegasys.teku.spec.util.BlockProcessorUtil;
 import tech.pegasys.teku.ssz.SSZTypes.Bytes4;
@@ -172,6 +175,18 @@ public class Spec {
         .sszDeserialize(serializedState);
   }
 
+  /**
+   * The same as {@link #deserializeBeaconState(Bytes)} but state fields are only deserialized when
+   * accessed. Should only be used for trusted SSZ like states loaded from the local database
+   */
+  public BeaconState deserializeBeaconStateLazily(final Bytes serializedState) {
+    final UInt64 slot = BeaconStateSchema.extractSlot(serializedState);
+    return atSlot(slot)
+        .getSchemaDefinitions()
+        .getBeaconStateSchema()
+        .sszDeserializeLazily(serializedState);
+  }
+
   // BeaconState
   public UInt64 getCurrentEpoch(final BeaconState state) {
     return atState(state).getBeaconStateUtil().getCurrentEpoch(state);
@@ -272,6 +287,16 @@ public class Spec {
         .onBlock(store, signedBlock, blockSlotState, indexedAttestationCache);
   }
 
+  public BlockImportResult onBlocks(
+      final MutableStore store,
+      final List<SignedBeaconBlock> signedBlocks,
+      final BeaconState firstBlockSlotState,
+      final IndexedAttestationCache indexedAttestationCache) {
+    return atBlock(signedBlocks.get(0))
+        .getForkChoiceUtil()
+        .onBlocks(store, signedBlocks, firstBlockSlotState, indexedAttestationCache);
+  }
+
   public boolean blockDescendsFromLatestFinalizedBlock(
       final BeaconBlock block,
       final ReadOnlyStore store,
@@ -415,7 +440,7 @@ public class Spec {
     return atState(state).getValidatorsUtil().getMaxLookaheadEpoch(state);
   }
 
-  public List<Integer> getActiveValidatorIndices(final BeaconState state, final UInt64 epoch) {
+  public IntList getActiveValidatorIndices(final BeaconState state, final UInt64 epoch) {
     return atEpoch(epoch).getValidatorsUtil().getActiveValidatorIndices(state, epoch);
   }
 
@@ -434,11 +459,19 @@ public class Spec {
   }
 
   // Attestation helpers
-  public List<Integer> getAttestingIndices(
-      BeaconState state, AttestationData data, SszBitlist bits) {
+  public IntList getAttestingIndices(BeaconState state, AttestationData data, SszBitlist bits) {
     return atState(state).getAttestationUtil().getAttestingIndices(state, data, bits);
   }
 
+  public SafeFuture<AttestationProcessingResult> isValidIndexedAttestation(
+      final BeaconState state,
+      final ValidateableAttestation attestation,
+      final AsyncBLSSignatureVerifier signatureVerifier) {
+    return atState(state)
+        .getAttestationUtil()
+        .isValidIndexedAttestationAsync(state, attestation, signatureVerifier);
+  }
+
   public AttestationData getGenericAttestationData(
       final UInt64 slot,
       final BeaconState state,
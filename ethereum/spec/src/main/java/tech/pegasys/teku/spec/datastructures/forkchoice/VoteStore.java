@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.forkchoice;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.toIntExact;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Columnar store of the latest validator votes.
+ *
+ * <p>Votes are kept in parallel primitive arrays indexed by validator index instead of a map of
+ * {@link VoteTracker} containers. Vote roots are interned: every distinct root gets a small int id
+ * which is released once no vote refers to it anymore. This allows fork choice to walk all the
+ * votes without boxing or SSZ field access.
+ *
+ * <p>The store also tracks which votes were updated since the last {@link #removeUpdatedVotes()}
+ * call so that only changed votes need to be persisted.
+ *
+ * <p>This class is not thread-safe and should be guarded by the owner's lock
+ */
+public class VoteStore {
+
+  /** Root id of {@link Bytes32#ZERO} which is the root of the default vote */
+  public static final int ZERO_ROOT_ID = 0;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] currentRootIds = new int[INITIAL_CAPACITY];
+  private int[] nextRootIds = new int[INITIAL_CAPACITY];
+  private long[] nextEpochs = new long[INITIAL_CAPACITY];
+  private final BitSet votedValidators = new BitSet();
+  private final BitSet updatedValidators = new BitSet();
+
+  private Bytes32[] roots = new Bytes32[INITIAL_CAPACITY];
+  private int[] rootRefCounts = new int[INITIAL_CAPACITY];
+  private int rootIdCount = 1;
+  private final Map<Bytes32, Integer> rootIds = new HashMap<>();
+  private final Deque<Integer> releasedRootIds = new ArrayDeque<>();
+
+  public VoteStore() {
+    roots[ZERO_ROOT_ID] = Bytes32.ZERO;
+    rootIds.put(Bytes32.ZERO, ZERO_ROOT_ID);
+  }
+
+  /** Creates the store with the specified votes which are not considered updated */
+  public static VoteStore create(final Map<UInt64, VoteTracker> votes) {
+    final VoteStore store = new VoteStore();
+    votes.forEach(store::putVote);
+    store.updatedValidators.clear();
+    return store;
+  }
+
+  public boolean hasVote(final int validatorIndex) {
+    return votedValidators.get(validatorIndex);
+  }
+
+  /**
+   * Returns the lowest index of a validator which has a vote and which index is greater or equal
+   * to {@code fromIndex}, or -1 if there is no such validator
+   */
+  public int nextVotedValidatorIndex(final int fromIndex) {
+    return votedValidators.nextSetBit(fromIndex);
+  }
+
+  public int getVotedValidatorCount() {
+    return votedValidators.cardinality();
+  }
+
+  public int getCurrentRootId(final int validatorIndex) {
+    return hasVote(validatorIndex) ? currentRootIds[validatorIndex] : ZERO_ROOT_ID;
+  }
+
+  public int getNextRootId(final int validatorIndex) {
+    return hasVote(validatorIndex) ? nextRootIds[validatorIndex] : ZERO_ROOT_ID;
+  }
+
+  public Bytes32 getRoot(final int rootId) {
+    return roots[rootId];
+  }
+
+  /** Returns the upper bound of root ids, suitable as a size of arrays indexed by root id */
+  public int getRootIdCapacity() {
+    return rootIdCount;
+  }
+
+  public VoteTracker getVote(final UInt64 validatorIndex) {
+    return getVote(toIntExact(validatorIndex.longValue()));
+  }
+
+  public VoteTracker getVote(final int validatorIndex) {
+    if (!hasVote(validatorIndex)) {
+      return VoteTracker.DEFAULT;
+    }
+    return new VoteTracker(
+        roots[currentRootIds[validatorIndex]],
+        roots[nextRootIds[validatorIndex]],
+        UInt64.fromLongBits(nextEpochs[validatorIndex]));
+  }
+
+  public void putVote(final UInt64 validatorIndex, final VoteTracker vote) {
+    putVote(
+        toIntExact(validatorIndex.longValue()),
+        vote.getCurrentRoot(),
+        vote.getNextRoot(),
+        vote.getNextEpoch());
+  }
+
+  public void putVote(
+      final int validatorIndex,
+      final Bytes32 currentRoot,
+      final Bytes32 nextRoot,
+      final UInt64 nextEpoch) {
+    checkArgument(validatorIndex >= 0, "Invalid validator index: %s", validatorIndex);
+    ensureCapacity(validatorIndex + 1);
+    final int newCurrentRootId = acquireRootId(currentRoot);
+    final int newNextRootId = acquireRootId(nextRoot);
+    if (hasVote(validatorIndex)) {
+      releaseRootId(currentRootIds[validatorIndex]);
+      releaseRootId(nextRootIds[validatorIndex]);
+    }
+    currentRootIds[validatorIndex] = newCurrentRootId;
+    nextRootIds[validatorIndex] = newNextRootId;
+    nextEpochs[validatorIndex] = nextEpoch.longValue();
+    votedValidators.set(validatorIndex);
+    updatedValidators.set(validatorIndex);
+  }
+
+  /** Makes the validator next vote its current vote: {@code currentRoot = nextRoot} */
+  public void promoteNextVote(final int validatorIndex) {
+    checkArgument(hasVote(validatorIndex), "No vote for validator %s", validatorIndex);
+    final int nextRootId = nextRootIds[validatorIndex];
+    final int oldCurrentRootId = currentRootIds[validatorIndex];
+    if (oldCurrentRootId != nextRootId) {
+      rootRefCounts[nextRootId]++;
+      currentRootIds[validatorIndex] = nextRootId;
+      releaseRootId(oldCurrentRootId);
+    }
+    updatedValidators.set(validatorIndex);
+  }
+
+  public Set<UInt64> getVotedValidatorIndices() {
+    final Set<UInt64> indices = new HashSet<>();
+    for (int i = nextVotedValidatorIndex(0); i >= 0; i = nextVotedValidatorIndex(i + 1)) {
+      indices.add(UInt64.valueOf(i));
+    }
+    return indices;
+  }
+
+  /** Returns votes updated since the previous call of this method and resets updates tracking */
+  public Map<UInt64, VoteTracker> removeUpdatedVotes() {
+    final Map<UInt64, VoteTracker> updatedVotes = new HashMap<>();
+    for (int i = updatedValidators.nextSetBit(0); i >= 0; i = updatedValidators.nextSetBit(i + 1)) {
+      updatedVotes.put(UInt64.valueOf(i), getVote(i));
+    }
+    updatedValidators.clear();
+    return updatedVotes;
+  }
+
+  private void ensureCapacity(final int requiredCapacity) {
+    if (requiredCapacity > currentRootIds.length) {
+      final int newCapacity = Math.max(requiredCapacity, currentRootIds.length * 3 / 2);
+      currentRootIds = Arrays.copyOf(currentRootIds, newCapacity);
+      nextRootIds = Arrays.copyOf(nextRootIds, newCapacity);
+      nextEpochs = Arrays.copyOf(nextEpochs, newCapacity);
+    }
+  }
+
+  private int acquireRootId(final Bytes32 root) {
+    final Integer existingId = rootIds.get(root);
+    final int rootId;
+    if (existingId != null) {
+      rootId = existingId;
+    } else {
+      if (!releasedRootIds.isEmpty()) {
+        rootId = releasedRootIds.pop();
+      } else {
+        rootId = rootIdCount++;
+        if (rootId >= roots.length) {
+          roots = Arrays.copyOf(roots, roots.length * 2);
+          rootRefCounts = Arrays.copyOf(rootRefCounts, rootRefCounts.length * 2);
+        }
+      }
+      roots[rootId] = root;
+      rootIds.put(root, rootId);
+    }
+    rootRefCounts[rootId]++;
+    return rootId;
+  }
+
+  private void releaseRootId(final int rootId) {
+    rootRefCounts[rootId]--;
+    if (rootRefCounts[rootId] == 0 && rootId != ZERO_ROOT_ID) {
+      rootIds.remove(roots[rootId]);
+      roots[rootId] = null;
+      releasedRootIds.push(rootId);
+    }
+  }
+}
@@ -27,6 +27,16 @@ public interface VoteUpdater {
 
   void putVote(UInt64 validatorIndex, VoteTracker vote);
 
+  /**
+   * Applies votes put to this updater to the underlying {@link VoteStore} and returns it so that
+   * all the votes can be processed in bulk. Votes updated directly in the returned store are
+   * persisted on {@link #commit()}.
+   *
+   * <p>Should only be called by fork choice while processing {@link
+   * #applyForkChoiceScoreChanges(Checkpoint, Checkpoint, List)}
+   */
+  VoteStore applyPendingVotes();
+
   Bytes32 applyForkChoiceScoreChanges(
       Checkpoint finalizedCheckpoint,
       Checkpoint justifiedCheckpoint,
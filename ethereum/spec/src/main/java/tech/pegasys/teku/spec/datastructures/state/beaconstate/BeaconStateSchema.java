@@ -45,13 +45,20 @@ import tech.pegasys.teku.ssz.sos.SszField;
 
 public class BeaconStateSchema extends AbstractSszContainerSchema<BeaconState> {
 
+  /**
+   * Minimum number of updated tree nodes (e.g. after epoch processing touched all the balances)
+   * for the state hash tree root to be calculated in parallel
+   */
+  private static final int PARALLEL_HASH_THRESHOLD = 4096;
+
   @VisibleForTesting
   BeaconStateSchema(final List<SszField> fields) {
     super(
         "BeaconState",
         fields.stream()
             .map(f -> namedSchema(f.getName(), f.getSchema().get()))
-            .collect(Collectors.toList()));
+            .collect(Collectors.toList()),
+        SszSchemaHints.parallelHash(PARALLEL_HASH_THRESHOLD));
     validateFields(fields);
   }
 
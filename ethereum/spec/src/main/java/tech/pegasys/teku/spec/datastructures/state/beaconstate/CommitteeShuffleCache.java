@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.collections.IntList;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Cache of epoch committee shuffles which is shared by all states.
+ *
+ * <p>The shuffle of an epoch only depends on the epoch seed and on the set of active validators,
+ * which is fixed well before the randao mix the seed is derived from. States of the same chain and
+ * sibling states of different forks which agree on the seed therefore always agree on the shuffle,
+ * so it is computed once and stored as a single {@code int[]} instead of a boxed list per state.
+ * The number of active validators, a hash of their indices and the number of shuffle rounds are
+ * still part of the key as a safeguard. The hash is computed once per active indices list and
+ * reused for all the committees of the epoch.
+ *
+ * <p>When the cache is full, the shuffle of the oldest epoch is evicted, the least recently used
+ * one among shuffles of the same epoch.
+ */
+public class CommitteeShuffleCache {
+  private static final int MAX_CACHED_SHUFFLES = 16;
+
+  private static final CommitteeShuffleCache GLOBAL_INSTANCE =
+      new CommitteeShuffleCache(MAX_CACHED_SHUFFLES);
+
+  static final CommitteeShuffleCache NO_OP_INSTANCE =
+      new CommitteeShuffleCache(0) {
+        @Override
+        public int[] get(
+            final UInt64 epoch,
+            final Bytes32 seed,
+            final IntList activeValidatorIndices,
+            final int shuffleRoundCount,
+            final Supplier<int[]> shuffleSupplier) {
+          return shuffleSupplier.get();
+        }
+      };
+
+  private final int maxCachedShuffles;
+  // Access ordered so that the least recently used entry comes first
+  private final Map<ShuffleKey, CachedShuffle> shuffles = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  @VisibleForTesting
+  CommitteeShuffleCache(final int maxCachedShuffles) {
+    this.maxCachedShuffles = maxCachedShuffles;
+  }
+
+  /** Returns the cache shared by all states */
+  public static CommitteeShuffleCache getGlobalInstance() {
+    return GLOBAL_INSTANCE;
+  }
+
+  /**
+   * Returns the shuffled active validator indices for the epoch computing them if they are not yet
+   * cached. The same array is returned to all the callers so it must never be modified.
+   *
+   * @param epoch the epoch of the shuffle, used to decide which shuffles to evict
+   * @param seed the epoch seed for the beacon attester domain
+   * @param activeValidatorIndices the indices of the validators active in the epoch
+   * @param shuffleRoundCount the number of shuffle rounds of the spec
+   * @param shuffleSupplier computes the shuffled active validator indices
+   */
+  public int[] get(
+      final UInt64 epoch,
+      final Bytes32 seed,
+      final IntList activeValidatorIndices,
+      final int shuffleRoundCount,
+      final Supplier<int[]> shuffleSupplier) {
+    final ShuffleKey key =
+        new ShuffleKey(
+            seed,
+            activeValidatorIndices.size(),
+            activeValidatorIndices.hashCode(),
+            shuffleRoundCount);
+    synchronized (this) {
+      final CachedShuffle cachedShuffle = shuffles.get(key);
+      if (cachedShuffle != null) {
+        hitCount.incrementAndGet();
+        return cachedShuffle.shuffle;
+      }
+    }
+    missCount.incrementAndGet();
+    // Shuffling is expensive, so it's done without holding the lock
+    final int[] shuffle = shuffleSupplier.get();
+    synchronized (this) {
+      final CachedShuffle cachedShuffle =
+          shuffles.computeIfAbsent(key, __ -> new CachedShuffle(epoch, shuffle));
+      evictOldestEpochs();
+      return cachedShuffle.shuffle;
+    }
+  }
+
+  /** Number of lookups which returned an already computed shuffle */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /** Number of lookups which had to compute the shuffle */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    return shuffles.size();
+  }
+
+  private void evictOldestEpochs() {
+    while (shuffles.size() > maxCachedShuffles) {
+      // Entries are iterated from the least recently used one
+      ShuffleKey evictedKey = null;
+      UInt64 oldestEpoch = null;
+      for (Map.Entry<ShuffleKey, CachedShuffle> entry : shuffles.entrySet()) {
+        if (oldestEpoch == null || entry.getValue().epoch.isLessThan(oldestEpoch)) {
+          evictedKey = entry.getKey();
+          oldestEpoch = entry.getValue().epoch;
+        }
+      }
+      shuffles.remove(evictedKey);
+    }
+  }
+
+  private static class CachedShuffle {
+    private final UInt64 epoch;
+    private final int[] shuffle;
+
+    private CachedShuffle(final UInt64 epoch, final int[] shuffle) {
+      this.epoch = epoch;
+      this.shuffle = shuffle;
+    }
+  }
+
+  private static class ShuffleKey {
+    private final Bytes32 seed;
+    private final int activeValidatorCount;
+    private final int activeValidatorIndicesHash;
+    private final int shuffleRoundCount;
+
+    private ShuffleKey(
+        final Bytes32 seed,
+        final int activeValidatorCount,
+        final int activeValidatorIndicesHash,
+        final int shuffleRoundCount) {
+      this.seed = seed;
+      this.activeValidatorCount = activeValidatorCount;
+      this.activeValidatorIndicesHash = activeValidatorIndicesHash;
+      this.shuffleRoundCount = shuffleRoundCount;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final ShuffleKey that = (ShuffleKey) o;
+      return activeValidatorCount == that.activeValidatorCount
+          && activeValidatorIndicesHash == that.activeValidatorIndicesHash
+          && shuffleRoundCount == that.shuffleRoundCount
+          && Objects.equals(seed, that.seed);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          seed, activeValidatorCount, activeValidatorIndicesHash, shuffleRoundCount);
+    }
+  }
+}
@@ -13,7 +13,10 @@
 
 package tech.pegasys.teku.spec.datastructures.state.beaconstate;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlockHeader;
@@ -26,6 +29,7 @@ import tech.pegasys.teku.ssz.SSZTypes.SSZBackingList;
 import tech.pegasys.teku.ssz.SSZTypes.SSZBackingVector;
 import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
 import tech.pegasys.teku.ssz.SSZTypes.SSZMutableVector;
+import tech.pegasys.teku.ssz.backing.SszMutableList;
 import tech.pegasys.teku.ssz.backing.SszMutableRefContainer;
 import tech.pegasys.teku.ssz.backing.collections.SszBitvector;
 import tech.pegasys.teku.ssz.backing.view.AbstractSszPrimitive;
@@ -103,6 +107,17 @@ public interface MutableBeaconState extends BeaconState, SszMutableRefContainer
         UInt64.class, getAnyByRef(12), SszUInt64::new, AbstractSszPrimitive::get);
   }
 
+  /**
+   * Replaces all the validator balances at once. The balances list tree is built from scratch which
+   * is considerably cheaper than updating every balance element one by one
+   */
+  default void setBalances(long[] balances) {
+    final SszMutableList<SszUInt64> balancesList = getAnyByRef(12);
+    final byte[] ssz = new byte[balances.length * Long.BYTES];
+    ByteBuffer.wrap(ssz).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(balances);
+    balancesList.setAll(balancesList.getSchema().sszDeserialize(Bytes.wrap(ssz)));
+  }
+
   @Override
   default SSZMutableVector<Bytes32> getRandao_mixes() {
     return new SSZBackingVector<>(
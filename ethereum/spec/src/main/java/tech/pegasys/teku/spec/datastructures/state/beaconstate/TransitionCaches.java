@@ -16,9 +16,9 @@ package tech.pegasys.teku.spec.datastructures.state.beaconstate;
 import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.independent.TotalBalances;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.collections.cache.Cache;
 import tech.pegasys.teku.infrastructure.collections.cache.LRUCache;
 import tech.pegasys.teku.infrastructure.collections.cache.NoOpCache;
@@ -31,7 +31,6 @@ public class TransitionCaches {
   private static final int MAX_BEACON_PROPOSER_INDEX_CACHE = 1;
   private static final int MAX_BEACON_COMMITTEE_CACHE = 64 * 64;
   private static final int MAX_TOTAL_ACTIVE_BALANCE_CACHE = 2;
-  private static final int MAX_COMMITTEE_SHUFFLE_CACHE = 2;
   private static final int MAX_EFFECTIVE_BALANCE_CACHE = 1;
 
   private static final TransitionCaches NO_OP_INSTANCE =
@@ -42,8 +41,9 @@ public class TransitionCaches {
           NoOpCache.getNoOpCache(),
           NoOpCache.getNoOpCache(),
           NoOpCache.getNoOpCache(),
+          ValidatorPublicKeyCache.NO_OP_INSTANCE,
           ValidatorIndexCache.NO_OP_INSTANCE,
-          NoOpCache.getNoOpCache(),
+          CommitteeShuffleCache.NO_OP_INSTANCE,
           NoOpCache.getNoOpCache()) {
 
         @Override
@@ -62,14 +62,15 @@ public class TransitionCaches {
     return NO_OP_INSTANCE;
   }
 
-  private final Cache<UInt64, List<Integer>> activeValidators;
+  private final Cache<UInt64, IntList> activeValidators;
   private final Cache<UInt64, Integer> beaconProposerIndex;
-  private final Cache<Pair<UInt64, UInt64>, List<Integer>> beaconCommittee;
+  private final Cache<Pair<UInt64, UInt64>, IntList> beaconCommittee;
   private final Cache<UInt64, UInt64> attestersTotalBalance;
   private final Cache<UInt64, UInt64> totalActiveBalance;
   private final Cache<UInt64, BLSPublicKey> validatorsPubKeys;
-  private final ValidatorIndexCache validatorIndexCache;
-  private final Cache<Bytes32, List<Integer>> committeeShuffle;
+  private final ValidatorPublicKeyCache validatorPublicKeyCache;
+  private volatile ValidatorIndexCache validatorIndexCache;
+  private final CommitteeShuffleCache committeeShuffle;
   private final Cache<UInt64, List<UInt64>> effectiveBalances;
 
   private volatile Optional<TotalBalances> latestTotalBalances = Optional.empty();
@@ -81,20 +82,23 @@ public class TransitionCaches {
     attestersTotalBalance = new LRUCache<>(MAX_BEACON_COMMITTEE_CACHE);
     totalActiveBalance = new LRUCache<>(MAX_TOTAL_ACTIVE_BALANCE_CACHE);
     validatorsPubKeys = new LRUCache<>(Integer.MAX_VALUE - 1);
-    validatorIndexCache = new ValidatorIndexCache();
-    committeeShuffle = new LRUCache<>(MAX_COMMITTEE_SHUFFLE_CACHE);
+    validatorPublicKeyCache = ValidatorPublicKeyCache.getGlobalInstance();
+    // resolved on the first access as the chain of the state isn't known yet
+    validatorIndexCache = null;
+    committeeShuffle = CommitteeShuffleCache.getGlobalInstance();
     effectiveBalances = new LRUCache<>(MAX_EFFECTIVE_BALANCE_CACHE);
   }
 
   private TransitionCaches(
-      Cache<UInt64, List<Integer>> activeValidators,
+      Cache<UInt64, IntList> activeValidators,
       Cache<UInt64, Integer> beaconProposerIndex,
-      Cache<Pair<UInt64, UInt64>, List<Integer>> beaconCommittee,
+      Cache<Pair<UInt64, UInt64>, IntList> beaconCommittee,
       Cache<UInt64, UInt64> attestersTotalBalance,
       Cache<UInt64, UInt64> totalActiveBalance,
       Cache<UInt64, BLSPublicKey> validatorsPubKeys,
+      ValidatorPublicKeyCache validatorPublicKeyCache,
       ValidatorIndexCache validatorIndexCache,
-      Cache<Bytes32, List<Integer>> committeeShuffle,
+      CommitteeShuffleCache committeeShuffle,
       Cache<UInt64, List<UInt64>> effectiveBalances) {
     this.activeValidators = activeValidators;
     this.beaconProposerIndex = beaconProposerIndex;
@@ -102,6 +106,7 @@ public class TransitionCaches {
     this.attestersTotalBalance = attestersTotalBalance;
     this.totalActiveBalance = totalActiveBalance;
     this.validatorsPubKeys = validatorsPubKeys;
+    this.validatorPublicKeyCache = validatorPublicKeyCache;
     this.validatorIndexCache = validatorIndexCache;
     this.committeeShuffle = committeeShuffle;
     this.effectiveBalances = effectiveBalances;
@@ -116,7 +121,7 @@ public class TransitionCaches {
   }
 
   /** (epoch) -> (active validators) cache */
-  public Cache<UInt64, List<Integer>> getActiveValidators() {
+  public Cache<UInt64, IntList> getActiveValidators() {
     return activeValidators;
   }
 
@@ -126,7 +131,7 @@ public class TransitionCaches {
   }
 
   /** (slot, committeeIndex) -> (committee) cache */
-  public Cache<Pair<UInt64, UInt64>, List<Integer>> getBeaconCommittee() {
+  public Cache<Pair<UInt64, UInt64>, IntList> getBeaconCommittee() {
     return beaconCommittee;
   }
 
@@ -146,18 +151,33 @@ public class TransitionCaches {
   }
 
   /**
-   * (validator pub key) -> (validator index) cache
+   * (validator index) -> (validator pub key) registry shared by all states. Backs {@link
+   * #getValidatorsPubKeys()} so that states which don't share caches still share decompressed keys
+   */
+  public ValidatorPublicKeyCache getValidatorPublicKeyCache() {
+    return validatorPublicKeyCache;
+  }
+
+  /**
+   * (validator pub key) -> (validator index) cache shared by all states of the chain
    *
    * <p>WARNING: May contain mappings for public keys of validators that are not yet registered in
    * this state (but when registered are guaranteed to be at that index). Check index < total
    * validator count before looking up the cache
+   *
+   * @param state the state these caches belong to
    */
-  public ValidatorIndexCache getValidatorIndexCache() {
-    return validatorIndexCache;
+  public ValidatorIndexCache getValidatorIndexCache(BeaconState state) {
+    ValidatorIndexCache cache = validatorIndexCache;
+    if (cache == null) {
+      cache = ValidatorIndexCache.getForChain(state.getGenesis_validators_root());
+      validatorIndexCache = cache;
+    }
+    return cache;
   }
 
-  /** (epoch committee seed) -> (validators shuffle for epoch) cache */
-  public Cache<Bytes32, List<Integer>> getCommitteeShuffle() {
+  /** (epoch committee seed) -> (validators shuffle for epoch) cache shared by all states */
+  public CommitteeShuffleCache getCommitteeShuffle() {
     return committeeShuffle;
   }
 
@@ -183,8 +203,9 @@ public class TransitionCaches {
         attestersTotalBalance.copy(),
         totalActiveBalance.copy(),
         validatorsPubKeys,
+        validatorPublicKeyCache,
         validatorIndexCache,
-        committeeShuffle.copy(),
+        committeeShuffle,
         effectiveBalances.copy());
   }
 }
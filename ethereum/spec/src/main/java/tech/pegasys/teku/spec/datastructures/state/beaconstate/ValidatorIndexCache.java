@@ -14,32 +14,68 @@
 package tech.pegasys.teku.spec.datastructures.state.beaconstate;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.collections.LimitedMap;
 import tech.pegasys.teku.infrastructure.collections.cache.Cache;
-import tech.pegasys.teku.infrastructure.collections.cache.LRUCache;
 import tech.pegasys.teku.infrastructure.collections.cache.NoOpCache;
+import tech.pegasys.teku.infrastructure.collections.cache.UnboundedCache;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 
+/**
+ * (validator pub key) -> (validator index) cache shared by all states of a chain.
+ *
+ * <p>Validators are only ever appended to the registry in the order of their deposits, so the index
+ * of a validator is the same in every state of a chain which has it registered. A single
+ * append-only index per chain (identified by the genesis validators root) is therefore shared by
+ * all states, and each state bounds it by its own validator count: an index is only valid for a
+ * state if it's lower than the state validator count. States never copy the index and lookups
+ * don't take any locks.
+ *
+ * <p>A cached index is only returned if the validator at that index in the state has the requested
+ * key. States of different forks could disagree, so on a mismatch the state is scanned without
+ * updating the shared index.
+ */
 public class ValidatorIndexCache {
+  private static final int MAX_CHAIN_COUNT = 4;
+  private static final Map<Bytes32, ValidatorIndexCache> CHAIN_CACHES =
+      LimitedMap.create(MAX_CHAIN_COUNT);
+
   private final Cache<BLSPublicKey, Integer> validatorIndexes;
   private final AtomicInteger lastIndex;
+  private final ValidatorPublicKeyCache publicKeyCache;
 
   private static final int INDEX_NONE = -1;
   static final ValidatorIndexCache NO_OP_INSTANCE =
-      new ValidatorIndexCache(NoOpCache.getNoOpCache(), INDEX_NONE);
+      new ValidatorIndexCache(
+          NoOpCache.getNoOpCache(), INDEX_NONE, ValidatorPublicKeyCache.NO_OP_INSTANCE);
 
   @VisibleForTesting
   ValidatorIndexCache(final Cache<BLSPublicKey, Integer> validatorIndexes, final int lastIndex) {
+    this(validatorIndexes, lastIndex, ValidatorPublicKeyCache.getGlobalInstance());
+  }
+
+  private ValidatorIndexCache(
+      final Cache<BLSPublicKey, Integer> validatorIndexes,
+      final int lastIndex,
+      final ValidatorPublicKeyCache publicKeyCache) {
     this.validatorIndexes = validatorIndexes;
     this.lastIndex = new AtomicInteger(lastIndex);
+    this.publicKeyCache = publicKeyCache;
   }
 
   public ValidatorIndexCache() {
-    this.validatorIndexes = new LRUCache<>(Integer.MAX_VALUE - 1);
-    this.lastIndex = new AtomicInteger(INDEX_NONE);
+    this(new UnboundedCache<>(), INDEX_NONE, ValidatorPublicKeyCache.getGlobalInstance());
+  }
+
+  /** Returns the cache shared by all states with the specified genesis validators root */
+  public static ValidatorIndexCache getForChain(final Bytes32 genesisValidatorsRoot) {
+    return CHAIN_CACHES.computeIfAbsent(genesisValidatorsRoot, __ -> new ValidatorIndexCache());
   }
 
   public Optional<Integer> getValidatorIndex(
@@ -49,12 +85,31 @@ public class ValidatorIndexCache {
     // when we scan for more keys through the state later.
     final int lastIndexSnapshot = lastIndex.get();
 
+    final SSZList<Validator> validators = state.getValidators();
     final Optional<Integer> validatorIndex = validatorIndexes.getCached(publicKey);
     if (validatorIndex.isPresent()) {
-      return validatorIndex.filter(index -> index < state.getValidators().size());
+      final int index = validatorIndex.get();
+      if (index >= validators.size()) {
+        return Optional.empty();
+      }
+      if (validators.get(index).getPubkey().equals(publicKey.toBytesCompressed())) {
+        return validatorIndex;
+      }
+      return scanState(validators, publicKey);
     }
 
-    return findIndexFromState(state.getValidators(), publicKey, lastIndexSnapshot);
+    return findIndexFromState(validators, publicKey, lastIndexSnapshot);
+  }
+
+  private Optional<Integer> scanState(
+      final SSZList<Validator> validatorList, final BLSPublicKey publicKey) {
+    final Bytes48 compressedPublicKey = publicKey.toBytesCompressed();
+    for (int i = 0; i < validatorList.size(); i++) {
+      if (validatorList.get(i).getPubkey().equals(compressedPublicKey)) {
+        return Optional.of(i);
+      }
+    }
+    return Optional.empty();
   }
 
   private Optional<Integer> findIndexFromState(
@@ -62,7 +117,7 @@ public class ValidatorIndexCache {
       final BLSPublicKey publicKey,
       final int lastIndexSnapshot) {
     for (int i = Math.max(lastIndexSnapshot, 0); i < validatorList.size(); i++) {
-      BLSPublicKey pubKey = BLSPublicKey.fromBytesCompressed(validatorList.get(i).getPubkey());
+      BLSPublicKey pubKey = publicKeyCache.get(i, validatorList.get(i).getPubkey());
       validatorIndexes.invalidateWithNewValue(pubKey, i);
       if (pubKey.equals(publicKey)) {
         updateLastIndex(i);
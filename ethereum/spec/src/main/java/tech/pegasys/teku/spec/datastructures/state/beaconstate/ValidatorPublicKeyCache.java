@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.bls.BLSPublicKey;
+
+/**
+ * Append-only registry of validator public keys addressed by validator index which is shared by
+ * all states.
+ *
+ * <p>{@link BLSPublicKey} decompresses its G1 point lazily on the first use and then keeps it, so
+ * sharing a single instance per validator between all the states guarantees that the key of a
+ * validator is decompressed at most once, no matter how many unrelated state copies (e.g. states
+ * regenerated from the database) refer to it.
+ *
+ * <p>Validators are never removed or reordered within a chain, so the key at an index never
+ * changes. The compressed bytes are still compared on every lookup so that states of different
+ * chains (e.g. in tests) never get a wrong key: a mismatching entry is simply replaced.
+ *
+ * <p>Lookups are lock-free, only adding a new key is synchronized.
+ */
+public class ValidatorPublicKeyCache {
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private static final ValidatorPublicKeyCache GLOBAL_INSTANCE = new ValidatorPublicKeyCache();
+
+  static final ValidatorPublicKeyCache NO_OP_INSTANCE =
+      new ValidatorPublicKeyCache() {
+        @Override
+        public BLSPublicKey get(final int validatorIndex, final Bytes48 compressedPublicKey) {
+          return BLSPublicKey.fromBytesCompressed(compressedPublicKey);
+        }
+      };
+
+  private volatile AtomicReferenceArray<BLSPublicKey> publicKeys =
+      new AtomicReferenceArray<>(INITIAL_CAPACITY);
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  @VisibleForTesting
+  ValidatorPublicKeyCache() {}
+
+  /** Returns the registry shared by all states */
+  public static ValidatorPublicKeyCache getGlobalInstance() {
+    return GLOBAL_INSTANCE;
+  }
+
+  /**
+   * Returns the shared public key of the validator creating and registering it if it's not yet
+   * known
+   *
+   * @param validatorIndex the index of the validator
+   * @param compressedPublicKey the public key of the validator as stored in the state
+   * @return the public key which is equal to {@code compressedPublicKey}
+   */
+  public BLSPublicKey get(final int validatorIndex, final Bytes48 compressedPublicKey) {
+    checkArgument(validatorIndex >= 0, "Invalid validator index: %s", validatorIndex);
+    final AtomicReferenceArray<BLSPublicKey> currentKeys = publicKeys;
+    if (validatorIndex < currentKeys.length()) {
+      final BLSPublicKey publicKey = currentKeys.get(validatorIndex);
+      if (publicKey != null && publicKey.toBytesCompressed().equals(compressedPublicKey)) {
+        hitCount.incrementAndGet();
+        return publicKey;
+      }
+    }
+    missCount.incrementAndGet();
+    final BLSPublicKey publicKey = BLSPublicKey.fromBytesCompressed(compressedPublicKey);
+    put(validatorIndex, publicKey);
+    return publicKey;
+  }
+
+  /** Number of lookups which returned an already registered key */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Number of lookups which had to create a new key. Every such key is decompressed at most once,
+   * when it's first used
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  private synchronized void put(final int validatorIndex, final BLSPublicKey publicKey) {
+    AtomicReferenceArray<BLSPublicKey> currentKeys = publicKeys;
+    if (validatorIndex >= currentKeys.length()) {
+      final int newCapacity = Math.max(validatorIndex + 1, currentKeys.length() * 2);
+      final AtomicReferenceArray<BLSPublicKey> newKeys = new AtomicReferenceArray<>(newCapacity);
+      for (int i = 0; i < currentKeys.length(); i++) {
+        newKeys.set(i, currentKeys.get(i));
+      }
+      publicKeys = newKeys;
+      currentKeys = newKeys;
+    }
+    currentKeys.set(validatorIndex, publicKey);
+  }
+}
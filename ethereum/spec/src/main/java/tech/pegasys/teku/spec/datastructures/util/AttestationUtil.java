@@ -34,6 +34,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.bls.BLSSignatureVerifier;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlockSummary;
@@ -81,12 +82,12 @@ public class AttestationUtil {
   @Deprecated
   public static IndexedAttestation get_indexed_attestation(
       BeaconState state, Attestation attestation) {
-    List<Integer> attesting_indices =
+    IntList attesting_indices =
         get_attesting_indices(state, attestation.getData(), attestation.getAggregation_bits());
 
     return new IndexedAttestation(
         SSZList.createMutable(
-            attesting_indices.stream().sorted().map(UInt64::valueOf).collect(toList()),
+            attesting_indices.intStream().sorted().mapToObj(UInt64::valueOf).collect(toList()),
             MAX_VALIDATORS_PER_COMMITTEE,
             UInt64.class),
         attestation.getData(),
@@ -105,21 +106,21 @@ public class AttestationUtil {
    *     <a>https://github.com/ethereum/eth2.0-specs/blob/v0.8.0/specs/core/0_beacon-chain.md#get_attesting_indices</a>
    */
   @Deprecated
-  public static List<Integer> get_attesting_indices(
+  public static IntList get_attesting_indices(
       BeaconState state, AttestationData data, SszBitlist bits) {
-    return stream_attesting_indices(state, data, bits).boxed().collect(toList());
+    return IntList.fromStream(stream_attesting_indices(state, data, bits));
   }
 
   @Deprecated
   public static IntStream stream_attesting_indices(
       BeaconState state, AttestationData data, SszBitlist bits) {
-    List<Integer> committee = get_beacon_committee(state, data.getSlot(), data.getIndex());
+    IntList committee = get_beacon_committee(state, data.getSlot(), data.getIndex());
     checkArgument(
         bits.size() == committee.size(),
         "Aggregation bitlist size (%s) does not match committee size (%s)",
         bits.size(),
         committee.size());
-    return IntStream.range(0, committee.size()).filter(bits::getBit).map(committee::get);
+    return IntStream.range(0, committee.size()).filter(bits::getBit).map(committee::getInt);
   }
 
   @Deprecated
@@ -59,6 +59,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
 import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlock;
 import tech.pegasys.teku.spec.datastructures.operations.Deposit;
@@ -590,7 +591,7 @@ public class BeaconStateUtil {
    */
   @Deprecated
   public static UInt64 get_committee_count_per_slot(BeaconState state, UInt64 epoch) {
-    List<Integer> active_validator_indices = get_active_validator_indices(state, epoch);
+    IntList active_validator_indices = get_active_validator_indices(state, epoch);
     return get_committee_count_per_slot(active_validator_indices.size());
   }
 
@@ -647,7 +648,7 @@ public class BeaconStateUtil {
                       Bytes.concatenate(
                           get_seed(state, epoch, DOMAIN_BEACON_PROPOSER),
                           uint_to_bytes(slot.longValue(), 8)));
-              List<Integer> indices = get_active_validator_indices(state, epoch);
+              IntList indices = get_active_validator_indices(state, epoch);
               return compute_proposer_index(state, indices, seed);
             });
   }
@@ -29,14 +29,12 @@ import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_EPOCH;
 import static tech.pegasys.teku.util.config.Constants.TARGET_AGGREGATORS_PER_COMMITTEE;
 
 import com.google.common.primitives.UnsignedBytes;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
 import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
@@ -88,10 +86,10 @@ public class CommitteeUtil {
   }
 
   @Deprecated
-  private static List<Integer> shuffle_list(List<Integer> input, Bytes32 seed) {
-    int[] indexes = input.stream().mapToInt(i -> i).toArray();
+  private static int[] shuffle_list(IntList input, Bytes32 seed) {
+    int[] indexes = input.toIntArray();
     shuffle_list(indexes, seed);
-    return Arrays.stream(indexes).boxed().collect(Collectors.toList());
+    return indexes;
   }
 
   /**
@@ -165,14 +163,14 @@ public class CommitteeUtil {
    * @return
    */
   @Deprecated
-  public static int compute_proposer_index(BeaconState state, List<Integer> indices, Bytes32 seed) {
+  public static int compute_proposer_index(BeaconState state, IntList indices, Bytes32 seed) {
     checkArgument(!indices.isEmpty(), "compute_proposer_index indices must not be empty");
     UInt64 MAX_RANDOM_BYTE = UInt64.valueOf(255); // Math.pow(2, 8) - 1;
     int i = 0;
     final int total = indices.size();
     Bytes32 hash = null;
     while (true) {
-      int candidate_index = indices.get(compute_shuffled_index(i % total, total, seed));
+      int candidate_index = indices.getInt(compute_shuffled_index(i % total, total, seed));
       if (i % 32 == 0) {
         hash = Hash.sha2_256(Bytes.concatenate(seed, uint_to_bytes(Math.floorDiv(i, 32), 8)));
       }
@@ -188,17 +186,28 @@ public class CommitteeUtil {
   }
 
   @Deprecated
-  private static List<Integer> compute_committee_shuffle(
-      BeaconState state, List<Integer> indices, Bytes32 seed, int fromIndex, int toIndex) {
+  private static IntList compute_committee_shuffle(
+      BeaconState state,
+      UInt64 epoch,
+      IntList indices,
+      Bytes32 seed,
+      int fromIndex,
+      int toIndex) {
     if (fromIndex < toIndex) {
       int index_count = indices.size();
       checkArgument(fromIndex < index_count, "CommitteeUtil.get_shuffled_index1");
       checkArgument(toIndex <= index_count, "CommitteeUtil.get_shuffled_index1");
     }
-    return BeaconStateCache.getTransitionCaches(state)
-        .getCommitteeShuffle()
-        .get(seed, s -> shuffle_list(indices, s))
-        .subList(fromIndex, toIndex);
+    final int[] shuffle =
+        BeaconStateCache.getTransitionCaches(state)
+            .getCommitteeShuffle()
+            .get(
+                epoch,
+                seed,
+                indices,
+                SHUFFLE_ROUND_COUNT,
+                () -> shuffle_list(indices, seed));
+    return IntList.wrap(shuffle).subList(fromIndex, toIndex);
   }
 
   /**
@@ -213,11 +222,16 @@ public class CommitteeUtil {
    *     <a>https://github.com/ethereum/eth2.0-specs/blob/v0.8.0/specs/core/0_beacon-chain.md#is_valid_merkle_branch</a>
    */
   @Deprecated
-  private static List<Integer> compute_committee(
-      BeaconState state, List<Integer> indices, Bytes32 seed, int index, int count) {
+  private static IntList compute_committee(
+      BeaconState state,
+      UInt64 epoch,
+      IntList indices,
+      Bytes32 seed,
+      int index,
+      int count) {
     int start = Math.floorDiv(indices.size() * index, count);
     int end = Math.floorDiv(indices.size() * (index + 1), count);
-    return compute_committee_shuffle(state, indices, seed, start, end);
+    return compute_committee_shuffle(state, epoch, indices, seed, start, end);
   }
 
   /**
@@ -230,7 +244,7 @@ public class CommitteeUtil {
    */
   /* note: now in BeaconStateUtil */
   @Deprecated
-  public static List<Integer> get_beacon_committee(BeaconState state, UInt64 slot, UInt64 index) {
+  public static IntList get_beacon_committee(BeaconState state, UInt64 slot, UInt64 index) {
     // Make sure state is within range of the slot being queried
     validateStateForCommitteeQuery(state, slot);
 
@@ -246,6 +260,7 @@ public class CommitteeUtil {
               int count = committees_per_slot.times(SLOTS_PER_EPOCH).intValue();
               return compute_committee(
                   state,
+                  epoch,
                   get_active_validator_indices(state, epoch),
                   get_seed(state, epoch, DOMAIN_BEACON_ATTESTER),
                   committeeIndex,
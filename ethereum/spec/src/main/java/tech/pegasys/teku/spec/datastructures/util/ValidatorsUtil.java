@@ -16,16 +16,16 @@ package tech.pegasys.teku.spec.datastructures.util;
 import static com.google.common.base.Preconditions.checkArgument;
 import static tech.pegasys.teku.util.config.Constants.MAX_SEED_LOOKAHEAD;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.TransitionCaches;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.util.config.Constants;
 
@@ -70,19 +70,21 @@ public class ValidatorsUtil {
         || validatorIndex.longValue() < 0) {
       return Optional.empty();
     }
+    final TransitionCaches transitionCaches = BeaconStateCache.getTransitionCaches(state);
     return Optional.of(
-        BeaconStateCache.getTransitionCaches(state)
+        transitionCaches
             .getValidatorsPubKeys()
             .get(
                 validatorIndex,
                 i -> {
                   BLSPublicKey pubKey =
-                      BLSPublicKey.fromBytesCompressed(
-                          state.getValidators().get(i.intValue()).getPubkey());
+                      transitionCaches
+                          .getValidatorPublicKeyCache()
+                          .get(i.intValue(), state.getValidators().get(i.intValue()).getPubkey());
 
                   // eagerly pre-cache pubKey => validatorIndex mapping
-                  BeaconStateCache.getTransitionCaches(state)
-                      .getValidatorIndexCache()
+                  transitionCaches
+                      .getValidatorIndexCache(state)
                       .invalidateWithNewValue(pubKey, i.intValue());
                   return pubKey;
                 }));
@@ -96,7 +98,7 @@ public class ValidatorsUtil {
    * @return A list of indices representing the active validators for the given epoch.
    */
   @Deprecated
-  public static List<Integer> get_active_validator_indices(BeaconState state, UInt64 epoch) {
+  public static IntList get_active_validator_indices(BeaconState state, UInt64 epoch) {
     final UInt64 stateEpoch = BeaconStateUtil.get_current_epoch(state);
     final UInt64 maxLookaheadEpoch = getMaxLookaheadEpoch(stateEpoch);
     checkArgument(
@@ -110,10 +112,9 @@ public class ValidatorsUtil {
             epoch,
             e -> {
               SSZList<Validator> validators = state.getValidators();
-              return IntStream.range(0, validators.size())
-                  .filter(index -> is_active_validator(validators.get(index), epoch))
-                  .boxed()
-                  .collect(Collectors.toList());
+              return IntList.fromStream(
+                  IntStream.range(0, validators.size())
+                      .filter(index -> is_active_validator(validators.get(index), epoch)));
             });
   }
 
@@ -130,7 +131,7 @@ public class ValidatorsUtil {
   @SuppressWarnings("DoNotReturnNullOptionals")
   public static Optional<Integer> getValidatorIndex(BeaconState state, BLSPublicKey publicKey) {
     return BeaconStateCache.getTransitionCaches(state)
-        .getValidatorIndexCache()
+        .getValidatorIndexCache(state)
         .getValidatorIndex(state, publicKey);
   }
 
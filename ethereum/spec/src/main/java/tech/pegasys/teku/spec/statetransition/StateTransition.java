@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.cache.IndexedAttestationCache;
 import tech.pegasys.teku.spec.constants.SpecConstants;
@@ -43,6 +44,8 @@ public class StateTransition {
   private final SpecConstants specConstants;
   private final BlockProcessorUtil blockProcessorUtil;
   private final EpochProcessor epochProcessor;
+  private final BeaconStateUtil beaconStateUtil;
+  private final ValidatorsUtil validatorsUtil;
 
   private final BlockValidator blockValidator;
 
@@ -50,10 +53,14 @@ public class StateTransition {
       final SpecConstants specConstants,
       final BlockProcessorUtil blockProcessorUtil,
       final EpochProcessor epochProcessor,
+      final BeaconStateUtil beaconStateUtil,
+      final ValidatorsUtil validatorsUtil,
       final BlockValidator blockValidator) {
     this.specConstants = specConstants;
     this.blockProcessorUtil = blockProcessorUtil;
     this.epochProcessor = epochProcessor;
+    this.beaconStateUtil = beaconStateUtil;
+    this.validatorsUtil = validatorsUtil;
     this.blockValidator = blockValidator;
   }
 
@@ -65,7 +72,13 @@ public class StateTransition {
       final ValidatorsUtil validatorsUtil) {
     final BlockValidator blockValidator =
         BlockValidator.standard(specConstants, beaconStateUtil, blockProcessorUtil, validatorsUtil);
-    return new StateTransition(specConstants, blockProcessorUtil, epochProcessor, blockValidator);
+    return new StateTransition(
+        specConstants,
+        blockProcessorUtil,
+        epochProcessor,
+        beaconStateUtil,
+        validatorsUtil,
+        blockValidator);
   }
 
   public BeaconState initiate(BeaconState preState, SignedBeaconBlock signedBlock)
@@ -119,6 +132,40 @@ public class StateTransition {
       throws StateTransitionException {
     BlockValidator blockValidator =
         validateStateRootAndSignatures ? this.blockValidator : BlockValidator.NOOP;
+    return processAndValidateBlock(
+        signedBlock, blockSlotState, indexedAttestationCache, blockValidator);
+  }
+
+  /**
+   * Processes and fully validates the block but delegates all BLS signature verifications to the
+   * specified verifier. This allows to defer the verification of signatures, e.g. to verify
+   * signatures of several blocks at once with a single {@link
+   * tech.pegasys.teku.spec.statetransition.blockvalidator.BatchSignatureVerifier}
+   */
+  public BeaconState processAndValidateBlock(
+      final SignedBeaconBlock signedBlock,
+      final BeaconState blockSlotState,
+      final IndexedAttestationCache indexedAttestationCache,
+      final BLSSignatureVerifier signatureVerifier)
+      throws StateTransitionException {
+    return processAndValidateBlock(
+        signedBlock,
+        blockSlotState,
+        indexedAttestationCache,
+        BlockValidator.withSignatureVerifier(
+            specConstants,
+            beaconStateUtil,
+            blockProcessorUtil,
+            validatorsUtil,
+            signatureVerifier));
+  }
+
+  private BeaconState processAndValidateBlock(
+      final SignedBeaconBlock signedBlock,
+      final BeaconState blockSlotState,
+      final IndexedAttestationCache indexedAttestationCache,
+      final BlockValidator blockValidator)
+      throws StateTransitionException {
     try {
       // Process_block
       BeaconState postState = processBlock(blockSlotState, signedBlock.getMessage());
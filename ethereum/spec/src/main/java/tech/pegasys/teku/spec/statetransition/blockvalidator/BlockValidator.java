@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.spec.statetransition.blockvalidator;
 
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.spec.cache.IndexedAttestationCache;
 import tech.pegasys.teku.spec.constants.SpecConstants;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -40,6 +41,22 @@ public interface BlockValidator {
         specConstants, beaconStateUtil, blockProcessorUtil, validatorsUtil);
   }
 
+  /**
+   * Creates validator which delegates all BLS signature verifications to the specified verifier.
+   * When the verifier is a {@link BatchSignatureVerifier} the signatures are just collected and it
+   * is up to the caller to complete the verification with {@link
+   * BatchSignatureVerifier#batchVerify()}
+   */
+  static BlockValidator withSignatureVerifier(
+      final SpecConstants specConstants,
+      final BeaconStateUtil beaconStateUtil,
+      final BlockProcessorUtil blockProcessorUtil,
+      final ValidatorsUtil validatorsUtil,
+      final BLSSignatureVerifier signatureVerifier) {
+    return new SimpleBlockValidator(
+        specConstants, beaconStateUtil, blockProcessorUtil, validatorsUtil, signatureVerifier);
+  }
+
   /**
    * Validates the block against the state prior to block processing
    *
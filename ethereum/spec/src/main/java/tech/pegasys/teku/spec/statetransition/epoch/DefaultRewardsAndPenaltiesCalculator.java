@@ -46,12 +46,128 @@ public class DefaultRewardsAndPenaltiesCalculator implements RewardsAndPenalties
   /**
    * Return attestation reward/penalty deltas for each validator
    *
+   * <p>Computes the same deltas as applying every component step via {@link #getDeltas(Step)}
+   * but in a single pass over the validator statuses using primitive arithmetic.
+   *
    * @return
    * @throws IllegalArgumentException
    */
   @Override
   public Deltas getAttestationDeltas() throws IllegalArgumentException {
-    return getDeltas(this::applyAllDeltas);
+    final Deltas deltas = new Deltas(validatorStatuses.getValidatorCount());
+    final TotalBalances totalBalances = validatorStatuses.getTotalBalances();
+    final long finalityDelay = getFinalityDelay().longValue();
+    final boolean inactivityLeak =
+        finalityDelay > specConstants.getMinEpochsToInactivityPenalty().longValue();
+    final long increment = specConstants.getEffectiveBalanceIncrement().longValue();
+    final long totalBalanceIncrements = totalBalances.getCurrentEpoch().longValue() / increment;
+    final long sourceIncrements = totalBalances.getPreviousEpochAttesters().longValue() / increment;
+    final long targetIncrements =
+        totalBalances.getPreviousEpochTargetAttesters().longValue() / increment;
+    final long headIncrements =
+        totalBalances.getPreviousEpochHeadAttesters().longValue() / increment;
+    final long baseRewardFactor = specConstants.getBaseRewardFactor();
+    final long baseRewardsPerEpoch = specConstants.getBaseRewardsPerEpoch().longValue();
+    final long proposerRewardQuotient = specConstants.getProposerRewardQuotient().longValue();
+    final long inactivityPenaltyQuotient =
+        specConstants.getInactivityPenaltyQuotient().longValue();
+    final long totalActiveBalanceSquareRoot =
+        squareRootOrZero(totalBalances.getCurrentEpoch()).longValue();
+
+    for (int index = 0; index < validatorStatuses.getValidatorCount(); index++) {
+      if (!validatorStatuses.isEligibleValidator(index)) {
+        continue;
+      }
+      final long effectiveBalance = validatorStatuses.getCurrentEpochEffectiveBalance(index);
+      final long baseReward =
+          totalActiveBalanceSquareRoot == 0
+              ? 0
+              : Math.multiplyExact(effectiveBalance, baseRewardFactor)
+                  / totalActiveBalanceSquareRoot
+                  / baseRewardsPerEpoch;
+      final long proposerReward = baseReward / proposerRewardQuotient;
+      final boolean slashed = validatorStatuses.isSlashed(index);
+      final boolean previousEpochAttester =
+          !slashed && validatorStatuses.isPreviousEpochAttester(index);
+      final boolean previousEpochTargetAttester =
+          !slashed && validatorStatuses.isPreviousEpochTargetAttester(index);
+      final boolean previousEpochHeadAttester =
+          !slashed && validatorStatuses.isPreviousEpochHeadAttester(index);
+
+      // Source, target and head components
+      addAttestationComponentDelta(
+          deltas,
+          index,
+          previousEpochAttester,
+          sourceIncrements,
+          totalBalanceIncrements,
+          baseReward,
+          inactivityLeak);
+      addAttestationComponentDelta(
+          deltas,
+          index,
+          previousEpochTargetAttester,
+          targetIncrements,
+          totalBalanceIncrements,
+          baseReward,
+          inactivityLeak);
+      addAttestationComponentDelta(
+          deltas,
+          index,
+          previousEpochHeadAttester,
+          headIncrements,
+          totalBalanceIncrements,
+          baseReward,
+          inactivityLeak);
+
+      // Inclusion delay
+      if (previousEpochAttester) {
+        if (!validatorStatuses.hasInclusionInfo(index)) {
+          throw new IllegalStateException(
+              "Validator was active in previous epoch but has no inclusion information.");
+        }
+        deltas.reward(
+            index, (baseReward - proposerReward) / validatorStatuses.getInclusionDelay(index));
+        deltas.reward(validatorStatuses.getInclusionProposerIndex(index), proposerReward);
+      }
+
+      // Inactivity penalty
+      if (inactivityLeak) {
+        deltas.penalize(
+            index,
+            Math.subtractExact(
+                Math.multiplyExact(baseRewardsPerEpoch, baseReward), proposerReward));
+        if (!previousEpochTargetAttester) {
+          deltas.penalize(
+              index,
+              Math.multiplyExact(effectiveBalance, finalityDelay) / inactivityPenaltyQuotient);
+        }
+      }
+    }
+    return deltas;
+  }
+
+  private void addAttestationComponentDelta(
+      final Deltas deltas,
+      final int index,
+      final boolean indexInUnslashedAttestingIndices,
+      final long attestingBalanceIncrements,
+      final long totalBalanceIncrements,
+      final long baseReward,
+      final boolean inactivityLeak) {
+    if (indexInUnslashedAttestingIndices) {
+      if (inactivityLeak) {
+        // Since full base reward will be canceled out by inactivity penalty deltas,
+        // optimal participation receives full base reward compensation here.
+        deltas.reward(index, baseReward);
+      } else {
+        deltas.reward(
+            index,
+            Math.multiplyExact(baseReward, attestingBalanceIncrements) / totalBalanceIncrements);
+      }
+    } else {
+      deltas.penalize(index, baseReward);
+    }
   }
 
   @Override
@@ -76,20 +192,6 @@ public class DefaultRewardsAndPenaltiesCalculator implements RewardsAndPenalties
     return deltas;
   }
 
-  private void applyAllDeltas(
-      final Deltas deltas,
-      final TotalBalances totalBalances,
-      final UInt64 finalityDelay,
-      final ValidatorStatus validator,
-      final UInt64 baseReward,
-      final Delta delta) {
-    applySourceDelta(validator, baseReward, totalBalances, finalityDelay, delta);
-    applyTargetDelta(validator, baseReward, totalBalances, finalityDelay, delta);
-    applyHeadDelta(validator, baseReward, totalBalances, finalityDelay, delta);
-    applyInclusionDelayDelta(validator, baseReward, delta, deltas);
-    applyInactivityPenaltyDelta(validator, baseReward, finalityDelay, delta);
-  }
-
   @Override
   public void applySourceDelta(
       final ValidatorStatus validator,
@@ -13,54 +13,111 @@
 
 package tech.pegasys.teku.spec.statetransition.epoch;
 
+import static com.google.common.base.Preconditions.checkElementIndex;
+
 import com.google.common.base.MoreObjects;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
+/**
+ * Rewards and penalties of every validator stored as primitive Gwei amounts, one array element per
+ * validator. Gwei amounts always fit in a signed long so arithmetic overflow is reported with an
+ * {@link ArithmeticException} the same way as {@link UInt64} does.
+ */
 public class Deltas {
-  private final List<Delta> deltas;
+  private final long[] rewards;
+  private final long[] penalties;
 
   public Deltas(final int validatorCount) {
-    this.deltas = new ArrayList<>(validatorCount);
-    for (int i = 0; i < validatorCount; i++) {
-      deltas.add(new Delta());
-    }
+    this.rewards = new long[validatorCount];
+    this.penalties = new long[validatorCount];
   }
 
   public Delta getDelta(final int validatorIndex) {
-    return deltas.get(validatorIndex);
+    checkElementIndex(validatorIndex, rewards.length);
+    return new Delta(this, validatorIndex);
+  }
+
+  public int getValidatorCount() {
+    return rewards.length;
+  }
+
+  public void reward(final int validatorIndex, final long amount) {
+    rewards[validatorIndex] = Math.addExact(rewards[validatorIndex], amount);
+  }
+
+  public void penalize(final int validatorIndex, final long amount) {
+    penalties[validatorIndex] = Math.addExact(penalties[validatorIndex], amount);
+  }
+
+  public long getReward(final int validatorIndex) {
+    return rewards[validatorIndex];
+  }
+
+  public long getPenalty(final int validatorIndex) {
+    return penalties[validatorIndex];
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final Deltas other = (Deltas) o;
+    return Arrays.equals(rewards, other.rewards) && Arrays.equals(penalties, other.penalties);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(Arrays.hashCode(rewards), Arrays.hashCode(penalties));
   }
 
   @Override
   public String toString() {
-    return MoreObjects.toStringHelper(this).add("deltas", deltas).toString();
+    return MoreObjects.toStringHelper(this)
+        .add(
+            "deltas",
+            IntStream.range(0, rewards.length)
+                .mapToObj(this::getDelta)
+                .collect(Collectors.toList()))
+        .toString();
   }
 
+  /** View of the reward and penalty of a single validator */
   public static class Delta {
-    private UInt64 reward = UInt64.ZERO;
-    private UInt64 penalty = UInt64.ZERO;
+    private final Deltas deltas;
+    private final int validatorIndex;
+
+    private Delta(final Deltas deltas, final int validatorIndex) {
+      this.deltas = deltas;
+      this.validatorIndex = validatorIndex;
+    }
 
     public void reward(final UInt64 amount) {
-      reward = reward.plus(amount);
+      deltas.reward(validatorIndex, amount.longValue());
     }
 
     public void penalize(final UInt64 amount) {
-      penalty = penalty.plus(amount);
+      deltas.penalize(validatorIndex, amount.longValue());
     }
 
     public void add(final Delta other) {
-      reward(other.reward);
-      penalize(other.penalty);
+      reward(other.getReward());
+      penalize(other.getPenalty());
     }
 
     public UInt64 getReward() {
-      return reward;
+      return UInt64.fromLongBits(deltas.getReward(validatorIndex));
     }
 
     public UInt64 getPenalty() {
-      return penalty;
+      return UInt64.fromLongBits(deltas.getPenalty(validatorIndex));
     }
 
     @Override
@@ -72,19 +129,20 @@ public class Deltas {
         return false;
       }
       final Delta delta = (Delta) o;
-      return Objects.equals(reward, delta.reward) && Objects.equals(penalty, delta.penalty);
+      return Objects.equals(getReward(), delta.getReward())
+          && Objects.equals(getPenalty(), delta.getPenalty());
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(reward, penalty);
+      return Objects.hash(getReward(), getPenalty());
     }
 
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(this)
-          .add("reward", reward)
-          .add("penalty", penalty)
+          .add("reward", getReward())
+          .add("penalty", getPenalty())
           .toString();
     }
   }
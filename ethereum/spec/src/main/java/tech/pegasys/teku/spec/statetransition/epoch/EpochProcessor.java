@@ -27,7 +27,6 @@ import tech.pegasys.teku.spec.datastructures.state.PendingAttestation;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
-import tech.pegasys.teku.spec.statetransition.epoch.status.ValidatorStatus;
 import tech.pegasys.teku.spec.statetransition.epoch.status.ValidatorStatuses;
 import tech.pegasys.teku.spec.statetransition.exceptions.EpochProcessingException;
 import tech.pegasys.teku.spec.util.BeaconStateUtil;
@@ -62,7 +61,7 @@ public class EpochProcessor {
         state -> {
           processJustificationAndFinalization(state, validatorStatuses.getTotalBalances());
           processRewardsAndPenalties(state, validatorStatuses);
-          processRegistryUpdates(state, validatorStatuses.getStatuses());
+          processRegistryUpdates(state, validatorStatuses);
           processSlashings(state, validatorStatuses.getTotalBalances().getCurrentEpoch());
           processFinalUpdates(state);
         });
@@ -166,11 +165,16 @@ public class EpochProcessor {
   }
 
   private static void applyDeltas(final MutableBeaconState state, final Deltas attestationDeltas) {
-    final SSZMutableList<UInt64> balances = state.getBalances();
-    for (int i = 0; i < state.getValidators().size(); i++) {
-      final Deltas.Delta delta = attestationDeltas.getDelta(i);
-      balances.set(i, balances.get(i).plus(delta.getReward()).minusMinZero(delta.getPenalty()));
+    // Almost every balance changes so rebuild the whole balances list at once rather than
+    // updating the elements one by one
+    final SSZList<UInt64> balances = state.getBalances();
+    final long[] newBalances = new long[balances.size()];
+    for (int i = 0; i < newBalances.length; i++) {
+      final long balance =
+          Math.addExact(balances.get(i).longValue(), attestationDeltas.getReward(i));
+      newBalances[i] = Math.max(0, balance - attestationDeltas.getPenalty(i));
     }
+    state.setBalances(newBalances);
   }
 
   /**
@@ -181,7 +185,8 @@ public class EpochProcessor {
    * @see
    *     <a>https://github.com/ethereum/eth2.0-specs/blob/v0.8.0/specs/core/0Beacon-chain.md#registry-updates</a>
    */
-  public void processRegistryUpdates(MutableBeaconState state, List<ValidatorStatus> statuses)
+  public void processRegistryUpdates(
+      MutableBeaconState state, ValidatorStatuses validatorStatuses)
       throws EpochProcessingException {
     try {
 
@@ -189,16 +194,15 @@ public class EpochProcessor {
       SSZMutableList<Validator> validators = state.getValidators();
       final UInt64 currentEpoch = beaconStateUtil.getCurrentEpoch(state);
       for (int index = 0; index < validators.size(); index++) {
-        final ValidatorStatus status = statuses.get(index);
 
         // Slightly optimised form of isEligibleForActivationQueue to avoid accessing the
         // state for the majority of validators.  Can't be eligible for activation if already active
         // or if effective balance is too low.  Only get the validator if both those checks pass to
         // confirm it isn't already in the queue.
-        if (!status.isActiveInCurrentEpoch()
-            && status
-                .getCurrentEpochEffectiveBalance()
-                .equals(specConstants.getMaxEffectiveBalance())) {
+        final boolean activeInCurrentEpoch = validatorStatuses.isActiveInCurrentEpoch(index);
+        final long effectiveBalance = validatorStatuses.getCurrentEpochEffectiveBalance(index);
+        if (!activeInCurrentEpoch
+            && effectiveBalance == specConstants.getMaxEffectiveBalance().longValue()) {
           final Validator validator = validators.get(index);
           if (validator.getActivation_eligibility_epoch().equals(SpecConstants.FAR_FUTURE_EPOCH)) {
             validators.set(
@@ -206,10 +210,8 @@ public class EpochProcessor {
           }
         }
 
-        if (status.isActiveInCurrentEpoch()
-            && status
-                .getCurrentEpochEffectiveBalance()
-                .isLessThanOrEqualTo(specConstants.getEjectionBalance())) {
+        if (activeInCurrentEpoch
+            && effectiveBalance <= specConstants.getEjectionBalance().longValue()) {
           beaconStateUtil.initiateValidatorExit(state, index);
         }
       }
@@ -218,7 +220,7 @@ public class EpochProcessor {
       List<Integer> activationQueue =
           IntStream.range(0, state.getValidators().size())
               // Cheap filter first before accessing state
-              .filter(index -> !statuses.get(index).isActiveInCurrentEpoch())
+              .filter(index -> !validatorStatuses.isActiveInCurrentEpoch(index))
               .filter(
                   index -> {
                     Validator validator = state.getValidators().get(index);
@@ -16,31 +16,59 @@ package tech.pegasys.teku.spec.statetransition.epoch.status;
 import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.get_block_root_at_slot;
 
 import com.google.common.annotations.VisibleForTesting;
-import java.util.ArrayList;
+import com.google.common.base.Suppliers;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.independent.TotalBalances;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.PendingAttestation;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
 import tech.pegasys.teku.spec.datastructures.util.AttestationUtil;
 import tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil;
+import tech.pegasys.teku.spec.datastructures.util.ValidatorsUtil;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 
+/**
+ * Epoch processing status of every validator.
+ *
+ * <p>The statuses are stored column-wise in primitive arrays indexed by validator index: a bit set
+ * of status flags, the effective balance and the inclusion info of the earliest included previous
+ * epoch attestation. This avoids allocating an object per validator which dominates epoch
+ * processing cost for large validator sets. {@link #getStatuses()} provides per validator {@link
+ * ValidatorStatus} objects for callers which need them.
+ */
 public class ValidatorStatuses {
-  private final List<ValidatorStatus> statuses;
-  private final TotalBalances totalBalances;
+  private static final int SLASHED = 1;
+  private static final int WITHDRAWABLE_IN_CURRENT_EPOCH = 1 << 1;
+  private static final int ACTIVE_IN_CURRENT_EPOCH = 1 << 2;
+  private static final int ACTIVE_IN_PREVIOUS_EPOCH = 1 << 3;
+  private static final int CURRENT_EPOCH_ATTESTER = 1 << 4;
+  private static final int CURRENT_EPOCH_TARGET_ATTESTER = 1 << 5;
+  private static final int PREVIOUS_EPOCH_ATTESTER = 1 << 6;
+  private static final int PREVIOUS_EPOCH_TARGET_ATTESTER = 1 << 7;
+  private static final int PREVIOUS_EPOCH_HEAD_ATTESTER = 1 << 8;
+  private static final int HAS_INCLUSION_INFO = 1 << 9;
+
+  private final int[] flags;
+  private final long[] effectiveBalances;
+  private final long[] inclusionDelays;
+  private final int[] inclusionProposerIndices;
+  private TotalBalances totalBalances;
+  private List<ValidatorStatus> statuses;
 
-  private ValidatorStatuses(
-      final List<ValidatorStatus> statuses, final TotalBalances totalBalances) {
-    this.statuses = statuses;
-    this.totalBalances = totalBalances;
+  private ValidatorStatuses(final int validatorCount) {
+    this.flags = new int[validatorCount];
+    this.effectiveBalances = new long[validatorCount];
+    this.inclusionDelays = new long[validatorCount];
+    this.inclusionProposerIndices = new int[validatorCount];
   }
 
   public static ValidatorStatuses create(final BeaconState state) {
@@ -49,147 +77,280 @@ public class ValidatorStatuses {
     final UInt64 currentEpoch = BeaconStateUtil.get_current_epoch(state);
     final UInt64 previousEpoch = BeaconStateUtil.get_previous_epoch(state);
 
-    final List<ValidatorStatus> statuses =
-        validators.stream()
-            .map(validator -> ValidatorStatus.create(validator, previousEpoch, currentEpoch))
-            .collect(Collectors.toCollection(() -> new ArrayList<>(validators.size())));
+    final ValidatorStatuses validatorStatuses = new ValidatorStatuses(validators.size());
+    for (int index = 0; index < validators.size(); index++) {
+      validatorStatuses.setValidator(index, validators.get(index), previousEpoch, currentEpoch);
+    }
 
-    processAttestations(statuses, state, previousEpoch, currentEpoch);
+    validatorStatuses.processAttestations(state, previousEpoch, currentEpoch);
 
-    final TotalBalances totalBalances = createTotalBalances(statuses);
+    final TotalBalances totalBalances = validatorStatuses.createTotalBalances();
+    validatorStatuses.totalBalances = totalBalances;
     BeaconStateCache.getTransitionCaches(state).setLatestTotalBalances(totalBalances);
     BeaconStateCache.getTransitionCaches(state)
         .getTotalActiveBalance()
         .get(currentEpoch, __ -> totalBalances.getCurrentEpoch());
 
-    return new ValidatorStatuses(statuses, totalBalances);
+    return validatorStatuses;
   }
 
-  private static void processAttestations(
-      final List<ValidatorStatus> statuses,
-      final BeaconState state,
+  private void setValidator(
+      final int index,
+      final Validator validator,
       final UInt64 previousEpoch,
       final UInt64 currentEpoch) {
-    Stream.concat(
-            state.getPrevious_epoch_attestations().stream(),
-            state.getCurrent_epoch_attestations().stream())
-        .forEach(
-            attestation -> {
-              final AttestationData data = attestation.getData();
-
-              final AttestationUpdates updates = new AttestationUpdates();
-              final Checkpoint target = data.getTarget();
-              if (target.getEpoch().equals(currentEpoch)) {
-                updates.currentEpochAttester = true;
-                updates.currentEpochTargetAttester =
-                    matchesEpochStartBlock(state, currentEpoch, target.getRoot());
-              } else if (target.getEpoch().equals(previousEpoch)) {
-                updates.previousEpochAttester = true;
-
-                updates.inclusionInfo =
-                    Optional.of(
-                        new InclusionInfo(
-                            attestation.getInclusion_delay(), attestation.getProposer_index()));
-
-                if (matchesEpochStartBlock(state, previousEpoch, target.getRoot())) {
-                  updates.previousEpochTargetAttester = true;
-
-                  updates.previousEpochHeadAttester =
-                      get_block_root_at_slot(state, data.getSlot())
-                          .equals(data.getBeacon_block_root());
-                }
-              }
-
-              // Apply flags to attestingIndices
-              AttestationUtil.stream_attesting_indices(
-                      state, data, attestation.getAggregation_bits())
-                  .mapToObj(statuses::get)
-                  .forEach(updates::apply);
-            });
-  }
-
-  private static boolean matchesEpochStartBlock(
-      final BeaconState state, final UInt64 currentEpoch, final Bytes32 root) {
-    return BeaconStateUtil.get_block_root(state, currentEpoch).equals(root);
+    int validatorFlags = 0;
+    if (validator.isSlashed()) {
+      validatorFlags |= SLASHED;
+    }
+    if (validator.getWithdrawable_epoch().isLessThanOrEqualTo(currentEpoch)) {
+      validatorFlags |= WITHDRAWABLE_IN_CURRENT_EPOCH;
+    }
+    if (ValidatorsUtil.is_active_validator(validator, currentEpoch)) {
+      validatorFlags |= ACTIVE_IN_CURRENT_EPOCH;
+    }
+    if (ValidatorsUtil.is_active_validator(validator, previousEpoch)) {
+      validatorFlags |= ACTIVE_IN_PREVIOUS_EPOCH;
+    }
+    flags[index] = validatorFlags;
+    effectiveBalances[index] = validator.getEffective_balance().longValue();
   }
 
-  public TotalBalances getTotalBalances() {
-    return totalBalances;
+  private void processAttestations(
+      final BeaconState state, final UInt64 previousEpoch, final UInt64 currentEpoch) {
+    // Epoch start roots are the same for all the attestations so only look them up once
+    final Supplier<Bytes32> previousEpochStartRoot =
+        Suppliers.memoize(() -> BeaconStateUtil.get_block_root(state, previousEpoch));
+    final Supplier<Bytes32> currentEpochStartRoot =
+        Suppliers.memoize(() -> BeaconStateUtil.get_block_root(state, currentEpoch));
+    for (PendingAttestation attestation : state.getPrevious_epoch_attestations()) {
+      processAttestation(
+          state,
+          attestation,
+          previousEpoch,
+          currentEpoch,
+          previousEpochStartRoot,
+          currentEpochStartRoot);
+    }
+    for (PendingAttestation attestation : state.getCurrent_epoch_attestations()) {
+      processAttestation(
+          state,
+          attestation,
+          previousEpoch,
+          currentEpoch,
+          previousEpochStartRoot,
+          currentEpochStartRoot);
+    }
   }
 
-  public List<ValidatorStatus> getStatuses() {
-    return statuses;
+  private void processAttestation(
+      final BeaconState state,
+      final PendingAttestation attestation,
+      final UInt64 previousEpoch,
+      final UInt64 currentEpoch,
+      final Supplier<Bytes32> previousEpochStartRoot,
+      final Supplier<Bytes32> currentEpochStartRoot) {
+    final AttestationData data = attestation.getData();
+    final Checkpoint target = data.getTarget();
+
+    int attestationFlags = 0;
+    if (target.getEpoch().equals(currentEpoch)) {
+      attestationFlags |= CURRENT_EPOCH_ATTESTER;
+      if (currentEpochStartRoot.get().equals(target.getRoot())) {
+        attestationFlags |= CURRENT_EPOCH_TARGET_ATTESTER;
+      }
+    } else if (target.getEpoch().equals(previousEpoch)) {
+      attestationFlags |= PREVIOUS_EPOCH_ATTESTER | HAS_INCLUSION_INFO;
+      if (previousEpochStartRoot.get().equals(target.getRoot())) {
+        attestationFlags |= PREVIOUS_EPOCH_TARGET_ATTESTER;
+        if (get_block_root_at_slot(state, data.getSlot()).equals(data.getBeacon_block_root())) {
+          attestationFlags |= PREVIOUS_EPOCH_HEAD_ATTESTER;
+        }
+      }
+    }
+
+    final int updates = attestationFlags;
+    final long inclusionDelay = attestation.getInclusion_delay().longValue();
+    final int proposerIndex = attestation.getProposer_index().intValue();
+    AttestationUtil.stream_attesting_indices(state, data, attestation.getAggregation_bits())
+        .forEach(index -> applyAttestation(index, updates, inclusionDelay, proposerIndex));
   }
 
-  public int getValidatorCount() {
-    return statuses.size();
-  }
-
-  private static class AttestationUpdates {
-    private boolean currentEpochAttester = false;
-    private boolean currentEpochTargetAttester = false;
-    private boolean previousEpochAttester = false;
-    private boolean previousEpochTargetAttester = false;
-    private boolean previousEpochHeadAttester = false;
-    private Optional<InclusionInfo> inclusionInfo = Optional.empty();
-
-    public void apply(final ValidatorStatus status) {
-      status.updateCurrentEpochAttester(currentEpochAttester);
-      status.updateCurrentEpochTargetAttester(currentEpochTargetAttester);
-      status.updatePreviousEpochAttester(previousEpochAttester);
-      status.updatePreviousEpochTargetAttester(previousEpochTargetAttester);
-      status.updatePreviousEpochHeadAttester(previousEpochHeadAttester);
-      status.updateInclusionInfo(inclusionInfo);
+  private void applyAttestation(
+      final int index, final int updates, final long inclusionDelay, final int proposerIndex) {
+    // Keep the inclusion info of the attestation with the smallest inclusion delay
+    if (hasFlag(updates, HAS_INCLUSION_INFO)
+        && (!hasInclusionInfo(index) || inclusionDelay < inclusionDelays[index])) {
+      inclusionDelays[index] = inclusionDelay;
+      inclusionProposerIndices[index] = proposerIndex;
     }
+    flags[index] |= updates;
   }
 
-  @VisibleForTesting
-  static TotalBalances createTotalBalances(final List<ValidatorStatus> statuses) {
-    UInt64 currentEpoch = UInt64.ZERO;
-    UInt64 previousEpoch = UInt64.ZERO;
-    UInt64 currentEpochAttesters = UInt64.ZERO;
-    UInt64 currentEpochTargetAttesters = UInt64.ZERO;
-    UInt64 previousEpochAttesters = UInt64.ZERO;
-    UInt64 previousEpochTargetAttesters = UInt64.ZERO;
-    UInt64 previousEpochHeadAttesters = UInt64.ZERO;
-
-    for (ValidatorStatus status : statuses) {
-      final UInt64 balance = status.getCurrentEpochEffectiveBalance();
-      if (status.isActiveInCurrentEpoch()) {
-        currentEpoch = currentEpoch.plus(balance);
+  private TotalBalances createTotalBalances() {
+    long currentEpoch = 0;
+    long previousEpoch = 0;
+    long currentEpochAttesters = 0;
+    long currentEpochTargetAttesters = 0;
+    long previousEpochAttesters = 0;
+    long previousEpochTargetAttesters = 0;
+    long previousEpochHeadAttesters = 0;
+
+    for (int index = 0; index < flags.length; index++) {
+      final int validatorFlags = flags[index];
+      final long balance = effectiveBalances[index];
+      if (hasFlag(validatorFlags, ACTIVE_IN_CURRENT_EPOCH)) {
+        currentEpoch = Math.addExact(currentEpoch, balance);
       }
-      if (status.isActiveInPreviousEpoch()) {
-        previousEpoch = previousEpoch.plus(balance);
+      if (hasFlag(validatorFlags, ACTIVE_IN_PREVIOUS_EPOCH)) {
+        previousEpoch = Math.addExact(previousEpoch, balance);
       }
 
-      if (status.isSlashed()) {
+      if (hasFlag(validatorFlags, SLASHED)) {
         continue;
       }
-      if (status.isCurrentEpochAttester()) {
-        currentEpochAttesters = currentEpochAttesters.plus(balance);
-
-        if (status.isCurrentEpochTargetAttester()) {
-          currentEpochTargetAttesters = currentEpochTargetAttesters.plus(balance);
+      if (hasFlag(validatorFlags, CURRENT_EPOCH_ATTESTER)) {
+        currentEpochAttesters = Math.addExact(currentEpochAttesters, balance);
+        if (hasFlag(validatorFlags, CURRENT_EPOCH_TARGET_ATTESTER)) {
+          currentEpochTargetAttesters = Math.addExact(currentEpochTargetAttesters, balance);
         }
       }
 
-      if (status.isPreviousEpochAttester()) {
-        previousEpochAttesters = previousEpochAttesters.plus(balance);
-        if (status.isPreviousEpochTargetAttester()) {
-          previousEpochTargetAttesters = previousEpochTargetAttesters.plus(balance);
+      if (hasFlag(validatorFlags, PREVIOUS_EPOCH_ATTESTER)) {
+        previousEpochAttesters = Math.addExact(previousEpochAttesters, balance);
+        if (hasFlag(validatorFlags, PREVIOUS_EPOCH_TARGET_ATTESTER)) {
+          previousEpochTargetAttesters = Math.addExact(previousEpochTargetAttesters, balance);
         }
-        if (status.isPreviousEpochHeadAttester()) {
-          previousEpochHeadAttesters = previousEpochHeadAttesters.plus(balance);
+        if (hasFlag(validatorFlags, PREVIOUS_EPOCH_HEAD_ATTESTER)) {
+          previousEpochHeadAttesters = Math.addExact(previousEpochHeadAttesters, balance);
         }
       }
     }
     return new TotalBalances(
-        currentEpoch,
-        previousEpoch,
-        currentEpochAttesters,
-        currentEpochTargetAttesters,
-        previousEpochAttesters,
-        previousEpochTargetAttesters,
-        previousEpochHeadAttesters);
+        UInt64.valueOf(currentEpoch),
+        UInt64.valueOf(previousEpoch),
+        UInt64.valueOf(currentEpochAttesters),
+        UInt64.valueOf(currentEpochTargetAttesters),
+        UInt64.valueOf(previousEpochAttesters),
+        UInt64.valueOf(previousEpochTargetAttesters),
+        UInt64.valueOf(previousEpochHeadAttesters));
+  }
+
+  public TotalBalances getTotalBalances() {
+    return totalBalances;
+  }
+
+  /**
+   * Returns the status of every validator as a separate object. Prefer the per index accessors as
+   * the statuses are only created on the first call.
+   */
+  public List<ValidatorStatus> getStatuses() {
+    if (statuses == null) {
+      statuses =
+          IntStream.range(0, getValidatorCount())
+              .mapToObj(this::createStatus)
+              .collect(Collectors.toList());
+    }
+    return statuses;
+  }
+
+  public int getValidatorCount() {
+    return flags.length;
+  }
+
+  public boolean isEligibleValidator(final int index) {
+    return isActiveInPreviousEpoch(index)
+        || (isSlashed(index) && !hasFlag(flags[index], WITHDRAWABLE_IN_CURRENT_EPOCH));
+  }
+
+  public boolean isSlashed(final int index) {
+    return hasFlag(flags[index], SLASHED);
+  }
+
+  public boolean isActiveInCurrentEpoch(final int index) {
+    return hasFlag(flags[index], ACTIVE_IN_CURRENT_EPOCH);
+  }
+
+  public boolean isActiveInPreviousEpoch(final int index) {
+    return hasFlag(flags[index], ACTIVE_IN_PREVIOUS_EPOCH);
+  }
+
+  public boolean isPreviousEpochAttester(final int index) {
+    return hasFlag(flags[index], PREVIOUS_EPOCH_ATTESTER);
+  }
+
+  public boolean isPreviousEpochTargetAttester(final int index) {
+    return hasFlag(flags[index], PREVIOUS_EPOCH_TARGET_ATTESTER);
+  }
+
+  public boolean isPreviousEpochHeadAttester(final int index) {
+    return hasFlag(flags[index], PREVIOUS_EPOCH_HEAD_ATTESTER);
+  }
+
+  /** Returns the effective balance in Gwei */
+  public long getCurrentEpochEffectiveBalance(final int index) {
+    return effectiveBalances[index];
+  }
+
+  public boolean hasInclusionInfo(final int index) {
+    return hasFlag(flags[index], HAS_INCLUSION_INFO);
+  }
+
+  /** Only valid when {@link #hasInclusionInfo(int)} returns true */
+  public long getInclusionDelay(final int index) {
+    return inclusionDelays[index];
+  }
+
+  /** Only valid when {@link #hasInclusionInfo(int)} returns true */
+  public int getInclusionProposerIndex(final int index) {
+    return inclusionProposerIndices[index];
+  }
+
+  private ValidatorStatus createStatus(final int index) {
+    final int validatorFlags = flags[index];
+    return new ValidatorStatus(
+            hasFlag(validatorFlags, SLASHED),
+            hasFlag(validatorFlags, WITHDRAWABLE_IN_CURRENT_EPOCH),
+            UInt64.valueOf(effectiveBalances[index]),
+            hasFlag(validatorFlags, ACTIVE_IN_CURRENT_EPOCH),
+            hasFlag(validatorFlags, ACTIVE_IN_PREVIOUS_EPOCH))
+        .updateCurrentEpochAttester(hasFlag(validatorFlags, CURRENT_EPOCH_ATTESTER))
+        .updateCurrentEpochTargetAttester(hasFlag(validatorFlags, CURRENT_EPOCH_TARGET_ATTESTER))
+        .updatePreviousEpochAttester(hasFlag(validatorFlags, PREVIOUS_EPOCH_ATTESTER))
+        .updatePreviousEpochTargetAttester(hasFlag(validatorFlags, PREVIOUS_EPOCH_TARGET_ATTESTER))
+        .updatePreviousEpochHeadAttester(hasFlag(validatorFlags, PREVIOUS_EPOCH_HEAD_ATTESTER))
+        .updateInclusionInfo(
+            hasFlag(validatorFlags, HAS_INCLUSION_INFO)
+                ? Optional.of(
+                    new InclusionInfo(
+                        UInt64.valueOf(inclusionDelays[index]),
+                        UInt64.valueOf(inclusionProposerIndices[index])))
+                : Optional.empty());
+  }
+
+  private static boolean hasFlag(final int validatorFlags, final int flag) {
+    return (validatorFlags & flag) != 0;
+  }
+
+  @VisibleForTesting
+  static TotalBalances createTotalBalances(final List<ValidatorStatus> statuses) {
+    final ValidatorStatuses validatorStatuses = new ValidatorStatuses(statuses.size());
+    for (int index = 0; index < statuses.size(); index++) {
+      final ValidatorStatus status = statuses.get(index);
+      int validatorFlags = 0;
+      validatorFlags |= status.isSlashed() ? SLASHED : 0;
+      validatorFlags |= status.isActiveInCurrentEpoch() ? ACTIVE_IN_CURRENT_EPOCH : 0;
+      validatorFlags |= status.isActiveInPreviousEpoch() ? ACTIVE_IN_PREVIOUS_EPOCH : 0;
+      validatorFlags |= status.isCurrentEpochAttester() ? CURRENT_EPOCH_ATTESTER : 0;
+      validatorFlags |= status.isCurrentEpochTargetAttester() ? CURRENT_EPOCH_TARGET_ATTESTER : 0;
+      validatorFlags |= status.isPreviousEpochAttester() ? PREVIOUS_EPOCH_ATTESTER : 0;
+      validatorFlags |=
+          status.isPreviousEpochTargetAttester() ? PREVIOUS_EPOCH_TARGET_ATTESTER : 0;
+      validatorFlags |= status.isPreviousEpochHeadAttester() ? PREVIOUS_EPOCH_HEAD_ATTESTER : 0;
+      validatorStatuses.flags[index] = validatorFlags;
+      validatorStatuses.effectiveBalances[index] =
+          status.getCurrentEpochEffectiveBalance().longValue();
+    }
+    return validatorStatuses.createTotalBalances();
   }
 }
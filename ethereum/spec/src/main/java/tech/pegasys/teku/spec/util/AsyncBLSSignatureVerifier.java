@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.util;
+
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/**
+ * Asynchronous variant of {@link BLSSignatureVerifier} which allows implementations to defer and
+ * batch signature verifications
+ */
+public interface AsyncBLSSignatureVerifier {
+
+  /** Wraps the synchronous verifier, so the returned futures are always completed */
+  static AsyncBLSSignatureVerifier wrap(final BLSSignatureVerifier verifier) {
+    return (publicKeys, message, signature) ->
+        SafeFuture.completedFuture(verifier.verify(publicKeys, message, signature));
+  }
+
+  /**
+   * Verifies an aggregate BLS signature against a message using the list of public keys
+   *
+   * @return future completing with true if the verification is successful, false otherwise
+   * @see BLSSignatureVerifier#verify(List, Bytes, BLSSignature)
+   */
+  SafeFuture<Boolean> verify(List<BLSPublicKey> publicKeys, Bytes message, BLSSignature signature);
+}
@@ -25,6 +25,8 @@ import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.bls.BLSSignatureVerifier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.constants.SpecConstants;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
@@ -82,12 +84,12 @@ public class AttestationUtil {
    *     <a>https://github.com/ethereum/eth2.0-specs/blob/v0.8.0/specs/core/0_beacon-chain.md#get_indexed_attestation</a>
    */
   public IndexedAttestation getIndexedAttestation(BeaconState state, Attestation attestation) {
-    List<Integer> attesting_indices =
+    IntList attesting_indices =
         getAttestingIndices(state, attestation.getData(), attestation.getAggregation_bits());
 
     return new IndexedAttestation(
         SSZList.createMutable(
-            attesting_indices.stream().sorted().map(UInt64::valueOf).collect(toList()),
+            attesting_indices.intStream().sorted().mapToObj(UInt64::valueOf).collect(toList()),
             specConstants.getMaxValidatorsPerCommittee(),
             UInt64.class),
         attestation.getData(),
@@ -105,43 +107,50 @@ public class AttestationUtil {
    * @see
    *     <a>https://github.com/ethereum/eth2.0-specs/blob/v0.8.0/specs/core/0_beacon-chain.md#get_attesting_indices</a>
    */
-  public List<Integer> getAttestingIndices(
-      BeaconState state, AttestationData data, SszBitlist bits) {
-    return streamAttestingIndices(state, data, bits).boxed().collect(toList());
+  public IntList getAttestingIndices(BeaconState state, AttestationData data, SszBitlist bits) {
+    return IntList.fromStream(streamAttestingIndices(state, data, bits));
   }
 
   public IntStream streamAttestingIndices(
       BeaconState state, AttestationData data, SszBitlist bits) {
-    List<Integer> committee =
-        beaconStateUtil.getBeaconCommittee(state, data.getSlot(), data.getIndex());
+    IntList committee = beaconStateUtil.getBeaconCommittee(state, data.getSlot(), data.getIndex());
     checkArgument(
         bits.size() == committee.size(),
         "Aggregation bitlist size (%s) does not match committee size (%s)",
         bits.size(),
         committee.size());
-    return IntStream.range(0, committee.size()).filter(bits::getBit).map(committee::get);
+    return IntStream.range(0, committee.size()).filter(bits::getBit).map(committee::getInt);
   }
 
   public AttestationProcessingResult isValidIndexedAttestation(
       BeaconState state, ValidateableAttestation attestation) {
+    return isValidIndexedAttestationAsync(
+            state, attestation, AsyncBLSSignatureVerifier.wrap(BLSSignatureVerifier.SIMPLE))
+        .join();
+  }
+
+  public SafeFuture<AttestationProcessingResult> isValidIndexedAttestationAsync(
+      BeaconState state,
+      ValidateableAttestation attestation,
+      AsyncBLSSignatureVerifier signatureVerifier) {
     if (attestation.isValidIndexedAttestation()) {
-      return AttestationProcessingResult.SUCCESSFUL;
-    } else {
-      try {
-        IndexedAttestation indexedAttestation =
-            getIndexedAttestation(state, attestation.getAttestation());
-        attestation.setIndexedAttestation(indexedAttestation);
-        AttestationProcessingResult result =
-            isValidIndexedAttestation(state, indexedAttestation, BLSSignatureVerifier.SIMPLE);
-        if (result.isSuccessful()) {
-          attestation.saveCommitteeShufflingSeed(state);
-          attestation.setValidIndexedAttestation();
-        }
-        return result;
-      } catch (IllegalArgumentException e) {
-        LOG.debug("on_attestation: Attestation is not valid: ", e);
-        return AttestationProcessingResult.invalid(e.getMessage());
-      }
+      return SafeFuture.completedFuture(AttestationProcessingResult.SUCCESSFUL);
+    }
+    try {
+      IndexedAttestation indexedAttestation =
+          getIndexedAttestation(state, attestation.getAttestation());
+      attestation.setIndexedAttestation(indexedAttestation);
+      return isValidIndexedAttestationAsync(state, indexedAttestation, signatureVerifier)
+          .thenPeek(
+              result -> {
+                if (result.isSuccessful()) {
+                  attestation.saveCommitteeShufflingSeed(state);
+                  attestation.setValidIndexedAttestation();
+                }
+              });
+    } catch (IllegalArgumentException e) {
+      LOG.debug("on_attestation: Attestation is not valid: ", e);
+      return SafeFuture.completedFuture(AttestationProcessingResult.invalid(e.getMessage()));
     }
   }
 
@@ -162,11 +171,21 @@ public class AttestationUtil {
       BeaconState state,
       IndexedAttestation indexed_attestation,
       BLSSignatureVerifier signatureVerifier) {
+    return isValidIndexedAttestationAsync(
+            state, indexed_attestation, AsyncBLSSignatureVerifier.wrap(signatureVerifier))
+        .join();
+  }
+
+  public SafeFuture<AttestationProcessingResult> isValidIndexedAttestationAsync(
+      BeaconState state,
+      IndexedAttestation indexed_attestation,
+      AsyncBLSSignatureVerifier signatureVerifier) {
     SSZList<UInt64> indices = indexed_attestation.getAttesting_indices();
 
     List<UInt64> bit_0_indices_sorted = indices.stream().sorted().distinct().collect(toList());
     if (indices.isEmpty() || !indices.equals(bit_0_indices_sorted)) {
-      return AttestationProcessingResult.invalid("Attesting indices are not sorted");
+      return SafeFuture.completedFuture(
+          AttestationProcessingResult.invalid("Attesting indices are not sorted"));
     }
 
     List<BLSPublicKey> pubkeys =
@@ -174,8 +193,8 @@ public class AttestationUtil {
             .flatMap(i -> validatorsUtil.getValidatorPubKey(state, i).stream())
             .collect(toList());
     if (pubkeys.size() < indices.size()) {
-      return AttestationProcessingResult.invalid(
-          "Attesting indices include non-existent validator");
+      return SafeFuture.completedFuture(
+          AttestationProcessingResult.invalid("Attesting indices include non-existent validator"));
     }
 
     BLSSignature signature = indexed_attestation.getSignature();
@@ -186,11 +205,17 @@ public class AttestationUtil {
             indexed_attestation.getData().getTarget().getEpoch());
     Bytes signing_root = beaconStateUtil.computeSigningRoot(indexed_attestation.getData(), domain);
 
-    if (!signatureVerifier.verify(pubkeys, signing_root, signature)) {
-      LOG.debug("AttestationUtil.is_valid_indexed_attestation: Verify aggregate signature");
-      return AttestationProcessingResult.invalid("Signature is invalid");
-    }
-    return AttestationProcessingResult.SUCCESSFUL;
+    return signatureVerifier
+        .verify(pubkeys, signing_root, signature)
+        .thenApply(
+            isValid -> {
+              if (!isValid) {
+                LOG.debug(
+                    "AttestationUtil.is_valid_indexed_attestation: Verify aggregate signature");
+                return AttestationProcessingResult.invalid("Signature is invalid");
+              }
+              return AttestationProcessingResult.SUCCESSFUL;
+            });
   }
 
   public boolean representsNewAttester(Attestation oldAttestation, Attestation newAttestation) {
@@ -38,6 +38,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
 import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.constants.SpecConstants;
 import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlock;
@@ -175,7 +176,7 @@ public class BeaconStateUtil {
                       Bytes.concatenate(
                           getSeed(state, epoch, specConstants.getDomainBeaconProposer()),
                           uintToBytes(slot.longValue(), 8)));
-              List<Integer> indices = validatorsUtil.getActiveValidatorIndices(state, epoch);
+              IntList indices = validatorsUtil.getActiveValidatorIndices(state, epoch);
               return committeeUtil.computeProposerIndex(state, indices, seed);
             });
   }
@@ -322,7 +323,7 @@ public class BeaconStateUtil {
   }
 
   public UInt64 getCommitteeCountPerSlot(BeaconState state, UInt64 epoch) {
-    List<Integer> active_validator_indices = validatorsUtil.getActiveValidatorIndices(state, epoch);
+    IntList active_validator_indices = validatorsUtil.getActiveValidatorIndices(state, epoch);
     return UInt64.valueOf(
         Math.max(
             1,
@@ -379,11 +380,13 @@ public class BeaconStateUtil {
 
   private Stream<UInt64> streamEffectiveBalancesForCommittee(
       final BeaconState state, final UInt64 slot, final UInt64 committeeIndex) {
-    return getBeaconCommittee(state, slot, committeeIndex).stream()
-        .map(validatorIndex -> state.getValidators().get(validatorIndex).getEffective_balance());
+    return getBeaconCommittee(state, slot, committeeIndex)
+        .intStream()
+        .mapToObj(
+            validatorIndex -> state.getValidators().get(validatorIndex).getEffective_balance());
   }
 
-  public List<Integer> getBeaconCommittee(BeaconState state, UInt64 slot, UInt64 index) {
+  public IntList getBeaconCommittee(BeaconState state, UInt64 slot, UInt64 index) {
     // Make sure state is within range of the slot being queried
     validateStateForCommitteeQuery(state, slot);
 
@@ -402,6 +405,7 @@ public class BeaconStateUtil {
               int count = committees_per_slot.times(specConstants.getSlotsPerEpoch()).intValue();
               return committeeUtil.computeCommittee(
                   state,
+                  epoch,
                   validatorsUtil.getActiveValidatorIndices(state, epoch),
                   getSeed(state, epoch, specConstants.getDomainBeaconAttester()),
                   committeeIndex,
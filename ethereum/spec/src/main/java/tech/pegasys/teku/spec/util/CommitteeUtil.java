@@ -18,13 +18,11 @@ import static tech.pegasys.teku.spec.util.ByteUtils.bytesToUInt64;
 import static tech.pegasys.teku.spec.util.ByteUtils.uintToBytes;
 
 import com.google.common.primitives.UnsignedBytes;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
 import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.constants.SpecConstants;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
@@ -69,14 +67,14 @@ public class CommitteeUtil {
     return indexRet;
   }
 
-  public int computeProposerIndex(BeaconState state, List<Integer> indices, Bytes32 seed) {
+  public int computeProposerIndex(BeaconState state, IntList indices, Bytes32 seed) {
     checkArgument(!indices.isEmpty(), "compute_proposer_index indices must not be empty");
     UInt64 MAX_RANDOM_BYTE = UInt64.valueOf(255); // Math.pow(2, 8) - 1;
     int i = 0;
     final int total = indices.size();
     Bytes32 hash = null;
     while (true) {
-      int candidate_index = indices.get(computeShuffledIndex(i % total, total, seed));
+      int candidate_index = indices.getInt(computeShuffledIndex(i % total, total, seed));
       if (i % 32 == 0) {
         hash = Hash.sha2_256(Bytes.concatenate(seed, uintToBytes(Math.floorDiv(i, 32), 8)));
       }
@@ -151,29 +149,45 @@ public class CommitteeUtil {
         .isZero();
   }
 
-  List<Integer> computeCommittee(
-      BeaconState state, List<Integer> indices, Bytes32 seed, int index, int count) {
+  IntList computeCommittee(
+      BeaconState state,
+      UInt64 epoch,
+      IntList indices,
+      Bytes32 seed,
+      int index,
+      int count) {
     int start = Math.floorDiv(indices.size() * index, count);
     int end = Math.floorDiv(indices.size() * (index + 1), count);
-    return computeCommitteeShuffle(state, indices, seed, start, end);
+    return computeCommitteeShuffle(state, epoch, indices, seed, start, end);
   }
 
-  private List<Integer> shuffleList(List<Integer> input, Bytes32 seed) {
-    int[] indexes = input.stream().mapToInt(i -> i).toArray();
+  private int[] shuffleList(IntList input, Bytes32 seed) {
+    int[] indexes = input.toIntArray();
     shuffleList(indexes, seed);
-    return Arrays.stream(indexes).boxed().collect(Collectors.toList());
+    return indexes;
   }
 
-  List<Integer> computeCommitteeShuffle(
-      BeaconState state, List<Integer> indices, Bytes32 seed, int fromIndex, int toIndex) {
+  IntList computeCommitteeShuffle(
+      BeaconState state,
+      UInt64 epoch,
+      IntList indices,
+      Bytes32 seed,
+      int fromIndex,
+      int toIndex) {
     if (fromIndex < toIndex) {
       int indexCount = indices.size();
       checkArgument(fromIndex < indexCount, "CommitteeUtil.getShuffledIndex1");
       checkArgument(toIndex <= indexCount, "CommitteeUtil.getShuffledIndex1");
     }
-    return BeaconStateCache.getTransitionCaches(state)
-        .getCommitteeShuffle()
-        .get(seed, s -> shuffleList(indices, s))
-        .subList(fromIndex, toIndex);
+    final int[] shuffle =
+        BeaconStateCache.getTransitionCaches(state)
+            .getCommitteeShuffle()
+            .get(
+                epoch,
+                seed,
+                indices,
+                specConstants.getShuffleRoundCount(),
+                () -> shuffleList(indices, seed));
+    return IntList.wrap(shuffle).subList(fromIndex, toIndex);
   }
 }
@@ -16,6 +16,7 @@ package tech.pegasys.teku.spec.util;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.TreeMap;
@@ -35,6 +36,9 @@ import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.util.AttestationProcessingResult;
 import tech.pegasys.teku.spec.statetransition.StateTransition;
+import tech.pegasys.teku.spec.statetransition.blockvalidator.BatchSignatureVerifier;
+import tech.pegasys.teku.spec.statetransition.exceptions.EpochProcessingException;
+import tech.pegasys.teku.spec.statetransition.exceptions.SlotProcessingException;
 import tech.pegasys.teku.spec.statetransition.exceptions.StateTransitionException;
 import tech.pegasys.teku.spec.statetransition.results.BlockImportResult;
 
@@ -324,6 +328,70 @@ public class ForkChoiceUtil {
       return BlockImportResult.failedStateTransition(e);
     }
 
+    addBlockToStore(store, signedBlock, state);
+    return BlockImportResult.successful(signedBlock);
+  }
+
+  /**
+   * Perform block processing for a chain of consecutive blocks. The supplied firstBlockSlotState
+   * must already have empty slots processed to the same slot as the first block. Each subsequent
+   * block must be a child of the previous one.
+   *
+   * <p>The state transition runs once per block and the resulting post-states are added to the
+   * store, but the BLS signatures of all blocks are collected and verified together at the end.
+   * If any block is invalid or the batch signature verification fails, the returned result is a
+   * failure and the store must be discarded without being committed. A failed batch signature
+   * verification does not identify the invalid block, so callers should then import the blocks
+   * one by one with {@link #onBlock}.
+   */
+  @CheckReturnValue
+  public BlockImportResult onBlocks(
+      final MutableStore store,
+      final List<SignedBeaconBlock> signedBlocks,
+      final BeaconState firstBlockSlotState,
+      final IndexedAttestationCache indexedAttestationCache) {
+    checkArgument(!signedBlocks.isEmpty(), "No blocks to process");
+    final BatchSignatureVerifier signatureVerifier = new BatchSignatureVerifier();
+    BeaconState preState = firstBlockSlotState;
+    for (SignedBeaconBlock signedBlock : signedBlocks) {
+      final BeaconBlock block = signedBlock.getMessage();
+      final BeaconState blockSlotState;
+      try {
+        blockSlotState =
+            preState.getSlot().isLessThan(block.getSlot())
+                ? stateTransition.processSlots(preState, block.getSlot())
+                : preState;
+      } catch (SlotProcessingException | EpochProcessingException e) {
+        return BlockImportResult.failedStateTransition(new StateTransitionException(e));
+      }
+
+      final Optional<BlockImportResult> maybeFailure =
+          checkOnBlockConditions(block, blockSlotState, store);
+      if (maybeFailure.isPresent()) {
+        return maybeFailure.get();
+      }
+
+      final BeaconState state;
+      try {
+        state =
+            stateTransition.processAndValidateBlock(
+                signedBlock, blockSlotState, indexedAttestationCache, signatureVerifier);
+      } catch (StateTransitionException e) {
+        return BlockImportResult.failedStateTransition(e);
+      }
+      addBlockToStore(store, signedBlock, state);
+      preState = state;
+    }
+
+    if (!signatureVerifier.batchVerify()) {
+      return BlockImportResult.failedStateTransition(
+          new StateTransitionException("Batch signature verification failed"));
+    }
+    return BlockImportResult.successful(signedBlocks.get(signedBlocks.size() - 1));
+  }
+
+  private void addBlockToStore(
+      final MutableStore store, final SignedBeaconBlock signedBlock, final BeaconState state) {
     // Add new block to store
     store.putBlockAndState(signedBlock, state);
 
@@ -359,8 +427,6 @@ public class ForkChoiceUtil {
         }
       }
     }
-
-    return BlockImportResult.successful(signedBlock);
   }
 
   private boolean isFinalizedAncestorOfJustified(ReadOnlyStore store) {
@@ -15,17 +15,17 @@ package tech.pegasys.teku.spec.util;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.constants.SpecConstants;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.TransitionCaches;
 import tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 
@@ -71,19 +71,21 @@ public class ValidatorsUtil {
         || validatorIndex.longValue() < 0) {
       return Optional.empty();
     }
+    final TransitionCaches transitionCaches = BeaconStateCache.getTransitionCaches(state);
     return Optional.of(
-        BeaconStateCache.getTransitionCaches(state)
+        transitionCaches
             .getValidatorsPubKeys()
             .get(
                 validatorIndex,
                 i -> {
                   BLSPublicKey pubKey =
-                      BLSPublicKey.fromBytesCompressed(
-                          state.getValidators().get(i.intValue()).getPubkey());
+                      transitionCaches
+                          .getValidatorPublicKeyCache()
+                          .get(i.intValue(), state.getValidators().get(i.intValue()).getPubkey());
 
                   // eagerly pre-cache pubKey => validatorIndex mapping
-                  BeaconStateCache.getTransitionCaches(state)
-                      .getValidatorIndexCache()
+                  transitionCaches
+                      .getValidatorIndexCache(state)
                       .invalidateWithNewValue(pubKey, i.intValue());
                   return pubKey;
                 }));
@@ -96,7 +98,7 @@ public class ValidatorsUtil {
    * @param epoch - The epoch under consideration.
    * @return A list of indices representing the active validators for the given epoch.
    */
-  public List<Integer> getActiveValidatorIndices(BeaconState state, UInt64 epoch) {
+  public IntList getActiveValidatorIndices(BeaconState state, UInt64 epoch) {
     final UInt64 stateEpoch =
         tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.get_current_epoch(state);
     final UInt64 maxLookaheadEpoch = getMaxLookaheadEpoch(stateEpoch);
@@ -111,10 +113,9 @@ public class ValidatorsUtil {
             epoch,
             e -> {
               SSZList<Validator> validators = state.getValidators();
-              return IntStream.range(0, validators.size())
-                  .filter(index -> isActiveValidator(validators.get(index), epoch))
-                  .boxed()
-                  .collect(Collectors.toList());
+              return IntList.fromStream(
+                  IntStream.range(0, validators.size())
+                      .filter(index -> isActiveValidator(validators.get(index), epoch)));
             });
   }
 
@@ -129,7 +130,7 @@ public class ValidatorsUtil {
   @SuppressWarnings("DoNotReturnNullOptionals")
   public Optional<Integer> getValidatorIndex(BeaconState state, BLSPublicKey publicKey) {
     return BeaconStateCache.getTransitionCaches(state)
-        .getValidatorIndexCache()
+        .getValidatorIndexCache(state)
         .getValidatorIndex(state, publicKey);
   }
 
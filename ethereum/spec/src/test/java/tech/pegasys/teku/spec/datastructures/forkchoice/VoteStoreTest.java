@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.forkchoice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class VoteStoreTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final VoteStore voteStore = new VoteStore();
+
+  @Test
+  void getVote_shouldReturnDefaultWhenNoVote() {
+    assertThat(voteStore.getVote(UInt64.valueOf(5))).isEqualTo(VoteTracker.DEFAULT);
+    assertThat(voteStore.hasVote(5)).isFalse();
+    assertThat(voteStore.nextVotedValidatorIndex(0)).isEqualTo(-1);
+  }
+
+  @Test
+  void putVote_shouldStoreVotes() {
+    final VoteTracker vote1 = dataStructureUtil.randomVoteTracker();
+    final VoteTracker vote2 = dataStructureUtil.randomVoteTracker();
+    voteStore.putVote(UInt64.valueOf(3), vote1);
+    voteStore.putVote(UInt64.valueOf(1000), vote2);
+
+    assertThat(voteStore.getVote(UInt64.valueOf(3))).isEqualTo(vote1);
+    assertThat(voteStore.getVote(UInt64.valueOf(1000))).isEqualTo(vote2);
+    assertThat(voteStore.getVotedValidatorIndices())
+        .containsExactlyInAnyOrder(UInt64.valueOf(3), UInt64.valueOf(1000));
+    assertThat(voteStore.nextVotedValidatorIndex(4)).isEqualTo(1000);
+  }
+
+  @Test
+  void putVote_shouldShareRootIdsBetweenValidators() {
+    final Bytes32 root = dataStructureUtil.randomBytes32();
+    voteStore.putVote(0, Bytes32.ZERO, root, UInt64.ONE);
+    voteStore.putVote(1, root, root, UInt64.ONE);
+
+    assertThat(voteStore.getNextRootId(0)).isEqualTo(voteStore.getNextRootId(1));
+    assertThat(voteStore.getCurrentRootId(1)).isEqualTo(voteStore.getNextRootId(1));
+    assertThat(voteStore.getCurrentRootId(0)).isEqualTo(VoteStore.ZERO_ROOT_ID);
+    assertThat(voteStore.getRoot(voteStore.getNextRootId(0))).isEqualTo(root);
+  }
+
+  @Test
+  void putVote_shouldReuseReleasedRootIds() {
+    final Bytes32 root1 = dataStructureUtil.randomBytes32();
+    final Bytes32 root2 = dataStructureUtil.randomBytes32();
+    final Bytes32 root3 = dataStructureUtil.randomBytes32();
+    voteStore.putVote(0, root1, root1, UInt64.ONE);
+    voteStore.putVote(0, root2, root2, UInt64.valueOf(2));
+    final int rootIdCapacity = voteStore.getRootIdCapacity();
+
+    voteStore.putVote(1, root3, root3, UInt64.valueOf(2));
+
+    assertThat(voteStore.getRootIdCapacity()).isEqualTo(rootIdCapacity);
+    assertThat(voteStore.getVote(0)).isEqualTo(new VoteTracker(root2, root2, UInt64.valueOf(2)));
+    assertThat(voteStore.getVote(1)).isEqualTo(new VoteTracker(root3, root3, UInt64.valueOf(2)));
+  }
+
+  @Test
+  void promoteNextVote_shouldMakeNextRootCurrent() {
+    final Bytes32 currentRoot = dataStructureUtil.randomBytes32();
+    final Bytes32 nextRoot = dataStructureUtil.randomBytes32();
+    voteStore.putVote(7, currentRoot, nextRoot, UInt64.valueOf(3));
+
+    voteStore.promoteNextVote(7);
+
+    assertThat(voteStore.getVote(7))
+        .isEqualTo(new VoteTracker(nextRoot, nextRoot, UInt64.valueOf(3)));
+  }
+
+  @Test
+  void removeUpdatedVotes_shouldOnlyReturnVotesUpdatedSinceLastCall() {
+    final VoteTracker vote1 = dataStructureUtil.randomVoteTracker();
+    final VoteTracker vote2 = dataStructureUtil.randomVoteTracker();
+    final VoteStore store = VoteStore.create(Map.of(UInt64.ZERO, vote1));
+    assertThat(store.removeUpdatedVotes()).isEmpty();
+
+    store.putVote(UInt64.ONE, vote2);
+    assertThat(store.removeUpdatedVotes()).isEqualTo(Map.of(UInt64.ONE, vote2));
+    assertThat(store.removeUpdatedVotes()).isEmpty();
+
+    store.promoteNextVote(0);
+    assertThat(store.removeUpdatedVotes())
+        .isEqualTo(
+            Map.of(
+                UInt64.ZERO,
+                new VoteTracker(vote1.getNextRoot(), vote1.getNextRoot(), vote1.getNextEpoch())));
+  }
+}
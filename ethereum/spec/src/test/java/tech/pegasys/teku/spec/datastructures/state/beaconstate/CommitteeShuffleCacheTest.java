@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.collections.IntList;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+public class CommitteeShuffleCacheTest {
+  private static final int SHUFFLE_ROUND_COUNT = 10;
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final CommitteeShuffleCache cache = new CommitteeShuffleCache(2);
+  private final AtomicInteger shuffleCount = new AtomicInteger();
+
+  @Test
+  public void shouldReturnSameShuffleForSameSeed() {
+    final Bytes32 seed = dataStructureUtil.randomBytes32();
+
+    final int[] shuffle = get(UInt64.ONE, seed, 3);
+
+    assertThat(get(UInt64.ONE, Bytes32.wrap(seed.toArray()), 3)).isSameAs(shuffle);
+    assertThat(shuffleCount).hasValue(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotShareShuffleWhenActiveValidatorCountDiffers() {
+    final Bytes32 seed = dataStructureUtil.randomBytes32();
+
+    final int[] shuffle = get(UInt64.ONE, seed, 3);
+
+    assertThat(get(UInt64.ONE, seed, 4)).isNotSameAs(shuffle).hasSize(4);
+    assertThat(shuffleCount).hasValue(2);
+  }
+
+  @Test
+  public void shouldNotShareShuffleWhenActiveValidatorIndicesDiffer() {
+    final Bytes32 seed = dataStructureUtil.randomBytes32();
+
+    final int[] shuffle = get(UInt64.ONE, seed, IntList.of(0, 1, 2));
+
+    assertThat(get(UInt64.ONE, seed, IntList.of(0, 1, 3))).isNotSameAs(shuffle);
+    assertThat(get(UInt64.ONE, seed, IntList.of(0, 1, 2))).isSameAs(shuffle);
+    assertThat(shuffleCount).hasValue(2);
+  }
+
+  @Test
+  public void shouldNotShareShuffleWhenShuffleRoundCountDiffers() {
+    final Bytes32 seed = dataStructureUtil.randomBytes32();
+    final int[] shuffle = get(UInt64.ONE, seed, 3);
+
+    cache.get(UInt64.ONE, seed, indices(3), SHUFFLE_ROUND_COUNT + 1, shuffleSupplier(3));
+
+    assertThat(get(UInt64.ONE, seed, 3)).isSameAs(shuffle);
+    assertThat(shuffleCount).hasValue(2);
+  }
+
+  @Test
+  public void shouldEvictShufflesOfOldestEpochFirst() {
+    final Bytes32 oldSeed = dataStructureUtil.randomBytes32();
+    final Bytes32 currentSeed = dataStructureUtil.randomBytes32();
+    final Bytes32 nextSeed = dataStructureUtil.randomBytes32();
+    get(UInt64.valueOf(5), currentSeed, 3);
+    get(UInt64.valueOf(4), oldSeed, 3);
+    // Make the current epoch shuffle the least recently used one
+    get(UInt64.valueOf(4), oldSeed, 3);
+
+    get(UInt64.valueOf(6), nextSeed, 3);
+
+    assertThat(cache.size()).isEqualTo(2);
+    final int computedShuffles = shuffleCount.get();
+    get(UInt64.valueOf(5), currentSeed, 3);
+    get(UInt64.valueOf(6), nextSeed, 3);
+    assertThat(shuffleCount).hasValue(computedShuffles);
+    get(UInt64.valueOf(4), oldSeed, 3);
+    assertThat(shuffleCount).hasValue(computedShuffles + 1);
+  }
+
+  @Test
+  public void noOpInstanceShouldNotCacheShuffles() {
+    final Bytes32 seed = dataStructureUtil.randomBytes32();
+    final int[] shuffle =
+        CommitteeShuffleCache.NO_OP_INSTANCE.get(
+            UInt64.ONE, seed, indices(3), SHUFFLE_ROUND_COUNT, shuffleSupplier(3));
+
+    assertThat(
+            CommitteeShuffleCache.NO_OP_INSTANCE.get(
+                UInt64.ONE, seed, indices(3), SHUFFLE_ROUND_COUNT, shuffleSupplier(3)))
+        .isEqualTo(shuffle)
+        .isNotSameAs(shuffle);
+  }
+
+  private int[] get(final UInt64 epoch, final Bytes32 seed, final int activeValidatorCount) {
+    return get(epoch, seed, indices(activeValidatorCount));
+  }
+
+  private int[] get(final UInt64 epoch, final Bytes32 seed, final IntList activeValidatorIndices) {
+    return cache.get(
+        epoch,
+        seed,
+        activeValidatorIndices,
+        SHUFFLE_ROUND_COUNT,
+        shuffleSupplier(activeValidatorIndices.size()));
+  }
+
+  private IntList indices(final int activeValidatorCount) {
+    return IntList.fromStream(IntStream.range(0, activeValidatorCount));
+  }
+
+  private Supplier<int[]> shuffleSupplier(final int activeValidatorCount) {
+    return () -> {
+      shuffleCount.incrementAndGet();
+      final int[] shuffle = new int[activeValidatorCount];
+      for (int i = 0; i < activeValidatorCount; i++) {
+        shuffle[i] = activeValidatorCount - 1 - i;
+      }
+      return shuffle;
+    };
+  }
+}
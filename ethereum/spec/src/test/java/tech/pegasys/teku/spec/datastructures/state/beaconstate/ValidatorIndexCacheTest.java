@@ -25,6 +25,7 @@ import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.infrastructure.collections.cache.Cache;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 
 public class ValidatorIndexCacheTest {
@@ -92,4 +93,72 @@ public class ValidatorIndexCacheTest {
     assertThat(validatorIndexCache.getLastIndex()).isEqualTo(-1);
     assertThat(validatorIndexCache.getValidatorIndexes().size()).isEqualTo(1);
   }
+
+  @Test
+  public void shouldReturnCachedIndexWhenStateHasMatchingKey() {
+    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache(cache, -1);
+    final BLSPublicKey publicKey =
+        BLSPublicKey.fromBytesCompressed(state.getValidators().get(10).getPubkey());
+    when(cache.getCached(publicKey)).thenReturn(Optional.of(10));
+
+    assertThat(validatorIndexCache.getValidatorIndex(state, publicKey)).contains(10);
+    verify(cache, never()).invalidateWithNewValue(any(), any());
+  }
+
+  @Test
+  public void shouldScanStateWhenCachedIndexHasDifferentKey() {
+    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache(cache, -1);
+    final BLSPublicKey publicKey =
+        BLSPublicKey.fromBytesCompressed(state.getValidators().get(10).getPubkey());
+    when(cache.getCached(publicKey)).thenReturn(Optional.of(3));
+
+    assertThat(validatorIndexCache.getValidatorIndex(state, publicKey)).contains(10);
+    // The shared index isn't updated from a state which disagrees with it
+    verify(cache, never()).invalidateWithNewValue(any(), any());
+  }
+
+  @Test
+  public void shouldNotReturnCachedIndexForKeyMissingFromState() {
+    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache(cache, -1);
+    when(cache.getCached(missingPublicKey)).thenReturn(Optional.of(3));
+
+    assertThat(validatorIndexCache.getValidatorIndex(state, missingPublicKey)).isEmpty();
+  }
+
+  @Test
+  public void shouldShareCacheBetweenStatesOfSameChain() {
+    final BeaconState stateCopy = state.updated(mutableState -> mutableState.setSlot(UInt64.ONE));
+
+    assertThat(BeaconStateCache.getTransitionCaches(stateCopy).getValidatorIndexCache(stateCopy))
+        .isSameAs(BeaconStateCache.getTransitionCaches(state).getValidatorIndexCache(state));
+    assertThat(ValidatorIndexCache.getForChain(state.getGenesis_validators_root()))
+        .isSameAs(BeaconStateCache.getTransitionCaches(state).getValidatorIndexCache(state))
+        .isNotSameAs(ValidatorIndexCache.getForChain(dataStructureUtil.randomBytes32()));
+  }
+
+  @Test
+  public void shouldFindValidatorIndexInRegeneratedState() {
+    final BLSPublicKey publicKey =
+        BLSPublicKey.fromBytesCompressed(state.getValidators().get(10).getPubkey());
+    final BeaconState regeneratedState =
+        dataStructureUtil
+            .getSpec()
+            .getGenesisSchemaDefinitions()
+            .getBeaconStateSchema()
+            .sszDeserialize(state.sszSerialize());
+
+    assertThat(
+            BeaconStateCache.getTransitionCaches(state)
+                .getValidatorIndexCache(state)
+                .getValidatorIndex(state, publicKey))
+        .contains(10);
+    assertThat(BeaconStateCache.getTransitionCaches(regeneratedState))
+        .isNotSameAs(BeaconStateCache.getTransitionCaches(state));
+    assertThat(
+            BeaconStateCache.getTransitionCaches(regeneratedState)
+                .getValidatorIndexCache(regeneratedState)
+                .getValidatorIndexes()
+                .getCached(publicKey))
+        .contains(10);
+  }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes48;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+public class ValidatorPublicKeyCacheTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final ValidatorPublicKeyCache cache = new ValidatorPublicKeyCache();
+
+  @Test
+  public void shouldReturnSameInstanceForSameValidator() {
+    final Bytes48 compressedKey = dataStructureUtil.randomPublicKeyBytes();
+
+    final BLSPublicKey publicKey = cache.get(3, compressedKey);
+
+    assertThat(publicKey.toBytesCompressed()).isEqualTo(compressedKey);
+    assertThat(cache.get(3, Bytes48.wrap(compressedKey.toArray()))).isSameAs(publicKey);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReplaceKeyWhenCompressedKeyDiffers() {
+    final Bytes48 compressedKey1 = dataStructureUtil.randomPublicKeyBytes();
+    final Bytes48 compressedKey2 = dataStructureUtil.randomPublicKeyBytes();
+    cache.get(0, compressedKey1);
+
+    final BLSPublicKey publicKey = cache.get(0, compressedKey2);
+
+    assertThat(publicKey.toBytesCompressed()).isEqualTo(compressedKey2);
+    assertThat(cache.get(0, compressedKey2)).isSameAs(publicKey);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepKeysWhenGrowing() {
+    final BLSPublicKey publicKey = cache.get(1, dataStructureUtil.randomPublicKeyBytes());
+    final BLSPublicKey farPublicKey = cache.get(100_000, dataStructureUtil.randomPublicKeyBytes());
+
+    assertThat(cache.get(1, publicKey.toBytesCompressed())).isSameAs(publicKey);
+    assertThat(cache.get(100_000, farPublicKey.toBytesCompressed())).isSameAs(farPublicKey);
+  }
+
+  @Test
+  public void noOpInstanceShouldNotCacheKeys() {
+    final Bytes48 compressedKey = dataStructureUtil.randomPublicKeyBytes();
+    final BLSPublicKey publicKey = ValidatorPublicKeyCache.NO_OP_INSTANCE.get(0, compressedKey);
+
+    assertThat(ValidatorPublicKeyCache.NO_OP_INSTANCE.get(0, compressedKey))
+        .isEqualTo(publicKey)
+        .isNotSameAs(publicKey);
+  }
+}
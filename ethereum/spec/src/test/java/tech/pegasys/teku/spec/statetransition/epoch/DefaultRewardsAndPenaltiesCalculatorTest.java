@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.statetransition.epoch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.get_block_root;
+import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.get_block_root_at_slot;
+import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.get_committee_count_per_slot;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.collections.IntList;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.SpecFactory;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.PendingAttestation;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.util.CommitteeUtil;
+import tech.pegasys.teku.spec.statetransition.epoch.status.ValidatorStatuses;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
+import tech.pegasys.teku.ssz.backing.collections.SszBitlist;
+
+class DefaultRewardsAndPenaltiesCalculatorTest {
+  private static final int VALIDATOR_COUNT = 64;
+
+  private final Spec spec = SpecFactory.createMinimal();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+
+  @Test
+  void getAttestationDeltas_shouldMatchSumOfStepDeltas() {
+    // Finality delay of 1 epoch
+    final BeaconState state = createState(UInt64.valueOf(3), UInt64.valueOf(1));
+
+    assertAttestationDeltasMatchStepDeltas(state);
+  }
+
+  @Test
+  void getAttestationDeltas_shouldMatchSumOfStepDeltasDuringInactivityLeak() {
+    // Finality delay of 6 epochs is over MIN_EPOCHS_TO_INACTIVITY_PENALTY
+    final BeaconState state = createState(UInt64.valueOf(7), UInt64.ZERO);
+
+    assertAttestationDeltasMatchStepDeltas(state);
+  }
+
+  private void assertAttestationDeltasMatchStepDeltas(final BeaconState state) {
+    final RewardsAndPenaltiesCalculator calculator =
+        spec.getGenesisSpec()
+            .getEpochProcessor()
+            .createRewardsAndPenaltiesCalculator(state, ValidatorStatuses.create(state));
+
+    final List<RewardsAndPenaltiesCalculator.Step> steps =
+        List.of(
+            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+                calculator.applySourceDelta(
+                    validator, baseReward, totalBalances, finalityDelay, delta),
+            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+                calculator.applyTargetDelta(
+                    validator, baseReward, totalBalances, finalityDelay, delta),
+            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+                calculator.applyHeadDelta(
+                    validator, baseReward, totalBalances, finalityDelay, delta),
+            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+                calculator.applyInclusionDelayDelta(validator, baseReward, delta, deltas),
+            (deltas, totalBalances, finalityDelay, validator, baseReward, delta) ->
+                calculator.applyInactivityPenaltyDelta(
+                    validator, baseReward, finalityDelay, delta));
+
+    final Deltas expectedDeltas = new Deltas(VALIDATOR_COUNT);
+    for (RewardsAndPenaltiesCalculator.Step step : steps) {
+      final Deltas stepDeltas = calculator.getDeltas(step);
+      for (int i = 0; i < VALIDATOR_COUNT; i++) {
+        expectedDeltas.getDelta(i).add(stepDeltas.getDelta(i));
+      }
+    }
+
+    final Deltas actualDeltas = calculator.getAttestationDeltas();
+    // Make sure the state actually exercises both rewards and penalties
+    assertThat(IntStream.range(0, VALIDATOR_COUNT).mapToLong(actualDeltas::getReward).sum())
+        .isPositive();
+    assertThat(IntStream.range(0, VALIDATOR_COUNT).mapToLong(actualDeltas::getPenalty).sum())
+        .isPositive();
+    assertThat(actualDeltas).isEqualTo(expectedDeltas);
+  }
+
+  /**
+   * Creates a state at the start of {@code currentEpoch} where every validator is active, some are
+   * slashed and previous epoch attestations miss target and head votes and are included late
+   */
+  private BeaconState createState(final UInt64 currentEpoch, final UInt64 finalizedEpoch) {
+    final BeaconState stateWithValidators =
+        dataStructureUtil
+            .randomBeaconState(VALIDATOR_COUNT)
+            .updated(
+                state -> {
+                  state.setSlot(spec.computeStartSlotAtEpoch(currentEpoch));
+                  state.setFinalized_checkpoint(
+                      new Checkpoint(finalizedEpoch, dataStructureUtil.randomBytes32()));
+                  final SSZMutableList<Validator> validators = state.getValidators();
+                  for (int i = 0; i < validators.size(); i++) {
+                    final Validator validator =
+                        validators
+                            .get(i)
+                            .withActivation_eligibility_epoch(UInt64.ZERO)
+                            .withActivation_epoch(UInt64.ZERO)
+                            .withEffective_balance(
+                                spec.getGenesisSpecConstants()
+                                    .getMaxEffectiveBalance()
+                                    .minus(UInt64.valueOf(i % 3).times(1_000_000_000L)))
+                            .withSlashed(i % 7 == 0);
+                    validators.set(i, validator);
+                  }
+                });
+
+    return stateWithValidators.updated(
+        state -> {
+          state.getCurrent_epoch_attestations().clear();
+          final SSZMutableList<PendingAttestation> attestations =
+              state.getPrevious_epoch_attestations();
+          attestations.clear();
+
+          final UInt64 previousEpoch = currentEpoch.minus(1);
+          final Bytes32 targetRoot = get_block_root(stateWithValidators, previousEpoch);
+          final UInt64 startSlot = spec.computeStartSlotAtEpoch(previousEpoch);
+          final UInt64 committeeCount =
+              get_committee_count_per_slot(stateWithValidators, previousEpoch);
+          for (int slotOffset = 0; slotOffset < spec.slotsPerEpoch(previousEpoch); slotOffset++) {
+            final UInt64 slot = startSlot.plus(slotOffset);
+            for (UInt64 index = UInt64.ZERO;
+                index.isLessThan(committeeCount);
+                index = index.increment()) {
+              final IntList committee =
+                  CommitteeUtil.get_beacon_committee(stateWithValidators, slot, index);
+              final boolean correctTarget = (slotOffset + index.intValue()) % 3 != 0;
+              final boolean correctHead = slotOffset % 2 == 0;
+              final AttestationData data =
+                  new AttestationData(
+                      slot,
+                      index,
+                      correctHead
+                          ? get_block_root_at_slot(stateWithValidators, slot)
+                          : dataStructureUtil.randomBytes32(),
+                      stateWithValidators.getCurrent_justified_checkpoint(),
+                      new Checkpoint(
+                          previousEpoch,
+                          correctTarget
+                              ? targetRoot
+                              : dataStructureUtil.randomBytes32()));
+              // Every fourth committee member misses the attestation
+              final SszBitlist aggregationBits =
+                  PendingAttestation.SSZ_SCHEMA
+                      .getAggregationBitfieldSchema()
+                      .ofBits(
+                          committee.size(),
+                          IntStream.range(0, committee.size()).filter(i -> i % 4 != 0).toArray());
+              final UInt64 proposerIndex = UInt64.valueOf(slotOffset % VALIDATOR_COUNT);
+              attestations.add(
+                  new PendingAttestation(
+                      aggregationBits, data, UInt64.valueOf(1 + slotOffset % 4), proposerIndex));
+              // The same votes included again later shouldn't change the inclusion info
+              attestations.add(
+                  new PendingAttestation(
+                      aggregationBits, data, UInt64.valueOf(5 + slotOffset), proposerIndex));
+            }
+          }
+        });
+  }
+}
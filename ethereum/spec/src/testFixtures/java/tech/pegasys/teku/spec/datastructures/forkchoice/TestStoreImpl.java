@@ -41,7 +41,7 @@ public class TestStoreImpl implements MutableStore, VoteUpdater {
   protected Map<Bytes32, SignedBeaconBlock> blocks;
   protected Map<Bytes32, BeaconState> block_states;
   protected Map<Checkpoint, BeaconState> checkpoint_states;
-  protected Map<UInt64, VoteTracker> votes;
+  protected VoteStore votes;
 
   TestStoreImpl(
       final UInt64 time,
@@ -63,7 +63,7 @@ public class TestStoreImpl implements MutableStore, VoteUpdater {
     this.blocks = blocks;
     this.block_states = block_states;
     this.checkpoint_states = checkpoint_states;
-    this.votes = votes;
+    this.votes = VoteStore.create(votes);
   }
 
   // Readonly methods
@@ -150,7 +150,7 @@ public class TestStoreImpl implements MutableStore, VoteUpdater {
 
   @Override
   public Set<UInt64> getVotedValidatorIndices() {
-    return votes.keySet();
+    return votes.getVotedValidatorIndices();
   }
 
   // Prunable methods
@@ -257,13 +257,17 @@ public class TestStoreImpl implements MutableStore, VoteUpdater {
 
   @Override
   public VoteTracker getVote(final UInt64 validatorIndex) {
-    VoteTracker vote = votes.get(validatorIndex);
-    return vote != null ? vote : VoteTracker.DEFAULT;
+    return votes.getVote(validatorIndex);
   }
 
   @Override
   public void putVote(UInt64 validatorIndex, VoteTracker vote) {
-    votes.put(validatorIndex, vote);
+    votes.putVote(validatorIndex, vote);
+  }
+
+  @Override
+  public VoteStore applyPendingVotes() {
+    return votes;
   }
 
   @Override
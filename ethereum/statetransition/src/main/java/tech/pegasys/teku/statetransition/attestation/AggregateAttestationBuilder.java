@@ -28,11 +28,15 @@ import tech.pegasys.teku.ssz.backing.collections.SszBitlist;
 /**
  * Builds an aggregate attestation, providing functions to test if an attestation can be added or is
  * made redundant by the current aggregate.
+ *
+ * <p>The aggregate is only built once, so a completed builder can be shared and {@link
+ * #buildAggregate()} called repeatedly without aggregating the signatures again.
  */
 class AggregateAttestationBuilder {
   private final Set<ValidateableAttestation> includedAttestations = new HashSet<>();
   private final AttestationData attestationData;
   private SszBitlist currentAggregateBits;
+  private ValidateableAttestation aggregate;
 
   AggregateAttestationBuilder(final AttestationData attestationData) {
     this.attestationData = attestationData;
@@ -58,17 +62,30 @@ class AggregateAttestationBuilder {
     }
   }
 
-  public ValidateableAttestation buildAggregate() {
+  public synchronized ValidateableAttestation buildAggregate() {
     checkState(currentAggregateBits != null, "Must aggregate at least one attestation");
-    return ValidateableAttestation.from(
-        new Attestation(
-            currentAggregateBits,
-            attestationData,
-            BLS.aggregate(
-                includedAttestations.stream()
-                    .map(ValidateableAttestation::getAttestation)
-                    .map(Attestation::getAggregate_signature)
-                    .collect(Collectors.toList()))));
+    if (aggregate == null) {
+      aggregate =
+          ValidateableAttestation.from(
+              new Attestation(
+                  currentAggregateBits,
+                  attestationData,
+                  BLS.aggregate(
+                      includedAttestations.stream()
+                          .map(ValidateableAttestation::getAttestation)
+                          .map(Attestation::getAggregate_signature)
+                          .collect(Collectors.toList()))));
+    }
+    return aggregate;
+  }
+
+  public SszBitlist getAggregationBits() {
+    checkState(currentAggregateBits != null, "Must aggregate at least one attestation");
+    return currentAggregateBits;
+  }
+
+  public AttestationData getAttestationData() {
+    return attestationData;
   }
 
   public Collection<ValidateableAttestation> getIncludedAttestations() {
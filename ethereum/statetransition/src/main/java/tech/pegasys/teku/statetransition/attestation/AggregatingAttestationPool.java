@@ -17,22 +17,26 @@ import static tech.pegasys.teku.util.config.Constants.ATTESTATION_RETENTION_EPOC
 import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_EPOCH;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.metrics.SettableGauge;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.time.TimeProvider;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
@@ -49,20 +53,38 @@ import tech.pegasys.teku.util.time.channels.SlotEventsChannel;
  * or as an aggregate to publish as part of the naive attestation aggregation algorithm. In both
  * cases the returned attestations are aggregated to maximise the number of validators that can be
  * included.
+ *
+ * <p>The pool is safe for concurrent use without a pool-wide lock: attestations are grouped by
+ * their data root in a concurrent map and each group is only locked while it is updated. Groups
+ * rebuild their aggregates on the aggregation async runner as attestations are added, so retrieving
+ * attestations typically only reads the already built aggregates.
  */
 public class AggregatingAttestationPool implements SlotEventsChannel {
+  private static final Logger LOG = LogManager.getLogger();
+
+  /** Time allowed for selecting the attestations to include in a block */
+  static final UInt64 PACKING_TIME_BUDGET_MILLIS = UInt64.valueOf(100);
 
   private final Map<Bytes, MatchingDataAttestationGroup> attestationGroupByDataHash =
-      new HashMap<>();
-  private final NavigableMap<UInt64, Set<Bytes>> dataHashBySlot = new TreeMap<>();
+      new ConcurrentHashMap<>();
+  // Data hashes are only removed when their slot is pruned, so may refer to removed groups
+  private final NavigableMap<UInt64, Set<Bytes>> dataHashBySlot = new ConcurrentSkipListMap<>();
+  // Attestations from before this slot are pruned, set before each prune starts
+  private volatile UInt64 firstValidAttestationSlot = UInt64.ZERO;
   private final AttestationDataStateTransitionValidator attestationDataValidator;
+  private final AttestationPacker attestationPacker;
+  private final AsyncRunner aggregationAsyncRunner;
   private final AtomicInteger size = new AtomicInteger(0);
   private final SettableGauge sizeGauge;
 
   public AggregatingAttestationPool(
       final AttestationDataStateTransitionValidator attestationDataValidator,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final TimeProvider timeProvider,
+      final AsyncRunner aggregationAsyncRunner) {
     this.attestationDataValidator = attestationDataValidator;
+    this.aggregationAsyncRunner = aggregationAsyncRunner;
+    this.attestationPacker = new AttestationPacker(timeProvider, PACKING_TIME_BUDGET_MILLIS);
     this.sizeGauge =
         SettableGauge.create(
             metricsSystem,
@@ -71,49 +93,71 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
             "The number of attestations available to be included in proposed blocks");
   }
 
-  public synchronized void add(final ValidateableAttestation attestation) {
+  public void add(final ValidateableAttestation attestation) {
     final AttestationData attestationData = attestation.getAttestation().getData();
     final Bytes32 dataRoot = attestationData.hashTreeRoot();
-    final boolean add =
-        attestationGroupByDataHash
-            .computeIfAbsent(
-                dataRoot,
-                key ->
-                    new MatchingDataAttestationGroup(
-                        attestationData,
-                        attestation
-                            .getCommitteeShufflingSeed()
-                            .orElseThrow(
-                                () ->
-                                    new UnsupportedOperationException(
-                                        "ValidateableAttestation does not have a randao mix."))))
-            .add(attestation);
-    if (add) {
-      updateSize(1);
-    }
     dataHashBySlot
-        .computeIfAbsent(attestationData.getSlot(), slot -> new HashSet<>())
+        .computeIfAbsent(attestationData.getSlot(), slot -> ConcurrentHashMap.newKeySet())
         .add(dataRoot);
+    final AtomicBoolean added = new AtomicBoolean(false);
+    final MatchingDataAttestationGroup group =
+        attestationGroupByDataHash.compute(
+            dataRoot,
+            (key, existingGroup) -> {
+              final MatchingDataAttestationGroup attestations =
+                  existingGroup != null
+                      ? existingGroup
+                      : new MatchingDataAttestationGroup(
+                          attestationData,
+                          attestation
+                              .getCommitteeShufflingSeed()
+                              .orElseThrow(
+                                  () ->
+                                      new UnsupportedOperationException(
+                                          "ValidateableAttestation does not have a randao mix.")));
+              added.set(attestations.add(attestation));
+              return attestations;
+            });
+    if (added.get()) {
+      updateSize(1);
+    }
+    // The slot may have been pruned while the group was created, in which case onSlot could have
+    // removed the data root before the group was added and would never remove the group itself
+    if (attestationData.getSlot().isLessThan(firstValidAttestationSlot)) {
+      if (attestationGroupByDataHash.remove(dataRoot, group)) {
+        updateSize(-Math.toIntExact(group.size()));
+      }
+      return;
+    }
+    if (added.get()) {
+      scheduleAggregatesUpdate(group);
+    }
+  }
+
+  private void scheduleAggregatesUpdate(final MatchingDataAttestationGroup group) {
+    if (group.markAggregatesUpdatePending()) {
+      aggregationAsyncRunner
+          .runAsync(group::updateAggregates)
+          .finish(error -> LOG.error("Failed to aggregate attestations", error));
+    }
   }
 
   @Override
-  public synchronized void onSlot(final UInt64 slot) {
+  public void onSlot(final UInt64 slot) {
     final UInt64 attestationRetentionSlots =
         UInt64.valueOf(SLOTS_PER_EPOCH * ATTESTATION_RETENTION_EPOCHS);
     if (slot.compareTo(attestationRetentionSlots) <= 0) {
       return;
     }
-    final UInt64 firstValidAttestationSlot = slot.minus(attestationRetentionSlots);
+    final UInt64 firstValidSlot = slot.minus(attestationRetentionSlots);
+    firstValidAttestationSlot = firstValidSlot;
     final Collection<Set<Bytes>> dataHashesToRemove =
-        dataHashBySlot.headMap(firstValidAttestationSlot, false).values();
+        dataHashBySlot.headMap(firstValidSlot, false).values();
     dataHashesToRemove.stream()
         .flatMap(Set::stream)
-        .forEach(
-            key -> {
-              final int removed = Math.toIntExact(attestationGroupByDataHash.get(key).size());
-              attestationGroupByDataHash.remove(key);
-              updateSize(-removed);
-            });
+        .map(attestationGroupByDataHash::remove)
+        .filter(Objects::nonNull)
+        .forEach(group -> updateSize(-Math.toIntExact(group.size())));
     dataHashesToRemove.clear();
   }
 
@@ -121,18 +165,21 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
     attestations.forEach(this::remove);
   }
 
-  public synchronized void remove(final Attestation attestation) {
-    final AttestationData attestationData = attestation.getData();
-    final Bytes32 dataRoot = attestationData.hashTreeRoot();
-    final MatchingDataAttestationGroup attestations = attestationGroupByDataHash.get(dataRoot);
-    if (attestations == null) {
-      return;
-    }
-    final int numRemoved = attestations.remove(attestation);
-    updateSize(-numRemoved);
-    if (attestations.isEmpty()) {
-      attestationGroupByDataHash.remove(dataRoot);
-      removeFromSlotMappings(attestationData.getSlot(), dataRoot);
+  public void remove(final Attestation attestation) {
+    final Bytes32 dataRoot = attestation.getData().hashTreeRoot();
+    final AtomicInteger numRemoved = new AtomicInteger();
+    final MatchingDataAttestationGroup group =
+        attestationGroupByDataHash.computeIfPresent(
+            dataRoot,
+            (key, attestations) -> {
+              numRemoved.set(attestations.remove(attestation));
+              return attestations.isEmpty() ? null : attestations;
+            });
+    if (numRemoved.get() > 0) {
+      updateSize(-numRemoved.get());
+      if (group != null) {
+        scheduleAggregatesUpdate(group);
+      }
     }
   }
 
@@ -141,33 +188,25 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
     sizeGauge.set(currentSize);
   }
 
-  private void removeFromSlotMappings(final UInt64 slot, final Bytes32 dataRoot) {
-    final Set<Bytes> dataHashesForSlot = dataHashBySlot.get(slot);
-    if (dataHashesForSlot != null) {
-      dataHashesForSlot.remove(dataRoot);
-      if (dataHashesForSlot.isEmpty()) {
-        dataHashBySlot.remove(slot);
-      }
-    }
-  }
-
   public int getSize() {
     return size.get();
   }
 
-  public synchronized SSZList<Attestation> getAttestationsForBlock(
+  public SSZList<Attestation> getAttestationsForBlock(
       final BeaconState stateAtBlockSlot, final AttestationForkChecker forkChecker) {
     final SSZMutableList<Attestation> attestations =
         SSZList.createMutable(Attestation.class, Constants.MAX_ATTESTATIONS);
 
-    dataHashBySlot.descendingMap().values().stream()
-        .flatMap(Collection::stream)
-        .map(attestationGroupByDataHash::get)
-        .filter(Objects::nonNull)
-        .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
-        .filter(forkChecker::areAttestationsFromCorrectFork)
-        .flatMap(MatchingDataAttestationGroup::stream)
-        .limit(attestations.getMaxSize())
+    final Stream<MatchingDataAttestationGroup> groups =
+        dataHashBySlot.descendingMap().values().stream()
+            .flatMap(Collection::stream)
+            .map(attestationGroupByDataHash::get)
+            .filter(Objects::nonNull)
+            .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
+            .filter(forkChecker::areAttestationsFromCorrectFork);
+    attestationPacker
+        .pack(stateAtBlockSlot, groups, Math.toIntExact(attestations.getMaxSize()))
+        .stream()
         .map(ValidateableAttestation::getAttestation)
         .forEach(attestations::add);
     return attestations;
@@ -200,7 +239,7 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
     return attestationDataValidator.validate(stateAtBlockSlot, attestationData).isEmpty();
   }
 
-  public synchronized Optional<ValidateableAttestation> createAggregateFor(
+  public Optional<ValidateableAttestation> createAggregateFor(
       final Bytes32 attestationHashTreeRoot) {
     return Optional.ofNullable(attestationGroupByDataHash.get(attestationHashTreeRoot))
         .flatMap(attestations -> attestations.stream().findFirst());
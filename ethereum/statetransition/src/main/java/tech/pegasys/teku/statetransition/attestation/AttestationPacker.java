@@ -0,0 +1,226 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+import tech.pegasys.teku.infrastructure.time.TimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.ssz.backing.collections.SszBitlist;
+
+/**
+ * Selects the aggregates to include in a block so that the included attestations earn as much
+ * reward as possible.
+ *
+ * <p>Each candidate aggregate is scored by the number of validators it would include for the first
+ * time, i.e. validators which are neither in the state's pending attestations nor in an already
+ * selected aggregate for the same slot and committee, divided by its inclusion delay as the
+ * inclusion reward is inversely proportional to it. Aggregates are then picked with the lazy
+ * greedy max-coverage algorithm: picking an aggregate can only lower the score of the remaining
+ * candidates, so a candidate is only rescored when it reaches the head of the queue.
+ *
+ * <p>Candidates are scored from the aggregation bits of the groups' aggregate builders, so only
+ * the selected aggregates have their signatures aggregated. Groups whose cached aggregates are up
+ * to date provide the already built aggregates instead.
+ *
+ * <p>Packing is bounded by a time budget. Once it is exceeded no more candidates are collected
+ * beyond the number needed to fill the block and the remaining picks use the last known scores.
+ */
+class AttestationPacker {
+
+  private static final Comparator<Candidate> BEST_SCORE_FIRST =
+      Comparator.comparingDouble((Candidate candidate) -> candidate.score)
+          .reversed()
+          .thenComparingInt(candidate -> candidate.order);
+
+  private final TimeProvider timeProvider;
+  private final UInt64 timeBudgetMillis;
+
+  AttestationPacker(final TimeProvider timeProvider, final UInt64 timeBudgetMillis) {
+    this.timeProvider = timeProvider;
+    this.timeBudgetMillis = timeBudgetMillis;
+  }
+
+  /**
+   * Selects up to {@code maxAttestations} aggregates from the specified groups
+   *
+   * @param stateAtBlockSlot the state the block will be applied to
+   * @param groups the groups to take aggregates from, best sorted from the most recent slot as
+   *     candidates are collected in order until the time budget is exceeded
+   * @param maxAttestations the maximum number of aggregates to select
+   * @return the selected aggregates, most rewarding first
+   */
+  List<ValidateableAttestation> pack(
+      final BeaconState stateAtBlockSlot,
+      final Stream<MatchingDataAttestationGroup> groups,
+      final int maxAttestations) {
+    final UInt64 deadline = timeProvider.getTimeInMillis().plus(timeBudgetMillis);
+    final Map<CommitteeKey, long[]> coverage = getIncludedAttesters(stateAtBlockSlot);
+    final PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_SCORE_FIRST);
+
+    final Iterator<AggregateAttestationBuilder> aggregates =
+        groups.flatMap(MatchingDataAttestationGroup::streamAggregateBuilders).iterator();
+    int order = 0;
+    // Always collect enough candidates to fill the block even if that exceeds the time budget
+    while (aggregates.hasNext()
+        && (queue.size() < maxAttestations || !isDeadlineReached(deadline))) {
+      final Candidate candidate =
+          new Candidate(aggregates.next(), stateAtBlockSlot.getSlot(), order++);
+      if (candidate.updateScore(coverage) > 0) {
+        queue.add(candidate);
+      }
+    }
+
+    final List<ValidateableAttestation> selected = new ArrayList<>();
+    while (!queue.isEmpty() && selected.size() < maxAttestations) {
+      final Candidate candidate = queue.poll();
+      final double previousScore = candidate.score;
+      if (candidate.updateScore(coverage) == 0) {
+        continue;
+      }
+      if (candidate.score < previousScore && !isDeadlineReached(deadline)) {
+        // Other candidates may be better now, so requeue with the updated score
+        queue.add(candidate);
+        continue;
+      }
+      candidate.addTo(coverage);
+      selected.add(candidate.aggregate.buildAggregate());
+    }
+    return selected;
+  }
+
+  private boolean isDeadlineReached(final UInt64 deadline) {
+    return timeProvider.getTimeInMillis().isGreaterThanOrEqualTo(deadline);
+  }
+
+  private static Map<CommitteeKey, long[]> getIncludedAttesters(final BeaconState state) {
+    final Map<CommitteeKey, long[]> coverage = new HashMap<>();
+    Stream.concat(
+            state.getPrevious_epoch_attestations().stream(),
+            state.getCurrent_epoch_attestations().stream())
+        .forEach(
+            pendingAttestation ->
+                addBits(
+                    coverage,
+                    new CommitteeKey(pendingAttestation.getData()),
+                    toWords(pendingAttestation.getAggregation_bits())));
+    return coverage;
+  }
+
+  private static void addBits(
+      final Map<CommitteeKey, long[]> coverage, final CommitteeKey key, final long[] words) {
+    final long[] covered = coverage.get(key);
+    if (covered == null || covered.length < words.length) {
+      final long[] merged = words.clone();
+      if (covered != null) {
+        for (int i = 0; i < covered.length; i++) {
+          merged[i] |= covered[i];
+        }
+      }
+      coverage.put(key, merged);
+    } else {
+      for (int i = 0; i < words.length; i++) {
+        covered[i] |= words[i];
+      }
+    }
+  }
+
+  private static long[] toWords(final SszBitlist bits) {
+    final BitSet bitSet = new BitSet(bits.size());
+    bits.streamAllSetBits().forEach(bitSet::set);
+    return bitSet.toLongArray();
+  }
+
+  private static class Candidate {
+    private final AggregateAttestationBuilder aggregate;
+    private final CommitteeKey committeeKey;
+    private final long[] words;
+    private final long inclusionDelay;
+    private final int order;
+    private double score;
+
+    private Candidate(
+        final AggregateAttestationBuilder aggregate, final UInt64 blockSlot, final int order) {
+      this.aggregate = aggregate;
+      this.committeeKey = new CommitteeKey(aggregate.getAttestationData());
+      this.words = toWords(aggregate.getAggregationBits());
+      // Attestations can't be included in the slot they are made so treat delays below 1 as 1
+      this.inclusionDelay =
+          blockSlot
+              .minusMinZero(aggregate.getAttestationData().getSlot())
+              .max(UInt64.ONE)
+              .min(Integer.MAX_VALUE)
+              .longValue();
+      this.order = order;
+    }
+
+    /** Recalculates the score and returns the number of validators this aggregate would add */
+    private int updateScore(final Map<CommitteeKey, long[]> coverage) {
+      final long[] covered = coverage.get(committeeKey);
+      int newAttesters = 0;
+      for (int i = 0; i < words.length; i++) {
+        final long coveredWord = covered != null && i < covered.length ? covered[i] : 0;
+        newAttesters += Long.bitCount(words[i] & ~coveredWord);
+      }
+      score = (double) newAttesters / inclusionDelay;
+      return newAttesters;
+    }
+
+    private void addTo(final Map<CommitteeKey, long[]> coverage) {
+      addBits(coverage, committeeKey, words);
+    }
+  }
+
+  /**
+   * Identifies the committee an attestation is from. Attestations with different data from the
+   * same committee cover the same validators so they share coverage.
+   */
+  private static class CommitteeKey {
+    private final UInt64 slot;
+    private final UInt64 committeeIndex;
+
+    private CommitteeKey(final AttestationData data) {
+      this.slot = data.getSlot();
+      this.committeeIndex = data.getIndex();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final CommitteeKey that = (CommitteeKey) o;
+      return slot.equals(that.slot) && committeeIndex.equals(that.committeeIndex);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(slot, committeeIndex);
+    }
+  }
+}
@@ -13,15 +13,19 @@
 
 package tech.pegasys.teku.statetransition.attestation;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
@@ -33,12 +37,19 @@ import tech.pegasys.teku.ssz.backing.collections.SszBitlist;
  * AttestationData}.
  *
  * <p>So that the added attestations can be aggregated into the smallest number of aggregates, even
- * as the contents of the collection change, aggregation is actually done during iteration.
- * Aggregation starts with the attestation that already includes the most validators then continues
- * adding attestations in order of the number of validators they contain.
+ * as the contents of the collection change, aggregation starts with the attestation that already
+ * includes the most validators then continues adding attestations in order of the number of
+ * validators they contain.
+ *
+ * <p>The resulting aggregates are cached until the group is next modified. They are typically
+ * rebuilt in the background via {@link #updateAggregates()} as attestations arrive so that reading
+ * them doesn't require aggregating signatures. The signature aggregation itself happens outside of
+ * the group lock so it doesn't block adding attestations.
  *
  * <p>Note that the resulting aggregate will be invalid if attestations with different
  * AttestationData are added.
+ *
+ * <p>This class is thread-safe
  */
 class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation> {
 
@@ -47,8 +58,15 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
 
   private final AttestationData attestationData;
   private final Bytes32 committeeShufflingSeed;
+  private final AtomicBoolean aggregatesUpdatePending = new AtomicBoolean(false);
   private SszBitlist seenAggregationBits = Attestation.createEmptyAggregationBits();
 
+  // Incremented on every modification, guarded by this
+  private long version = 0;
+  private List<AggregateAttestationBuilder> aggregateBuilders = Collections.emptyList();
+  private List<ValidateableAttestation> aggregates = Collections.emptyList();
+  private long aggregatesVersion = version;
+
   public MatchingDataAttestationGroup(
       final AttestationData attestationData, final Bytes32 committeeShufflingSeed) {
     this.attestationData = attestationData;
@@ -66,16 +84,21 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    * @param attestation the attestation to add
    * @return True if the attestation was added, false otherwise
    */
-  public boolean add(final ValidateableAttestation attestation) {
+  public synchronized boolean add(final ValidateableAttestation attestation) {
     if (seenAggregationBits.isSuperSetOf(attestation.getAttestation().getAggregation_bits())) {
       // We've already seen these aggregation bits
       return false;
     }
-    return attestationsByValidatorCount
-        .computeIfAbsent(
-            attestation.getAttestation().getAggregation_bits().getBitCount(),
-            count -> new HashSet<>())
-        .add(attestation);
+    final boolean added =
+        attestationsByValidatorCount
+            .computeIfAbsent(
+                attestation.getAttestation().getAggregation_bits().getBitCount(),
+                count -> new HashSet<>())
+            .add(attestation);
+    if (added) {
+      version++;
+    }
+    return added;
   }
 
   /**
@@ -90,11 +113,76 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    */
   @Override
   public Iterator<ValidateableAttestation> iterator() {
-    return new AggregatingIterator();
+    return getAggregates().iterator();
   }
 
   public Stream<ValidateableAttestation> stream() {
-    return StreamSupport.stream(spliterator(), false);
+    return getAggregates().stream();
+  }
+
+  /**
+   * Returns the aggregates of the attestations currently in this group, building them if the group
+   * was modified since they were last built.
+   */
+  public List<ValidateableAttestation> getAggregates() {
+    final long snapshotVersion;
+    final List<AggregateAttestationBuilder> builders;
+    synchronized (this) {
+      if (aggregatesVersion == version) {
+        return aggregates;
+      }
+      snapshotVersion = version;
+      builders = createAggregateBuilders();
+    }
+
+    final List<ValidateableAttestation> newAggregates =
+        builders.stream()
+            .map(AggregateAttestationBuilder::buildAggregate)
+            .collect(Collectors.toUnmodifiableList());
+    synchronized (this) {
+      // Don't overwrite aggregates built from a more recent version of the group
+      if (snapshotVersion == version) {
+        aggregateBuilders = builders;
+        aggregates = newAggregates;
+        aggregatesVersion = snapshotVersion;
+      }
+    }
+    return newAggregates;
+  }
+
+  /**
+   * Streams the same aggregates as {@link #getAggregates()} but without aggregating signatures, so
+   * the aggregation bits can be inspected before paying for the signature aggregation. If the
+   * cached aggregates are up to date, their already built builders are returned.
+   */
+  synchronized Stream<AggregateAttestationBuilder> streamAggregateBuilders() {
+    if (aggregatesVersion == version) {
+      return aggregateBuilders.stream();
+    }
+    return createAggregateBuilders().stream();
+  }
+
+  // Must be called while holding the lock on this
+  private List<AggregateAttestationBuilder> createAggregateBuilders() {
+    final List<AggregateAttestationBuilder> builders = new ArrayList<>();
+    new AggregatingIterator().forEachRemaining(builders::add);
+    return builders;
+  }
+
+  /**
+   * Marks the aggregates as about to be updated.
+   *
+   * @return true if an update wasn't already pending, in which case the caller is responsible for
+   *     calling {@link #updateAggregates()}
+   */
+  public boolean markAggregatesUpdatePending() {
+    return aggregatesUpdatePending.compareAndSet(false, true);
+  }
+
+  /** Rebuilds the cached aggregates if the group was modified since they were last built. */
+  public void updateAggregates() {
+    aggregatesUpdatePending.set(false);
+    getAggregates();
   }
 
   /**
@@ -102,11 +190,11 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    *
    * @return true if this group is empty.
    */
-  public boolean isEmpty() {
+  public synchronized boolean isEmpty() {
     return attestationsByValidatorCount.isEmpty();
   }
 
-  public long size() {
+  public synchronized long size() {
     return attestationsByValidatorCount.values().stream().map(Set::size).reduce(0, Integer::sum);
   }
 
@@ -118,7 +206,7 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    *
    * @param attestation the attestation to logically remove from the pool.
    */
-  public int remove(final Attestation attestation) {
+  public synchronized int remove(final Attestation attestation) {
     if (seenAggregationBits.isSuperSetOf(attestation.getAggregation_bits())) {
       // We've already seen and filtered out all of these bits, nothing to do
       return 0;
@@ -142,6 +230,9 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
         i.remove();
       }
     }
+    if (numRemoved > 0) {
+      version++;
+    }
     return numRemoved;
   }
 
@@ -149,7 +240,7 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
     return committeeShufflingSeed;
   }
 
-  private class AggregatingIterator implements Iterator<ValidateableAttestation> {
+  private class AggregatingIterator implements Iterator<AggregateAttestationBuilder> {
     private final Set<ValidateableAttestation> includedAttestations = new HashSet<>();
 
     @Override
@@ -158,7 +249,7 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
     }
 
     @Override
-    public ValidateableAttestation next() {
+    public AggregateAttestationBuilder next() {
       final AggregateAttestationBuilder builder = new AggregateAttestationBuilder(attestationData);
       streamRemainingAttestations()
           .forEach(
@@ -170,7 +261,7 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
                 }
               });
       includedAttestations.addAll(builder.getIncludedAttestations());
-      return builder.buildAggregate();
+      return builder;
     }
 
     public Stream<ValidateableAttestation> streamRemainingAttestations() {
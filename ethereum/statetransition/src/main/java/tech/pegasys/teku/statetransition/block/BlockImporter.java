@@ -13,11 +13,15 @@
 
 package tech.pegasys.teku.statetransition.block;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.eventbus.EventBus;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import javax.annotation.CheckReturnValue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -112,6 +116,75 @@ public class BlockImporter {
             });
   }
 
+  /**
+   * Import a chain of blocks, e.g. a batch received during sync. Each block must be the child of
+   * the previous one. Blocks at the start of the chain which are already known are skipped.
+   *
+   * <p>The BLS signatures of all the blocks are verified at once and the blocks are imported in a
+   * single store transaction, so either all of them are imported or none. If the batch fails,
+   * callers can fall back to {@link #importBlock} for each block to import the valid blocks.
+   */
+  @CheckReturnValue
+  public SafeFuture<BlockImportResult> importBlocks(final List<SignedBeaconBlock> blocks) {
+    checkArgument(!blocks.isEmpty(), "No blocks to import");
+    final List<SignedBeaconBlock> unknownBlocks =
+        blocks.stream()
+            .dropWhile(block -> recentChainData.containsBlock(block.getRoot()))
+            .collect(Collectors.toList());
+    if (unknownBlocks.isEmpty()) {
+      final SignedBeaconBlock lastBlock = blocks.get(blocks.size() - 1);
+      LOG.trace(
+          "Importing known blocks up to {}.  Return successful result without re-processing.",
+          () -> formatBlock(lastBlock));
+      return SafeFuture.completedFuture(BlockImportResult.knownBlock(lastBlock));
+    }
+
+    final ReadOnlyForkChoiceStrategy forkChoiceStrategy = getForkChoiceStrategy();
+    if (!unknownBlocks.stream()
+        .allMatch(block -> weakSubjectivityValidator.isBlockValid(block, forkChoiceStrategy))) {
+      return SafeFuture.completedFuture(BlockImportResult.FAILED_WEAK_SUBJECTIVITY_CHECKS);
+    }
+
+    final SignedBeaconBlock firstBlock = unknownBlocks.get(0);
+    final SignedBeaconBlock lastBlock = unknownBlocks.get(unknownBlocks.size() - 1);
+    return validateWeakSubjectivityPeriod()
+        .thenCompose(__ -> forkChoice.onBlocks(unknownBlocks))
+        .thenApply(
+            result -> {
+              if (!result.isSuccessful()) {
+                LOG.trace(
+                    "Failed to import blocks from {} to {} for reason {}",
+                    () -> formatBlock(firstBlock),
+                    () -> formatBlock(lastBlock),
+                    result::getFailureReason);
+                return result;
+              }
+              LOG.trace(
+                  "Successfully imported blocks from {} to {}",
+                  () -> formatBlock(firstBlock),
+                  () -> formatBlock(lastBlock));
+
+              unknownBlocks.forEach(block -> eventBus.post(new ImportedBlockEvent(block)));
+
+              // Notify operation pools to remove operations only
+              // if the blocks are on our canonical chain
+              if (result.isBlockOnCanonicalChain()) {
+                unknownBlocks.forEach(this::notifyBlockOperationSubscribers);
+              }
+
+              return result;
+            })
+        .exceptionally(
+            (e) -> {
+              LOG.error(
+                  "Internal error while importing blocks from {} to {}",
+                  formatBlock(firstBlock),
+                  formatBlock(lastBlock),
+                  e);
+              return BlockImportResult.internalError(e);
+            });
+  }
+
   private SafeFuture<?> validateWeakSubjectivityPeriod() {
     return getLatestCheckpointState()
         .thenCombine(
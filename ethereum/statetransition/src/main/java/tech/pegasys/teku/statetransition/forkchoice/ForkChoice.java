@@ -14,6 +14,7 @@
 package tech.pegasys.teku.statetransition.forkchoice;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static tech.pegasys.teku.statetransition.forkchoice.StateRootCollector.addEmptySlotStateRoots;
 import static tech.pegasys.teku.statetransition.forkchoice.StateRootCollector.addParentStateRoots;
 
 import com.google.common.base.Throwables;
@@ -167,7 +168,59 @@ public class ForkChoice {
           }
           // Note: not using thenRun here because we want to ensure each step is on the event thread
           transaction.commit().join();
-          updateForkChoiceForImportedBlock(block, result);
+          updateForkChoiceForImportedBlock(block.getParentRoot(), block, result);
+          applyVotesFromBlock(forkChoiceStrategy, indexedAttestationCache);
+          return result;
+        });
+  }
+
+  /**
+   * Import a chain of blocks to the store in a single transaction. Each block must be the child of
+   * the previous one and the parent of the first block must already be imported.
+   *
+   * <p>The state transition runs once per block while the BLS signatures of all the blocks are
+   * verified together with a single batch verification. Either all the blocks are imported or, if
+   * any of them is invalid, none of them.
+   */
+  public SafeFuture<BlockImportResult> onBlocks(final List<SignedBeaconBlock> blocks) {
+    checkArgument(!blocks.isEmpty(), "No blocks to import");
+    final SignedBeaconBlock firstBlock = blocks.get(0);
+    return recentChainData
+        .retrieveStateAtSlot(new SlotAndBlockRoot(firstBlock.getSlot(), firstBlock.getParentRoot()))
+        .thenCompose(firstBlockSlotState -> onBlocks(blocks, firstBlockSlotState));
+  }
+
+  private SafeFuture<BlockImportResult> onBlocks(
+      final List<SignedBeaconBlock> blocks, final Optional<BeaconState> firstBlockSlotState) {
+    if (firstBlockSlotState.isEmpty()) {
+      return SafeFuture.completedFuture(BlockImportResult.FAILED_UNKNOWN_PARENT);
+    }
+    final SignedBeaconBlock firstBlock = blocks.get(0);
+    final SignedBeaconBlock lastBlock = blocks.get(blocks.size() - 1);
+    return onForkChoiceThread(
+        () -> {
+          final ForkChoiceStrategy forkChoiceStrategy = getForkChoiceStrategy();
+          final StoreTransaction transaction = recentChainData.startStoreTransaction();
+          final CapturingIndexedAttestationCache indexedAttestationCache =
+              IndexedAttestationCache.capturing();
+
+          addParentStateRoots(firstBlockSlotState.get(), transaction);
+
+          final BlockImportResult result =
+              spec.onBlocks(
+                  transaction, blocks, firstBlockSlotState.get(), indexedAttestationCache);
+
+          if (!result.isSuccessful()) {
+            // The transaction is discarded so none of the blocks is imported
+            return result;
+          }
+          final Optional<BeaconState> lastBlockState =
+              transaction.getBlockStateIfAvailable(lastBlock.getRoot());
+          lastBlockState.ifPresent(
+              state -> addEmptySlotStateRoots(state, firstBlock.getSlot(), transaction));
+          // Note: not using thenRun here because we want to ensure each step is on the event thread
+          transaction.commit().join();
+          updateForkChoiceForImportedBlock(firstBlock.getParentRoot(), lastBlock, result);
           applyVotesFromBlock(forkChoiceStrategy, indexedAttestationCache);
           return result;
         });
@@ -188,7 +241,7 @@ public class ForkChoice {
   }
 
   private void updateForkChoiceForImportedBlock(
-      final SignedBeaconBlock block, final BlockImportResult result) {
+      final Bytes32 parentRoot, final SignedBeaconBlock block, final BlockImportResult result) {
     if (result.isSuccessful()) {
       // If the new block builds on our current chain head immediately make it the new head
       // Since fork choice works by walking down the tree selecting the child block with
@@ -198,7 +251,7 @@ public class ForkChoice {
       // child of the current chain head we'd have already selected it as head.
       if (recentChainData
           .getChainHead()
-          .map(currentHead -> currentHead.getRoot().equals(block.getParentRoot()))
+          .map(currentHead -> currentHead.getRoot().equals(parentRoot))
           .orElse(false)) {
         recentChainData.updateHead(block.getRoot(), block.getSlot());
         result.markAsCanonical();
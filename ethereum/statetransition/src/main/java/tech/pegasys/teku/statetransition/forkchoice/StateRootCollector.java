@@ -52,6 +52,28 @@ public class StateRootCollector {
     }
   }
 
+  /**
+   * Records the state roots of all empty slots after {@code fromSlot} and before the slot of the
+   * supplied state. Used when a chain of blocks is imported at once and the intermediate block slot
+   * states are not kept.
+   */
+  public static void addEmptySlotStateRoots(
+      final BeaconState state, final UInt64 fromSlot, final StoreTransaction transaction) {
+    final SSZVector<Bytes32> blockRoots = state.getBlock_roots();
+    final SSZVector<Bytes32> stateRoots = state.getState_roots();
+    final UInt64 minimumSlot =
+        state.getSlot().minusMinZero(SLOTS_PER_HISTORICAL_ROOT).max(fromSlot);
+    UInt64 slot = state.getSlot().minusMinZero(1);
+    while (slot.isGreaterThan(minimumSlot)) {
+      final Bytes32 blockRoot = getValue(blockRoots, slot);
+      // The slot is empty when it has the same latest block as the previous slot
+      if (blockRoot.equals(getValue(blockRoots, slot.minus(1)))) {
+        transaction.putStateRoot(getValue(stateRoots, slot), new SlotAndBlockRoot(slot, blockRoot));
+      }
+      slot = slot.decrement();
+    }
+  }
+
   private static Bytes32 getValue(final SSZVector<Bytes32> roots, final UInt64 slot) {
     return roots.get(slot.mod(SLOTS_PER_HISTORICAL_ROOT).intValue());
   }
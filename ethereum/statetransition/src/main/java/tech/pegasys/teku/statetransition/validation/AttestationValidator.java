@@ -15,7 +15,6 @@ package tech.pegasys.teku.statetransition.validation;
 
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
-import static tech.pegasys.teku.spec.datastructures.util.AttestationUtil.is_valid_indexed_attestation;
 import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
 import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
 import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.get_committee_count_per_slot;
@@ -32,6 +31,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
 import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.collections.LimitedSet;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -42,6 +42,7 @@ import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.util.CommitteeUtil;
+import tech.pegasys.teku.spec.util.AsyncBLSSignatureVerifier;
 import tech.pegasys.teku.storage.client.RecentChainData;
 import tech.pegasys.teku.util.config.Constants;
 
@@ -56,10 +57,19 @@ public class AttestationValidator {
       LimitedSet.create(VALID_ATTESTATION_SET_SIZE);
   private final Spec spec;
   private final RecentChainData recentChainData;
+  private final AsyncBLSSignatureVerifier signatureVerifier;
 
   public AttestationValidator(final Spec spec, RecentChainData recentChainData) {
+    this(spec, recentChainData, AsyncBLSSignatureVerifier.wrap(BLSSignatureVerifier.SIMPLE));
+  }
+
+  public AttestationValidator(
+      final Spec spec,
+      final RecentChainData recentChainData,
+      final AsyncBLSSignatureVerifier signatureVerifier) {
     this.recentChainData = recentChainData;
     this.spec = spec;
+    this.signatureVerifier = signatureVerifier;
   }
 
   public SafeFuture<InternalValidationResult> validate(
@@ -144,67 +154,81 @@ public class AttestationValidator {
                 maybeState.isEmpty()
                     ? SafeFuture.completedFuture(Optional.empty())
                     : resolveStateForAttestation(attestation, maybeState.get()))
-        .thenApply(
+        .thenCompose(
             maybeState -> {
               if (maybeState.isEmpty()) {
-                return InternalValidationResult.SAVE_FOR_FUTURE;
+                return SafeFuture.completedFuture(InternalValidationResult.SAVE_FOR_FUTURE);
               }
               final BeaconState state = maybeState.get();
-              // The committee index is within the expected range
-              if (data.getIndex()
-                  .isGreaterThanOrEqualTo(
-                      get_committee_count_per_slot(state, data.getTarget().getEpoch()))) {
-                return InternalValidationResult.REJECT;
+              final InternalValidationResult stateChecksResult =
+                  stateAttestationChecks(state, attestation, receivedOnSubnetId);
+              if (stateChecksResult.code() != ACCEPT) {
+                return SafeFuture.completedFuture(stateChecksResult);
               }
 
-              // The attestation's committee index (attestation.data.index) is for the correct
-              // subnet.
-              if (receivedOnSubnetId.isPresent()
-                  && computeSubnetForAttestation(state, attestation)
-                      != receivedOnSubnetId.getAsInt()) {
-                return InternalValidationResult.REJECT;
-              }
+              // The signature is verified last as it is the most expensive check
+              return spec.isValidIndexedAttestation(
+                      state, validateableAttestation, signatureVerifier)
+                  .thenApply(
+                      signatureResult -> {
+                        if (!signatureResult.isSuccessful()) {
+                          return InternalValidationResult.REJECT;
+                        }
+                        // Save committee shuffling seed since the state is available and
+                        // attestation is valid
+                        validateableAttestation.saveCommitteeShufflingSeed(state);
+                        return InternalValidationResult.ACCEPT;
+                      });
+            });
+  }
 
-              // The check below is not specified in the Eth2 networking spec, yet an attestation
-              // with aggregation bits size greater/less than the committee size is invalid. So we
-              // reject those attestations at the networking layer.
-              final List<Integer> committee =
-                  get_beacon_committee(state, data.getSlot(), data.getIndex());
-              if (committee.size() != attestation.getAggregation_bits().size()) {
-                return InternalValidationResult.REJECT;
-              }
+  private InternalValidationResult stateAttestationChecks(
+      final BeaconState state,
+      final Attestation attestation,
+      final OptionalInt receivedOnSubnetId) {
+    final AttestationData data = attestation.getData();
+    // The committee index is within the expected range
+    if (data.getIndex()
+        .isGreaterThanOrEqualTo(get_committee_count_per_slot(state, data.getTarget().getEpoch()))) {
+      return InternalValidationResult.REJECT;
+    }
 
-              if (!is_valid_indexed_attestation(state, validateableAttestation).isSuccessful()) {
-                return InternalValidationResult.REJECT;
-              }
+    // The attestation's committee index (attestation.data.index) is for the correct subnet.
+    if (receivedOnSubnetId.isPresent()
+        && computeSubnetForAttestation(state, attestation) != receivedOnSubnetId.getAsInt()) {
+      return InternalValidationResult.REJECT;
+    }
 
-              // The attestation's target block is an ancestor of the block named in the LMD vote
-              if (!spec.getAncestor(
-                      recentChainData.getForkChoiceStrategy().orElseThrow(),
-                      data.getBeacon_block_root(),
-                      compute_start_slot_at_epoch(data.getTarget().getEpoch()))
-                  .map(ancestorOfLMDVote -> ancestorOfLMDVote.equals(data.getTarget().getRoot()))
-                  .orElse(false)) {
-                return InternalValidationResult.REJECT;
-              }
+    // The check below is not specified in the Eth2 networking spec, yet an attestation with
+    // aggregation bits size greater/less than the committee size is invalid. So we reject those
+    // attestations at the networking layer.
+    final List<Integer> committee = get_beacon_committee(state, data.getSlot(), data.getIndex());
+    if (committee.size() != attestation.getAggregation_bits().size()) {
+      return InternalValidationResult.REJECT;
+    }
 
-              // The current finalized_checkpoint is an ancestor of the block defined by
-              // aggregate.data.beacon_block_root
-              Checkpoint finalizedCheckpoint =
-                  recentChainData.getFinalizedCheckpoint().orElseThrow();
-              if (!spec.getAncestor(
-                      recentChainData.getForkChoiceStrategy().orElseThrow(),
-                      data.getBeacon_block_root(),
-                      compute_start_slot_at_epoch(finalizedCheckpoint.getEpoch()))
-                  .map(ancestorOfLMDVote -> ancestorOfLMDVote.equals(finalizedCheckpoint.getRoot()))
-                  .orElse(false)) {
-                return InternalValidationResult.REJECT;
-              }
+    // The attestation's target block is an ancestor of the block named in the LMD vote
+    if (!spec.getAncestor(
+            recentChainData.getForkChoiceStrategy().orElseThrow(),
+            data.getBeacon_block_root(),
+            compute_start_slot_at_epoch(data.getTarget().getEpoch()))
+        .map(ancestorOfLMDVote -> ancestorOfLMDVote.equals(data.getTarget().getRoot()))
+        .orElse(false)) {
+      return InternalValidationResult.REJECT;
+    }
 
-              // Save committee shuffling seed since the state is available and attestation is valid
-              validateableAttestation.saveCommitteeShufflingSeed(state);
-              return InternalValidationResult.ACCEPT;
-            });
+    // The current finalized_checkpoint is an ancestor of the block defined by
+    // aggregate.data.beacon_block_root
+    Checkpoint finalizedCheckpoint = recentChainData.getFinalizedCheckpoint().orElseThrow();
+    if (!spec.getAncestor(
+            recentChainData.getForkChoiceStrategy().orElseThrow(),
+            data.getBeacon_block_root(),
+            compute_start_slot_at_epoch(finalizedCheckpoint.getEpoch()))
+        .map(ancestorOfLMDVote -> ancestorOfLMDVote.equals(finalizedCheckpoint.getRoot()))
+        .orElse(false)) {
+      return InternalValidationResult.REJECT;
+    }
+    return InternalValidationResult.ACCEPT;
   }
 
   /**
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation.signatures;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+
+/**
+ * Collects signatures to be verified from many callers and verifies them in batches with {@link
+ * BLS#batchVerify(List, List, List)}, so the expensive final pairing check is performed once per
+ * batch rather than once per signature.
+ *
+ * <p>A batch is flushed either when it reaches the max batch size or when its oldest signature has
+ * been waiting for the max batch delay. Since the delay is counted from the moment a signature is
+ * queued the batch window adapts to the load: under light load a signature is verified shortly
+ * after it arrives, while under heavy load queued signatures are already overdue and are flushed
+ * immediately in batches as large as the backlog allows.
+ *
+ * <p>If a batch fails verification its signatures are verified one by one, so only the futures of
+ * invalid signatures complete with {@code false}. The cost of a failed batch is therefore bounded
+ * to one extra verification per signature regardless of how many of them are invalid.
+ *
+ * <p>Result futures are completed on the supplied response {@link AsyncRunner} rather than on the
+ * verifier threads, so callers' continuations never delay the verification of other batches.
+ */
+public class AggregatingSignatureVerificationService extends SignatureVerificationService {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 15_000;
+  public static final int DEFAULT_MAX_BATCH_SIZE = 250;
+  public static final Duration DEFAULT_MAX_BATCH_DELAY = Duration.ofMillis(10);
+  private static final long IDLE_POLL_TIMEOUT_MILLIS = 500;
+
+  private final AsyncRunner asyncRunner;
+  private final AsyncRunner responseAsyncRunner;
+  private final int workerCount;
+  private final int maxBatchSize;
+  private final long maxBatchDelayNanos;
+  private final BlockingQueue<SignatureTask> queue;
+
+  private final Counter batchCounter;
+  private final Counter signatureCounter;
+  private final Counter invalidBatchCounter;
+  private final MetricsHistogram batchSizeHistogram;
+  private final OperationTimer verificationTimer;
+
+  public AggregatingSignatureVerificationService(
+      final MetricsSystem metricsSystem,
+      final AsyncRunner asyncRunner,
+      final AsyncRunner responseAsyncRunner,
+      final int workerCount,
+      final int queueCapacity,
+      final int maxBatchSize,
+      final Duration maxBatchDelay) {
+    checkArgument(workerCount > 0, "Invalid worker count: %s", workerCount);
+    checkArgument(maxBatchSize > 0, "Invalid max batch size: %s", maxBatchSize);
+    this.asyncRunner = asyncRunner;
+    this.responseAsyncRunner = responseAsyncRunner;
+    this.workerCount = workerCount;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.BEACON,
+        "signature_verifications_queue_size",
+        "Number of signatures waiting to be verified",
+        queue::size);
+    batchCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "signature_verifications_batch_count",
+            "Number of signature batches verified");
+    signatureCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "signature_verifications_task_count",
+            "Number of signatures verified in batches");
+    invalidBatchCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "signature_verifications_invalid_batch_count",
+            "Number of signature batches which failed verification and were verified one by one");
+    batchSizeHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.BEACON,
+            metricsSystem,
+            "signature_verifications_batch_size",
+            "Histogram recording the number of signatures in each verified batch",
+            1);
+    verificationTimer =
+        metricsSystem
+            .createLabelledTimer(
+                TekuMetricCategory.BEACON,
+                "signature_verifications_latency",
+                "Time from queuing a signature until its verification completes")
+            .labels();
+  }
+
+  public AggregatingSignatureVerificationService(
+      final MetricsSystem metricsSystem,
+      final AsyncRunner asyncRunner,
+      final AsyncRunner responseAsyncRunner,
+      final int workerCount) {
+    this(
+        metricsSystem,
+        asyncRunner,
+        responseAsyncRunner,
+        workerCount,
+        DEFAULT_QUEUE_CAPACITY,
+        DEFAULT_MAX_BATCH_SIZE,
+        DEFAULT_MAX_BATCH_DELAY);
+  }
+
+  @Override
+  protected SafeFuture<?> doStart() {
+    for (int i = 0; i < workerCount; i++) {
+      asyncRunner.runAsync(this::processBatches).reportExceptions();
+    }
+    return SafeFuture.COMPLETE;
+  }
+
+  @Override
+  protected SafeFuture<?> doStop() {
+    final List<SignatureTask> remainingTasks = new ArrayList<>();
+    queue.drainTo(remainingTasks);
+    remainingTasks.forEach(
+        task ->
+            task.result.completeExceptionally(
+                new RejectedExecutionException("Signature verification service stopped")));
+    return SafeFuture.COMPLETE;
+  }
+
+  @Override
+  public SafeFuture<Boolean> verify(
+      final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+    final SignatureTask task =
+        new SignatureTask(publicKeys, message, signature, verificationTimer.startTimer());
+    if (!queue.offer(task)) {
+      return SafeFuture.failedFuture(
+          new RejectedExecutionException("Signature verification queue is full"));
+    }
+    final SafeFuture<Boolean> result = new SafeFuture<>();
+    task.result.propagateToAsync(result, responseAsyncRunner);
+    return result;
+  }
+
+  private void processBatches() {
+    while (isRunning()) {
+      try {
+        processBatch();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (final Throwable t) {
+        LOG.error("Unexpected error while verifying signatures", t);
+      }
+    }
+  }
+
+  /** Waits for the next batch of signatures and verifies it */
+  @VisibleForTesting
+  void processBatch() throws InterruptedException {
+    final List<SignatureTask> batch = collectBatch();
+    if (batch.isEmpty()) {
+      return;
+    }
+    batchCounter.inc();
+    signatureCounter.inc(batch.size());
+    batchSizeHistogram.recordValue(batch.size());
+    if (!batchVerify(batch)) {
+      invalidBatchCounter.inc();
+    }
+  }
+
+  private List<SignatureTask> collectBatch() throws InterruptedException {
+    final List<SignatureTask> batch = new ArrayList<>();
+    final SignatureTask firstTask = queue.poll(IDLE_POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    if (firstTask == null) {
+      return batch;
+    }
+    batch.add(firstTask);
+    final long deadline = firstTask.queuedNanos + maxBatchDelayNanos;
+    while (batch.size() < maxBatchSize) {
+      queue.drainTo(batch, maxBatchSize - batch.size());
+      final long remainingNanos = deadline - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+        break;
+      }
+      final SignatureTask task = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+      if (task == null) {
+        break;
+      }
+      batch.add(task);
+    }
+    return batch;
+  }
+
+  /**
+   * Verifies the batch and completes futures of its tasks. If the batch is invalid each of its
+   * signatures is verified separately to find the invalid ones.
+   *
+   * @return true if all signatures in the batch are valid
+   */
+  private boolean batchVerify(final List<SignatureTask> tasks) {
+    final List<List<BLSPublicKey>> publicKeys = new ArrayList<>(tasks.size());
+    final List<Bytes> messages = new ArrayList<>(tasks.size());
+    final List<BLSSignature> signatures = new ArrayList<>(tasks.size());
+    for (SignatureTask task : tasks) {
+      publicKeys.add(task.publicKeys);
+      messages.add(task.message);
+      signatures.add(task.signature);
+    }
+
+    boolean isValid;
+    try {
+      isValid = BLS.batchVerify(publicKeys, messages, signatures);
+    } catch (final RuntimeException e) {
+      LOG.debug("Failed to batch verify signatures", e);
+      isValid = false;
+    }
+
+    if (isValid) {
+      tasks.forEach(task -> task.complete(true));
+    } else {
+      for (SignatureTask task : tasks) {
+        task.complete(BLS.fastAggregateVerify(task.publicKeys, task.message, task.signature));
+      }
+    }
+    return isValid;
+  }
+
+  private static class SignatureTask {
+    private final SafeFuture<Boolean> result = new SafeFuture<>();
+    private final List<BLSPublicKey> publicKeys;
+    private final Bytes message;
+    private final BLSSignature signature;
+    private final TimingContext timingContext;
+    private final long queuedNanos = System.nanoTime();
+
+    private SignatureTask(
+        final List<BLSPublicKey> publicKeys,
+        final Bytes message,
+        final BLSSignature signature,
+        final TimingContext timingContext) {
+      this.publicKeys = publicKeys;
+      this.message = message;
+      this.signature = signature;
+      this.timingContext = timingContext;
+    }
+
+    private void complete(final boolean isValid) {
+      timingContext.stopTimer();
+      result.complete(isValid);
+    }
+  }
+}
@@ -28,6 +28,8 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.time.StubTimeProvider;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
@@ -46,8 +48,14 @@ class AggregatingAttestationPoolTest {
   private final AttestationDataStateTransitionValidator attestationDataValidator =
       mock(AttestationDataStateTransitionValidator.class);
 
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+
   private final AggregatingAttestationPool aggregatingPool =
-      new AggregatingAttestationPool(attestationDataValidator, new NoOpMetricsSystem());
+      new AggregatingAttestationPool(
+          attestationDataValidator,
+          new NoOpMetricsSystem(),
+          StubTimeProvider.withTimeInMillis(0),
+          asyncRunner);
 
   private final AttestationForkChecker forkChecker = mock(AttestationForkChecker.class);
 
@@ -220,6 +228,49 @@ class AggregatingAttestationPoolTest {
     assertThat(aggregatingPool.getSize()).isEqualTo(1);
   }
 
+  @Test
+  public void add_shouldNotKeepAttestationsFromPrunedSlots() {
+    final AttestationData attestationData = dataStructureUtil.randomAttestationData(SLOT);
+    aggregatingPool.onSlot(
+        attestationData.getSlot().plus(SLOTS_PER_EPOCH * ATTESTATION_RETENTION_EPOCHS).plus(ONE));
+
+    addAttestationFromValidators(attestationData, 1);
+
+    assertThat(aggregatingPool.getSize()).isZero();
+    assertThat(aggregatingPool.createAggregateFor(attestationData.hashTreeRoot())).isEmpty();
+    assertThat(asyncRunner.countDelayedActions()).isZero();
+  }
+
+  @Test
+  public void add_shouldUpdateAggregatesInBackground() {
+    final AttestationData attestationData = dataStructureUtil.randomAttestationData();
+    final Attestation attestation1 = addAttestationFromValidators(attestationData, 1, 2);
+    final Attestation attestation2 = addAttestationFromValidators(attestationData, 3, 4);
+
+    // Only one update is scheduled until the pending one runs
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+    asyncRunner.executeQueuedActions();
+
+    final Optional<ValidateableAttestation> result =
+        aggregatingPool.createAggregateFor(attestationData.hashTreeRoot());
+    assertThat(result.map(ValidateableAttestation::getAttestation))
+        .contains(aggregateAttestations(attestation1, attestation2));
+    assertThat(aggregatingPool.createAggregateFor(attestationData.hashTreeRoot()))
+        .containsSame(result.orElseThrow());
+  }
+
+  @Test
+  public void remove_shouldScheduleAggregatesUpdateWhenAttestationsRemain() {
+    final AttestationData attestationData = dataStructureUtil.randomAttestationData();
+    addAttestationFromValidators(attestationData, 1, 2);
+    final Attestation attestation2 = addAttestationFromValidators(attestationData, 3, 4);
+    asyncRunner.executeQueuedActions();
+
+    aggregatingPool.remove(attestation2);
+
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+  }
+
   @Test
   public void getSize_shouldIncludeAttestationsAdded() {
     final AttestationData attestationData = dataStructureUtil.randomAttestationData();
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.time.StubTimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.spec.datastructures.operations.Attestation;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.PendingAttestation;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.ssz.backing.collections.SszBitlist;
+
+class AttestationPackerTest {
+  private static final int BITLIST_SIZE = 20;
+  private static final UInt64 BLOCK_SLOT = UInt64.valueOf(10);
+  private static final UInt64 TIME_BUDGET_MILLIS = UInt64.valueOf(100);
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final StubTimeProvider timeProvider = StubTimeProvider.withTimeInMillis(0);
+  private final AttestationPacker packer = new AttestationPacker(timeProvider, TIME_BUDGET_MILLIS);
+
+  private BeaconState state = createState();
+
+  @Test
+  void pack_shouldReturnEmptyListWhenNoCandidates() {
+    assertThat(packer.pack(state, Stream.empty(), 10)).isEmpty();
+  }
+
+  @Test
+  void pack_shouldPreferAggregatesWithMoreNewAttesters() {
+    final ValidateableAttestation smaller = createAttestation(attestationData(9), 1, 2);
+    final ValidateableAttestation larger = createAttestation(attestationData(9), 1, 2, 3, 4);
+
+    assertThat(packer.pack(state, groupsOf(smaller, larger), 1)).containsExactly(larger);
+  }
+
+  @Test
+  void pack_shouldWeightNewAttestersByInclusionDelay() {
+    final ValidateableAttestation older = createAttestation(attestationData(7), 1, 2, 3, 4);
+    final ValidateableAttestation newer = createAttestation(attestationData(9), 1, 2);
+
+    assertThat(packer.pack(state, groupsOf(older, newer), 2)).containsExactly(newer, older);
+  }
+
+  @Test
+  void pack_shouldExcludeAttestersAlreadyIncludedInState() {
+    final AttestationData data = attestationData(9);
+    state =
+        state.updated(
+            mutableState ->
+                mutableState
+                    .getCurrent_epoch_attestations()
+                    .add(
+                        new PendingAttestation(
+                            bits(1, 2, 3), data, UInt64.ONE, dataStructureUtil.randomUInt64())));
+    final ValidateableAttestation included = createAttestation(data, 1, 2, 3);
+    final ValidateableAttestation partiallyIncluded = createAttestation(sameCommittee(data), 3, 4);
+
+    assertThat(packer.pack(state, groupsOf(included, partiallyIncluded), 10))
+        .containsExactly(partiallyIncluded);
+  }
+
+  @Test
+  void pack_shouldExcludeAggregatesCoveredBySelectedAggregatesFromSameCommittee() {
+    final AttestationData data = attestationData(9);
+    final ValidateableAttestation covered = createAttestation(data, 1, 2);
+    final ValidateableAttestation covering = createAttestation(sameCommittee(data), 1, 2, 3);
+    final ValidateableAttestation otherCommittee = createAttestation(attestationData(9), 1, 2);
+
+    assertThat(packer.pack(state, groupsOf(covered, covering, otherCommittee), 10))
+        .containsExactly(covering, otherCommittee);
+  }
+
+  @Test
+  void pack_shouldRescoreCandidatesAfterSelection() {
+    final AttestationData data = attestationData(9);
+    final ValidateableAttestation first = createAttestation(data, 1, 2, 3, 4);
+    final ValidateableAttestation overlapping = createAttestation(sameCommittee(data), 1, 2, 3, 5);
+    final ValidateableAttestation disjoint = createAttestation(attestationData(9), 1, 2);
+
+    assertThat(packer.pack(state, groupsOf(first, overlapping, disjoint), 10))
+        .containsExactly(first, disjoint, overlapping);
+  }
+
+  @Test
+  void pack_shouldStopCollectingCandidatesWhenTimeBudgetExceeded() {
+    final ValidateableAttestation first = createAttestation(attestationData(9), 1);
+    final ValidateableAttestation better = createAttestation(attestationData(9), 1, 2, 3);
+    final Stream<MatchingDataAttestationGroup> groups =
+        groupsOf(first, better)
+            .peek(__ -> timeProvider.advanceTimeByMillis(TIME_BUDGET_MILLIS.longValue()));
+
+    assertThat(packer.pack(state, groups, 1)).containsExactly(first);
+  }
+
+  @Test
+  void pack_shouldUseCachedAggregatesWhenUpToDate() {
+    final ValidateableAttestation attestation = createAttestation(attestationData(9), 1, 2);
+    final MatchingDataAttestationGroup group =
+        new MatchingDataAttestationGroup(attestation.getAttestation().getData(), Bytes32.ZERO);
+    group.add(attestation);
+    final ValidateableAttestation cachedAggregate = group.getAggregates().get(0);
+
+    final List<ValidateableAttestation> packed = packer.pack(state, Stream.of(group), 1);
+    assertThat(packed).hasSize(1);
+    assertThat(packed.get(0)).isSameAs(cachedAggregate);
+  }
+
+  private BeaconState createState() {
+    return dataStructureUtil
+        .randomBeaconState(BLOCK_SLOT)
+        .updated(
+            mutableState -> {
+              mutableState.getPrevious_epoch_attestations().clear();
+              mutableState.getCurrent_epoch_attestations().clear();
+            });
+  }
+
+  private AttestationData attestationData(final long slot) {
+    return dataStructureUtil.randomAttestationData(UInt64.valueOf(slot));
+  }
+
+  private AttestationData sameCommittee(final AttestationData data) {
+    return new AttestationData(
+        data.getSlot(),
+        data.getIndex(),
+        dataStructureUtil.randomBytes32(),
+        data.getSource(),
+        data.getTarget());
+  }
+
+  private Stream<MatchingDataAttestationGroup> groupsOf(
+      final ValidateableAttestation... attestations) {
+    return Stream.of(attestations)
+        .map(
+            attestation -> {
+              final MatchingDataAttestationGroup group =
+                  new MatchingDataAttestationGroup(
+                      attestation.getAttestation().getData(), Bytes32.ZERO);
+              group.add(attestation);
+              return group;
+            });
+  }
+
+  private ValidateableAttestation createAttestation(
+      final AttestationData data, final int... validators) {
+    return ValidateableAttestation.from(
+        new Attestation(bits(validators), data, dataStructureUtil.randomSignature()));
+  }
+
+  private SszBitlist bits(final int... validators) {
+    return Attestation.SSZ_SCHEMA.getAggregationBitsSchema().ofBits(BITLIST_SIZE, validators);
+  }
+}
@@ -16,6 +16,7 @@ package tech.pegasys.teku.statetransition.attestation;
 import static org.assertj.core.api.Assertions.assertThat;
 import static tech.pegasys.teku.statetransition.attestation.AggregatorUtil.aggregateAttestations;
 
+import java.util.List;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -183,6 +184,50 @@ class MatchingDataAttestationGroupTest {
     assertThat(group.size()).isEqualTo(1);
   }
 
+  @Test
+  public void getAggregates_shouldReuseAggregatesUntilGroupIsModified() {
+    addAttestation(1);
+    final List<ValidateableAttestation> aggregates = group.getAggregates();
+    assertThat(group.getAggregates()).isSameAs(aggregates);
+
+    final ValidateableAttestation attestation = addAttestation(2);
+    final List<ValidateableAttestation> updatedAggregates = group.getAggregates();
+    assertThat(updatedAggregates).isNotSameAs(aggregates).hasSize(1);
+
+    group.remove(attestation.getAttestation());
+    assertThat(group.getAggregates()).isNotSameAs(updatedAggregates);
+  }
+
+  @Test
+  public void streamAggregateBuilders_shouldReuseCachedAggregatesWhenUpToDate() {
+    addAttestation(1);
+    addAttestation(2);
+    final List<ValidateableAttestation> aggregates = group.getAggregates();
+
+    assertThat(group.streamAggregateBuilders().map(AggregateAttestationBuilder::buildAggregate))
+        .containsExactlyElementsOf(aggregates);
+  }
+
+  @Test
+  public void streamAggregateBuilders_shouldNotUpdateCachedAggregates() {
+    addAttestation(1);
+    final List<ValidateableAttestation> aggregates = group.getAggregates();
+    addAttestation(2);
+
+    assertThat(group.streamAggregateBuilders().map(AggregateAttestationBuilder::getAggregationBits))
+        .containsExactly(createAttestation(1, 2).getAttestation().getAggregation_bits());
+    assertThat(group.getAggregates()).isNotSameAs(aggregates);
+  }
+
+  @Test
+  public void markAggregatesUpdatePending_shouldOnlySucceedOnceUntilUpdated() {
+    assertThat(group.markAggregatesUpdatePending()).isTrue();
+    assertThat(group.markAggregatesUpdatePending()).isFalse();
+
+    group.updateAggregates();
+    assertThat(group.markAggregatesUpdatePending()).isTrue();
+  }
+
   private ValidateableAttestation addAttestation(final int... validators) {
     final ValidateableAttestation attestation = createAttestation(validators);
     final boolean added = group.add(attestation);
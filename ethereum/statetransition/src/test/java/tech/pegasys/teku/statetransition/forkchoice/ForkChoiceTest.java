@@ -20,6 +20,7 @@ import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
 import static tech.pegasys.teku.util.config.Constants.SECONDS_PER_SLOT;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
@@ -37,6 +38,7 @@ import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.SpecFactory;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.blocks.Eth1Data;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
 import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
@@ -266,6 +268,45 @@ class ForkChoiceTest {
     return updatedAttestationSlot;
   }
 
+  @Test
+  void onBlocks_shouldImportChainOfBlocks() {
+    final List<SignedBeaconBlock> blocks = getBlocks(chainBuilder.generateBlocksUpToSlot(3));
+
+    assertBlockImportedSuccessfully(forkChoice.onBlocks(blocks));
+    assertThat(blocks).allMatch(block -> recentChainData.containsBlock(block.getRoot()));
+    assertThat(recentChainData.getHeadBlock()).contains(blocks.get(blocks.size() - 1));
+  }
+
+  @Test
+  void onBlocks_shouldImportNothingWhenAnyBlockHasInvalidSignature() {
+    final List<SignedBeaconBlock> blocks = getBlocks(chainBuilder.generateBlocksUpToSlot(3));
+    final SignedBeaconBlock validBlock = blocks.get(1);
+    blocks.set(
+        1, new SignedBeaconBlock(validBlock.getMessage(), dataStructureUtil.randomSignature()));
+
+    final SafeFuture<BlockImportResult> result = forkChoice.onBlocks(blocks);
+    assertThat(result).isCompleted();
+    assertThat(result.join().isSuccessful()).isFalse();
+    assertThat(blocks).noneMatch(block -> recentChainData.containsBlock(block.getRoot()));
+  }
+
+  @Test
+  void onBlocks_shouldImportNothingWhenBlocksAreNotConsecutive() {
+    final List<SignedBeaconBlock> blocks = getBlocks(chainBuilder.generateBlocksUpToSlot(3));
+    blocks.remove(1);
+
+    final SafeFuture<BlockImportResult> result = forkChoice.onBlocks(blocks);
+    assertThat(result).isCompleted();
+    assertThat(result.join().isSuccessful()).isFalse();
+    assertThat(blocks).noneMatch(block -> recentChainData.containsBlock(block.getRoot()));
+  }
+
+  private List<SignedBeaconBlock> getBlocks(final List<SignedBlockAndState> blocksAndStates) {
+    return blocksAndStates.stream()
+        .map(SignedBlockAndState::getBlock)
+        .collect(Collectors.toCollection(ArrayList::new));
+  }
+
   private void assertBlockImportedSuccessfully(final SafeFuture<BlockImportResult> importResult) {
     assertThat(importResult).isCompleted();
     final BlockImportResult result = importResult.join();
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation.signatures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.bls.BLSTestUtil;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+
+class AggregatingSignatureVerificationServiceTest {
+  private static final int QUEUE_CAPACITY = 5;
+
+  private final StubAsyncRunner responseAsyncRunner = new StubAsyncRunner();
+  private final AggregatingSignatureVerificationService service =
+      new AggregatingSignatureVerificationService(
+          new NoOpMetricsSystem(),
+          new StubAsyncRunner(),
+          responseAsyncRunner,
+          1,
+          QUEUE_CAPACITY,
+          3,
+          Duration.ZERO);
+
+  @Test
+  void verify_shouldCompleteValidSignaturesInBatch() throws Exception {
+    final SafeFuture<Boolean> result1 = verifyValid(1);
+    final SafeFuture<Boolean> result2 = verifyValid(2);
+    final SafeFuture<Boolean> result3 = verifyValid(3);
+    assertThat(result1).isNotDone();
+
+    service.processBatch();
+    // Results are delivered on the response runner rather than the verifier thread
+    assertThat(result1).isNotDone();
+    responseAsyncRunner.executeQueuedActions();
+
+    assertThat(result1).isCompletedWithValue(true);
+    assertThat(result2).isCompletedWithValue(true);
+    assertThat(result3).isCompletedWithValue(true);
+  }
+
+  @Test
+  void verify_shouldOnlyFailInvalidSignaturesInBatch() throws Exception {
+    final SafeFuture<Boolean> result1 = verifyValid(1);
+    final SafeFuture<Boolean> result2 = verifyInvalid(2);
+    final SafeFuture<Boolean> result3 = verifyValid(3);
+
+    service.processBatch();
+    responseAsyncRunner.executeQueuedActions();
+
+    assertThat(result1).isCompletedWithValue(true);
+    assertThat(result2).isCompletedWithValue(false);
+    assertThat(result3).isCompletedWithValue(true);
+  }
+
+  @Test
+  void verify_shouldFailAllSignaturesWhenWholeBatchIsInvalid() throws Exception {
+    final SafeFuture<Boolean> result1 = verifyInvalid(1);
+    final SafeFuture<Boolean> result2 = verifyInvalid(2);
+    final SafeFuture<Boolean> result3 = verifyInvalid(3);
+
+    service.processBatch();
+    responseAsyncRunner.executeQueuedActions();
+
+    assertThat(result1).isCompletedWithValue(false);
+    assertThat(result2).isCompletedWithValue(false);
+    assertThat(result3).isCompletedWithValue(false);
+  }
+
+  @Test
+  void verify_shouldLimitBatchSize() throws Exception {
+    final SafeFuture<Boolean> result1 = verifyValid(1);
+    final SafeFuture<Boolean> result2 = verifyValid(2);
+    final SafeFuture<Boolean> result3 = verifyValid(3);
+    final SafeFuture<Boolean> result4 = verifyInvalid(4);
+
+    service.processBatch();
+    responseAsyncRunner.executeQueuedActions();
+
+    assertThat(result1).isCompletedWithValue(true);
+    assertThat(result2).isCompletedWithValue(true);
+    assertThat(result3).isCompletedWithValue(true);
+    assertThat(result4).isNotDone();
+
+    service.processBatch();
+    responseAsyncRunner.executeQueuedActions();
+    assertThat(result4).isCompletedWithValue(false);
+  }
+
+  @Test
+  void verify_shouldRejectWhenQueueIsFull() {
+    for (int i = 0; i < QUEUE_CAPACITY; i++) {
+      assertThat(verifyValid(i)).isNotDone();
+    }
+
+    assertThatSafeFuture(verifyValid(QUEUE_CAPACITY))
+        .isCompletedExceptionallyWith(RejectedExecutionException.class);
+  }
+
+  private SafeFuture<Boolean> verifyValid(final int seed) {
+    final BLSKeyPair keyPair = BLSTestUtil.randomKeyPair(seed);
+    final Bytes message = Bytes.ofUnsignedInt(seed);
+    return service.verify(
+        List.of(keyPair.getPublicKey()), message, BLS.sign(keyPair.getSecretKey(), message));
+  }
+
+  private SafeFuture<Boolean> verifyInvalid(final int seed) {
+    final BLSKeyPair keyPair = BLSTestUtil.randomKeyPair(seed);
+    final Bytes message = Bytes.ofUnsignedInt(seed);
+    return service.verify(
+        List.of(keyPair.getPublicKey()),
+        message,
+        BLS.sign(keyPair.getSecretKey(), Bytes.ofUnsignedInt(seed + 1)));
+  }
+}
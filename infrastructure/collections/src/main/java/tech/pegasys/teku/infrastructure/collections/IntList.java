@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.collections;
+
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable list of primitive ints.
+ *
+ * <p>Implements {@code List<Integer>} so that it can be passed wherever a list of indices is
+ * expected, but hot paths should use the primitive accessors ({@link #getInt(int)}, {@link
+ * #intStream()}, {@link #forEachInt(IntConsumer)}) which never box. Sub lists are views over the
+ * same backing array and are created without copying. As the list can't change, its hash code is
+ * computed once without boxing and then reused.
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+  private static final IntList EMPTY = new IntList(new int[0], 0, 0);
+
+  private final int[] values;
+  private final int fromIndex;
+  private final int size;
+  // Lazily computed, zero until then
+  private int hash;
+
+  private IntList(final int[] values, final int fromIndex, final int size) {
+    this.values = values;
+    this.fromIndex = fromIndex;
+    this.size = size;
+  }
+
+  public static IntList of() {
+    return EMPTY;
+  }
+
+  public static IntList of(final int... values) {
+    return copyOf(values);
+  }
+
+  public static IntList copyOf(final int[] values) {
+    return wrap(Arrays.copyOf(values, values.length));
+  }
+
+  /**
+   * Creates the list backed by the specified array without copying it. The array must not be
+   * modified afterwards.
+   */
+  public static IntList wrap(final int[] values) {
+    return values.length == 0 ? EMPTY : new IntList(values, 0, values.length);
+  }
+
+  public static IntList fromStream(final IntStream stream) {
+    return wrap(stream.toArray());
+  }
+
+  public int getInt(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return values[fromIndex + index];
+  }
+
+  @Override
+  public Integer get(final int index) {
+    return getInt(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public IntList subList(final int fromIndex, final int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size);
+    return new IntList(values, this.fromIndex + fromIndex, toIndex - fromIndex);
+  }
+
+  public IntStream intStream() {
+    return Arrays.stream(values, fromIndex, fromIndex + size);
+  }
+
+  public void forEachInt(final IntConsumer action) {
+    for (int i = fromIndex; i < fromIndex + size; i++) {
+      action.accept(values[i]);
+    }
+  }
+
+  public int indexOfInt(final int value) {
+    for (int i = 0; i < size; i++) {
+      if (values[fromIndex + i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public boolean containsInt(final int value) {
+    return indexOfInt(value) >= 0;
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    return o instanceof Integer ? indexOfInt((Integer) o) : -1;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = hash;
+    if (result == 0) {
+      result = 1;
+      for (int i = fromIndex; i < fromIndex + size; i++) {
+        result = 31 * result + values[i];
+      }
+      hash = result;
+    }
+    return result;
+  }
+
+  public int[] toIntArray() {
+    return Arrays.copyOfRange(values, fromIndex, fromIndex + size);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.collections.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache without any eviction backed by a {@link ConcurrentHashMap}, so lookups don't take any
+ * locks. Suitable for caches which content only grows and never needs to be evicted
+ *
+ * @param <K> Keys type
+ * @param <V> Values type
+ */
+public class UnboundedCache<K, V> implements Cache<K, V> {
+
+  private final Map<K, V> cacheData;
+
+  /** Creates empty cache */
+  public UnboundedCache() {
+    this(new ConcurrentHashMap<>());
+  }
+
+  private UnboundedCache(final Map<K, V> cacheData) {
+    this.cacheData = cacheData;
+  }
+
+  @Override
+  public V get(K key, Function<K, V> fallback) {
+    V result = cacheData.get(key);
+
+    if (result == null) {
+      result = fallback.apply(key);
+      if (result != null) {
+        cacheData.put(key, result);
+      }
+    }
+
+    return result;
+  }
+
+  @Override
+  public Optional<V> getCached(K key) {
+    return Optional.ofNullable(cacheData.get(key));
+  }
+
+  @Override
+  public Cache<K, V> copy() {
+    return new UnboundedCache<>(new ConcurrentHashMap<>(cacheData));
+  }
+
+  @Override
+  public void invalidate(K key) {
+    cacheData.remove(key);
+  }
+
+  @Override
+  public void invalidateWithNewValue(K key, V newValue) {
+    cacheData.put(key, newValue);
+  }
+
+  @Override
+  public void clear() {
+    cacheData.clear();
+  }
+
+  @Override
+  public int size() {
+    return cacheData.size();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class IntListTest {
+
+  @Test
+  public void of_shouldBeEqualToBoxedList() {
+    final IntList list = IntList.of(3, 1, 2);
+    assertThat(list).isEqualTo(List.of(3, 1, 2));
+    assertThat(list.hashCode()).isEqualTo(List.of(3, 1, 2).hashCode());
+    assertThat(IntList.of()).isEmpty();
+  }
+
+  @Test
+  public void hashCode_shouldMatchBoxedListForSubLists() {
+    final IntList subList = IntList.of(5, 6, 7, 8, 9).subList(1, 4);
+    assertThat(subList.hashCode()).isEqualTo(List.of(6, 7, 8).hashCode());
+    // The cached value is returned on subsequent calls
+    assertThat(subList.hashCode()).isEqualTo(List.of(6, 7, 8).hashCode());
+  }
+
+  @Test
+  public void copyOf_shouldNotReflectChangesToSourceArray() {
+    final int[] values = {1, 2, 3};
+    final IntList list = IntList.copyOf(values);
+    values[0] = 10;
+    assertThat(list.getInt(0)).isEqualTo(1);
+    assertThat(list.toIntArray()).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void fromStream_shouldContainStreamElements() {
+    final IntList list = IntList.fromStream(IntStream.range(0, 5).filter(i -> i % 2 == 0));
+    assertThat(list).containsExactly(0, 2, 4);
+  }
+
+  @Test
+  public void subList_shouldBeViewWithPrimitiveAccess() {
+    final IntList list = IntList.wrap(new int[] {5, 6, 7, 8, 9});
+    final IntList subList = list.subList(1, 4);
+
+    assertThat(subList).containsExactly(6, 7, 8);
+    assertThat(subList.getInt(0)).isEqualTo(6);
+    assertThat(subList.intStream().toArray()).containsExactly(6, 7, 8);
+    assertThat(subList.toIntArray()).containsExactly(6, 7, 8);
+    assertThat(subList.indexOfInt(8)).isEqualTo(2);
+    assertThat(subList.containsInt(5)).isFalse();
+    assertThat(subList.contains(7)).isTrue();
+    assertThat(subList.subList(1, 3)).containsExactly(7, 8);
+
+    final List<Integer> visited = new ArrayList<>();
+    subList.forEachInt(visited::add);
+    assertThat(visited).containsExactly(6, 7, 8);
+  }
+
+  @Test
+  public void getInt_shouldRejectIndexOutsideSubList() {
+    final IntList subList = IntList.of(1, 2, 3, 4).subList(1, 3);
+    assertThatThrownBy(() -> subList.getInt(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> subList.getInt(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void shouldBeImmutable() {
+    final IntList list = IntList.of(1, 2);
+    assertThatThrownBy(() -> list.add(3)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> list.set(0, 3)).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -15,17 +15,20 @@ package tech.pegasys.teku.infrastructure.events;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Collections.synchronizedMap;
+import static tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory.EVENTBUS;
 
 import java.lang.reflect.Method;
 import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
@@ -33,10 +36,12 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
   private static final Logger LOG = LogManager.getLogger();
   private static final int QUEUE_CAPACITY = 500;
 
-  private final Map<T, BlockingQueue<Runnable>> eventQueuesBySubscriber =
+  private final Map<T, EventQueue> eventQueuesBySubscriber =
       synchronizedMap(new IdentityHashMap<>());
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final ExecutorService executor;
+  private final LabelledMetric<Counter> queuedEventCounter;
+  private final LabelledMetric<OperationTimer> queueLatencyTimer;
 
   public AsyncEventDeliverer(
       final ExecutorService executor,
@@ -44,11 +49,25 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
       final MetricsSystem metricsSystem) {
     super(exceptionHandler, metricsSystem);
     this.executor = executor;
+    // Together with event_consumed_count gives the number of queued and in progress events
+    queuedEventCounter =
+        metricsSystem.createLabelledCounter(
+            EVENTBUS,
+            "event_queued_count",
+            "Total number of events queued for delivery to subscribers",
+            "channel",
+            "subscriber");
+    queueLatencyTimer =
+        metricsSystem.createLabelledTimer(
+            EVENTBUS,
+            "event_queue_latency",
+            "Time from publishing an event until a subscriber starts processing it",
+            "channel");
   }
 
   @Override
   void subscribe(final T subscriber, final int numberOfThreads) {
-    final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    final EventQueue queue = new EventQueue(QUEUE_CAPACITY);
     eventQueuesBySubscriber.put(subscriber, queue);
     super.subscribe(subscriber, numberOfThreads);
     for (int i = 0; i < numberOfThreads; i++) {
@@ -78,10 +97,18 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
   }
 
   private void enqueueDelivery(final T subscriber, final Method method, final Runnable action) {
-    final BlockingQueue<Runnable> queue = checkNotNull(eventQueuesBySubscriber.get(subscriber));
+    final EventQueue queue = checkNotNull(eventQueuesBySubscriber.get(subscriber));
+    final String channelName = method.getDeclaringClass().getSimpleName();
+    final TimingContext queueLatency = queueLatencyTimer.labels(channelName).startTimer();
+    final Runnable timedAction =
+        () -> {
+          queueLatency.stopTimer();
+          action.run();
+        };
     while (!stopped.get()) {
       try {
-        queue.put(action);
+        queue.put(timedAction);
+        queuedEventCounter.labels(channelName, subscriber.getClass().getSimpleName()).inc();
         return;
       } catch (final InterruptedException e) {
         LOG.debug("Interrupted while trying to publish event {}", method::getName);
@@ -96,9 +123,9 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
   }
 
   class QueueReader implements Runnable {
-    private final BlockingQueue<Runnable> queue;
+    private final EventQueue queue;
 
-    public QueueReader(final BlockingQueue<Runnable> queue) {
+    public QueueReader(final EventQueue queue) {
       this.queue = queue;
     }
 
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.events;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a channel method on subscribers via a {@link MethodHandle} adapted to the generic {@code
+ * (Object, Object[])Object} type once per method, which avoids the access checks and argument
+ * copying of {@link Method#invoke(Object, Object...)} on every event delivery
+ */
+class ChannelMethodInvoker {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private final MethodHandle handle;
+
+  private ChannelMethodInvoker(final MethodHandle handle) {
+    this.handle = handle;
+  }
+
+  /**
+   * Creates the invoker for the method
+   *
+   * @throws IllegalAccessException if the method is not accessible from this package
+   */
+  static ChannelMethodInvoker create(final Method method) throws IllegalAccessException {
+    final int parameterCount = method.getParameterCount();
+    final MethodHandle handle =
+        LOOKUP
+            .unreflect(method)
+            .asFixedArity()
+            .asType(MethodType.genericMethodType(parameterCount + 1))
+            .asSpreader(Object[].class, parameterCount);
+    return new ChannelMethodInvoker(handle);
+  }
+
+  /**
+   * Invokes the method on the target. Unlike reflection any exception thrown by the method is
+   * rethrown as is. Void methods return null
+   *
+   * @param args the method arguments, may be null if the method has no parameters
+   */
+  Object invoke(final Object target, final Object[] args) throws Throwable {
+    return (Object) handle.invokeExact(target, args);
+  }
+}
@@ -15,8 +15,9 @@ package tech.pegasys.teku.infrastructure.events;
 
 import static tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory.EVENTBUS;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
@@ -27,6 +28,7 @@ class DirectEventDeliverer<T> extends EventDeliverer<T> {
   private final ChannelExceptionHandler exceptionHandler;
   private final LabelledMetric<Counter> consumedEventCounter;
   private final LabelledMetric<Counter> failedEventCounter;
+  private final Map<Method, ChannelMethodInvoker> methodInvokers = new ConcurrentHashMap<>();
 
   DirectEventDeliverer(
       final ChannelExceptionHandler exceptionHandler, final MetricsSystem metricsSystem) {
@@ -71,18 +73,26 @@ class DirectEventDeliverer<T> extends EventDeliverer<T> {
   private <X> SafeFuture<X> executeMethod(
       final T subscriber, final Method method, final Object[] args) {
     try {
-      return (SafeFuture<X>) method.invoke(subscriber, args);
-    } catch (IllegalAccessException e) {
+      return (SafeFuture<X>) getMethodInvoker(method).invoke(subscriber, args);
+    } catch (Throwable e) {
       incrementCounter(failedEventCounter, subscriber, method);
       return SafeFuture.failedFuture(e);
-    } catch (InvocationTargetException e) {
-      incrementCounter(failedEventCounter, subscriber, method);
-      return SafeFuture.failedFuture(e.getTargetException());
     } finally {
       incrementCounter(consumedEventCounter, subscriber, method);
     }
   }
 
+  private ChannelMethodInvoker getMethodInvoker(final Method method)
+      throws IllegalAccessException {
+    ChannelMethodInvoker invoker = methodInvokers.get(method);
+    if (invoker == null) {
+      // Concurrent calls may create duplicate invokers which is harmless
+      invoker = ChannelMethodInvoker.create(method);
+      methodInvokers.put(method, invoker);
+    }
+    return invoker;
+  }
+
   private void incrementCounter(
       final LabelledMetric<Counter> counter, final T subscriber, final Method method) {
     counter
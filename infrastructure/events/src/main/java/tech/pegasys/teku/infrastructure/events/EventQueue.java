@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounded queue of pending event deliveries for a subscriber.
+ *
+ * <p>Unlike {@link java.util.concurrent.ArrayBlockingQueue} there is no lock shared by publishers
+ * and subscriber threads: events are kept in a lock-free {@link ConcurrentLinkedQueue} while free
+ * slots and queued events are counted by semaphores. Thus publishers and subscriber threads only
+ * wait for each other when the queue is full or empty respectively
+ */
+class EventQueue {
+  private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+  private final Semaphore freeSlots;
+  private final Semaphore queuedEvents = new Semaphore(0);
+
+  EventQueue(final int capacity) {
+    checkArgument(capacity > 0, "Invalid queue capacity: %s", capacity);
+    this.freeSlots = new Semaphore(capacity);
+  }
+
+  /** Adds the event to the tail of the queue waiting for a free slot if the queue is full */
+  void put(final Runnable event) throws InterruptedException {
+    freeSlots.acquire();
+    events.add(event);
+    queuedEvents.release();
+  }
+
+  /** Removes the event from the head of the queue waiting for one if the queue is empty */
+  Runnable take() throws InterruptedException {
+    queuedEvents.acquire();
+    final Runnable event = events.remove();
+    freeSlots.release();
+    return event;
+  }
+}
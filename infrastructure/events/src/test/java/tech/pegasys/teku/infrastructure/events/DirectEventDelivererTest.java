@@ -18,9 +18,11 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.lang.reflect.Method;
+import java.util.function.Consumer;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.Test;
 
@@ -40,6 +42,20 @@ class DirectEventDelivererTest {
     verify(target).run();
   }
 
+  @Test
+  void shouldInvokeMethodWithArguments() throws Exception {
+    @SuppressWarnings("unchecked")
+    final Consumer<String> target = mock(Consumer.class);
+    final DirectEventDeliverer<Consumer<String>> deliverer =
+        new DirectEventDeliverer<>(exceptionHandler, new NoOpMetricsSystem());
+
+    final Method method = Consumer.class.getMethod("accept", Object.class);
+    deliverer.deliverTo(target, method, new Object[] {"a"});
+
+    verify(target).accept("a");
+    verifyNoInteractions(exceptionHandler);
+  }
+
   @Test
   void shouldNotifyExceptionHandlerWhenMethodThrowsException() throws Exception {
     final RuntimeException error = new RuntimeException("Nope");
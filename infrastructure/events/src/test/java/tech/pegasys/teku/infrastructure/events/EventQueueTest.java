@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EventQueueTest {
+
+  private final EventQueue queue = new EventQueue(2);
+
+  @Test
+  void take_shouldReturnEventsInOrder() throws Exception {
+    final Runnable event1 = mock(Runnable.class);
+    final Runnable event2 = mock(Runnable.class);
+    queue.put(event1);
+    queue.put(event2);
+
+    assertThat(queue.take()).isSameAs(event1);
+    assertThat(queue.take()).isSameAs(event2);
+  }
+
+  @Test
+  void put_shouldWaitForFreeSlotWhenFull() throws Exception {
+    final Runnable event1 = mock(Runnable.class);
+    final Runnable event3 = mock(Runnable.class);
+    queue.put(event1);
+    queue.put(mock(Runnable.class));
+
+    final CompletableFuture<Void> putResult =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                queue.put(event3);
+              } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    Thread.sleep(100);
+    assertThat(putResult).isNotDone();
+
+    assertThat(queue.take()).isSameAs(event1);
+    putResult.get(5, TimeUnit.SECONDS);
+    queue.take();
+    assertThat(queue.take()).isSameAs(event3);
+  }
+
+  @Test
+  void take_shouldWaitForEventWhenEmpty() throws Exception {
+    final Runnable event = mock(Runnable.class);
+    final CompletableFuture<Runnable> takeResult =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return queue.take();
+              } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    Thread.sleep(100);
+    assertThat(takeResult).isNotDone();
+
+    queue.put(event);
+    assertThat(takeResult.get(5, TimeUnit.SECONDS)).isSameAs(event);
+  }
+}
@@ -40,6 +40,7 @@ import tech.pegasys.teku.networking.eth2.gossip.config.Eth2Context;
 import tech.pegasys.teku.networking.eth2.gossip.config.GossipConfigurator;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.teku.networking.eth2.gossip.subnets.AttestationSubnetSubscriptions;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.eth2.gossip.topics.ProcessedAttestationSubscriptionProvider;
 import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
@@ -77,6 +78,7 @@ public class ActiveEth2P2PNetwork extends DelegatingP2PNetwork<Eth2Peer> impleme
   private final GossipConfigurator gossipConfigurator;
   private final AttestationSubnetService attestationSubnetService;
   private final ProcessedAttestationSubscriptionProvider processedAttestationSubscriptionProvider;
+  private final GossipValidationScheduler validationScheduler;
   private final Set<Integer> pendingSubnetSubscriptions = new HashSet<>();
   private final AtomicBoolean gossipStarted = new AtomicBoolean(false);
 
@@ -145,6 +147,8 @@ public class ActiveEth2P2PNetwork extends DelegatingP2PNetwork<Eth2Peer> impleme
     this.voluntaryExitProcessor = voluntaryExitProcessor;
     this.voluntaryExitGossipPublisher = voluntaryExitGossipPublisher;
     this.processedAttestationSubscriptionProvider = processedAttestationSubscriptionProvider;
+    this.validationScheduler =
+        new GossipValidationScheduler(metricsSystem, asyncRunner, recentChainData::getCurrentSlot);
   }
 
   @Override
@@ -194,22 +198,31 @@ public class ActiveEth2P2PNetwork extends DelegatingP2PNetwork<Eth2Peer> impleme
 
     AttestationSubnetSubscriptions attestationSubnetSubscriptions =
         new AttestationSubnetSubscriptions(
-            asyncRunner, discoveryNetwork, gossipEncoding, recentChainData, attestationProcessor);
+            validationScheduler,
+            discoveryNetwork,
+            gossipEncoding,
+            recentChainData,
+            attestationProcessor);
 
     blockGossipManager =
         new BlockGossipManager(
-            asyncRunner, discoveryNetwork, gossipEncoding, forkInfo, eventBus, blockProcessor);
+            validationScheduler,
+            discoveryNetwork,
+            gossipEncoding,
+            forkInfo,
+            eventBus,
+            blockProcessor);
 
     attestationGossipManager =
         new AttestationGossipManager(metricsSystem, attestationSubnetSubscriptions);
 
     aggregateGossipManager =
         new AggregateGossipManager(
-            asyncRunner, discoveryNetwork, gossipEncoding, forkInfo, aggregateProcessor);
+            validationScheduler, discoveryNetwork, gossipEncoding, forkInfo, aggregateProcessor);
 
     voluntaryExitGossipManager =
         new VoluntaryExitGossipManager(
-            asyncRunner,
+            validationScheduler,
             discoveryNetwork,
             gossipEncoding,
             forkInfo,
@@ -218,7 +231,7 @@ public class ActiveEth2P2PNetwork extends DelegatingP2PNetwork<Eth2Peer> impleme
 
     proposerSlashingGossipManager =
         new ProposerSlashingGossipManager(
-            asyncRunner,
+            validationScheduler,
             discoveryNetwork,
             gossipEncoding,
             forkInfo,
@@ -227,7 +240,7 @@ public class ActiveEth2P2PNetwork extends DelegatingP2PNetwork<Eth2Peer> impleme
 
     attesterSlashingGossipManager =
         new AttesterSlashingGossipManager(
-            asyncRunner,
+            validationScheduler,
             discoveryNetwork,
             gossipEncoding,
             forkInfo,
@@ -15,8 +15,8 @@ package tech.pegasys.teku.networking.eth2.gossip;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.tuweni.bytes.Bytes;
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers.Eth2TopicHandler;
 import tech.pegasys.teku.networking.p2p.gossip.GossipNetwork;
@@ -36,7 +36,7 @@ public abstract class AbstractGossipManager<T extends SszData> {
 
   protected AbstractGossipManager(
       final String topicName,
-      final AsyncRunner asyncRunner,
+      final GossipValidationScheduler validationScheduler,
       final GossipNetwork gossipNetwork,
       final GossipEncoding gossipEncoding,
       final ForkInfo forkInfo,
@@ -44,7 +44,8 @@ public abstract class AbstractGossipManager<T extends SszData> {
       final GossipPublisher<T> publisher) {
     final Eth2TopicHandler<?> topicHandler =
         new Eth2TopicHandler<>(
-            asyncRunner,
+            validationScheduler,
+            GossipValidationScheduler.Priority.OPERATION,
             processor,
             gossipEncoding,
             forkInfo.getForkDigest(),
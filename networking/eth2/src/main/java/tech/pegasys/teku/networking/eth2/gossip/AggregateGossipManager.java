@@ -15,8 +15,8 @@ package tech.pegasys.teku.networking.eth2.gossip;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.tuweni.bytes.Bytes;
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers.AggregateAttestationTopicHandler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers.Eth2TopicHandler;
@@ -34,7 +34,7 @@ public class AggregateGossipManager {
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
   public AggregateGossipManager(
-      final AsyncRunner asyncRunner,
+      final GossipValidationScheduler validationScheduler,
       final GossipNetwork gossipNetwork,
       final GossipEncoding gossipEncoding,
       final ForkInfo forkInfo,
@@ -42,7 +42,7 @@ public class AggregateGossipManager {
     this.gossipEncoding = gossipEncoding;
     final Eth2TopicHandler<?> aggregateAttestationTopicHandler =
         AggregateAttestationTopicHandler.createHandler(
-            asyncRunner, processor, gossipEncoding, forkInfo.getForkDigest());
+            validationScheduler, processor, gossipEncoding, forkInfo.getForkDigest());
     this.channel =
         gossipNetwork.subscribe(
             aggregateAttestationTopicHandler.getTopic(), aggregateAttestationTopicHandler);
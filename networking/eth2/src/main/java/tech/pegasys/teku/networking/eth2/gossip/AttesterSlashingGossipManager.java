@@ -13,8 +13,8 @@
 
 package tech.pegasys.teku.networking.eth2.gossip;
 
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.p2p.gossip.GossipNetwork;
 import tech.pegasys.teku.spec.datastructures.operations.AttesterSlashing;
@@ -25,13 +25,20 @@ public class AttesterSlashingGossipManager extends AbstractGossipManager<Atteste
   public static String TOPIC_NAME = "attester_slashing";
 
   public AttesterSlashingGossipManager(
-      final AsyncRunner asyncRunner,
+      final GossipValidationScheduler validationScheduler,
       final GossipNetwork gossipNetwork,
       final GossipEncoding gossipEncoding,
       final ForkInfo forkInfo,
       final OperationProcessor<AttesterSlashing> processor,
       final GossipPublisher<AttesterSlashing> publisher) {
-    super(TOPIC_NAME, asyncRunner, gossipNetwork, gossipEncoding, forkInfo, processor, publisher);
+    super(
+        TOPIC_NAME,
+        validationScheduler,
+        gossipNetwork,
+        gossipEncoding,
+        forkInfo,
+        processor,
+        publisher);
   }
 
   @Override
@@ -17,8 +17,8 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.tuweni.bytes.Bytes;
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers.Eth2TopicHandler;
 import tech.pegasys.teku.networking.p2p.gossip.GossipNetwork;
@@ -37,7 +37,7 @@ public class BlockGossipManager {
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
   public BlockGossipManager(
-      final AsyncRunner asyncRunner,
+      final GossipValidationScheduler validationScheduler,
       final GossipNetwork gossipNetwork,
       final GossipEncoding gossipEncoding,
       final ForkInfo forkInfo,
@@ -47,7 +47,8 @@ public class BlockGossipManager {
 
     final Eth2TopicHandler<SignedBeaconBlock> topicHandler =
         new Eth2TopicHandler<>(
-            asyncRunner,
+            validationScheduler,
+            GossipValidationScheduler.Priority.BLOCK,
             processor,
             gossipEncoding,
             forkInfo.getForkDigest(),
@@ -13,8 +13,8 @@
 
 package tech.pegasys.teku.networking.eth2.gossip;
 
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.p2p.gossip.GossipNetwork;
 import tech.pegasys.teku.spec.datastructures.operations.ProposerSlashing;
@@ -25,13 +25,20 @@ public class ProposerSlashingGossipManager extends AbstractGossipManager<Propose
   public static String TOPIC_NAME = "proposer_slashing";
 
   public ProposerSlashingGossipManager(
-      final AsyncRunner asyncRunner,
+      final GossipValidationScheduler validationScheduler,
       final GossipNetwork gossipNetwork,
       final GossipEncoding gossipEncoding,
       final ForkInfo forkInfo,
       final OperationProcessor<ProposerSlashing> processor,
       final GossipPublisher<ProposerSlashing> publisher) {
-    super(TOPIC_NAME, asyncRunner, gossipNetwork, gossipEncoding, forkInfo, processor, publisher);
+    super(
+        TOPIC_NAME,
+        validationScheduler,
+        gossipNetwork,
+        gossipEncoding,
+        forkInfo,
+        processor,
+        publisher);
   }
 
   @Override
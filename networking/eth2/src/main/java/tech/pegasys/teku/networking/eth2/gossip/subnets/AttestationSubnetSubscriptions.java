@@ -17,9 +17,9 @@ import com.google.common.annotations.VisibleForTesting;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.eth2.gossip.topics.TopicNames;
 import tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers.Eth2TopicHandler;
@@ -34,7 +34,7 @@ import tech.pegasys.teku.storage.client.RecentChainData;
 
 public class AttestationSubnetSubscriptions implements AutoCloseable {
 
-  private final AsyncRunner asyncRunner;
+  private final GossipValidationScheduler validationScheduler;
   private final GossipNetwork gossipNetwork;
   private final GossipEncoding gossipEncoding;
   private final RecentChainData recentChainData;
@@ -43,12 +43,12 @@ public class AttestationSubnetSubscriptions implements AutoCloseable {
   private final Map<Integer, TopicChannel> subnetIdToTopicChannel = new HashMap<>();
 
   public AttestationSubnetSubscriptions(
-      final AsyncRunner asyncRunner,
+      final GossipValidationScheduler validationScheduler,
       final GossipNetwork gossipNetwork,
       final GossipEncoding gossipEncoding,
       final RecentChainData recentChainData,
       final OperationProcessor<ValidateableAttestation> processor) {
-    this.asyncRunner = asyncRunner;
+    this.validationScheduler = validationScheduler;
     this.gossipNetwork = gossipNetwork;
     this.gossipEncoding = gossipEncoding;
     this.recentChainData = recentChainData;
@@ -99,7 +99,12 @@ public class AttestationSubnetSubscriptions implements AutoCloseable {
     final String topicName = TopicNames.getAttestationSubnetTopicName(subnetId);
     final Eth2TopicHandler<?> topicHandler =
         SingleAttestationTopicHandler.createHandler(
-            asyncRunner, processor, gossipEncoding, forkInfo.getForkDigest(), topicName, subnetId);
+            validationScheduler,
+            processor,
+            gossipEncoding,
+            forkInfo.getForkDigest(),
+            topicName,
+            subnetId);
     return gossipNetwork.subscribe(topicHandler.getTopic(), topicHandler);
   }
 
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.networking.eth2.gossip.topics;
+
+import static tech.pegasys.teku.util.config.Constants.ATTESTATION_PROPAGATION_SLOT_RANGE;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.ExceptionThrowingFutureSupplier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.statetransition.validation.InternalValidationResult;
+
+/**
+ * Schedules the validation of gossip messages so that blocks are never stuck behind thousands of
+ * single attestations.
+ *
+ * <p>Each class of topic has its own bounded queue. A limited number of workers running on the
+ * network {@link AsyncRunner} always pick the next message from the highest priority non-empty
+ * queue. Messages which have a deadline slot (attestations and aggregates) are ignored without
+ * validation once the deadline has passed, either when they are picked up or when they are
+ * evicted to make room in a full queue.
+ */
+public class GossipValidationScheduler {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_MAX_WORKERS = 4;
+
+  /** Topic classes in priority order, highest first */
+  public enum Priority {
+    BLOCK(1_000),
+    AGGREGATE(5_000),
+    OPERATION(1_000),
+    ATTESTATION(10_000);
+
+    private final int maxQueueSize;
+
+    Priority(final int maxQueueSize) {
+      this.maxQueueSize = maxQueueSize;
+    }
+
+    private String getMetricLabel() {
+      return name().toLowerCase();
+    }
+  }
+
+  private final AsyncRunner asyncRunner;
+  private final Supplier<Optional<UInt64>> currentSlotProvider;
+  private final int maxWorkers;
+  private final Map<Priority, Queue<QueuedTask>> queues = new EnumMap<>(Priority.class);
+  private int activeWorkers = 0;
+
+  private final LabelledMetric<Counter> admittedCounter;
+  private final LabelledMetric<Counter> droppedCounter;
+  private final LabelledMetric<OperationTimer> queueLatencyTimer;
+
+  public GossipValidationScheduler(
+      final MetricsSystem metricsSystem,
+      final AsyncRunner asyncRunner,
+      final Supplier<Optional<UInt64>> currentSlotProvider,
+      final int maxWorkers) {
+    this.asyncRunner = asyncRunner;
+    this.currentSlotProvider = currentSlotProvider;
+    this.maxWorkers = maxWorkers;
+
+    for (Priority priority : Priority.values()) {
+      final Queue<QueuedTask> queue = new ArrayDeque<>();
+      queues.put(priority, queue);
+      metricsSystem.createIntegerGauge(
+          TekuMetricCategory.NETWORK,
+          "gossip_validation_" + priority.getMetricLabel() + "_queue_size",
+          "Number of gossip messages waiting for validation",
+          () -> getQueueSize(priority));
+    }
+    admittedCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.NETWORK,
+            "gossip_validation_admitted_count",
+            "Number of gossip messages queued for validation",
+            "queue");
+    droppedCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.NETWORK,
+            "gossip_validation_dropped_count",
+            "Number of gossip messages dropped without validation",
+            "queue",
+            "reason");
+    queueLatencyTimer =
+        metricsSystem.createLabelledTimer(
+            TekuMetricCategory.NETWORK,
+            "gossip_validation_queue_latency",
+            "Time from queuing a gossip message until its validation starts",
+            "queue");
+  }
+
+  public GossipValidationScheduler(
+      final MetricsSystem metricsSystem,
+      final AsyncRunner asyncRunner,
+      final Supplier<Optional<UInt64>> currentSlotProvider) {
+    this(metricsSystem, asyncRunner, currentSlotProvider, DEFAULT_MAX_WORKERS);
+  }
+
+  /**
+   * Returns the last slot in which an attestation from the specified slot may still be propagated.
+   * One extra slot is allowed to cover the gossip clock disparity so that only attestations which
+   * would certainly be ignored by the validator are dropped.
+   */
+  public static UInt64 getAttestationPropagationDeadline(final UInt64 attestationSlot) {
+    return attestationSlot.plus(ATTESTATION_PROPAGATION_SLOT_RANGE).plus(UInt64.ONE);
+  }
+
+  public SafeFuture<InternalValidationResult> schedule(
+      final Priority priority,
+      final Optional<UInt64> deadlineSlot,
+      final ExceptionThrowingFutureSupplier<InternalValidationResult> validation) {
+    final QueuedTask task = new QueuedTask(priority, deadlineSlot, validation);
+    if (isExpired(task, currentSlotProvider.get())) {
+      recordDropped(priority, "expired");
+      return SafeFuture.completedFuture(InternalValidationResult.IGNORE);
+    }
+    if (!enqueue(task)) {
+      recordDropped(priority, "queue_full");
+      return SafeFuture.failedFuture(
+          new RejectedExecutionException(
+              "Validation queue for " + priority.getMetricLabel() + " messages is full"));
+    }
+    admittedCounter.labels(priority.getMetricLabel()).inc();
+    startWorkerIfRequired();
+    return task.result;
+  }
+
+  private synchronized boolean enqueue(final QueuedTask task) {
+    final Queue<QueuedTask> queue = queues.get(task.priority);
+    if (queue.size() >= task.priority.maxQueueSize) {
+      evictExpiredTasks(queue);
+      if (queue.size() >= task.priority.maxQueueSize) {
+        return false;
+      }
+    }
+    task.queueLatency = queueLatencyTimer.labels(task.priority.getMetricLabel()).startTimer();
+    queue.add(task);
+    return true;
+  }
+
+  private void evictExpiredTasks(final Queue<QueuedTask> queue) {
+    final Optional<UInt64> currentSlot = currentSlotProvider.get();
+    queue.removeIf(
+        task -> {
+          if (!isExpired(task, currentSlot)) {
+            return false;
+          }
+          task.queueLatency.stopTimer();
+          task.ignore();
+          return true;
+        });
+  }
+
+  private synchronized void startWorkerIfRequired() {
+    if (activeWorkers >= maxWorkers || !hasQueuedTasks()) {
+      return;
+    }
+    activeWorkers++;
+    asyncRunner
+        .runAsync(this::processQueuedTasks)
+        .finish(
+            error -> {
+              LOG.debug("Failed to start gossip validation worker", error);
+              workerStopped();
+            });
+  }
+
+  private synchronized void workerStopped() {
+    activeWorkers--;
+  }
+
+  private void processQueuedTasks() {
+    Optional<QueuedTask> task = takeNextTask();
+    while (task.isPresent()) {
+      task.get().run();
+      task = takeNextTask();
+    }
+  }
+
+  private synchronized Optional<QueuedTask> takeNextTask() {
+    for (Queue<QueuedTask> queue : queues.values()) {
+      QueuedTask task = queue.poll();
+      while (task != null) {
+        task.queueLatency.stopTimer();
+        if (!isExpired(task, currentSlotProvider.get())) {
+          return Optional.of(task);
+        }
+        task.ignore();
+        task = queue.poll();
+      }
+    }
+    activeWorkers--;
+    return Optional.empty();
+  }
+
+  private boolean hasQueuedTasks() {
+    return queues.values().stream().anyMatch(queue -> !queue.isEmpty());
+  }
+
+  private boolean isExpired(final QueuedTask task, final Optional<UInt64> currentSlot) {
+    return task.deadlineSlot.isPresent()
+        && currentSlot.isPresent()
+        && currentSlot.get().isGreaterThan(task.deadlineSlot.get());
+  }
+
+  private void recordDropped(final Priority priority, final String reason) {
+    droppedCounter.labels(priority.getMetricLabel(), reason).inc();
+  }
+
+  @VisibleForTesting
+  synchronized int getQueueSize(final Priority priority) {
+    return queues.get(priority).size();
+  }
+
+  private class QueuedTask {
+    private final Priority priority;
+    private final Optional<UInt64> deadlineSlot;
+    private final ExceptionThrowingFutureSupplier<InternalValidationResult> validation;
+    private final SafeFuture<InternalValidationResult> result = new SafeFuture<>();
+    private TimingContext queueLatency;
+
+    private QueuedTask(
+        final Priority priority,
+        final Optional<UInt64> deadlineSlot,
+        final ExceptionThrowingFutureSupplier<InternalValidationResult> validation) {
+      this.priority = priority;
+      this.deadlineSlot = deadlineSlot;
+      this.validation = validation;
+    }
+
+    private void run() {
+      SafeFuture.of(validation).propagateTo(result);
+    }
+
+    private void ignore() {
+      recordDropped(priority, "expired");
+      result.complete(InternalValidationResult.IGNORE);
+    }
+  }
+}
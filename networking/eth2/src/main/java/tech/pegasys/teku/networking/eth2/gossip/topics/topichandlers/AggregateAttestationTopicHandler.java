@@ -13,8 +13,9 @@
 
 package tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers;
 
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import java.util.Optional;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.operations.SignedAggregateAndProof;
@@ -25,7 +26,7 @@ public class AggregateAttestationTopicHandler {
   public static String TOPIC_NAME = "beacon_aggregate_and_proof";
 
   public static Eth2TopicHandler<?> createHandler(
-      final AsyncRunner asyncRunner,
+      final GossipValidationScheduler validationScheduler,
       final OperationProcessor<ValidateableAttestation> operationProcessor,
       final GossipEncoding gossipEncoding,
       final Bytes4 forkDigest) {
@@ -34,7 +35,12 @@ public class AggregateAttestationTopicHandler {
         proofMessage ->
             operationProcessor.process(ValidateableAttestation.aggregateFromNetwork(proofMessage));
     return new Eth2TopicHandler<>(
-        asyncRunner,
+        validationScheduler,
+        GossipValidationScheduler.Priority.AGGREGATE,
+        aggregate ->
+            Optional.of(
+                GossipValidationScheduler.getAttestationPropagationDeadline(
+                    aggregate.getMessage().getAggregate().getData().getSlot())),
         convertingProcessor,
         gossipEncoding,
         forkDigest,
@@ -14,16 +14,20 @@
 package tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers;
 
 import io.libp2p.core.pubsub.ValidationResult;
+import java.util.Optional;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.exceptions.ExceptionUtil;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.DecodingException;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.teku.networking.eth2.gossip.topics.GossipSubValidationUtil;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler.Priority;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.eth2.gossip.topics.TopicNames;
 import tech.pegasys.teku.networking.p2p.gossip.PreparedGossipMessage;
@@ -35,7 +39,9 @@ import tech.pegasys.teku.statetransition.validation.InternalValidationResult;
 
 public class Eth2TopicHandler<MessageT extends SszData> implements TopicHandler {
   private static final Logger LOG = LogManager.getLogger();
-  private final AsyncRunner asyncRunner;
+  private final GossipValidationScheduler validationScheduler;
+  private final Priority priority;
+  private final Function<MessageT, Optional<UInt64>> deadlineSlotProvider;
   private final OperationProcessor<MessageT> processor;
   private final GossipEncoding gossipEncoding;
   private final Bytes4 forkDigest;
@@ -43,13 +49,40 @@ public class Eth2TopicHandler<MessageT extends SszData> implements TopicHandler
   private final SszSchema<MessageT> messageType;
 
   public Eth2TopicHandler(
-      AsyncRunner asyncRunner,
+      GossipValidationScheduler validationScheduler,
+      Priority priority,
       OperationProcessor<MessageT> processor,
       GossipEncoding gossipEncoding,
       Bytes4 forkDigest,
       String topicName,
       SszSchema<MessageT> messageType) {
-    this.asyncRunner = asyncRunner;
+    this(
+        validationScheduler,
+        priority,
+        message -> Optional.empty(),
+        processor,
+        gossipEncoding,
+        forkDigest,
+        topicName,
+        messageType);
+  }
+
+  /**
+   * @param deadlineSlotProvider returns the last slot in which the message may still be
+   *     propagated, messages past their deadline are ignored without being validated
+   */
+  public Eth2TopicHandler(
+      GossipValidationScheduler validationScheduler,
+      Priority priority,
+      Function<MessageT, Optional<UInt64>> deadlineSlotProvider,
+      OperationProcessor<MessageT> processor,
+      GossipEncoding gossipEncoding,
+      Bytes4 forkDigest,
+      String topicName,
+      SszSchema<MessageT> messageType) {
+    this.validationScheduler = validationScheduler;
+    this.priority = priority;
+    this.deadlineSlotProvider = deadlineSlotProvider;
     this.processor = processor;
     this.gossipEncoding = gossipEncoding;
     this.forkDigest = forkDigest;
@@ -62,16 +95,15 @@ public class Eth2TopicHandler<MessageT extends SszData> implements TopicHandler
     return SafeFuture.of(() -> deserialize(message))
         .thenCompose(
             deserialized ->
-                asyncRunner.runAsync(
-                    () ->
-                        processor
-                            .process(deserialized)
-                            .thenApply(
-                                internalValidation -> {
-                                  processMessage(internalValidation);
-                                  return GossipSubValidationUtil.fromInternalValidationResult(
-                                      internalValidation);
-                                })))
+                validationScheduler.schedule(
+                    priority,
+                    deadlineSlotProvider.apply(deserialized),
+                    () -> processor.process(deserialized)))
+        .thenApply(
+            internalValidation -> {
+              processMessage(internalValidation);
+              return GossipSubValidationUtil.fromInternalValidationResult(internalValidation);
+            })
         .exceptionally(this::handleMessageProcessingError);
   }
 
@@ -107,7 +139,8 @@ public class Eth2TopicHandler<MessageT extends SszData> implements TopicHandler
       response = ValidationResult.Invalid;
     } else if (ExceptionUtil.getCause(err, RejectedExecutionException.class).isPresent()) {
       LOG.warn(
-          "Discarding gossip message for topic {} because the executor queue is full", getTopic());
+          "Discarding gossip message for topic {} because the validation queue is full",
+          getTopic());
       response = ValidationResult.Ignore;
     } else {
       LOG.warn("Encountered exception while processing message for topic {}", getTopic(), err);
@@ -13,8 +13,9 @@
 
 package tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers;
 
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import java.util.Optional;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
@@ -23,7 +24,7 @@ import tech.pegasys.teku.ssz.SSZTypes.Bytes4;
 public class SingleAttestationTopicHandler {
 
   public static Eth2TopicHandler<?> createHandler(
-      final AsyncRunner asyncRunner,
+      final GossipValidationScheduler validationScheduler,
       final OperationProcessor<ValidateableAttestation> operationProcessor,
       final GossipEncoding gossipEncoding,
       final Bytes4 forkDigest,
@@ -34,7 +35,12 @@ public class SingleAttestationTopicHandler {
         attMessage ->
             operationProcessor.process(ValidateableAttestation.fromNetwork(attMessage, subnetId));
     return new Eth2TopicHandler<>(
-        asyncRunner,
+        validationScheduler,
+        GossipValidationScheduler.Priority.ATTESTATION,
+        attestation ->
+            Optional.of(
+                GossipValidationScheduler.getAttestationPropagationDeadline(
+                    attestation.getData().getSlot())),
         convertingProcessor,
         gossipEncoding,
         forkDigest,
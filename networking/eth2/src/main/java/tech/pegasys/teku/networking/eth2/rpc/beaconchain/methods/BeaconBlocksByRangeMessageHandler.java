@@ -25,6 +25,7 @@ import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.TreeMap;
 import org.apache.logging.log4j.LogManager;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -41,6 +42,8 @@ import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 public class BeaconBlocksByRangeMessageHandler
     extends PeerRequiredLocalMessageHandler<BeaconBlocksByRangeRequestMessage, SignedBeaconBlock> {
   private static final org.apache.logging.log4j.Logger LOG = LogManager.getLogger();
+  // Max number of finalized blocks loaded from storage at once
+  static final int FINALIZED_BLOCK_BATCH_SIZE = 64;
 
   private final CombinedChainDataClient combinedChainDataClient;
   private final UInt64 maxRequestSize;
@@ -165,19 +168,11 @@ public class BeaconBlocksByRangeMessageHandler
         complete -> complete ? completedFuture(requestState) : sendNextBlock(requestState));
   }
 
+  /** Sends the next block if there is one and returns true if the request is now complete. */
   private SafeFuture<Boolean> processNextBlock(final RequestState requestState) {
     // Ensure blocks are loaded off of the event thread
     return requestState
-        .loadNextBlock()
-        .thenCompose(block -> handleLoadedBlock(requestState, block));
-  }
-
-  /** Sends the block and returns true if the request is now complete. */
-  private SafeFuture<Boolean> handleLoadedBlock(
-      final RequestState requestState, final Optional<SignedBeaconBlock> block) {
-    return block
-        .map(requestState::sendBlock)
-        .orElse(SafeFuture.COMPLETE)
+        .sendNextBlock()
         .thenApply(
             __ -> {
               if (requestState.isComplete()) {
@@ -196,6 +191,8 @@ public class BeaconBlocksByRangeMessageHandler
     private final NavigableMap<UInt64, Bytes32> knownBlockRoots;
     private UInt64 currentSlot;
     private UInt64 remainingBlocks;
+    private NavigableMap<UInt64, Bytes> finalizedBlocks = new TreeMap<>();
+    private Optional<UInt64> finalizedBlocksEndSlot = Optional.empty();
 
     RequestState(
         final UInt64 startSlot,
@@ -226,32 +223,62 @@ public class BeaconBlocksByRangeMessageHandler
       return !needsMoreBlocks() || hasReachedHeadSlot();
     }
 
-    SafeFuture<Void> sendBlock(final SignedBeaconBlock block) {
-      return callback.respond(block);
-    }
-
     void incrementCurrentSlot() {
       remainingBlocks = remainingBlocks.minus(ONE);
       currentSlot = currentSlot.plus(step);
     }
 
-    SafeFuture<Optional<SignedBeaconBlock>> loadNextBlock() {
+    SafeFuture<Void> sendNextBlock() {
       final UInt64 slot = this.currentSlot;
       final Bytes32 knownBlockRoot = knownBlockRoots.get(slot);
       if (knownBlockRoot != null) {
         // Known root so lookup by root
         return combinedChainDataClient
             .getBlockByBlockRoot(knownBlockRoot)
-            .thenApply(maybeBlock -> maybeBlock.filter(block -> block.getSlot().equals(slot)));
+            .thenCompose(
+                maybeBlock ->
+                    maybeBlock
+                        .filter(block -> block.getSlot().equals(slot))
+                        .map(callback::respond)
+                        .orElse(SafeFuture.COMPLETE));
       } else if ((!knownBlockRoots.isEmpty() && slot.compareTo(knownBlockRoots.firstKey()) >= 0)
           || slot.compareTo(headSlot) > 0) {
         // Unknown root but not finalized means this is an empty slot
         // Could also be because the first block requested is above our head slot
-        return SafeFuture.completedFuture(Optional.empty());
+        return SafeFuture.COMPLETE;
       } else {
-        // Must be a finalized block so lookup by slot
-        return combinedChainDataClient.getBlockAtSlotExact(slot);
+        // Must be a finalized block so send the stored SSZ bytes without deserializing them
+        return loadFinalizedBlockSsz(slot)
+            .thenCompose(
+                maybeBlockSsz ->
+                    maybeBlockSsz.map(callback::respondSerialized).orElse(SafeFuture.COMPLETE));
       }
     }
+
+    private SafeFuture<Optional<Bytes>> loadFinalizedBlockSsz(final UInt64 slot) {
+      if (finalizedBlocksEndSlot.map(endSlot -> slot.isLessThanOrEqualTo(endSlot)).orElse(false)) {
+        return completedFuture(Optional.ofNullable(finalizedBlocks.remove(slot)));
+      }
+      // Load the following finalized blocks in one go rather than querying storage slot by slot
+      final UInt64 batchEndSlot = getFinalizedBatchEndSlot(slot);
+      return combinedChainDataClient
+          .getFinalizedBlockSszBySlot(slot, batchEndSlot, step)
+          .thenApply(
+              blocks -> {
+                finalizedBlocks = blocks;
+                finalizedBlocksEndSlot = Optional.of(batchEndSlot);
+                return Optional.ofNullable(finalizedBlocks.remove(slot));
+              });
+    }
+
+    private UInt64 getFinalizedBatchEndSlot(final UInt64 slot) {
+      // remainingBlocks doesn't include the block at the current slot
+      final UInt64 batchBlockCount = remainingBlocks.plus(ONE).min(FINALIZED_BLOCK_BATCH_SIZE);
+      final UInt64 endSlot = slot.plus(step.times(batchBlockCount.minus(ONE))).min(headSlot);
+      // Blocks from the first known root onwards are loaded by root
+      return knownBlockRoots.isEmpty()
+          ? endSlot
+          : endSlot.min(knownBlockRoots.firstKey().minus(ONE));
+    }
   }
 }
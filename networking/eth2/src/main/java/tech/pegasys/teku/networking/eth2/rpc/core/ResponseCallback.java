@@ -13,11 +13,18 @@
 
 package tech.pegasys.teku.networking.eth2.rpc.core;
 
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
 public interface ResponseCallback<T> {
   SafeFuture<Void> respond(T data);
 
+  /**
+   * Responds with data which is already SSZ serialized, e.g. as loaded from storage. The bytes
+   * must be a valid serialization of {@code T}.
+   */
+  SafeFuture<Void> respondSerialized(Bytes serializedData);
+
   void respondAndCompleteSuccessfully(T data);
 
   void completeSuccessfully();
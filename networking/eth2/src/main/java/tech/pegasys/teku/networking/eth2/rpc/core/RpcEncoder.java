@@ -40,6 +40,17 @@ public final class RpcEncoder {
     return Bytes.concatenate(Bytes.of(SUCCESS_RESPONSE_CODE), encoding.encodePayload(response));
   }
 
+  /**
+   * Encodes a successful response chunk from the already SSZ serialized response data
+   *
+   * @param serializedResponse the SSZ serialized payload of the response
+   * @return the encoded RPC response chunk
+   */
+  public Bytes encodeSuccessfulSerializedResponse(Bytes serializedResponse) {
+    return Bytes.concatenate(
+        Bytes.of(SUCCESS_RESPONSE_CODE), encoding.encodeSerializedPayload(serializedResponse));
+  }
+
   public Bytes encodeErrorResponse(RpcException error) {
     return Bytes.concatenate(
         Bytes.of(error.getResponseCode()), encoding.encodePayload(error.getErrorMessage()));
@@ -33,6 +33,15 @@ public interface RpcEncoding {
    */
   <T extends SszData> Bytes encodePayload(T payload);
 
+  /**
+   * Encodes a payload which is already SSZ serialized with its encoding-dependent header. This
+   * allows sending data loaded from storage without deserializing and serializing it again.
+   *
+   * @param serializedPayload The SSZ serialized payload
+   * @return The encoded header and payload bytes
+   */
+  Bytes encodeSerializedPayload(Bytes serializedPayload);
+
   /**
    * Creates a brand new disposable {@link RpcByteBufDecoder} instance
    *
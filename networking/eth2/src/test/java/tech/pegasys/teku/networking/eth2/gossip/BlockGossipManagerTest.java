@@ -20,11 +20,14 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.eventbus.EventBus;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.p2p.gossip.GossipNetwork;
 import tech.pegasys.teku.networking.p2p.gossip.TopicChannel;
@@ -37,6 +40,8 @@ public class BlockGossipManagerTest {
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
   private final EventBus eventBus = new EventBus();
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
   private final GossipNetwork gossipNetwork = mock(GossipNetwork.class);
   private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final TopicChannel topicChannel = mock(TopicChannel.class);
@@ -50,7 +55,7 @@ public class BlockGossipManagerTest {
         .when(gossipNetwork)
         .subscribe(contains(BlockGossipManager.TOPIC_NAME), any());
     new BlockGossipManager(
-        asyncRunner,
+        validationScheduler,
         gossipNetwork,
         gossipEncoding,
         dataStructureUtil.randomForkInfo(),
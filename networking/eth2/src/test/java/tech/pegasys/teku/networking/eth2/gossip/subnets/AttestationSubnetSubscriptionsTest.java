@@ -25,10 +25,12 @@ import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThat
 
 import com.google.common.eventbus.EventBus;
 import java.util.Optional;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.p2p.gossip.GossipNetwork;
 import tech.pegasys.teku.networking.p2p.gossip.TopicChannel;
@@ -46,6 +48,8 @@ public class AttestationSubnetSubscriptionsTest {
   private final Spec spec = SpecFactory.createMinimal();
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
   private final RecentChainData recentChainData =
       MemoryOnlyRecentChainData.create(spec, mock(EventBus.class));
   private final GossipNetwork gossipNetwork = mock(GossipNetwork.class);
@@ -62,7 +66,7 @@ public class AttestationSubnetSubscriptionsTest {
     BeaconChainUtil.create(spec, 0, recentChainData).initializeStorage();
     subnetSubscriptions =
         new AttestationSubnetSubscriptions(
-            asyncRunner, gossipNetwork, gossipEncoding, recentChainData, processor);
+            validationScheduler, gossipNetwork, gossipEncoding, recentChainData, processor);
 
     when(gossipNetwork.subscribe(any(), any())).thenReturn(mock(TopicChannel.class));
   }
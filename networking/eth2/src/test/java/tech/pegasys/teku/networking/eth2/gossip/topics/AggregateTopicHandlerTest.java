@@ -18,6 +18,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import io.libp2p.core.pubsub.ValidationResult;
+import java.util.Optional;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
@@ -37,10 +39,12 @@ public class AggregateTopicHandlerTest {
       mock(OperationProcessor.class);
 
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
   private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final Eth2TopicHandler<?> topicHandler =
       AggregateAttestationTopicHandler.createHandler(
-          asyncRunner,
+          validationScheduler,
           processor,
           gossipEncoding,
           dataStructureUtil.randomForkInfo().getForkDigest());
@@ -114,7 +118,7 @@ public class AggregateTopicHandlerTest {
     final Bytes4 forkDigest = Bytes4.fromHexString("0x11223344");
     Eth2TopicHandler<?> topicHandler =
         AggregateAttestationTopicHandler.createHandler(
-            asyncRunner, processor, gossipEncoding, forkDigest);
+            validationScheduler, processor, gossipEncoding, forkDigest);
     assertThat(topicHandler.getTopic())
         .isEqualTo("/eth2/11223344/beacon_aggregate_and_proof/ssz_snappy");
   }
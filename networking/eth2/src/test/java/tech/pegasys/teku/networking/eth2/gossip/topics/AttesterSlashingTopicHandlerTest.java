@@ -19,7 +19,9 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.eventbus.EventBus;
 import io.libp2p.core.pubsub.ValidationResult;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
@@ -46,13 +48,16 @@ public class AttesterSlashingTopicHandlerTest {
   private final OperationProcessor<AttesterSlashing> processor = mock(OperationProcessor.class);
 
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
   private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final RecentChainData recentChainData = MemoryOnlyRecentChainData.create(spec, eventBus);
   private final BeaconChainUtil beaconChainUtil = BeaconChainUtil.create(spec, 5, recentChainData);
 
   private Eth2TopicHandler<AttesterSlashing> topicHandler =
       new Eth2TopicHandler<>(
-          asyncRunner,
+          validationScheduler,
+          GossipValidationScheduler.Priority.OPERATION,
           processor,
           gossipEncoding,
           dataStructureUtil.randomForkInfo().getForkDigest(),
@@ -115,7 +120,8 @@ public class AttesterSlashingTopicHandlerTest {
     final Bytes4 forkDigest = Bytes4.fromHexString("0x11223344");
     Eth2TopicHandler<AttesterSlashing> topicHandler =
         new Eth2TopicHandler<>(
-            asyncRunner,
+            validationScheduler,
+            GossipValidationScheduler.Priority.OPERATION,
             processor,
             gossipEncoding,
             forkDigest,
@@ -19,7 +19,9 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.eventbus.EventBus;
 import io.libp2p.core.pubsub.ValidationResult;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
@@ -45,6 +47,8 @@ public class BlockTopicHandlerTest {
   private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final RecentChainData recentChainData = MemoryOnlyRecentChainData.create(spec, eventBus);
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
   private final BeaconChainUtil beaconChainUtil = BeaconChainUtil.create(spec, 2, recentChainData);
 
   @SuppressWarnings("unchecked")
@@ -52,7 +56,8 @@ public class BlockTopicHandlerTest {
 
   private Eth2TopicHandler<SignedBeaconBlock> topicHandler =
       new Eth2TopicHandler<>(
-          asyncRunner,
+          validationScheduler,
+          GossipValidationScheduler.Priority.BLOCK,
           processor,
           gossipEncoding,
           dataStructureUtil.randomForkInfo().getForkDigest(),
@@ -136,7 +141,8 @@ public class BlockTopicHandlerTest {
     final Bytes4 forkDigest = Bytes4.fromHexString("0x11223344");
     final Eth2TopicHandler<SignedBeaconBlock> topicHandler =
         new Eth2TopicHandler<>(
-            asyncRunner,
+            validationScheduler,
+            GossipValidationScheduler.Priority.BLOCK,
             processor,
             gossipEncoding,
             forkDigest,
@@ -16,11 +16,12 @@ package tech.pegasys.teku.networking.eth2.gossip.topics;
 import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
 
 import io.libp2p.core.pubsub.ValidationResult;
+import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.RejectedExecutionException;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.Test;
-import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.DecodingException;
@@ -37,12 +38,15 @@ public class Eth2TopicHandlerTest {
   private final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
   private final Bytes blockBytes = GossipEncoding.SSZ_SNAPPY.encode(block);
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
 
   @Test
   public void handleMessage_valid() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner, (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
+            validationScheduler,
+            (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
 
     final SafeFuture<ValidationResult> result =
         topicHandler.handleMessage(topicHandler.prepareMessage(blockBytes));
@@ -54,7 +58,8 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_invalid() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner, (b) -> SafeFuture.completedFuture(InternalValidationResult.REJECT));
+            validationScheduler,
+            (b) -> SafeFuture.completedFuture(InternalValidationResult.REJECT));
 
     final SafeFuture<ValidationResult> result =
         topicHandler.handleMessage(topicHandler.prepareMessage(blockBytes));
@@ -66,7 +71,8 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_ignore() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner, (b) -> SafeFuture.completedFuture(InternalValidationResult.IGNORE));
+            validationScheduler,
+            (b) -> SafeFuture.completedFuture(InternalValidationResult.IGNORE));
 
     final SafeFuture<ValidationResult> result =
         topicHandler.handleMessage(topicHandler.prepareMessage(blockBytes));
@@ -78,7 +84,8 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_invalidBytes() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner, (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
+            validationScheduler,
+            (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
     final Bytes invalidBytes = Bytes.fromHexString("0x0102");
     final SafeFuture<ValidationResult> result =
         topicHandler.handleMessage(topicHandler.prepareMessage(invalidBytes));
@@ -91,7 +98,8 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_errorWhileProcessing_decodingException() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner, (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
+            validationScheduler,
+            (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
     topicHandler.setDeserializer(
         (b) -> {
           throw new DecodingException("oops");
@@ -108,7 +116,8 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_errorWhileProcessing_wrappedDecodingException() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner, (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
+            validationScheduler,
+            (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
     topicHandler.setDeserializer(
         (b) -> {
           throw new CompletionException(new DecodingException("oops"));
@@ -125,7 +134,8 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_errorWhileProcessing_decodingExceptionWithCause() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner, (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
+            validationScheduler,
+            (b) -> SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
     topicHandler.setDeserializer(
         (b) -> {
           throw new DecodingException("oops", new RuntimeException("oops"));
@@ -142,7 +152,7 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_errorWhileProcessing_rejectedExecution() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner,
+            validationScheduler,
             (b) -> {
               throw new RejectedExecutionException("No more capacity");
             });
@@ -158,7 +168,7 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_errorWhileProcessing_wrappedRejectedExecution() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner,
+            validationScheduler,
             (b) -> {
               throw new CompletionException(new RejectedExecutionException("No more capacity"));
             });
@@ -174,7 +184,7 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_errorWhileProcessing_rejectedExecutionWithRootCause() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner,
+            validationScheduler,
             (b) -> {
               throw new RejectedExecutionException("No more capacity", new NullPointerException());
             });
@@ -190,7 +200,7 @@ public class Eth2TopicHandlerTest {
   public void handleMessage_errorWhileProcessing_unknownError() {
     MockEth2TopicHandler topicHandler =
         new MockEth2TopicHandler(
-            asyncRunner,
+            validationScheduler,
             (b) -> {
               throw new NullPointerException();
             });
@@ -209,9 +219,11 @@ public class Eth2TopicHandlerTest {
     private static final Bytes4 forkDigest = Bytes4.fromHexString("0x01020304");
 
     protected MockEth2TopicHandler(
-        final AsyncRunner asyncRunner, OperationProcessor<SignedBeaconBlock> processor) {
+        final GossipValidationScheduler validationScheduler,
+        final OperationProcessor<SignedBeaconBlock> processor) {
       super(
-          asyncRunner,
+          validationScheduler,
+          GossipValidationScheduler.Priority.BLOCK,
           processor,
           gossipEncoding,
           forkDigest,
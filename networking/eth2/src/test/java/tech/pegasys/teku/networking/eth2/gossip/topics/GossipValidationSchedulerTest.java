@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.networking.eth2.gossip.topics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.networking.eth2.gossip.topics.GossipValidationScheduler.Priority;
+import tech.pegasys.teku.statetransition.validation.InternalValidationResult;
+
+class GossipValidationSchedulerTest {
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final List<String> validated = new ArrayList<>();
+  private Optional<UInt64> currentSlot = Optional.of(UInt64.valueOf(10));
+
+  private final GossipValidationScheduler scheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, () -> currentSlot, 1);
+
+  @Test
+  void shouldValidateHigherPriorityMessagesFirst() {
+    final SafeFuture<InternalValidationResult> attestation1 =
+        schedule(Priority.ATTESTATION, "attestation1");
+    final SafeFuture<InternalValidationResult> attestation2 =
+        schedule(Priority.ATTESTATION, "attestation2");
+    final SafeFuture<InternalValidationResult> exit = schedule(Priority.OPERATION, "exit");
+    final SafeFuture<InternalValidationResult> aggregate =
+        schedule(Priority.AGGREGATE, "aggregate");
+    final SafeFuture<InternalValidationResult> block = schedule(Priority.BLOCK, "block");
+
+    asyncRunner.executeQueuedActions();
+
+    assertThat(validated)
+        .containsExactly("block", "aggregate", "exit", "attestation1", "attestation2");
+    assertThatSafeFuture(attestation1).isCompletedWithValue(InternalValidationResult.ACCEPT);
+    assertThatSafeFuture(attestation2).isCompletedWithValue(InternalValidationResult.ACCEPT);
+    assertThatSafeFuture(exit).isCompletedWithValue(InternalValidationResult.ACCEPT);
+    assertThatSafeFuture(aggregate).isCompletedWithValue(InternalValidationResult.ACCEPT);
+    assertThatSafeFuture(block).isCompletedWithValue(InternalValidationResult.ACCEPT);
+  }
+
+  @Test
+  void shouldIgnoreMessagesWhichAreAlreadyPastTheirDeadline() {
+    final SafeFuture<InternalValidationResult> result =
+        schedule(Priority.ATTESTATION, "attestation", Optional.of(UInt64.valueOf(9)));
+
+    assertThatSafeFuture(result).isCompletedWithValue(InternalValidationResult.IGNORE);
+    assertThat(scheduler.getQueueSize(Priority.ATTESTATION)).isZero();
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+  }
+
+  @Test
+  void shouldIgnoreQueuedMessagesWhichPassedTheirDeadline() {
+    final SafeFuture<InternalValidationResult> expired =
+        schedule(Priority.ATTESTATION, "expired", Optional.of(UInt64.valueOf(10)));
+    final SafeFuture<InternalValidationResult> current =
+        schedule(Priority.ATTESTATION, "current", Optional.of(UInt64.valueOf(11)));
+
+    currentSlot = Optional.of(UInt64.valueOf(11));
+    asyncRunner.executeQueuedActions();
+
+    assertThat(validated).containsExactly("current");
+    assertThatSafeFuture(expired).isCompletedWithValue(InternalValidationResult.IGNORE);
+    assertThatSafeFuture(current).isCompletedWithValue(InternalValidationResult.ACCEPT);
+  }
+
+  @Test
+  void shouldNotExpireMessagesWhenCurrentSlotIsUnknown() {
+    currentSlot = Optional.empty();
+    final SafeFuture<InternalValidationResult> result =
+        schedule(Priority.ATTESTATION, "attestation", Optional.of(UInt64.ZERO));
+
+    asyncRunner.executeQueuedActions();
+
+    assertThat(validated).containsExactly("attestation");
+    assertThatSafeFuture(result).isCompletedWithValue(InternalValidationResult.ACCEPT);
+  }
+
+  @Test
+  void shouldRejectMessagesWhenQueueIsFull() {
+    for (int i = 0; i < 1_000; i++) {
+      schedule(Priority.BLOCK, "block" + i);
+    }
+
+    final SafeFuture<InternalValidationResult> result = schedule(Priority.BLOCK, "rejected");
+    assertThatSafeFuture(result).isCompletedExceptionallyWith(RejectedExecutionException.class);
+
+    // Other queues are not affected
+    final SafeFuture<InternalValidationResult> attestation =
+        schedule(Priority.ATTESTATION, "attestation");
+    asyncRunner.executeQueuedActions();
+    assertThatSafeFuture(attestation).isCompletedWithValue(InternalValidationResult.ACCEPT);
+    assertThat(validated).hasSize(1_001).doesNotContain("rejected");
+  }
+
+  @Test
+  void shouldEvictExpiredMessagesWhenQueueIsFull() {
+    final SafeFuture<InternalValidationResult> expired =
+        schedule(Priority.BLOCK, "expired", Optional.of(UInt64.valueOf(10)));
+    for (int i = 1; i < 1_000; i++) {
+      schedule(Priority.BLOCK, "block" + i);
+    }
+
+    currentSlot = Optional.of(UInt64.valueOf(11));
+    final SafeFuture<InternalValidationResult> result = schedule(Priority.BLOCK, "admitted");
+
+    assertThatSafeFuture(expired).isCompletedWithValue(InternalValidationResult.IGNORE);
+    asyncRunner.executeQueuedActions();
+    assertThatSafeFuture(result).isCompletedWithValue(InternalValidationResult.ACCEPT);
+    assertThat(validated).hasSize(1_000).doesNotContain("expired");
+  }
+
+  @Test
+  void shouldLimitNumberOfWorkers() {
+    schedule(Priority.ATTESTATION, "attestation1");
+    schedule(Priority.ATTESTATION, "attestation2");
+
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldStartNewWorkerOnceQueuesAreDrained() {
+    schedule(Priority.ATTESTATION, "attestation1");
+    asyncRunner.executeQueuedActions();
+
+    final SafeFuture<InternalValidationResult> result =
+        schedule(Priority.ATTESTATION, "attestation2");
+    asyncRunner.executeQueuedActions();
+
+    assertThat(validated).containsExactly("attestation1", "attestation2");
+    assertThatSafeFuture(result).isCompletedWithValue(InternalValidationResult.ACCEPT);
+  }
+
+  private SafeFuture<InternalValidationResult> schedule(
+      final Priority priority, final String name) {
+    return schedule(priority, name, Optional.empty());
+  }
+
+  private SafeFuture<InternalValidationResult> schedule(
+      final Priority priority, final String name, final Optional<UInt64> deadlineSlot) {
+    return scheduler.schedule(
+        priority,
+        deadlineSlot,
+        () -> {
+          validated.add(name);
+          return SafeFuture.completedFuture(InternalValidationResult.ACCEPT);
+        });
+  }
+}
@@ -19,7 +19,9 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.eventbus.EventBus;
 import io.libp2p.core.pubsub.ValidationResult;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
@@ -43,13 +45,16 @@ public class ProposerSlashingTopicHandlerTest {
   private final OperationProcessor<ProposerSlashing> processor = mock(OperationProcessor.class);
 
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
   private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final RecentChainData recentChainData = MemoryOnlyRecentChainData.create(eventBus);
   private final BeaconChainUtil beaconChainUtil = BeaconChainUtil.create(5, recentChainData);
 
   private final Eth2TopicHandler<ProposerSlashing> topicHandler =
       new Eth2TopicHandler<>(
-          asyncRunner,
+          validationScheduler,
+          GossipValidationScheduler.Priority.OPERATION,
           processor,
           gossipEncoding,
           dataStructureUtil.randomForkInfo().getForkDigest(),
@@ -112,7 +117,8 @@ public class ProposerSlashingTopicHandlerTest {
     final Bytes4 forkDigest = Bytes4.fromHexString("0x11223344");
     Eth2TopicHandler<ProposerSlashing> topicHandler =
         new Eth2TopicHandler<>(
-            asyncRunner,
+            validationScheduler,
+            GossipValidationScheduler.Priority.OPERATION,
             processor,
             gossipEncoding,
             forkDigest,
@@ -20,7 +20,9 @@ import static org.mockito.Mockito.when;
 import com.google.common.eventbus.EventBus;
 import io.libp2p.core.pubsub.ValidationResult;
 import java.util.List;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.bls.BLSKeyGenerator;
@@ -55,12 +57,14 @@ public class SingleAttestationTopicHandlerTest {
 
   private final Spec spec = SpecFactory.createMinimal();
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
   private final RecentChainData recentChainData =
       MemoryOnlyRecentChainData.builder().specProvider(spec).eventBus(mock(EventBus.class)).build();
   final String topicName = TopicNames.getAttestationSubnetTopicName(SUBNET_ID);
   private final Eth2TopicHandler<?> topicHandler =
       SingleAttestationTopicHandler.createHandler(
-          asyncRunner,
+          validationScheduler,
           processor,
           gossipEncoding,
           dataStructureUtil.randomForkInfo().getForkDigest(),
@@ -156,7 +160,7 @@ public class SingleAttestationTopicHandlerTest {
     final String topicName = TopicNames.getAttestationSubnetTopicName(0);
     Eth2TopicHandler<?> topicHandler =
         SingleAttestationTopicHandler.createHandler(
-            asyncRunner, processor, gossipEncoding, forkDigest, topicName, 0);
+            validationScheduler, processor, gossipEncoding, forkDigest, topicName, 0);
     assertThat(topicHandler.getTopic()).isEqualTo("/eth2/11223344/beacon_attestation_0/ssz_snappy");
   }
 }
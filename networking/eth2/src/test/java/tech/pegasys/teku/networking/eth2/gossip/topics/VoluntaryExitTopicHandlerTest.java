@@ -19,7 +19,9 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.eventbus.EventBus;
 import io.libp2p.core.pubsub.ValidationResult;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.core.VoluntaryExitGenerator;
@@ -51,12 +53,15 @@ public class VoluntaryExitTopicHandlerTest {
   private final BeaconChainUtil beaconChainUtil = BeaconChainUtil.create(5, recentChainData);
 
   private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final GossipValidationScheduler validationScheduler =
+      new GossipValidationScheduler(new NoOpMetricsSystem(), asyncRunner, Optional::empty);
   private final VoluntaryExitGenerator exitGenerator =
       new VoluntaryExitGenerator(beaconChainUtil.getValidatorKeys());
 
   private final Eth2TopicHandler<SignedVoluntaryExit> topicHandler =
       new Eth2TopicHandler<>(
-          asyncRunner,
+          validationScheduler,
+          GossipValidationScheduler.Priority.OPERATION,
           processor,
           gossipEncoding,
           dataStructureUtil.randomForkInfo().getForkDigest(),
@@ -108,7 +113,8 @@ public class VoluntaryExitTopicHandlerTest {
     final Bytes4 forkDigest = Bytes4.fromHexString("0x11223344");
     final Eth2TopicHandler<SignedVoluntaryExit> topicHandler =
         new Eth2TopicHandler<>(
-            asyncRunner,
+            validationScheduler,
+            GossipValidationScheduler.Priority.OPERATION,
             processor,
             gossipEncoding,
             forkDigest,
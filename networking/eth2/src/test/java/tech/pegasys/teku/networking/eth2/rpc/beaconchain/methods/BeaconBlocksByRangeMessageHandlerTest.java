@@ -17,6 +17,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -31,6 +32,7 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -68,6 +70,8 @@ class BeaconBlocksByRangeMessageHandlerTest {
   private final CombinedChainDataClient combinedChainDataClient =
       mock(CombinedChainDataClient.class);
 
+  private final NavigableMap<UInt64, Bytes> finalizedBlockSsz = new TreeMap<>();
+
   private final BeaconBlocksByRangeMessageHandler handler =
       new BeaconBlocksByRangeMessageHandler(combinedChainDataClient, MAX_REQUEST_SIZE);
 
@@ -88,8 +92,8 @@ class BeaconBlocksByRangeMessageHandlerTest {
     withCanonicalHeadBlock(BLOCKS_W_STATE.get(1));
     withAncestorRoots(startBlock, count, skip, hotBlocks());
 
-    when(combinedChainDataClient.getBlockAtSlotExact(any()))
-        .thenReturn(completedFuture(Optional.empty()));
+    when(combinedChainDataClient.getFinalizedBlockSszBySlot(any(), any(), any()))
+        .thenReturn(completedFuture(new TreeMap<>()));
 
     requestBlocks(startBlock, count, skip);
 
@@ -278,6 +282,49 @@ class BeaconBlocksByRangeMessageHandlerTest {
 
     verifyBlocksReturned(1, 2, 3, 4, 5);
     verify(combinedChainDataClient, never()).getAncestorRoots(any(), any(), any());
+    // All finalized blocks are loaded from storage at once
+    verify(combinedChainDataClient)
+        .getFinalizedBlockSszBySlot(UInt64.valueOf(1), UInt64.valueOf(5), UInt64.valueOf(1));
+  }
+
+  @Test
+  void shouldReturnBlocksFromFinalizedPeriodWhenStepIsGreaterThanOne() {
+    final int startBlock = 1;
+    final int count = 3;
+    final int skip = 2;
+    withCanonicalHeadBlock(BLOCKS_W_STATE.get(8));
+    withFinalizedBlocks(0, 1, 2, 3, 5, 6, 7);
+
+    requestBlocks(startBlock, count, skip);
+
+    verifyBlocksReturned(1, 3, 5);
+    verify(combinedChainDataClient)
+        .getFinalizedBlockSszBySlot(UInt64.valueOf(1), UInt64.valueOf(5), UInt64.valueOf(2));
+  }
+
+  @Test
+  void shouldLoadFinalizedBlocksInBatchesWhenStepIsGreaterThanOne() {
+    final BeaconBlocksByRangeMessageHandler largeRequestHandler =
+        new BeaconBlocksByRangeMessageHandler(combinedChainDataClient, UInt64.valueOf(200));
+    withCanonicalHeadBlock(new DataStructureUtil().randomSignedBlockAndState(1000));
+    when(combinedChainDataClient.isFinalized(any())).thenReturn(true);
+    when(combinedChainDataClient.getFinalizedBlockSszBySlot(any(), any(), any()))
+        .thenReturn(completedFuture(new TreeMap<>()));
+
+    largeRequestHandler.onIncomingMessage(
+        peer,
+        new BeaconBlocksByRangeRequestMessage(
+            UInt64.valueOf(1), UInt64.valueOf(100), UInt64.valueOf(3)),
+        listener);
+
+    verifyNoBlocksReturned();
+    // The first batch has FINALIZED_BLOCK_BATCH_SIZE (64) blocks: slots 1, 4, ..., 1 + 3 * 63
+    verify(combinedChainDataClient)
+        .getFinalizedBlockSszBySlot(UInt64.valueOf(1), UInt64.valueOf(190), UInt64.valueOf(3));
+    // The second batch has the remaining 36 blocks: slots 193, 196, ..., 193 + 3 * 35
+    verify(combinedChainDataClient)
+        .getFinalizedBlockSszBySlot(UInt64.valueOf(193), UInt64.valueOf(298), UInt64.valueOf(3));
+    verify(combinedChainDataClient, times(2)).getFinalizedBlockSszBySlot(any(), any(), any());
   }
 
   @Test
@@ -292,6 +339,9 @@ class BeaconBlocksByRangeMessageHandlerTest {
     requestBlocks(startBlock, count, skip);
 
     verifyBlocksReturned(1, 2, 3, 4, 5);
+    // Blocks after the first hot block are not loaded from the finalized storage
+    verify(combinedChainDataClient)
+        .getFinalizedBlockSszBySlot(UInt64.valueOf(1), UInt64.valueOf(3), UInt64.valueOf(1));
   }
 
   private void requestBlocks(final int startBlock, final long count, final int skip) {
@@ -310,7 +360,12 @@ class BeaconBlocksByRangeMessageHandlerTest {
   private void verifyBlocksReturned(final int... slots) {
     final InOrder inOrder = Mockito.inOrder(listener);
     for (int slot : slots) {
-      inOrder.verify(listener).respond(BLOCKS.get(slot));
+      final Bytes blockSsz = finalizedBlockSsz.get(UInt64.valueOf(slot));
+      if (blockSsz != null) {
+        inOrder.verify(listener).respondSerialized(blockSsz);
+      } else {
+        inOrder.verify(listener).respond(BLOCKS.get(slot));
+      }
     }
     inOrder.verify(listener).completeSuccessfully();
     verifyNoMoreInteractions(listener);
@@ -350,10 +405,27 @@ class BeaconBlocksByRangeMessageHandlerTest {
               final SignedBeaconBlock block = BLOCKS.get(slot);
               final SafeFuture<Optional<SignedBeaconBlock>> result =
                   completedFuture(Optional.of(block));
+              finalizedBlockSsz.put(block.getSlot(), block.sszSerialize());
               when(combinedChainDataClient.getBlockByBlockRoot(block.getRoot())).thenReturn(result);
-              when(combinedChainDataClient.getBlockAtSlotExact(block.getSlot())).thenReturn(result);
               when(combinedChainDataClient.isFinalized(block.getSlot())).thenReturn(true);
             });
+    when(combinedChainDataClient.getFinalizedBlockSszBySlot(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final UInt64 startSlot = invocation.getArgument(0);
+              final UInt64 endSlot = invocation.getArgument(1);
+              final UInt64 step = invocation.getArgument(2);
+              final NavigableMap<UInt64, Bytes> result = new TreeMap<>();
+              finalizedBlockSsz
+                  .subMap(startSlot, true, endSlot, true)
+                  .forEach(
+                      (slot, blockSsz) -> {
+                        if (slot.minus(startSlot).mod(step).isZero()) {
+                          result.put(slot, blockSsz);
+                        }
+                      });
+              return completedFuture(result);
+            });
   }
 
   private void withCanonicalHeadBlock(final StateAndBlockSummary chainHead) {
@@ -26,13 +26,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpointEpochs;
+import tech.pegasys.teku.spec.datastructures.blocks.CheckpointEpochs;
 import tech.pegasys.teku.spec.datastructures.blocks.StateAndBlockSummary;
 import tech.pegasys.teku.spec.datastructures.forkchoice.ReadOnlyForkChoiceStrategy;
 import tech.pegasys.teku.spec.datastructures.forkchoice.ReadOnlyStore;
@@ -60,7 +60,23 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
   // Public
   public static SafeFuture<ForkChoiceStrategy> initializeAndMigrateStorage(
       ReadOnlyStore store, ProtoArrayStorageChannel storageChannel) {
+    return initializeAndMigrateStorage(store, Collections.emptyMap(), storageChannel);
+  }
+
+  /**
+   * Builds the fork choice for blocks in the store when some of them don't have checkpoint epochs
+   * stored yet.
+   *
+   * <p>Blocks which already have checkpoint epochs in {@code storedBlockMetadata} are added
+   * directly, so only the states of the remaining blocks are retrieved. Only the block information
+   * which wasn't stored before is then sent to {@code storageChannel}.
+   */
+  public static SafeFuture<ForkChoiceStrategy> initializeAndMigrateStorage(
+      ReadOnlyStore store,
+      Map<Bytes32, StoredBlockMetadata> storedBlockMetadata,
+      ProtoArrayStorageChannel storageChannel) {
     LOG.info("Migrating protoarray storing from snapshot to block based");
+    final List<BlockInformation> unstoredBlocks = new ArrayList<>();
     // If no initialEpoch is explicitly set, default to zero (genesis epoch)
     final UInt64 initialEpoch =
         store
@@ -72,16 +88,35 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
         .thenApply(
             maybeSnapshot ->
                 maybeSnapshot
-                    .map(ProtoArraySnapshot::toProtoArray)
-                    .orElse(
-                        ProtoArray.builder()
-                            .justifiedCheckpoint(store.getJustifiedCheckpoint())
-                            .finalizedCheckpoint(store.getFinalizedCheckpoint())
-                            .initialEpoch(initialEpoch)
-                            .build()))
-        .thenCompose(protoArray -> processBlocksInStoreAtStartup(store, protoArray))
+                    .map(
+                        snapshot -> {
+                          snapshot.getBlockInformationList().stream()
+                              .filter(
+                                  block ->
+                                      !hasCheckpointEpochs(
+                                          storedBlockMetadata, block.getBlockRoot()))
+                              .forEach(unstoredBlocks::add);
+                          return snapshot.toProtoArray();
+                        })
+                    .orElseGet(
+                        () ->
+                            ProtoArray.builder()
+                                .justifiedCheckpoint(store.getJustifiedCheckpoint())
+                                .finalizedCheckpoint(store.getFinalizedCheckpoint())
+                                .initialEpoch(initialEpoch)
+                                .build()))
+        .thenCompose(
+            protoArray ->
+                processBlocksInStoreAtStartup(
+                    store, storedBlockMetadata, protoArray, unstoredBlocks))
         .thenPeek(
-            protoArray -> storageChannel.onProtoArrayUpdate(ProtoArraySnapshot.create(protoArray)))
+            protoArray ->
+                storageChannel.onProtoArrayUpdate(
+                    new ProtoArraySnapshot(
+                        protoArray.getJustifiedEpoch(),
+                        protoArray.getFinalizedEpoch(),
+                        protoArray.getInitialEpoch(),
+                        unstoredBlocks)))
         .thenApply(ForkChoiceStrategy::initialize);
   }
 
@@ -124,12 +159,12 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
     protoArrayLock.readLock().lock();
     try {
       final Map<Bytes32, UInt64> chainHeads = new HashMap<>();
-      protoArray.getNodes().stream()
-          .filter(
-              protoNode ->
-                  protoNode.getBestChildIndex().isEmpty()
-                      && protoArray.nodeIsViableForHead(protoNode))
-          .forEach(protoNode -> chainHeads.put(protoNode.getBlockRoot(), protoNode.getBlockSlot()));
+      for (int nodeIndex = 0; nodeIndex < protoArray.getTotalTrackedNodeCount(); nodeIndex++) {
+        if (protoArray.getBestChildIndex(nodeIndex) == ProtoArray.NO_INDEX
+            && protoArray.nodeIsViableForHead(nodeIndex)) {
+          chainHeads.put(protoArray.getBlockRoot(nodeIndex), protoArray.getBlockSlot(nodeIndex));
+        }
+      }
       return ImmutableMap.copyOf(chainHeads);
     } catch (Throwable t) {
       LOG.trace("Failed to get chain heads", t);
@@ -141,13 +176,18 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
 
   // Internal
   private static SafeFuture<ProtoArray> processBlocksInStoreAtStartup(
-      ReadOnlyStore store, ProtoArray protoArray) {
-    List<Bytes32> alreadyIncludedBlockRoots =
-        protoArray.getNodes().stream().map(ProtoNode::getBlockRoot).collect(Collectors.toList());
-
+      final ReadOnlyStore store,
+      final Map<Bytes32, StoredBlockMetadata> storedBlockMetadata,
+      final ProtoArray protoArray,
+      final List<BlockInformation> unstoredBlocks) {
     SafeFuture<Void> future = SafeFuture.completedFuture(null);
     for (Bytes32 blockRoot : store.getOrderedBlockRoots()) {
-      if (alreadyIncludedBlockRoots.contains(blockRoot)) {
+      if (protoArray.contains(blockRoot)) {
+        continue;
+      }
+      if (hasCheckpointEpochs(storedBlockMetadata, blockRoot)) {
+        final StoredBlockMetadata blockMetadata = storedBlockMetadata.get(blockRoot);
+        future = future.thenRun(() -> processStoredBlockAtStartup(protoArray, blockMetadata));
         continue;
       }
       future =
@@ -157,21 +197,49 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
                       .retrieveStateAndBlockSummary(blockRoot)
                       .thenAccept(
                           blockAndState ->
-                              processBlockAtStartup(protoArray, blockAndState.orElseThrow())));
+                              unstoredBlocks.add(
+                                  processBlockAtStartup(protoArray, blockAndState.orElseThrow()))));
     }
     return future.thenApply(__ -> protoArray);
   }
 
-  private static void processBlockAtStartup(
+  private static boolean hasCheckpointEpochs(
+      final Map<Bytes32, StoredBlockMetadata> storedBlockMetadata, final Bytes32 blockRoot) {
+    final StoredBlockMetadata blockMetadata = storedBlockMetadata.get(blockRoot);
+    return blockMetadata != null && blockMetadata.getCheckpointEpochs().isPresent();
+  }
+
+  private static void processStoredBlockAtStartup(
+      final ProtoArray protoArray, final StoredBlockMetadata blockMetadata) {
+    final CheckpointEpochs checkpointEpochs = blockMetadata.getCheckpointEpochs().orElseThrow();
+    protoArray.onBlock(
+        blockMetadata.getBlockSlot(),
+        blockMetadata.getBlockRoot(),
+        blockMetadata.getParentRoot(),
+        blockMetadata.getStateRoot(),
+        checkpointEpochs.getJustifiedEpoch(),
+        checkpointEpochs.getFinalizedEpoch());
+  }
+
+  private static BlockInformation processBlockAtStartup(
       final ProtoArray protoArray, final StateAndBlockSummary blockAndState) {
     final BeaconState state = blockAndState.getState();
+    final BlockInformation blockInformation =
+        new BlockInformation(
+            blockAndState.getSlot(),
+            blockAndState.getRoot(),
+            blockAndState.getParentRoot(),
+            blockAndState.getStateRoot(),
+            state.getCurrent_justified_checkpoint().getEpoch(),
+            state.getFinalized_checkpoint().getEpoch());
     protoArray.onBlock(
-        blockAndState.getSlot(),
-        blockAndState.getRoot(),
-        blockAndState.getParentRoot(),
-        blockAndState.getStateRoot(),
-        state.getCurrent_justified_checkpoint().getEpoch(),
-        state.getFinalized_checkpoint().getEpoch());
+        blockInformation.getBlockSlot(),
+        blockInformation.getBlockRoot(),
+        blockInformation.getParentRoot(),
+        blockInformation.getStateRoot(),
+        blockInformation.getJustifiedEpoch(),
+        blockInformation.getFinalizedEpoch());
+    return blockInformation;
   }
 
   void processAttestation(
@@ -194,7 +262,7 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
     votesLock.writeLock().lock();
     balancesLock.writeLock().lock();
     try {
-      List<Long> deltas =
+      long[] deltas =
           ProtoArrayScoreCalculator.computeDeltas(
               voteUpdater,
               getTotalTrackedNodeCount(),
@@ -245,7 +313,10 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
   public Optional<UInt64> blockSlot(Bytes32 blockRoot) {
     protoArrayLock.readLock().lock();
     try {
-      return getProtoNode(blockRoot).map(ProtoNode::getBlockSlot);
+      final int nodeIndex = getNodeIndex(blockRoot);
+      return nodeIndex != ProtoArray.NO_INDEX
+          ? Optional.of(protoArray.getBlockSlot(nodeIndex))
+          : Optional.empty();
     } finally {
       protoArrayLock.readLock().unlock();
     }
@@ -255,7 +326,10 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
   public Optional<Bytes32> blockParentRoot(Bytes32 blockRoot) {
     protoArrayLock.readLock().lock();
     try {
-      return getProtoNode(blockRoot).map(ProtoNode::getParentRoot);
+      final int nodeIndex = getNodeIndex(blockRoot);
+      return nodeIndex != ProtoArray.NO_INDEX
+          ? Optional.of(protoArray.getParentRoot(nodeIndex))
+          : Optional.empty();
     } finally {
       protoArrayLock.readLock().unlock();
     }
@@ -269,19 +343,17 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
       // and map but during long periods of finality this becomes a massive hot spot in the code and
       // our performance is dominated by the time taken to create Optional instances within the map
       // calls.
-      final Optional<ProtoNode> startingNode = getProtoNode(blockRoot);
-      if (startingNode.isEmpty()) {
+      int currentIndex = getNodeIndex(blockRoot);
+      if (currentIndex == ProtoArray.NO_INDEX) {
         return Optional.empty();
       }
-      ProtoNode currentNode = startingNode.get();
-      while (currentNode.getBlockSlot().isGreaterThan(slot)) {
-        final Optional<Integer> parentIndex = currentNode.getParentIndex();
-        if (parentIndex.isEmpty()) {
+      while (protoArray.isBlockSlotGreaterThan(currentIndex, slot)) {
+        currentIndex = protoArray.getParentIndex(currentIndex);
+        if (currentIndex == ProtoArray.NO_INDEX) {
           return Optional.empty();
         }
-        currentNode = protoArray.getNodes().get(parentIndex.get());
       }
-      return Optional.of(currentNode.getBlockRoot());
+      return Optional.of(protoArray.getBlockRoot(currentIndex));
     } finally {
       protoArrayLock.readLock().unlock();
     }
@@ -309,22 +381,22 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
   public void processHashesInChainWhile(final Bytes32 head, HaltableNodeProcessor nodeProcessor) {
     protoArrayLock.readLock().lock();
     try {
-      final Optional<ProtoNode> startingNode = getProtoNode(head);
-      if (startingNode.isEmpty()) {
+      int currentIndex = getNodeIndex(head);
+      if (currentIndex == ProtoArray.NO_INDEX) {
         throw new IllegalArgumentException("Unknown root supplied: " + head);
       }
-      ProtoNode currentNode = startingNode.orElseThrow();
 
-      while (protoArray.contains(currentNode.getBlockRoot())) {
+      while (protoArray.contains(protoArray.getBlockRoot(currentIndex))) {
         final boolean shouldContinue =
             nodeProcessor.process(
-                currentNode.getBlockRoot(),
-                currentNode.getBlockSlot(),
-                currentNode.getParentRoot());
-        if (!shouldContinue || currentNode.getParentIndex().isEmpty()) {
+                protoArray.getBlockRoot(currentIndex),
+                protoArray.getBlockSlot(currentIndex),
+                protoArray.getParentRoot(currentIndex));
+        final int parentIndex = protoArray.getParentIndex(currentIndex);
+        if (!shouldContinue || parentIndex == ProtoArray.NO_INDEX) {
           break;
         }
-        currentNode = protoArray.getNodes().get(currentNode.getParentIndex().get());
+        currentIndex = parentIndex;
       }
     } finally {
       protoArrayLock.readLock().unlock();
@@ -336,13 +408,14 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
     protoArrayLock.readLock().lock();
     try {
       final Map<Bytes32, Integer> indices = protoArray.getRootIndices();
-      protoArray.getNodes().stream()
-          // Filter out nodes that could be pruned but are still in the protoarray
-          .filter(node -> indices.containsKey(node.getBlockRoot()))
-          .forEach(
-              node ->
-                  nodeProcessor.process(
-                      node.getBlockRoot(), node.getBlockSlot(), node.getParentRoot()));
+      for (int nodeIndex = 0; nodeIndex < protoArray.getTotalTrackedNodeCount(); nodeIndex++) {
+        final Bytes32 blockRoot = protoArray.getBlockRoot(nodeIndex);
+        // Filter out nodes that could be pruned but are still in the protoarray
+        if (indices.containsKey(blockRoot)) {
+          nodeProcessor.process(
+              blockRoot, protoArray.getBlockSlot(nodeIndex), protoArray.getParentRoot(nodeIndex));
+        }
+      }
     } finally {
       protoArrayLock.readLock().unlock();
     }
@@ -385,7 +458,8 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
     protoArray.onBlock(blockSlot, blockRoot, parentRoot, stateRoot, justifiedEpoch, finalizedEpoch);
   }
 
-  private Optional<ProtoNode> getProtoNode(Bytes32 blockRoot) {
-    return protoArray.getProtoNode(blockRoot);
+  private int getNodeIndex(Bytes32 blockRoot) {
+    final int nodeIndex = protoArray.getIndexByRoot(blockRoot).orElse(ProtoArray.NO_INDEX);
+    return nodeIndex < protoArray.getTotalTrackedNodeCount() ? nodeIndex : ProtoArray.NO_INDEX;
   }
 }
@@ -14,10 +14,10 @@
 package tech.pegasys.teku.protoarray;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -26,6 +26,11 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 public class ProtoArray {
 
+  /** Value of parent, best child and best descendant index columns when there is no such node */
+  static final int NO_INDEX = -1;
+
+  private static final int INITIAL_CAPACITY = 64;
+
   private int pruneThreshold;
 
   private UInt64 justifiedEpoch;
@@ -35,14 +40,26 @@ public class ProtoArray {
   private final UInt64 initialEpoch;
 
   /**
-   * Lists all the known nodes. It is guaranteed that a node will be after its parent in the list.
+   * All the known nodes are stored as columns: the fields of the node at index {@code i} are
+   * stored at index {@code i} of each array. It is guaranteed that a node will be after its parent.
    *
-   * <p>The list may contain nodes which have been removed from the indices collection either
+   * <p>The columns may contain nodes which have been removed from the indices collection either
    * because they are now before the finalized checkpoint but pruning has not yet occurred or
    * because they extended from a now-invalid chain and were removed. This avoids having to update
-   * the indices to entries in the list too often.
+   * the indices to entries in the columns too often.
    */
-  private final List<ProtoNode> nodes = new ArrayList<>();
+  private int nodeCount = 0;
+
+  private long[] blockSlots = new long[INITIAL_CAPACITY];
+  private Bytes32[] stateRoots = new Bytes32[INITIAL_CAPACITY];
+  private Bytes32[] blockRoots = new Bytes32[INITIAL_CAPACITY];
+  private Bytes32[] parentRoots = new Bytes32[INITIAL_CAPACITY];
+  private long[] justifiedEpochs = new long[INITIAL_CAPACITY];
+  private long[] finalizedEpochs = new long[INITIAL_CAPACITY];
+  private long[] weights = new long[INITIAL_CAPACITY];
+  private int[] parentIndices = new int[INITIAL_CAPACITY];
+  private int[] bestChildIndices = new int[INITIAL_CAPACITY];
+  private int[] bestDescendantIndices = new int[INITIAL_CAPACITY];
 
   /**
    * protoArrayIndices allows root lookup to retrieve indices of protoNodes without looking through
@@ -78,14 +95,29 @@ public class ProtoArray {
         .flatMap(
             blockIndex -> {
               if (blockIndex < getTotalTrackedNodeCount()) {
-                return Optional.of(nodes.get(blockIndex));
+                return Optional.of(createProtoNode(blockIndex));
               }
               return Optional.empty();
             });
   }
 
+  /**
+   * Returns a read-only view of all the tracked nodes. {@link ProtoNode} instances are created on
+   * access so hot paths should use the index based accessors instead.
+   */
   public List<ProtoNode> getNodes() {
-    return nodes;
+    return new AbstractList<>() {
+      @Override
+      public ProtoNode get(final int index) {
+        checkIndex(index);
+        return createProtoNode(index);
+      }
+
+      @Override
+      public int size() {
+        return nodeCount;
+      }
+    };
   }
 
   public void setPruneThreshold(int pruneThreshold) {
@@ -114,24 +146,23 @@ public class ProtoArray {
     }
 
     int nodeIndex = getTotalTrackedNodeCount();
-
-    ProtoNode node =
-        new ProtoNode(
-            blockSlot,
-            stateRoot,
-            blockRoot,
-            parentRoot,
-            indices.get(parentRoot),
-            justifiedEpoch,
-            finalizedEpoch,
-            UInt64.ZERO,
-            Optional.empty(),
-            Optional.empty());
+    ensureCapacity(nodeIndex + 1);
+
+    blockSlots[nodeIndex] = blockSlot.longValue();
+    stateRoots[nodeIndex] = stateRoot;
+    blockRoots[nodeIndex] = blockRoot;
+    parentRoots[nodeIndex] = parentRoot;
+    parentIndices[nodeIndex] = indices.get(parentRoot).orElse(NO_INDEX);
+    justifiedEpochs[nodeIndex] = justifiedEpoch.longValue();
+    finalizedEpochs[nodeIndex] = finalizedEpoch.longValue();
+    weights[nodeIndex] = 0;
+    bestChildIndices[nodeIndex] = NO_INDEX;
+    bestDescendantIndices[nodeIndex] = NO_INDEX;
 
     indices.add(blockRoot, nodeIndex);
-    nodes.add(node);
+    nodeCount++;
 
-    updateBestDescendantOfParent(node, nodeIndex);
+    updateBestDescendantOfParent(nodeIndex);
   }
 
   /**
@@ -152,20 +183,20 @@ public class ProtoArray {
                 () ->
                     new IllegalArgumentException(
                         "ProtoArray: Unknown justified root " + justifiedRoot.toHexString()));
+    checkState(justifiedIndex < nodeCount, "ProtoArray: Unknown justified index");
 
-    ProtoNode justifiedNode =
-        checkNotNull(nodes.get(justifiedIndex), "ProtoArray: Unknown justified index");
-
-    int bestDescendantIndex = justifiedNode.getBestDescendantIndex().orElse(justifiedIndex);
-    ProtoNode bestNode =
-        checkNotNull(nodes.get(bestDescendantIndex), "ProtoArray: Unknown best descendant index");
+    int bestDescendantIndex = bestDescendantIndices[justifiedIndex];
+    if (bestDescendantIndex == NO_INDEX) {
+      bestDescendantIndex = justifiedIndex;
+    }
+    checkState(bestDescendantIndex < nodeCount, "ProtoArray: Unknown best descendant index");
 
     // Perform a sanity check that the node is indeed valid to be the head.
-    if (!nodeIsViableForHead(bestNode)) {
+    if (!nodeIsViableForHead(bestDescendantIndex)) {
       throw new RuntimeException("ProtoArray: Best node is not viable for head");
     }
 
-    return bestNode.getBlockRoot();
+    return blockRoots[bestDescendantIndex];
   }
 
   /**
@@ -186,12 +217,12 @@ public class ProtoArray {
    *       descendant.
    * </ul>
    *
-   * @param deltas
+   * @param deltas the weight change of each node, modified in place while back-propagating
    * @param justifiedEpoch
    * @param finalizedEpoch
    */
-  public void applyScoreChanges(List<Long> deltas, UInt64 justifiedEpoch, UInt64 finalizedEpoch) {
-    checkArgument(deltas.size() == getTotalTrackedNodeCount(), "ProtoArray: Invalid delta length");
+  public void applyScoreChanges(long[] deltas, UInt64 justifiedEpoch, UInt64 finalizedEpoch) {
+    checkArgument(deltas.length == getTotalTrackedNodeCount(), "ProtoArray: Invalid delta length");
 
     if (!justifiedEpoch.equals(this.justifiedEpoch)
         || !finalizedEpoch.equals(this.finalizedEpoch)) {
@@ -203,7 +234,7 @@ public class ProtoArray {
   }
 
   public int getTotalTrackedNodeCount() {
-    return nodes.size();
+    return nodeCount;
   }
 
   /**
@@ -233,48 +264,53 @@ public class ProtoArray {
 
     // Remove the `indices` key/values for all the to-be-deleted nodes.
     for (int nodeIndex = 0; nodeIndex < finalizedIndex; nodeIndex++) {
-      Bytes32 root =
-          checkNotNull(nodes.get(nodeIndex), "ProtoArray: Invalid node index").getBlockRoot();
-      indices.remove(root);
+      indices.remove(blockRoots[nodeIndex]);
     }
 
     // Drop all the nodes prior to finalization.
-    nodes.subList(0, finalizedIndex).clear();
+    final int remainingCount = nodeCount - finalizedIndex;
+    shiftLeft(blockSlots, finalizedIndex, remainingCount);
+    shiftLeft(stateRoots, finalizedIndex, remainingCount);
+    shiftLeft(blockRoots, finalizedIndex, remainingCount);
+    shiftLeft(parentRoots, finalizedIndex, remainingCount);
+    shiftLeft(justifiedEpochs, finalizedIndex, remainingCount);
+    shiftLeft(finalizedEpochs, finalizedIndex, remainingCount);
+    shiftLeft(weights, finalizedIndex, remainingCount);
+    shiftLeft(parentIndices, finalizedIndex, remainingCount);
+    shiftLeft(bestChildIndices, finalizedIndex, remainingCount);
+    shiftLeft(bestDescendantIndices, finalizedIndex, remainingCount);
+    // Release references to the dropped roots
+    Arrays.fill(stateRoots, remainingCount, nodeCount, null);
+    Arrays.fill(blockRoots, remainingCount, nodeCount, null);
+    Arrays.fill(parentRoots, remainingCount, nodeCount, null);
+    nodeCount = remainingCount;
 
     indices.offsetIndexes(finalizedIndex);
 
     // Iterate through all the existing nodes and adjust their indices to match the
     // new layout of nodes.
-    for (ProtoNode node : nodes) {
-      node.getParentIndex()
-          .ifPresent(
-              parentIndex -> {
-                // If node.parentIndex is less than finalizedIndex, set is to None.
-                if (parentIndex < finalizedIndex) {
-                  node.setParentIndex(Optional.empty());
-                } else {
-                  node.setParentIndex(Optional.of(parentIndex - finalizedIndex));
-                }
-              });
-
-      node.getBestChildIndex()
-          .ifPresent(
-              bestChildIndex -> {
-                int newBestChildIndex = bestChildIndex - finalizedIndex;
-                checkState(
-                    newBestChildIndex >= 0, "ProtoArray: New best child index is less than 0");
-                node.setBestChildIndex(Optional.of(newBestChildIndex));
-              });
-
-      node.getBestDescendantIndex()
-          .ifPresent(
-              bestDescendantIndex -> {
-                int newBestDescendantIndex = bestDescendantIndex - finalizedIndex;
-                checkState(
-                    newBestDescendantIndex >= 0,
-                    "ProtoArray: New best descendant index is less than 0");
-                node.setBestDescendantIndex(Optional.of(newBestDescendantIndex));
-              });
+    for (int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+      final int parentIndex = parentIndices[nodeIndex];
+      if (parentIndex != NO_INDEX) {
+        // If node.parentIndex is less than finalizedIndex, set is to None.
+        parentIndices[nodeIndex] =
+            parentIndex < finalizedIndex ? NO_INDEX : parentIndex - finalizedIndex;
+      }
+
+      final int bestChildIndex = bestChildIndices[nodeIndex];
+      if (bestChildIndex != NO_INDEX) {
+        int newBestChildIndex = bestChildIndex - finalizedIndex;
+        checkState(newBestChildIndex >= 0, "ProtoArray: New best child index is less than 0");
+        bestChildIndices[nodeIndex] = newBestChildIndex;
+      }
+
+      final int bestDescendantIndex = bestDescendantIndices[nodeIndex];
+      if (bestDescendantIndex != NO_INDEX) {
+        int newBestDescendantIndex = bestDescendantIndex - finalizedIndex;
+        checkState(
+            newBestDescendantIndex >= 0, "ProtoArray: New best descendant index is less than 0");
+        bestDescendantIndices[nodeIndex] = newBestDescendantIndex;
+      }
     }
   }
 
@@ -300,100 +336,91 @@ public class ProtoArray {
    */
   @SuppressWarnings("StatementWithEmptyBody")
   private void maybeUpdateBestChildAndDescendant(int parentIndex, int childIndex) {
-    ProtoNode child = nodes.get(childIndex);
-    ProtoNode parent = nodes.get(parentIndex);
-
-    boolean childLeadsToViableHead = nodeLeadsToViableHead(child);
-
-    parent
-        .getBestChildIndex()
-        .ifPresentOrElse(
-            bestChildIndex -> {
-              if (bestChildIndex.equals(childIndex) && !childLeadsToViableHead) {
-                // If the child is already the best-child of the parent but it's not viable for
-                // the head, remove it.
-                changeToNone(parent);
-              } else if (bestChildIndex.equals(childIndex)) {
-                // If the child is the best-child already, set it again to ensure that the
-                // best-descendant of the parent is updated.
-                changeToChild(parent, childIndex);
-              } else {
-                ProtoNode bestChild = nodes.get(bestChildIndex);
-
-                boolean bestChildLeadsToViableHead = nodeLeadsToViableHead(bestChild);
-
-                if (childLeadsToViableHead && !bestChildLeadsToViableHead) {
-                  // The child leads to a viable head, but the current best-child doesn't.
-                  changeToChild(parent, childIndex);
-                } else if (!childLeadsToViableHead && bestChildLeadsToViableHead) {
-                  // The best child leads to a viable head, but the child doesn't.
-                  // No change.
-                } else if (child.getWeight().equals(bestChild.getWeight())) {
-                  // Tie-breaker of equal weights by root.
-                  if (child
-                          .getBlockRoot()
-                          .toHexString()
-                          .compareTo(bestChild.getBlockRoot().toHexString())
-                      >= 0) {
-                    changeToChild(parent, childIndex);
-                  } else {
-                    // No change.
-                  }
-                } else {
-                  // Choose the winner by weight.
-                  if (child.getWeight().compareTo(bestChild.getWeight()) >= 0) {
-                    changeToChild(parent, childIndex);
-                  } else {
-                    // No change.
-                  }
-                }
-              }
-            },
-            () -> {
-              if (childLeadsToViableHead) {
-                // There is no current best-child and the child is viable.
-                changeToChild(parent, childIndex);
-              } else {
-                // There is no current best-child but the child is not not viable.
-                // No change.
-              }
-            });
+    boolean childLeadsToViableHead = nodeLeadsToViableHead(childIndex);
+    int bestChildIndex = bestChildIndices[parentIndex];
+
+    if (bestChildIndex == NO_INDEX) {
+      if (childLeadsToViableHead) {
+        // There is no current best-child and the child is viable.
+        changeToChild(parentIndex, childIndex);
+      } else {
+        // There is no current best-child but the child is not not viable.
+        // No change.
+      }
+    } else if (bestChildIndex == childIndex && !childLeadsToViableHead) {
+      // If the child is already the best-child of the parent but it's not viable for
+      // the head, remove it.
+      changeToNone(parentIndex);
+    } else if (bestChildIndex == childIndex) {
+      // If the child is the best-child already, set it again to ensure that the
+      // best-descendant of the parent is updated.
+      changeToChild(parentIndex, childIndex);
+    } else {
+      boolean bestChildLeadsToViableHead = nodeLeadsToViableHead(bestChildIndex);
+
+      if (childLeadsToViableHead && !bestChildLeadsToViableHead) {
+        // The child leads to a viable head, but the current best-child doesn't.
+        changeToChild(parentIndex, childIndex);
+      } else if (!childLeadsToViableHead && bestChildLeadsToViableHead) {
+        // The best child leads to a viable head, but the child doesn't.
+        // No change.
+      } else if (weights[childIndex] == weights[bestChildIndex]) {
+        // Tie-breaker of equal weights by root.
+        // Unsigned byte comparison gives the same order as comparing the hex strings.
+        if (Arrays.compareUnsigned(
+                blockRoots[childIndex].toArrayUnsafe(), blockRoots[bestChildIndex].toArrayUnsafe())
+            >= 0) {
+          changeToChild(parentIndex, childIndex);
+        } else {
+          // No change.
+        }
+      } else {
+        // Choose the winner by weight.
+        if (Long.compareUnsigned(weights[childIndex], weights[bestChildIndex]) >= 0) {
+          changeToChild(parentIndex, childIndex);
+        } else {
+          // No change.
+        }
+      }
+    }
   }
 
   /**
    * Helper for maybeUpdateBestChildAndDescendant
    *
-   * @param parent
+   * @param parentIndex
    * @param childIndex
    */
-  private void changeToChild(ProtoNode parent, int childIndex) {
-    ProtoNode child = nodes.get(childIndex);
-    parent.setBestChildIndex(Optional.of(childIndex));
-    parent.setBestDescendantIndex(Optional.of(child.getBestDescendantIndex().orElse(childIndex)));
+  private void changeToChild(int parentIndex, int childIndex) {
+    bestChildIndices[parentIndex] = childIndex;
+    final int childBestDescendantIndex = bestDescendantIndices[childIndex];
+    bestDescendantIndices[parentIndex] =
+        childBestDescendantIndex != NO_INDEX ? childBestDescendantIndex : childIndex;
   }
 
   /**
    * Helper for maybeUpdateBestChildAndDescendant
    *
-   * @param parent
+   * @param parentIndex
    */
-  private void changeToNone(ProtoNode parent) {
-    parent.setBestChildIndex(Optional.empty());
-    parent.setBestDescendantIndex(Optional.empty());
+  private void changeToNone(int parentIndex) {
+    bestChildIndices[parentIndex] = NO_INDEX;
+    bestDescendantIndices[parentIndex] = NO_INDEX;
   }
 
   /**
    * Indicates if the node itself is viable for the head, or if it's best descendant is viable for
    * the head.
    *
-   * @param node
+   * @param nodeIndex
    * @return
    */
-  private boolean nodeLeadsToViableHead(ProtoNode node) {
+  private boolean nodeLeadsToViableHead(int nodeIndex) {
+    final int bestDescendantIndex = bestDescendantIndices[nodeIndex];
     boolean bestDescendantIsViableForHead =
-        node.getBestDescendantIndex().map(nodes::get).map(this::nodeIsViableForHead).orElse(false);
+        bestDescendantIndex != NO_INDEX && nodeIsViableForHead(bestDescendantIndex);
 
-    return bestDescendantIsViableForHead || nodeIsViableForHead(node);
+    return bestDescendantIsViableForHead || nodeIsViableForHead(nodeIndex);
   }
 
   /**
@@ -408,8 +435,19 @@ public class ProtoArray {
    * @return
    */
   public boolean nodeIsViableForHead(ProtoNode node) {
-    return (node.getJustifiedEpoch().equals(justifiedEpoch) || justifiedEpoch.equals(initialEpoch))
-        && (node.getFinalizedEpoch().equals(finalizedEpoch) || finalizedEpoch.equals(initialEpoch));
+    return isViableForHead(
+        node.getJustifiedEpoch().longValue(), node.getFinalizedEpoch().longValue());
+  }
+
+  /** The same as {@link #nodeIsViableForHead(ProtoNode)} for the node at the specified index */
+  boolean nodeIsViableForHead(int nodeIndex) {
+    return isViableForHead(justifiedEpochs[nodeIndex], finalizedEpochs[nodeIndex]);
+  }
+
+  private boolean isViableForHead(final long nodeJustifiedEpoch, final long nodeFinalizedEpoch) {
+    return (nodeJustifiedEpoch == justifiedEpoch.longValue() || justifiedEpoch.equals(initialEpoch))
+        && (nodeFinalizedEpoch == finalizedEpoch.longValue()
+            || finalizedEpoch.equals(initialEpoch));
   }
 
   public UInt64 getJustifiedEpoch() {
@@ -424,6 +462,39 @@ public class ProtoArray {
     return initialEpoch;
   }
 
+  Bytes32 getBlockRoot(final int nodeIndex) {
+    checkIndex(nodeIndex);
+    return blockRoots[nodeIndex];
+  }
+
+  Bytes32 getParentRoot(final int nodeIndex) {
+    checkIndex(nodeIndex);
+    return parentRoots[nodeIndex];
+  }
+
+  UInt64 getBlockSlot(final int nodeIndex) {
+    checkIndex(nodeIndex);
+    return UInt64.fromLongBits(blockSlots[nodeIndex]);
+  }
+
+  /** Returns true if the slot of the node at the specified index is greater than {@code slot} */
+  boolean isBlockSlotGreaterThan(final int nodeIndex, final UInt64 slot) {
+    checkIndex(nodeIndex);
+    return Long.compareUnsigned(blockSlots[nodeIndex], slot.longValue()) > 0;
+  }
+
+  /** Returns the index of the parent node or {@link #NO_INDEX} if the parent is not tracked */
+  int getParentIndex(final int nodeIndex) {
+    checkIndex(nodeIndex);
+    return parentIndices[nodeIndex];
+  }
+
+  /** Returns the index of the best child node or {@link #NO_INDEX} if there is no such node */
+  int getBestChildIndex(final int nodeIndex) {
+    checkIndex(nodeIndex);
+    return bestChildIndices[nodeIndex];
+  }
+
   /**
    * Removes a block root from the lookup map. The actual node is not removed from the protoarray to
    * avoid recalculating indices. As a result, looking up the block by root will not find it but it
@@ -436,43 +507,113 @@ public class ProtoArray {
     indices.remove(blockRoot);
   }
 
-  private void applyDeltas(final List<Long> deltas) {
-    applyToNodes((node, nodeIndex) -> applyDelta(deltas, node, nodeIndex));
-    applyToNodes(this::updateBestDescendantOfParent);
+  private void applyDeltas(final long[] deltas) {
+    for (int nodeIndex = getTotalTrackedNodeCount() - 1; nodeIndex >= 0; nodeIndex--) {
+      // No point processing the genesis block.
+      if (!isGenesisNode(nodeIndex)) {
+        applyDelta(deltas, nodeIndex);
+      }
+    }
+    for (int nodeIndex = getTotalTrackedNodeCount() - 1; nodeIndex >= 0; nodeIndex--) {
+      if (!isGenesisNode(nodeIndex)) {
+        updateBestDescendantOfParent(nodeIndex);
+      }
+    }
   }
 
-  private void updateBestDescendantOfParent(final ProtoNode node, final int nodeIndex) {
-    node.getParentIndex()
-        .ifPresent(parentIndex -> maybeUpdateBestChildAndDescendant(parentIndex, nodeIndex));
+  private boolean isGenesisNode(final int nodeIndex) {
+    return blockRoots[nodeIndex].equals(Bytes32.ZERO);
   }
 
-  private void applyDelta(final List<Long> deltas, final ProtoNode node, final int nodeIndex) {
-    long nodeDelta = deltas.get(nodeIndex);
-    node.adjustWeight(nodeDelta);
-
-    if (node.getParentIndex().isPresent()) {
-      int parentIndex = node.getParentIndex().get();
-      deltas.set(parentIndex, deltas.get(parentIndex) + nodeDelta);
+  private void updateBestDescendantOfParent(final int nodeIndex) {
+    final int parentIndex = parentIndices[nodeIndex];
+    if (parentIndex != NO_INDEX) {
+      maybeUpdateBestChildAndDescendant(parentIndex, nodeIndex);
     }
   }
 
-  private void applyToNodes(final NodeVisitor action) {
-    for (int nodeIndex = getTotalTrackedNodeCount() - 1; nodeIndex >= 0; nodeIndex--) {
-      final ProtoNode node = nodes.get(nodeIndex);
+  private void applyDelta(final long[] deltas, final int nodeIndex) {
+    long nodeDelta = deltas[nodeIndex];
+    adjustWeight(nodeIndex, nodeDelta);
 
-      // No point processing the genesis block.
-      if (node.getBlockRoot().equals(Bytes32.ZERO)) {
-        continue;
+    final int parentIndex = parentIndices[nodeIndex];
+    if (parentIndex != NO_INDEX) {
+      deltas[parentIndex] += nodeDelta;
+    }
+  }
+
+  private void adjustWeight(final int nodeIndex, final long delta) {
+    final long weight = weights[nodeIndex];
+    if (delta < 0) {
+      final long deltaAbsoluteValue = Math.abs(delta);
+      if (Long.compareUnsigned(deltaAbsoluteValue, weight) > 0) {
+        throw new RuntimeException(
+            "ProtoNode: Delta to be subtracted is greater than node weight for block "
+                + blockRoots[nodeIndex]
+                + " ("
+                + UInt64.fromLongBits(blockSlots[nodeIndex])
+                + "). Attempting to subtract "
+                + UInt64.fromLongBits(deltaAbsoluteValue)
+                + " from "
+                + UInt64.fromLongBits(weight));
+      }
+      weights[nodeIndex] = weight - deltaAbsoluteValue;
+    } else {
+      final long newWeight = weight + delta;
+      if (Long.compareUnsigned(newWeight, weight) < 0) {
+        throw new ArithmeticException("uint64 overflow");
       }
-      action.onNode(node, nodeIndex);
+      weights[nodeIndex] = newWeight;
     }
   }
 
-  public Map<Bytes32, Integer> getRootIndices() {
-    return indices.getRootIndices();
+  private ProtoNode createProtoNode(final int nodeIndex) {
+    return new ProtoNode(
+        UInt64.fromLongBits(blockSlots[nodeIndex]),
+        stateRoots[nodeIndex],
+        blockRoots[nodeIndex],
+        parentRoots[nodeIndex],
+        toOptionalIndex(parentIndices[nodeIndex]),
+        UInt64.fromLongBits(justifiedEpochs[nodeIndex]),
+        UInt64.fromLongBits(finalizedEpochs[nodeIndex]),
+        UInt64.fromLongBits(weights[nodeIndex]),
+        toOptionalIndex(bestChildIndices[nodeIndex]),
+        toOptionalIndex(bestDescendantIndices[nodeIndex]));
+  }
+
+  private static Optional<Integer> toOptionalIndex(final int index) {
+    return index == NO_INDEX ? Optional.empty() : Optional.of(index);
+  }
+
+  private void checkIndex(final int nodeIndex) {
+    if (nodeIndex < 0 || nodeIndex >= nodeCount) {
+      throw new IndexOutOfBoundsException(
+          "ProtoArray: Invalid node index " + nodeIndex + ", node count " + nodeCount);
+    }
   }
 
-  private interface NodeVisitor {
-    void onNode(ProtoNode node, int nodeIndex);
+  private void ensureCapacity(final int requiredCapacity) {
+    if (requiredCapacity <= blockRoots.length) {
+      return;
+    }
+    final int newCapacity = Math.max(requiredCapacity, blockRoots.length * 2);
+    blockSlots = Arrays.copyOf(blockSlots, newCapacity);
+    stateRoots = Arrays.copyOf(stateRoots, newCapacity);
+    blockRoots = Arrays.copyOf(blockRoots, newCapacity);
+    parentRoots = Arrays.copyOf(parentRoots, newCapacity);
+    justifiedEpochs = Arrays.copyOf(justifiedEpochs, newCapacity);
+    finalizedEpochs = Arrays.copyOf(finalizedEpochs, newCapacity);
+    weights = Arrays.copyOf(weights, newCapacity);
+    parentIndices = Arrays.copyOf(parentIndices, newCapacity);
+    bestChildIndices = Arrays.copyOf(bestChildIndices, newCapacity);
+    bestDescendantIndices = Arrays.copyOf(bestDescendantIndices, newCapacity);
+  }
+
+  private static void shiftLeft(final Object column, final int offset, final int length) {
+    System.arraycopy(column, offset, column, 0, length);
+  }
+
+  public Map<Bytes32, Integer> getRootIndices() {
+    return indices.getRootIndices();
   }
 }
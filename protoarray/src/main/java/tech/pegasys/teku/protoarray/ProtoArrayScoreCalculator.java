@@ -16,10 +16,8 @@ package tech.pegasys.teku.protoarray;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.addExact;
 import static java.lang.Math.subtractExact;
-import static java.lang.Math.toIntExact;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -27,14 +25,16 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
-import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteStore;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater;
 
 class ProtoArrayScoreCalculator {
   private static final Logger LOG = LogManager.getLogger();
+  private static final int NO_INDEX = -1;
+  private static final int UNRESOLVED_INDEX = -2;
 
   /**
-   * Returns a list of `deltas`, where there is one delta for each of the indices in
+   * Returns an array of `deltas`, where there is one delta for each of the indices in
    * `0..indices.size()`.
    *
    * <p>The deltas are formed by a change between `oldBalances` and `newBalances`, and/or a change
@@ -48,70 +48,81 @@ class ProtoArrayScoreCalculator {
    *       is always valid).
    * </ul>
    */
-  static List<Long> computeDeltas(
+  static long[] computeDeltas(
       VoteUpdater store,
       int protoArraySize,
       Function<Bytes32, Optional<Integer>> getIndexByRoot,
       List<UInt64> oldBalances,
       List<UInt64> newBalances) {
-    List<Long> deltas = new ArrayList<>(Collections.nCopies(protoArraySize, 0L));
+    final VoteStore votes = store.applyPendingVotes();
+    final long[] deltas = new long[protoArraySize];
+    // Many validators vote for the same few blocks so resolve each vote root only once
+    final int[] deltaIndicesByRootId = new int[votes.getRootIdCapacity()];
+    Arrays.fill(deltaIndicesByRootId, UNRESOLVED_INDEX);
 
-    for (UInt64 validatorIndex : store.getVotedValidatorIndices()) {
-      VoteTracker vote = store.getVote(validatorIndex);
+    for (int validatorIndex = votes.nextVotedValidatorIndex(0);
+        validatorIndex >= 0;
+        validatorIndex = votes.nextVotedValidatorIndex(validatorIndex + 1)) {
+      final int currentRootId = votes.getCurrentRootId(validatorIndex);
+      final int nextRootId = votes.getNextRootId(validatorIndex);
 
       // There is no need to create a score change if the validator has never voted
       // or both their votes are for the zero hash (alias to the genesis block).
-      if (vote.getCurrentRoot().equals(Bytes32.ZERO) && vote.getNextRoot().equals(Bytes32.ZERO)) {
+      if (currentRootId == VoteStore.ZERO_ROOT_ID && nextRootId == VoteStore.ZERO_ROOT_ID) {
         LOG.warn("ProtoArrayForkChoiceStrategy: Unexpected zero hashes in voted validator votes");
         continue;
       }
 
-      int validatorIndexInt = toIntExact(validatorIndex.longValue());
       // If the validator was not included in the oldBalances (i.e. it did not exist yet)
       // then say its balance was zero.
-      UInt64 oldBalance =
-          oldBalances.size() > validatorIndexInt ? oldBalances.get(validatorIndexInt) : UInt64.ZERO;
+      final long oldBalance =
+          oldBalances.size() > validatorIndex ? oldBalances.get(validatorIndex).longValue() : 0L;
 
       // If the validator vote is not known in the newBalances, then use a balance of zero.
       //
       // It is possible that there is a vote for an unknown validator if we change our
       // justified state to a new state with a higher epoch that is on a different fork
       // because that may have on-boarded less validators than the prior fork.
-      UInt64 newBalance =
-          newBalances.size() > validatorIndexInt ? newBalances.get(validatorIndexInt) : UInt64.ZERO;
+      final long newBalance =
+          newBalances.size() > validatorIndex ? newBalances.get(validatorIndex).longValue() : 0L;
 
-      if (!vote.getCurrentRoot().equals(vote.getNextRoot()) || !oldBalance.equals(newBalance)) {
+      if (currentRootId != nextRootId || oldBalance != newBalance) {
         // We ignore the vote if it is not known in `indices`. We assume that it is outside
         // of our tree (i.e. pre-finalization) and therefore not interesting.
-        getIndexByRoot
-            .apply(vote.getCurrentRoot())
-            .ifPresent(
-                (currentDeltaIndex) -> {
-                  checkState(
-                      currentDeltaIndex < deltas.size(),
-                      "ProtoArrayForkChoice: Invalid node delta index");
-                  long delta = subtractExact(deltas.get(currentDeltaIndex), oldBalance.longValue());
-                  deltas.set(currentDeltaIndex, delta);
-                });
+        final int currentDeltaIndex =
+            resolveDeltaIndex(currentRootId, votes, deltaIndicesByRootId, getIndexByRoot);
+        if (currentDeltaIndex != NO_INDEX) {
+          checkState(
+              currentDeltaIndex < deltas.length, "ProtoArrayForkChoice: Invalid node delta index");
+          deltas[currentDeltaIndex] = subtractExact(deltas[currentDeltaIndex], oldBalance);
+        }
 
         // We ignore the vote if it is not known in `indices`. We assume that it is outside
         // of our tree (i.e. pre-finalization) and therefore not interesting.
-        getIndexByRoot
-            .apply(vote.getNextRoot())
-            .ifPresent(
-                (nextDeltaIndex) -> {
-                  checkState(
-                      nextDeltaIndex < deltas.size(),
-                      "ProtoArrayForkChoice: Invalid node delta index");
-                  long delta = addExact(deltas.get(nextDeltaIndex), newBalance.longValue());
-                  deltas.set(nextDeltaIndex, delta);
-                });
+        final int nextDeltaIndex =
+            resolveDeltaIndex(nextRootId, votes, deltaIndicesByRootId, getIndexByRoot);
+        if (nextDeltaIndex != NO_INDEX) {
+          checkState(
+              nextDeltaIndex < deltas.length, "ProtoArrayForkChoice: Invalid node delta index");
+          deltas[nextDeltaIndex] = addExact(deltas[nextDeltaIndex], newBalance);
+        }
 
-        VoteTracker newVote =
-            new VoteTracker(vote.getNextRoot(), vote.getNextRoot(), vote.getNextEpoch());
-        store.putVote(validatorIndex, newVote);
+        votes.promoteNextVote(validatorIndex);
       }
     }
     return deltas;
   }
+
+  private static int resolveDeltaIndex(
+      final int rootId,
+      final VoteStore votes,
+      final int[] deltaIndicesByRootId,
+      final Function<Bytes32, Optional<Integer>> getIndexByRoot) {
+    int deltaIndex = deltaIndicesByRootId[rootId];
+    if (deltaIndex == UNRESOLVED_INDEX) {
+      deltaIndex = getIndexByRoot.apply(votes.getRoot(rootId)).orElse(NO_INDEX);
+      deltaIndicesByRootId[rootId] = deltaIndex;
+    }
+    return deltaIndex;
+  }
 }
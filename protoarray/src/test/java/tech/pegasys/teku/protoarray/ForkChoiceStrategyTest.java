@@ -113,6 +113,35 @@ public class ForkChoiceStrategyTest extends AbstractBlockMetadataStoreTest {
     assertThat(snapshot.getBlockInformationList()).hasSize(chainSize + 1);
   }
 
+  @Test
+  void initialize_shouldOnlyStoreBlockInformationMissingFromStorage() {
+    final MutableStore store = new TestStoreFactory().createGenesisStore();
+    final List<SignedBlockAndState> chain = generateChain(5, store);
+    chain.forEach(store::putBlockAndState);
+    final Map<Bytes32, StoredBlockMetadata> storedBlockMetadata =
+        chain.subList(0, 3).stream()
+            .collect(
+                Collectors.toMap(
+                    SignedBlockAndState::getRoot, StoredBlockMetadata::fromBlockAndState));
+
+    final SafeFuture<ForkChoiceStrategy> future =
+        ForkChoiceStrategy.initializeAndMigrateStorage(store, storedBlockMetadata, storageChannel);
+
+    assertThat(future).isCompleted();
+    assertThat(future.join().getTotalTrackedNodeCount()).isEqualTo(chain.size() + 1);
+
+    final ArgumentCaptor<ProtoArraySnapshot> captor =
+        ArgumentCaptor.forClass(ProtoArraySnapshot.class);
+    verify(storageChannel).onProtoArrayUpdate(captor.capture());
+    // Genesis and the last two blocks didn't have checkpoint epochs stored
+    assertThat(captor.getValue().getBlockInformationList())
+        .extracting(BlockInformation::getBlockRoot)
+        .containsExactly(
+            store.getFinalizedCheckpoint().getRoot(),
+            chain.get(3).getRoot(),
+            chain.get(4).getRoot());
+  }
+
   @Test
   public void findHead_worksForChainInitializedFromNonGenesisAnchor() {
     // Set up store with an anchor point that has justified and finalized checkpoints prior to its
@@ -19,6 +19,7 @@ import static tech.pegasys.teku.protoarray.ProtoArrayScoreCalculator.computeDelt
 import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.createStoreToManipulateVotes;
 import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.getHash;
 
+import com.google.common.primitives.Longs;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -63,7 +64,8 @@ public class ProtoArrayScoreCalculatorTest {
     }
 
     List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances);
+        Longs.asList(
+            computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances));
     assertThat(deltas).hasSize(validatorCount);
 
     // Deltas should all be zero
@@ -85,7 +87,8 @@ public class ProtoArrayScoreCalculatorTest {
     }
 
     List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances);
+        Longs.asList(
+            computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances));
     assertThat(deltas).hasSize(validatorCount);
 
     for (int i = 0; i < deltas.size(); i++) {
@@ -117,7 +120,8 @@ public class ProtoArrayScoreCalculatorTest {
     }
 
     List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances);
+        Longs.asList(
+            computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances));
     assertThat(deltas).hasSize(validatorCount);
 
     // Each root should have the same delta
@@ -141,7 +145,8 @@ public class ProtoArrayScoreCalculatorTest {
     }
 
     List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances);
+        Longs.asList(
+            computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances));
 
     assertThat(deltas).hasSize(validatorCount);
     long totalDelta = BALANCE.longValue() * Integer.toUnsignedLong(validatorCount);
@@ -186,7 +191,8 @@ public class ProtoArrayScoreCalculatorTest {
     store.putVote(UInt64.valueOf(1), newVote2);
 
     List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances);
+        Longs.asList(
+            computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances));
     assertThat(deltas).hasSize(1);
 
     // The block should have lost both balances
@@ -213,7 +219,8 @@ public class ProtoArrayScoreCalculatorTest {
     }
 
     List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances);
+        Longs.asList(
+            computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances));
     assertThat(deltas).hasSize(validatorCount);
 
     for (int i = 0; i < deltas.size(); i++) {
@@ -255,7 +262,8 @@ public class ProtoArrayScoreCalculatorTest {
     }
 
     List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances);
+        Longs.asList(
+            computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances));
     assertThat(deltas).hasSize(2);
 
     // Block 1 should have only lost one balance
@@ -289,7 +297,8 @@ public class ProtoArrayScoreCalculatorTest {
     }
 
     List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances);
+        Longs.asList(
+            computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances));
     assertThat(deltas).hasSize(2);
 
     // Block 1 should have lost both balances
@@ -120,7 +120,13 @@ public class ProtoArraySnapshotTest {
 
     assertThatProtoArrayMatches(protoArray1, protoArray2);
 
-    protoArray1.getNodes().set(0, protoNode2);
+    protoArray1.onBlock(
+        protoNode2.getBlockSlot(),
+        protoNode2.getBlockRoot(),
+        protoNode2.getParentRoot(),
+        protoNode2.getStateRoot(),
+        protoNode2.getJustifiedEpoch(),
+        protoNode2.getFinalizedEpoch());
 
     assertThatThrownBy(() -> assertThatProtoArrayMatches(protoArray1, protoArray2));
   }
@@ -87,6 +87,8 @@ import tech.pegasys.teku.statetransition.validation.BlockValidator;
 import tech.pegasys.teku.statetransition.validation.ProposerSlashingValidator;
 import tech.pegasys.teku.statetransition.validation.ValidationResultCode;
 import tech.pegasys.teku.statetransition.validation.VoluntaryExitValidator;
+import tech.pegasys.teku.statetransition.validation.signatures.AggregatingSignatureVerificationService;
+import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationService;
 import tech.pegasys.teku.storage.api.ChainHeadChannel;
 import tech.pegasys.teku.storage.api.FinalizedCheckpointChannel;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
@@ -170,6 +172,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private volatile CoalescingChainHeadChannel coalescingChainHeadChannel;
   private volatile ActiveValidatorTracker activeValidatorTracker;
   private volatile AttestationTopicSubscriber attestationTopicSubscriber;
+  private volatile SignatureVerificationService signatureVerificationService;
 
   private UInt64 genesisTimeTracker = ZERO;
   private BlockManager blockManager;
@@ -212,6 +215,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     blockManager.subscribeToReceivedBlocks(
         (block) -> syncService.getRecentBlockFetcher().cancelRecentBlockRequest(block.getRoot()));
     SafeFuture.allOfFailFast(
+            signatureVerificationService.start(),
             attestationManager.start(),
             p2pNetwork.start(),
             blockManager.start(),
@@ -241,6 +245,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
             syncService.stop(),
             blockManager.stop(),
             attestationManager.stop(),
+            signatureVerificationService.stop(),
             p2pNetwork.stop())
         .thenRun(forkChoiceExecutor::stop);
   }
@@ -493,7 +498,16 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     final FutureItems<ValidateableAttestation> futureAttestations =
         FutureItems.create(
             ValidateableAttestation::getEarliestSlotForForkChoiceProcessing, UInt64.valueOf(3));
-    AttestationValidator attestationValidator = new AttestationValidator(spec, recentChainData);
+    final int signatureVerifierThreads =
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    signatureVerificationService =
+        new AggregatingSignatureVerificationService(
+            metricsSystem,
+            asyncRunnerFactory.create("signatureVerifier", signatureVerifierThreads),
+            beaconAsyncRunner,
+            signatureVerifierThreads);
+    AttestationValidator attestationValidator =
+        new AttestationValidator(spec, recentChainData, signatureVerificationService);
     AggregateAttestationValidator aggregateValidator =
         new AggregateAttestationValidator(recentChainData, attestationValidator, spec);
     blockImporter.subscribeToVerifiedBlockAttestations(
@@ -597,7 +611,10 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     LOG.debug("BeaconChainController.initAttestationPool()");
     attestationPool =
         new AggregatingAttestationPool(
-            new AttestationDataStateTransitionValidator(), metricsSystem);
+            new AttestationDataStateTransitionValidator(),
+            metricsSystem,
+            timeProvider,
+            asyncRunnerFactory.create("attestationAggregation", 2));
     eventChannels.subscribe(SlotEventsChannel.class, attestationPool);
     blockImporter.subscribeToVerifiedBlockAttestations(attestationPool::removeAll);
   }
@@ -626,7 +643,8 @@ public class BeaconChainController extends Service implements TimeTickChannel {
                   dataProvider,
                   beaconConfig.beaconRestApiConfig(),
                   eventChannels,
-                  eventAsyncRunner));
+                  eventAsyncRunner,
+                  asyncRunnerFactory.create("restApiSsz", 4)));
     } else {
       LOG.info("rest-api-enabled is false, not starting rest api.");
     }
@@ -36,6 +36,8 @@ import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.PendingAttestation;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.CommitteeShuffleCache;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.ValidatorPublicKeyCache;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.ssz.backing.collections.SszBitlist;
 import tech.pegasys.teku.storage.client.RecentChainData;
@@ -101,6 +103,30 @@ public class BeaconChainMetrics implements SlotEventsChannel {
         "Tracks number of connected peers, verified to be on the same chain",
         p2pNetwork::getPeerCount);
 
+    final ValidatorPublicKeyCache publicKeyCache = ValidatorPublicKeyCache.getGlobalInstance();
+    metricsSystem.createLongGauge(
+        TekuMetricCategory.BEACON,
+        "validator_public_key_cache_hit_count",
+        "Total number of validator public key lookups served by an already created key",
+        publicKeyCache::getHitCount);
+    metricsSystem.createLongGauge(
+        TekuMetricCategory.BEACON,
+        "validator_public_key_cache_miss_count",
+        "Total number of validator public keys created from their compressed form",
+        publicKeyCache::getMissCount);
+
+    final CommitteeShuffleCache committeeShuffleCache = CommitteeShuffleCache.getGlobalInstance();
+    metricsSystem.createLongGauge(
+        TekuMetricCategory.BEACON,
+        "committee_shuffle_cache_hit_count",
+        "Total number of committee shuffle lookups served by an already computed shuffle",
+        committeeShuffleCache::getHitCount);
+    metricsSystem.createLongGauge(
+        TekuMetricCategory.BEACON,
+        "committee_shuffle_cache_miss_count",
+        "Total number of committee shuffles computed",
+        committeeShuffleCache::getMissCount);
+
     finalizedEpoch =
         SettableGauge.create(
             metricsSystem, TekuMetricCategory.BEACON, "finalized_epoch", "Current finalized epoch");
@@ -18,25 +18,33 @@ import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.eth1.Eth1Address;
 import tech.pegasys.teku.storage.server.DatabaseVersion;
 import tech.pegasys.teku.storage.server.StateStorageMode;
+import tech.pegasys.teku.storage.server.VersionedDatabaseFactory;
+import tech.pegasys.teku.util.config.InvalidConfigurationException;
 
 public class StorageConfiguration {
   private final Optional<Eth1Address> eth1DepositContract;
 
   private final StateStorageMode dataStorageMode;
   private final long dataStorageFrequency;
+  private final long dataStorageSnapshotFrequency;
   private final DatabaseVersion dataStorageCreateDbVersion;
+  private final boolean storeHotStateTreeNodes;
   private final Spec spec;
 
   private StorageConfiguration(
       final Optional<Eth1Address> eth1DepositContract,
       final StateStorageMode dataStorageMode,
       final long dataStorageFrequency,
+      final long dataStorageSnapshotFrequency,
       final DatabaseVersion dataStorageCreateDbVersion,
+      final boolean storeHotStateTreeNodes,
       final Spec spec) {
     this.eth1DepositContract = eth1DepositContract;
     this.dataStorageMode = dataStorageMode;
     this.dataStorageFrequency = dataStorageFrequency;
+    this.dataStorageSnapshotFrequency = dataStorageSnapshotFrequency;
     this.dataStorageCreateDbVersion = dataStorageCreateDbVersion;
+    this.storeHotStateTreeNodes = storeHotStateTreeNodes;
     this.spec = spec;
   }
 
@@ -56,10 +64,18 @@ public class StorageConfiguration {
     return dataStorageFrequency;
   }
 
+  public long getDataStorageSnapshotFrequency() {
+    return dataStorageSnapshotFrequency;
+  }
+
   public DatabaseVersion getDataStorageCreateDbVersion() {
     return dataStorageCreateDbVersion;
   }
 
+  public boolean isStoreHotStateTreeNodes() {
+    return storeHotStateTreeNodes;
+  }
+
   public Spec getSpec() {
     return spec;
   }
@@ -69,7 +85,9 @@ public class StorageConfiguration {
     private Optional<Eth1Address> eth1DepositContract;
     private StateStorageMode dataStorageMode;
     private long dataStorageFrequency;
+    private Optional<Long> dataStorageSnapshotFrequency = Optional.empty();
     private DatabaseVersion dataStorageCreateDbVersion;
+    private boolean storeHotStateTreeNodes = false;
     private Spec spec;
 
     private Builder() {}
@@ -89,23 +107,69 @@ public class StorageConfiguration {
       return this;
     }
 
+    public Builder dataStorageSnapshotFrequency(long dataStorageSnapshotFrequency) {
+      this.dataStorageSnapshotFrequency = Optional.of(dataStorageSnapshotFrequency);
+      return this;
+    }
+
     public Builder dataStorageCreateDbVersion(DatabaseVersion dataStorageCreateDbVersion) {
       this.dataStorageCreateDbVersion = dataStorageCreateDbVersion;
       return this;
     }
 
+    public Builder storeHotStateTreeNodes(boolean storeHotStateTreeNodes) {
+      this.storeHotStateTreeNodes = storeHotStateTreeNodes;
+      return this;
+    }
+
     public Builder specProvider(Spec spec) {
       this.spec = spec;
       return this;
     }
 
     public StorageConfiguration build() {
+      final long snapshotFrequency =
+          dataStorageSnapshotFrequency.orElseGet(this::defaultSnapshotFrequency);
+      validateSnapshotFrequency(snapshotFrequency);
       return new StorageConfiguration(
           eth1DepositContract,
           dataStorageMode,
           dataStorageFrequency,
+          snapshotFrequency,
           dataStorageCreateDbVersion,
+          storeHotStateTreeNodes,
           spec);
     }
+
+    /**
+     * Rounds the default snapshot frequency up to a multiple of the storage frequency so that a
+     * custom storage frequency doesn't require the snapshot frequency to be set as well.
+     */
+    private long defaultSnapshotFrequency() {
+      final long defaultFrequency = VersionedDatabaseFactory.DEFAULT_STATE_SNAPSHOT_FREQUENCY;
+      if (dataStorageFrequency <= 0) {
+        return defaultFrequency;
+      }
+      final long storedStatesPerSnapshot =
+          Math.max(1, (defaultFrequency + dataStorageFrequency - 1) / dataStorageFrequency);
+      return storedStatesPerSnapshot * dataStorageFrequency;
+    }
+
+    private void validateSnapshotFrequency(final long snapshotFrequency) {
+      if (snapshotFrequency <= 0) {
+        throw new InvalidConfigurationException(
+            "Invalid archive snapshot frequency "
+                + snapshotFrequency
+                + ". It must be a positive number of slots.");
+      }
+      if (dataStorageFrequency > 0 && snapshotFrequency % dataStorageFrequency != 0) {
+        throw new InvalidConfigurationException(
+            "Invalid archive snapshot frequency "
+                + snapshotFrequency
+                + ". It must be a multiple of the archive storage frequency ("
+                + dataStorageFrequency
+                + ").");
+      }
+    }
   }
 }
@@ -15,7 +15,13 @@ package tech.pegasys.teku.services.chainstorage;
 
 import static tech.pegasys.teku.util.config.Constants.STORAGE_QUERY_CHANNEL_PARALLELISM;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.pow.api.Eth1EventsChannel;
 import tech.pegasys.teku.protoarray.ProtoArrayStorageChannel;
@@ -32,11 +38,15 @@ import tech.pegasys.teku.storage.server.ProtoArrayStorage;
 import tech.pegasys.teku.storage.server.VersionedDatabaseFactory;
 
 public class StorageService extends Service {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final long WRITER_SHUTDOWN_TIMEOUT_SECONDS = 30;
+
   private final StorageConfiguration config;
   private volatile ChainStorage chainStorage;
   private volatile ProtoArrayStorage protoArrayStorage;
   private final ServiceConfig serviceConfig;
   private volatile Database database;
+  private volatile ExecutorService writeExecutor;
 
   public StorageService(
       final ServiceConfig serviceConfig, final StorageConfiguration storageConfiguration) {
@@ -56,12 +66,25 @@ public class StorageService extends Service {
                   config.getDataStorageMode(),
                   config.getDataStorageCreateDbVersion(),
                   config.getDataStorageFrequency(),
+                  config.getDataStorageSnapshotFrequency(),
+                  config.isStoreHotStateTreeNodes(),
                   config.getEth1DepositContract(),
                   config.getSpec());
           database = dbFactory.createDatabase();
 
+          writeExecutor =
+              Executors.newSingleThreadExecutor(
+                  new ThreadFactoryBuilder()
+                      .setDaemon(true)
+                      .setNameFormat("storage-writer")
+                      .build());
           chainStorage =
-              ChainStorage.create(serviceConfig.getEventBus(), database, config.getSpec());
+              ChainStorage.create(
+                  serviceConfig.getMetricsSystem(),
+                  serviceConfig.getEventBus(),
+                  database,
+                  config.getSpec(),
+                  writeExecutor);
           final DepositStorage depositStorage =
               DepositStorage.create(
                   serviceConfig.getEventChannels().getPublisher(Eth1EventsChannel.class), database);
@@ -86,6 +109,16 @@ public class StorageService extends Service {
     return SafeFuture.fromRunnable(
         () -> {
           chainStorage.stop();
+          // Let queued writes complete before closing the database
+          writeExecutor.shutdown();
+          if (!writeExecutor.awaitTermination(WRITER_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            // Closing the database while a write is in progress could crash the native RocksDB
+            // code so leave it open and rely on the write ahead log to recover on restart
+            LOG.warn(
+                "Storage writes did not complete within {} seconds. Not closing the database.",
+                WRITER_SHUTDOWN_TIMEOUT_SECONDS);
+            return;
+          }
           database.close();
         });
   }
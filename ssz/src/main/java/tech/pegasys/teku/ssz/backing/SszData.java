@@ -13,10 +13,14 @@
 
 package tech.pegasys.teku.ssz.backing;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.backing.schema.SszSchema;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.sos.SszOutputStreamWriter;
 import tech.pegasys.teku.ssz.sos.SszWriter;
 
 /**
@@ -40,7 +44,7 @@ public interface SszData extends Merkleizable, SimpleOffsetSerializable {
 
   @Override
   default Bytes32 hashTreeRoot() {
-    return getBackingNode().hashTreeRoot();
+    return getSchema().hashTreeRoot(getBackingNode());
   }
 
   @Override
@@ -52,4 +56,23 @@ public interface SszData extends Merkleizable, SimpleOffsetSerializable {
   default int sszSerialize(SszWriter writer) {
     return getSchema().sszSerializeTree(getBackingNode(), writer);
   }
+
+  /** Returns the size of this data SSZ serialization without serializing it */
+  default int getSszSize() {
+    return getSchema().getSszSize(getBackingNode());
+  }
+
+  /**
+   * SSZ serializes this data to the supplied {@code out} stream in chunks while walking the backing
+   * tree, so the whole serialization is never held in memory. The stream is flushed but not closed
+   */
+  default void sszSerialize(OutputStream out) throws IOException {
+    SszOutputStreamWriter writer = new SszOutputStreamWriter(out);
+    try {
+      sszSerialize(writer);
+      writer.flush();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
 }
@@ -42,4 +42,12 @@ public interface SszMutableList<SszElementT extends SszData>
   default void appendAll(Collection<SszElementT> elements) {
     elements.forEach(this::append);
   }
+
+  /**
+   * Replaces the whole list content with the elements of the specified list of the same schema.
+   * Unlike setting elements one by one this reuses the backing tree of the specified list as is
+   *
+   * @throws IllegalArgumentException if the list schema doesn't match this list schema
+   */
+  void setAll(SszList<SszElementT> elements);
 }
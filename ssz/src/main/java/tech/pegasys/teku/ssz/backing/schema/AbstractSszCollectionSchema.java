@@ -25,13 +25,18 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.backing.SszCollection;
 import tech.pegasys.teku.ssz.backing.SszData;
+import tech.pegasys.teku.ssz.backing.schema.SszSchemaHints.SszParallelHashHint;
 import tech.pegasys.teku.ssz.backing.schema.SszSchemaHints.SszSuperNodeHint;
 import tech.pegasys.teku.ssz.backing.tree.LeafNode;
 import tech.pegasys.teku.ssz.backing.tree.SszNodeTemplate;
 import tech.pegasys.teku.ssz.backing.tree.SszSuperNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeHasher;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeStorage;
 import tech.pegasys.teku.ssz.backing.tree.TreeUtil;
 import tech.pegasys.teku.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.ssz.sos.SszReader;
@@ -45,6 +50,7 @@ public abstract class AbstractSszCollectionSchema<
   private final long maxLength;
   private final SszSchema<SszElementT> elementSchema;
   private final SszSchemaHints hints;
+  private final int parallelHashThreshold;
   protected final Supplier<SszNodeTemplate> elementSszSupernodeTemplate =
       Suppliers.memoize(() -> SszNodeTemplate.createFromType(getElementSchema()));
   private volatile TreeNode defaultTree;
@@ -55,6 +61,11 @@ public abstract class AbstractSszCollectionSchema<
     this.maxLength = maxLength;
     this.elementSchema = elementSchema;
     this.hints = hints;
+    this.parallelHashThreshold =
+        hints
+            .getHint(SszParallelHashHint.class)
+            .map(SszParallelHashHint::getParallelThreshold)
+            .orElse(0);
   }
 
   protected abstract TreeNode createDefaultTree();
@@ -268,6 +279,73 @@ public abstract class AbstractSszCollectionSchema<
     return new DeserializedData(TreeUtil.createTree(childNodes, treeDepth()), childNodes.size());
   }
 
+  /**
+   * Loads the tree of the first {@code elementsCount} elements stored with {@link
+   * TreeNodeStorage}. The remaining elements are filled with default nodes
+   */
+  protected TreeNode loadVectorNodes(
+      TreeNodeSource nodeSource, Bytes32 rootHash, int elementsCount) {
+    SszSchema<SszElementT> elementSchema = getElementSchema();
+    if (elementSchema instanceof AbstractSszPrimitiveSchema) {
+      // packed chunks: only the last chunk may be partially filled
+      int bytesSize = (int) ((elementsCount * (long) elementSchema.getBitsSize() + 7) / 8);
+      List<Bytes32> chunkRoots =
+          TreeNodeStorage.loadNodeRoots(
+              nodeSource, rootHash, treeDepth(), ceilDiv(bytesSize, LeafNode.MAX_BYTE_SIZE));
+      List<TreeNode> chunks = new ArrayList<>(chunkRoots.size());
+      for (int i = 0; i < chunkRoots.size(); i++) {
+        int chunkSize = min(LeafNode.MAX_BYTE_SIZE, bytesSize - i * LeafNode.MAX_BYTE_SIZE);
+        chunks.add(LeafNode.create(chunkRoots.get(i).slice(0, chunkSize)));
+      }
+      return TreeUtil.createTree(chunks, treeDepth());
+    }
+
+    Optional<SszSuperNodeHint> sszSuperNodeHint = getHints().getHint(SszSuperNodeHint.class);
+    if (elementSchema.isFixedSize() && sszSuperNodeHint.isPresent()) {
+      int supernodeDepth = sszSuperNodeHint.get().getDepth();
+      int supernodeCapacity = 1 << supernodeDepth;
+      SszNodeTemplate template = elementSszSupernodeTemplate.get();
+      List<Bytes32> supernodeRoots =
+          TreeNodeStorage.loadNodeRoots(
+              nodeSource,
+              rootHash,
+              treeDepth() - supernodeDepth,
+              ceilDiv(elementsCount, supernodeCapacity));
+      List<TreeNode> supernodes = new ArrayList<>(supernodeRoots.size());
+      for (int i = 0; i < supernodeRoots.size(); i++) {
+        Bytes32 supernodeRoot = supernodeRoots.get(i);
+        int count = min(supernodeCapacity, elementsCount - i * supernodeCapacity);
+        // the same subtree could have been first stored as regular branch nodes
+        supernodes.add(
+            TreeNodeStorage.loadSuperNodeData(nodeSource, supernodeRoot)
+                .<TreeNode>map(ssz -> new SszSuperNode(supernodeDepth, template, ssz))
+                .orElseGet(
+                    () -> loadElements(nodeSource, supernodeRoot, supernodeDepth, count)));
+      }
+      return TreeUtil.createTree(
+          supernodes,
+          new SszSuperNode(supernodeDepth, template, Bytes.EMPTY),
+          treeDepth() - supernodeDepth);
+    }
+
+    return loadElements(nodeSource, rootHash, treeDepth(), elementsCount);
+  }
+
+  private TreeNode loadElements(
+      TreeNodeSource nodeSource, Bytes32 rootHash, int depth, int elementsCount) {
+    List<Bytes32> elementRoots =
+        TreeNodeStorage.loadNodeRoots(nodeSource, rootHash, depth, elementsCount);
+    List<TreeNode> elements = new ArrayList<>(elementRoots.size());
+    for (Bytes32 elementRoot : elementRoots) {
+      elements.add(getElementSchema().loadBackingNodes(nodeSource, elementRoot));
+    }
+    return TreeUtil.createTree(elements, depth);
+  }
+
+  private static int ceilDiv(int size, int chunkSize) {
+    return (size + chunkSize - 1) / chunkSize;
+  }
+
   protected static void checkSsz(boolean condition, String error) {
     if (!condition) {
       throw new SszDeserializeException(error);
@@ -278,6 +356,13 @@ public abstract class AbstractSszCollectionSchema<
     return hints;
   }
 
+  @Override
+  public Bytes32 hashTreeRoot(TreeNode node) {
+    return parallelHashThreshold > 0
+        ? TreeHasher.hashTreeRootParallel(node, parallelHashThreshold)
+        : node.hashTreeRoot();
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
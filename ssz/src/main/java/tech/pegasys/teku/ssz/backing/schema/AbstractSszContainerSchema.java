@@ -24,9 +24,16 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.backing.SszContainer;
 import tech.pegasys.teku.ssz.backing.SszData;
+import tech.pegasys.teku.ssz.backing.schema.SszSchemaHints.SszParallelHashHint;
+import tech.pegasys.teku.ssz.backing.tree.LazySszNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeHasher;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeStorage;
 import tech.pegasys.teku.ssz.backing.tree.TreeUtil;
 import tech.pegasys.teku.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.ssz.sos.SszLengthBounds;
@@ -65,8 +72,14 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
   private final List<SszSchema<?>> childrenSchemas;
   private final TreeNode defaultTree;
   private final long treeWidth;
+  private final int parallelHashThreshold;
 
   protected AbstractSszContainerSchema(String name, List<NamedSchema<?>> childrenSchemas) {
+    this(name, childrenSchemas, SszSchemaHints.none());
+  }
+
+  protected AbstractSszContainerSchema(
+      String name, List<NamedSchema<?>> childrenSchemas, SszSchemaHints hints) {
     this.containerName = name;
     for (int i = 0; i < childrenSchemas.size(); i++) {
       final NamedSchema<?> childSchema = childrenSchemas.get(i);
@@ -77,6 +90,11 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
         childrenSchemas.stream().map(NamedSchema::getSchema).collect(Collectors.toList());
     this.defaultTree = createDefaultTree();
     this.treeWidth = SszContainerSchema.super.treeWidth();
+    this.parallelHashThreshold =
+        hints
+            .getHint(SszParallelHashHint.class)
+            .map(SszParallelHashHint::getParallelThreshold)
+            .orElse(0);
   }
 
   protected AbstractSszContainerSchema(List<SszSchema<?>> childrenSchemas) {
@@ -89,6 +107,7 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
     this.childrenSchemas = childrenSchemas;
     this.defaultTree = createDefaultTree();
     this.treeWidth = SszContainerSchema.super.treeWidth();
+    this.parallelHashThreshold = 0;
   }
 
   @Override
@@ -113,6 +132,13 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
     return treeWidth;
   }
 
+  @Override
+  public Bytes32 hashTreeRoot(TreeNode node) {
+    return parallelHashThreshold > 0
+        ? TreeHasher.hashTreeRootParallel(node, parallelHashThreshold)
+        : node.hashTreeRoot();
+  }
+
   private TreeNode createDefaultTree() {
     List<TreeNode> defaultChildren = new ArrayList<>((int) getMaxLength());
     for (int i = 0; i < getFieldsCount(); i++) {
@@ -189,12 +215,20 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
     for (int i = 0; i < getFieldsCount(); i++) {
       SszSchema<?> childType = getChildSchema(i);
       if (!childType.isFixedSize()) {
-        size += childType.getSszSize(node.get(getChildGeneralizedIndex(i)));
+        size += getChildSszSize(childType, node.get(getChildGeneralizedIndex(i)));
       }
     }
     return size;
   }
 
+  @Override
+  public int getSszSize(TreeNode node) {
+    if (node instanceof LazySszNode) {
+      return ((LazySszNode) node).getSsz().size();
+    }
+    return SszContainerSchema.super.getSszSize(node);
+  }
+
   @Override
   public List<SszSchema<?>> getFieldSchemas() {
     return childrenSchemas;
@@ -202,17 +236,20 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
 
   @Override
   public int sszSerializeTree(TreeNode node, SszWriter writer) {
+    if (node instanceof LazySszNode) {
+      return writeLazyNodeSsz((LazySszNode) node, writer);
+    }
     int variableChildOffset = getFixedPartSize();
     int[] variableSizes = new int[getFieldsCount()];
     for (int i = 0; i < getFieldsCount(); i++) {
       TreeNode childSubtree = node.get(getChildGeneralizedIndex(i));
       SszSchema<?> childType = getChildSchema(i);
       if (childType.isFixedSize()) {
-        int size = childType.sszSerializeTree(childSubtree, writer);
+        int size = serializeChild(childType, childSubtree, writer);
         assert size == childType.getFixedPartSize();
       } else {
         writer.write(SszType.lengthToBytes(variableChildOffset));
-        int childSize = childType.getSszSize(childSubtree);
+        int childSize = getChildSszSize(childType, childSubtree);
         variableSizes[i] = childSize;
         variableChildOffset += childSize;
       }
@@ -221,15 +258,56 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
       SszSchema<?> childType = getChildSchema(i);
       if (!childType.isFixedSize()) {
         TreeNode childSubtree = node.get(getChildGeneralizedIndex(i));
-        int size = childType.sszSerializeTree(childSubtree, writer);
+        int size = serializeChild(childType, childSubtree, writer);
         assert size == variableSizes[i];
       }
     }
     return variableChildOffset;
   }
 
+  // children deserialized lazily keep their SSZ which is written as is unless they were updated
+  private static int serializeChild(SszSchema<?> childType, TreeNode childNode, SszWriter writer) {
+    return childNode instanceof LazySszNode
+        ? writeLazyNodeSsz((LazySszNode) childNode, writer)
+        : childType.sszSerializeTree(childNode, writer);
+  }
+
+  private static int getChildSszSize(SszSchema<?> childType, TreeNode childNode) {
+    return childNode instanceof LazySszNode
+        ? ((LazySszNode) childNode).getSsz().size()
+        : childType.getSszSize(childNode);
+  }
+
+  private static int writeLazyNodeSsz(LazySszNode node, SszWriter writer) {
+    Bytes ssz = node.getSsz();
+    writer.write(ssz);
+    return ssz.size();
+  }
+
   @Override
   public TreeNode sszDeserializeTree(SszReader reader) {
+    return sszDeserializeTree(reader, false);
+  }
+
+  @Override
+  public C sszDeserializeLazily(Bytes ssz) {
+    if (isFixedSize() && ssz.size() != getFixedPartSize()) {
+      throw new SszDeserializeException(
+          "Invalid SSZ: expected " + getFixedPartSize() + " bytes but got " + ssz.size());
+    }
+    return createFromBackingNode(new LazySszNode(this, ssz));
+  }
+
+  /**
+   * Deserializes only offsets and primitive fields of this container while composite fields are
+   * backed by {@link LazySszNode}s over their SSZ
+   */
+  @Override
+  public TreeNode sszDeserializeTreeShallow(Bytes ssz) {
+    return sszDeserializeTree(SszReader.fromBytes(ssz), true);
+  }
+
+  private TreeNode sszDeserializeTree(SszReader reader, boolean lazyChildren) {
     int endOffset = reader.getAvailableBytes();
     int childCount = getFieldsCount();
     Queue<TreeNode> fixedChildrenSubtrees = new ArrayDeque<>(childCount);
@@ -238,7 +316,7 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
       SszSchema<?> childType = getChildSchema(i);
       if (childType.isFixedSize()) {
         try (SszReader sszReader = reader.slice(childType.getFixedPartSize())) {
-          TreeNode childNode = childType.sszDeserializeTree(sszReader);
+          TreeNode childNode = deserializeChild(childType, sszReader, lazyChildren);
           fixedChildrenSubtrees.add(childNode);
         }
       } else {
@@ -278,7 +356,7 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
         childrenSubtrees.add(fixedChildrenSubtrees.remove());
       } else {
         try (SszReader sszReader = reader.slice(variableChildrenSizes.remove())) {
-          TreeNode childNode = childType.sszDeserializeTree(sszReader);
+          TreeNode childNode = deserializeChild(childType, sszReader, lazyChildren);
           childrenSubtrees.add(childNode);
         }
       }
@@ -287,6 +365,27 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
     return TreeUtil.createTree(childrenSubtrees);
   }
 
+  private static TreeNode deserializeChild(
+      SszSchema<?> childType, SszReader reader, boolean lazy) {
+    if (lazy && childType instanceof SszCompositeSchema) {
+      // copy the slice so that a lazy child doesn't retain the whole parent SSZ byte array
+      return new LazySszNode(childType, reader.read(reader.getAvailableBytes()).copy());
+    } else {
+      return childType.sszDeserializeTree(reader);
+    }
+  }
+
+  @Override
+  public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+    List<Bytes32> childRoots =
+        TreeNodeStorage.loadNodeRoots(nodeSource, rootHash, treeDepth(), getFieldsCount());
+    List<TreeNode> childrenSubtrees = new ArrayList<>(childRoots.size());
+    for (int i = 0; i < childRoots.size(); i++) {
+      childrenSubtrees.add(getChildSchema(i).loadBackingNodes(nodeSource, childRoots.get(i)));
+    }
+    return TreeUtil.createTree(childrenSubtrees);
+  }
+
   @Override
   public SszLengthBounds getSszLengthBounds() {
     return IntStream.range(0, getFieldsCount())
@@ -14,13 +14,17 @@
 package tech.pegasys.teku.ssz.backing.schema;
 
 import java.nio.ByteOrder;
+import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.backing.SszData;
 import tech.pegasys.teku.ssz.backing.SszList;
 import tech.pegasys.teku.ssz.backing.tree.BranchNode;
 import tech.pegasys.teku.ssz.backing.tree.GIndexUtil;
 import tech.pegasys.teku.ssz.backing.tree.LeafNode;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeStorage;
 import tech.pegasys.teku.ssz.sos.SszLengthBounds;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
@@ -119,6 +123,19 @@ public abstract class AbstractSszListSchema<
     }
   }
 
+  @Override
+  public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+    List<Bytes32> childRoots = TreeNodeStorage.loadChildRoots(nodeSource, rootHash);
+    long longLength = childRoots.get(1).getLong(0, ByteOrder.LITTLE_ENDIAN);
+    if (longLength < 0 || longLength > getMaxLength()) {
+      throw new IllegalStateException("Invalid stored list length: " + longLength);
+    }
+    int length = (int) longLength;
+    TreeNode dataNode =
+        getCompatibleVectorSchema().loadVectorNodes(nodeSource, childRoots.get(0), length);
+    return createTree(dataNode, length);
+  }
+
   private static TreeNode toLengthNode(int length) {
     return length == 0
         ? LeafNode.ZERO_LEAVES[8]
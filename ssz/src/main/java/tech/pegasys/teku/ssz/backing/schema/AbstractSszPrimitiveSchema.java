@@ -16,10 +16,12 @@ package tech.pegasys.teku.ssz.backing.schema;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.backing.SszData;
 import tech.pegasys.teku.ssz.backing.tree.LeafDataNode;
 import tech.pegasys.teku.ssz.backing.tree.LeafNode;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeSource;
 import tech.pegasys.teku.ssz.sos.SszLengthBounds;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
@@ -103,6 +105,12 @@ public abstract class AbstractSszPrimitiveSchema<C extends SszData> implements S
     return LeafNode.create(bytes);
   }
 
+  @Override
+  public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+    // the leaf data is the prefix of its hash tree root
+    return LeafNode.create(rootHash.slice(0, getSSZBytesSize()));
+  }
+
   @Override
   public SszLengthBounds getSszLengthBounds() {
     return SszLengthBounds.ofBits(getBitsSize());
@@ -14,8 +14,12 @@
 package tech.pegasys.teku.ssz.backing.schema;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.backing.SszData;
+import tech.pegasys.teku.ssz.backing.tree.LazySszNode;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeStorage;
 import tech.pegasys.teku.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
@@ -78,6 +82,16 @@ public interface SszSchema<SszDataT extends SszData> extends SszType {
     return newValue.getBackingNode();
   }
 
+  /**
+   * Calculates `hash_tree_root` of the tree which should correspond to this schema. Unless
+   * overridden the tree is hashed on the caller thread
+   *
+   * @see SszSchemaHints.SszParallelHashHint
+   */
+  default Bytes32 hashTreeRoot(TreeNode node) {
+    return node.hashTreeRoot();
+  }
+
   default Bytes sszSerialize(SszDataT view) {
     return sszSerializeTree(view.getBackingNode());
   }
@@ -93,4 +107,37 @@ public interface SszSchema<SszDataT extends SszData> extends SszType {
   default SszDataT sszDeserialize(Bytes ssz) throws SszDeserializeException {
     return sszDeserialize(SszReader.fromBytes(ssz));
   }
+
+  /**
+   * Creates immutable ssz structure which backing tree is deserialized from {@code ssz} on demand:
+   * only the parts of the structure which are accessed get deserialized (and hashed). Unless
+   * overridden the structure is deserialized eagerly
+   *
+   * <p>Should only be used for trusted SSZ (e.g. loaded from the local database): malformed SSZ is
+   * not detected upfront and {@link SszDeserializeException} may be thrown on later access
+   *
+   * @see LazySszNode
+   */
+  default SszDataT sszDeserializeLazily(Bytes ssz) throws SszDeserializeException {
+    return sszDeserialize(ssz);
+  }
+
+  /**
+   * Deserializes the backing tree of this schema for {@link LazySszNode}. Implementations may
+   * leave composite children as {@link LazySszNode}s over their SSZ slices. Unless overridden the
+   * whole tree is deserialized
+   */
+  default TreeNode sszDeserializeTreeShallow(Bytes ssz) throws SszDeserializeException {
+    return sszDeserializeTree(SszReader.fromBytes(ssz));
+  }
+
+  /**
+   * Loads the backing tree of this schema stored with {@link TreeNodeStorage}. The schema is
+   * required to restore leaf nodes which are not stored separately
+   *
+   * @param nodeSource source of stored nodes
+   * @param rootHash hash tree root of the tree to load
+   * @throws IllegalStateException if any required node is missing from the source
+   */
+  TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash);
 }
@@ -45,6 +45,26 @@ public class SszSchemaHints {
     }
   }
 
+  /**
+   * Hint to calculate hash tree root of large updated subtrees in parallel on the common {@link
+   * java.util.concurrent.ForkJoinPool}
+   *
+   * <p>The <code>parallelThreshold</code> parameter specifies the minimum number of not yet hashed
+   * tree nodes a subtree should contain to be split across threads. Smaller updates are hashed on
+   * the caller thread
+   */
+  public static final class SszParallelHashHint extends SszSchemaHint {
+    private final int parallelThreshold;
+
+    public SszParallelHashHint(int parallelThreshold) {
+      this.parallelThreshold = parallelThreshold;
+    }
+
+    public int getParallelThreshold() {
+      return parallelThreshold;
+    }
+  }
+
   public static SszSchemaHints of(SszSchemaHint... hints) {
     return new SszSchemaHints(Arrays.asList(hints));
   }
@@ -57,6 +77,10 @@ public class SszSchemaHints {
     return of(new SszSuperNodeHint(superNodeDepth));
   }
 
+  public static SszSchemaHints parallelHash(int parallelThreshold) {
+    return of(new SszParallelHashHint(parallelThreshold));
+  }
+
   private final List<SszSchemaHint> hints;
 
   private SszSchemaHints(List<SszSchemaHint> hints) {
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static tech.pegasys.teku.ssz.backing.tree.GIndexUtil.gIdxIsSelf;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.jetbrains.annotations.NotNull;
+import tech.pegasys.teku.ssz.backing.schema.SszSchema;
+
+/**
+ * Backing node of a composite SSZ structure which keeps the structure SSZ bytes and deserializes
+ * the actual subtree only when the subtree is first accessed (via {@link #get(long)}, {@link
+ * #iterate(long, long, TreeVisitor)}, {@link #hashTreeRoot()} or updates)
+ *
+ * <p>The subtree is deserialized with {@link SszSchema#sszDeserializeTreeShallow(Bytes)} so that
+ * composite children may in turn be backed by lazy nodes over their SSZ slices. Thus accessing a
+ * single field of a large structure deserializes only the nodes on the path to this field.
+ *
+ * <p>While the node is not replaced by an update its SSZ is available via {@link #getSsz()} which
+ * allows to serialize the structure without touching the subtree
+ *
+ * <p>Memory: a lazy node retains its SSZ bytes for as long as it is reachable, in addition to the
+ * subtree once it is deserialized. Lazy children created by {@link
+ * SszSchema#sszDeserializeTreeShallow(Bytes)} own a copy of their SSZ slice rather than a view of
+ * the parent SSZ, so an untouched child (e.g. the validators list of an updated state) retains
+ * only its own bytes and the parent SSZ can be collected once the parent node is replaced. The
+ * price is a one-off copy of the composite children bytes when the parent is deserialized, which
+ * is at most the size of the parent SSZ
+ *
+ * <p>The node doesn't validate SSZ upfront and should only be created for trusted data, see {@link
+ * SszSchema#sszDeserializeLazily(Bytes)}
+ */
+public class LazySszNode implements TreeNode {
+  private final SszSchema<?> schema;
+  private final Bytes ssz;
+  private final Supplier<TreeNode> subtree = Suppliers.memoize(this::deserializeSubtree);
+
+  public LazySszNode(SszSchema<?> schema, Bytes ssz) {
+    this.schema = schema;
+    this.ssz = ssz;
+  }
+
+  /** Returns the schema of the structure this node is backing */
+  public SszSchema<?> getSchema() {
+    return schema;
+  }
+
+  /** Returns the SSZ bytes of the structure this node is backing */
+  public Bytes getSsz() {
+    return ssz;
+  }
+
+  /** Returns the deserialized subtree deserializing it if this wasn't done yet */
+  public TreeNode getSubtree() {
+    return subtree.get();
+  }
+
+  private TreeNode deserializeSubtree() {
+    return schema.sszDeserializeTreeShallow(ssz);
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return schema.hashTreeRoot(getSubtree());
+  }
+
+  @NotNull
+  @Override
+  public TreeNode get(long generalizedIndex) {
+    return gIdxIsSelf(generalizedIndex) ? this : getSubtree().get(generalizedIndex);
+  }
+
+  @Override
+  public boolean iterate(
+      long thisGeneralizedIndex, long startGeneralizedIndex, TreeVisitor visitor) {
+    return getSubtree().iterate(thisGeneralizedIndex, startGeneralizedIndex, visitor);
+  }
+
+  @Override
+  public TreeNode updated(long generalizedIndex, Function<TreeNode, TreeNode> nodeUpdater) {
+    return gIdxIsSelf(generalizedIndex)
+        ? nodeUpdater.apply(this)
+        : getSubtree().updated(generalizedIndex, nodeUpdater);
+  }
+
+  @Override
+  public TreeNode updated(TreeUpdates newNodes) {
+    return newNodes.isEmpty() ? this : getSubtree().updated(newNodes);
+  }
+
+  @Override
+  public String toString() {
+    return "LazySszNode{schema=" + schema + ", sszSize=" + ssz.size() + "}";
+  }
+}
@@ -26,7 +26,6 @@ import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.MutableBytes;
-import org.apache.tuweni.crypto.Hash;
 import org.jetbrains.annotations.NotNull;
 import tech.pegasys.teku.ssz.backing.tree.GIndexUtil.NodeRelation;
 import tech.pegasys.teku.ssz.backing.tree.SszNodeTemplate.Location;
@@ -48,8 +47,6 @@ import tech.pegasys.teku.ssz.backing.tree.SszNodeTemplate.Location;
  * list)
  */
 public class SszSuperNode implements TreeNode, LeafDataNode {
-  private static final TreeNode DEFAULT_NODE = LeafNode.EMPTY_LEAF;
-
   private final int depth;
   private final SszNodeTemplate elementTemplate;
   private final Bytes ssz;
@@ -77,25 +74,14 @@ public class SszSuperNode implements TreeNode, LeafDataNode {
   }
 
   private Bytes32 calcHashTreeRoot() {
-    return hashTreeRoot(0, 0);
-  }
-
-  private Bytes32 hashTreeRoot(int curDepth, int offset) {
-    if (curDepth == depth) {
-      if (offset < ssz.size()) {
-        return elementTemplate.calculateHashTreeRoot(ssz, offset);
-      } else {
-        assert offset <= elementTemplate.getSszLength() * (getMaxElements() - 1);
-        return DEFAULT_NODE.hashTreeRoot();
-      }
-    } else {
-      return Hash.sha2_256(
-          Bytes.wrap(
-              hashTreeRoot(curDepth + 1, offset),
-              hashTreeRoot(
-                  curDepth + 1,
-                  offset + elementTemplate.getSszLength() * (1 << ((depth - curDepth) - 1)))));
+    int elementsCount = getElementsCount();
+    int sszLength = elementTemplate.getSszLength();
+    byte[] chunks = new byte[elementsCount * Bytes32.SIZE];
+    for (int i = 0; i < elementsCount; i++) {
+      Bytes32 elementRoot = elementTemplate.calculateHashTreeRoot(ssz, i * sszLength);
+      System.arraycopy(elementRoot.toArrayUnsafe(), 0, chunks, i * Bytes32.SIZE, Bytes32.SIZE);
     }
+    return TreeHasher.merkleizeChunks(chunks, elementsCount, depth);
   }
 
   @NotNull
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeImpl.BranchNodeImpl;
+
+/**
+ * Batched merkleization engine for the backing tree.
+ *
+ * <p>Instead of hashing {@link BranchNode}s recursively one by one (concatenating child roots into
+ * a new {@code Bytes} instance for every node) this class first collects all not yet hashed branch
+ * nodes grouped by their depth and then hashes them level by level starting from the deepest one.
+ * Child roots of every level are copied into a single flat reusable buffer which is then hashed in
+ * 64 byte windows with a reused {@link MessageDigest} instance, so the only per-node allocation is
+ * the resulting hash itself.
+ *
+ * <p>The same flat approach is used by {@link #merkleizeChunks(byte[], int, int)} which
+ * merkleizes a packed sequence of 32 byte chunks in place (e.g. element roots of {@link
+ * SszSuperNode})
+ *
+ * <p>Large updated subtrees may be hashed across several threads with {@link
+ * #hashTreeRootParallel(TreeNode, int)}
+ */
+public final class TreeHasher {
+
+  /** Max number of nodes which child roots are put to the flat buffer at once */
+  static final int BATCH_SIZE = 256;
+
+  private static final int CHUNK_SIZE = Bytes32.SIZE;
+  private static final int PAIR_SIZE = 2 * CHUNK_SIZE;
+
+  private static final ThreadLocal<TreeHasher> THREAD_HASHER =
+      ThreadLocal.withInitial(TreeHasher::new);
+
+  private final MessageDigest digest = createDigest();
+  private final byte[] batchBuffer = new byte[BATCH_SIZE * PAIR_SIZE];
+  private boolean busy = false;
+
+  private TreeHasher() {}
+
+  /**
+   * Calculates hash tree root of the node. All not yet hashed branch nodes of the subtree get their
+   * hashes calculated and cached as a side effect
+   */
+  public static Bytes32 hashTreeRoot(TreeNode node) {
+    if (!(node instanceof BranchNodeImpl)) {
+      return node.hashTreeRoot();
+    }
+    BranchNodeImpl branchNode = (BranchNodeImpl) node;
+    Bytes32 cachedHash = branchNode.getCachedHash();
+    if (cachedHash != null) {
+      return cachedHash;
+    }
+    TreeHasher hasher = acquire();
+    try {
+      hasher.hashDirtyNodes(branchNode);
+    } finally {
+      hasher.busy = false;
+    }
+    return branchNode.getCachedHash();
+  }
+
+  /**
+   * The same as {@link #hashTreeRoot(TreeNode)} but splits hashing of large updated subtrees across
+   * the common {@link ForkJoinPool} threads. A subtree is split only if it contains at least {@code
+   * parallelThreshold} not yet hashed branch nodes, thus small updates are hashed on the caller
+   * thread
+   */
+  public static Bytes32 hashTreeRootParallel(TreeNode node, int parallelThreshold) {
+    checkArgument(parallelThreshold > 0, "Invalid parallel threshold: %s", parallelThreshold);
+    if (!isDirty(node) || countDirtyNodes(node, parallelThreshold) < parallelThreshold) {
+      return hashTreeRoot(node);
+    }
+    return ForkJoinPool.commonPool()
+        .invoke(new ParallelHashTask((BranchNodeImpl) node, parallelThreshold));
+  }
+
+  /**
+   * Calculates the root of a binary merkle tree of the specified depth which leftmost leaves are
+   * the first {@code chunkCount} 32 byte chunks of the {@code chunks} array. The rest leaves are
+   * considered zero chunks.
+   *
+   * <p>The content of {@code chunks} array is overwritten by intermediate hashes
+   */
+  public static Bytes32 merkleizeChunks(byte[] chunks, int chunkCount, int depth) {
+    checkArgument(chunkCount <= (1L << depth), "Too many chunks for depth %s", depth);
+    checkArgument(chunks.length >= chunkCount * CHUNK_SIZE, "Chunks array is too small");
+    if (chunkCount == 0) {
+      return TreeUtil.ZERO_TREES[depth].hashTreeRoot();
+    }
+    TreeHasher hasher = acquire();
+    try {
+      return hasher.merkleizeInPlace(chunks, chunkCount, depth);
+    } finally {
+      hasher.busy = false;
+    }
+  }
+
+  private static boolean isDirty(TreeNode node) {
+    return node instanceof BranchNodeImpl && ((BranchNodeImpl) node).getCachedHash() == null;
+  }
+
+  /** Counts not yet hashed branch nodes of the subtree stopping as soon as the limit is reached */
+  private static int countDirtyNodes(TreeNode node, int limit) {
+    if (!isDirty(node)) {
+      return 0;
+    }
+    BranchNodeImpl branchNode = (BranchNodeImpl) node;
+    int count = 1;
+    if (count < limit) {
+      count += countDirtyNodes(branchNode.left(), limit - count);
+    }
+    if (count < limit && branchNode.right() != branchNode.left()) {
+      count += countDirtyNodes(branchNode.right(), limit - count);
+    }
+    return count;
+  }
+
+  private static TreeHasher acquire() {
+    TreeHasher hasher = THREAD_HASHER.get();
+    if (hasher.busy) {
+      // re-entrant call from a custom node hashTreeRoot() implementation
+      hasher = new TreeHasher();
+    }
+    hasher.busy = true;
+    return hasher;
+  }
+
+  private void hashDirtyNodes(BranchNodeImpl root) {
+    List<List<BranchNodeImpl>> levels = new ArrayList<>();
+    collectDirtyNodes(root, 0, levels);
+    for (int depth = levels.size() - 1; depth >= 0; depth--) {
+      List<BranchNodeImpl> levelNodes = levels.get(depth);
+      for (int from = 0; from < levelNodes.size(); from += BATCH_SIZE) {
+        hashBatch(levelNodes, from, Math.min(from + BATCH_SIZE, levelNodes.size()));
+      }
+    }
+  }
+
+  private static void collectDirtyNodes(
+      TreeNode node, int depth, List<List<BranchNodeImpl>> levels) {
+    if (!(node instanceof BranchNodeImpl)) {
+      return;
+    }
+    BranchNodeImpl branchNode = (BranchNodeImpl) node;
+    if (branchNode.getCachedHash() != null) {
+      return;
+    }
+    if (levels.size() == depth) {
+      levels.add(new ArrayList<>());
+    }
+    levels.get(depth).add(branchNode);
+    TreeNode left = branchNode.left();
+    TreeNode right = branchNode.right();
+    collectDirtyNodes(left, depth + 1, levels);
+    if (right != left) {
+      collectDirtyNodes(right, depth + 1, levels);
+    }
+  }
+
+  private void hashBatch(List<BranchNodeImpl> nodes, int fromIndex, int toIndex) {
+    int pos = 0;
+    for (int i = fromIndex; i < toIndex; i++) {
+      BranchNodeImpl node = nodes.get(i);
+      // left and right roots are either already cached or belong to non-branch nodes
+      copyChunk(node.left().hashTreeRoot(), batchBuffer, pos);
+      copyChunk(node.right().hashTreeRoot(), batchBuffer, pos + CHUNK_SIZE);
+      pos += PAIR_SIZE;
+    }
+    pos = 0;
+    for (int i = fromIndex; i < toIndex; i++) {
+      BranchNodeImpl node = nodes.get(i);
+      // the same node may be collected more than once if it is shared within the tree
+      if (node.getCachedHash() == null) {
+        digest.update(batchBuffer, pos, PAIR_SIZE);
+        node.setCachedHash(Bytes32.wrap(digest.digest()));
+      }
+      pos += PAIR_SIZE;
+    }
+  }
+
+  private Bytes32 merkleizeInPlace(byte[] chunks, int chunkCount, int depth) {
+    byte[] pairBuffer = new byte[PAIR_SIZE];
+    int levelCount = chunkCount;
+    for (int level = 0; level < depth; level++) {
+      int pairCount = levelCount / 2;
+      for (int i = 0; i < pairCount; i++) {
+        digest.update(chunks, 2 * i * CHUNK_SIZE, PAIR_SIZE);
+        digestInto(chunks, i * CHUNK_SIZE);
+      }
+      if (levelCount % 2 == 1) {
+        System.arraycopy(chunks, (levelCount - 1) * CHUNK_SIZE, pairBuffer, 0, CHUNK_SIZE);
+        copyChunk(TreeUtil.ZERO_TREES[level].hashTreeRoot(), pairBuffer, CHUNK_SIZE);
+        digest.update(pairBuffer, 0, PAIR_SIZE);
+        digestInto(chunks, pairCount * CHUNK_SIZE);
+      }
+      levelCount = (levelCount + 1) / 2;
+    }
+    return Bytes32.wrap(Arrays.copyOf(chunks, CHUNK_SIZE));
+  }
+
+  private void digestInto(byte[] dest, int offset) {
+    try {
+      digest.digest(dest, offset, CHUNK_SIZE);
+    } catch (DigestException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void copyChunk(Bytes32 chunk, byte[] dest, int offset) {
+    System.arraycopy(chunk.toArrayUnsafe(), 0, dest, offset, CHUNK_SIZE);
+  }
+
+  private static class ParallelHashTask extends RecursiveTask<Bytes32> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient BranchNodeImpl node;
+    private final int parallelThreshold;
+
+    private ParallelHashTask(BranchNodeImpl node, int parallelThreshold) {
+      this.node = node;
+      this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    protected Bytes32 compute() {
+      if (countDirtyNodes(node, parallelThreshold) < parallelThreshold) {
+        return hashTreeRoot(node);
+      }
+      TreeNode left = node.left();
+      TreeNode right = node.right();
+      ParallelHashTask leftTask = null;
+      if (isDirty(left)) {
+        leftTask = new ParallelHashTask((BranchNodeImpl) left, parallelThreshold);
+        leftTask.fork();
+      }
+      if (right != left && isDirty(right)) {
+        new ParallelHashTask((BranchNodeImpl) right, parallelThreshold).compute();
+      }
+      if (leftTask != null) {
+        leftTask.join();
+      }
+      // both children are hashed at this point so only this node is left
+      return hashTreeRoot(node);
+    }
+  }
+
+  @SuppressWarnings("DoNotInvokeMessageDigestDirectly")
+  private static MessageDigest createDigest() {
+    try {
+      // the default JDK provider uses SHA intrinsics where the CPU supports them
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
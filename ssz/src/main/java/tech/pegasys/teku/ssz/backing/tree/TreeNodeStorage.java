@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Stores backing trees as separate content addressed nodes so that subtrees shared between trees
+ * (e.g. between states of adjacent slots) are stored only once.
+ *
+ * <p>Every {@link BranchNode} is stored as an entry keyed by its hash tree root which contains the
+ * roots of its children, and every {@link SszSuperNode} is stored as an entry containing its packed
+ * SSZ bytes. {@link LeafNode}s are never stored: a leaf content is the prefix of its hash tree root
+ * so the leaf is restored from the reference in its parent entry given the leaf data length known
+ * from the schema. Thus the tree can only be loaded back with the help of its schema (see {@link
+ * tech.pegasys.teku.ssz.backing.schema.SszSchema#loadBackingNodes(TreeNodeSource, Bytes32)})
+ */
+public final class TreeNodeStorage {
+
+  private static final byte BRANCH_NODE_TAG = 0;
+  private static final byte SUPER_NODE_TAG = 1;
+  private static final int LEFT_STORED_FLAG = 1;
+  private static final int RIGHT_STORED_FLAG = 2;
+  private static final int BRANCH_NODE_SIZE = 2 + 2 * Bytes32.SIZE;
+
+  private TreeNodeStorage() {}
+
+  /**
+   * Stores all the nodes of the tree which are not yet contained in the store. Children are stored
+   * before their parents so the store never contains a node which references a missing one
+   */
+  public static void storeTree(TreeNode node, TreeNodeStore store) {
+    if (node instanceof LazySszNode) {
+      storeTree(((LazySszNode) node).getSubtree(), store);
+      return;
+    }
+    if (node instanceof LeafNode) {
+      return;
+    }
+    Bytes32 root = node.hashTreeRoot();
+    if (store.containsNode(root)) {
+      return;
+    }
+    if (node instanceof SszSuperNode) {
+      Bytes ssz = ((SszSuperNode) node).getData();
+      store.storeNode(root, Bytes.concatenate(Bytes.of(SUPER_NODE_TAG), ssz), List.of());
+    } else if (node instanceof BranchNode) {
+      BranchNode branchNode = (BranchNode) node;
+      TreeNode left = unwrapLazy(branchNode.left());
+      TreeNode right = unwrapLazy(branchNode.right());
+      storeTree(left, store);
+      if (right != left) {
+        storeTree(right, store);
+      }
+      List<Bytes32> childRoots = new ArrayList<>(2);
+      int flags = 0;
+      if (!(left instanceof LeafNode)) {
+        flags |= LEFT_STORED_FLAG;
+        childRoots.add(left.hashTreeRoot());
+      }
+      if (!(right instanceof LeafNode)) {
+        flags |= RIGHT_STORED_FLAG;
+        childRoots.add(right.hashTreeRoot());
+      }
+      store.storeNode(
+          root,
+          Bytes.concatenate(
+              Bytes.of(BRANCH_NODE_TAG, (byte) flags), left.hashTreeRoot(), right.hashTreeRoot()),
+          childRoots);
+    } else {
+      throw new IllegalArgumentException("Unsupported tree node type: " + node.getClass());
+    }
+  }
+
+  // a lazy node is stored as its subtree which root node may happen to be a leaf
+  private static TreeNode unwrapLazy(TreeNode node) {
+    return node instanceof LazySszNode ? ((LazySszNode) node).getSubtree() : node;
+  }
+
+  /**
+   * Returns roots of the first {@code count} nodes at the specified depth of the stored subtree
+   * with the specified root. Only branch entries on the way to those nodes are loaded
+   *
+   * @throws IllegalStateException if any of the required branch entries is missing
+   */
+  public static List<Bytes32> loadNodeRoots(
+      TreeNodeSource source, Bytes32 root, int depth, long count) {
+    checkArgument(
+        count >= 0 && count <= (1L << depth), "Invalid count %s for depth %s", count, depth);
+    List<Bytes32> roots = new ArrayList<>();
+    if (count > 0) {
+      collectNodeRoots(source, root, depth, count, roots);
+    }
+    return roots;
+  }
+
+  private static void collectNodeRoots(
+      TreeNodeSource source, Bytes32 root, int depth, long count, List<Bytes32> roots) {
+    if (depth == 0) {
+      roots.add(root);
+      return;
+    }
+    Bytes node = loadBranchNode(source, root);
+    long halfWidth = 1L << (depth - 1);
+    collectNodeRoots(source, getLeftRoot(node), depth - 1, Math.min(count, halfWidth), roots);
+    if (count > halfWidth) {
+      collectNodeRoots(source, getRightRoot(node), depth - 1, count - halfWidth, roots);
+    }
+  }
+
+  /**
+   * Returns the packed SSZ bytes if the node with the specified root is stored as {@link
+   * SszSuperNode} or empty if it is stored as a branch node
+   *
+   * @throws IllegalStateException if the node is missing
+   */
+  public static Optional<Bytes> loadSuperNodeData(TreeNodeSource source, Bytes32 root) {
+    Bytes node = loadNode(source, root);
+    return node.get(0) == SUPER_NODE_TAG ? Optional.of(node.slice(1)) : Optional.empty();
+  }
+
+  /**
+   * Returns the roots of the left and the right children of the stored branch node
+   *
+   * @throws IllegalStateException if the node is missing or is not a branch node
+   */
+  public static List<Bytes32> loadChildRoots(TreeNodeSource source, Bytes32 root) {
+    Bytes node = loadBranchNode(source, root);
+    return List.of(getLeftRoot(node), getRightRoot(node));
+  }
+
+  /** Returns roots of the entries referenced by the encoded node */
+  public static List<Bytes32> getStoredChildRoots(Bytes node) {
+    if (node.get(0) != BRANCH_NODE_TAG) {
+      return List.of();
+    }
+    int flags = node.get(1);
+    List<Bytes32> childRoots = new ArrayList<>(2);
+    if ((flags & LEFT_STORED_FLAG) != 0) {
+      childRoots.add(getLeftRoot(node));
+    }
+    if ((flags & RIGHT_STORED_FLAG) != 0) {
+      childRoots.add(getRightRoot(node));
+    }
+    return childRoots;
+  }
+
+  private static Bytes loadBranchNode(TreeNodeSource source, Bytes32 root) {
+    Bytes node = loadNode(source, root);
+    if (node.get(0) != BRANCH_NODE_TAG || node.size() != BRANCH_NODE_SIZE) {
+      throw new IllegalStateException("Expected branch tree node " + root);
+    }
+    return node;
+  }
+
+  private static Bytes loadNode(TreeNodeSource source, Bytes32 root) {
+    return source
+        .loadNode(root)
+        .filter(node -> !node.isEmpty())
+        .orElseThrow(() -> new IllegalStateException("Missing tree node " + root));
+  }
+
+  private static Bytes32 getLeftRoot(Bytes branchNode) {
+    return Bytes32.wrap(branchNode.slice(2, Bytes32.SIZE));
+  }
+
+  private static Bytes32 getRightRoot(Bytes branchNode) {
+    return Bytes32.wrap(branchNode.slice(2 + Bytes32.SIZE, Bytes32.SIZE));
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** Destination of tree nodes stored with {@link TreeNodeStorage} keyed by their hash */
+public interface TreeNodeStore {
+
+  /**
+   * Returns {@code true} if the node with the specified root is already stored. The whole subtree
+   * of such node is then assumed stored as well and is skipped
+   */
+  boolean containsNode(Bytes32 root);
+
+  /**
+   * Stores the encoded node
+   *
+   * @param root hash tree root of the node
+   * @param node the encoded node
+   * @param childRoots roots of the node children which are stored as separate entries, i.e. the
+   *     entries this node references
+   */
+  void storeNode(Bytes32 root, Bytes node, List<Bytes32> childRoots);
+}
@@ -118,7 +118,15 @@ public abstract class AbstractSszMutableComposite<
   @Override
   @SuppressWarnings("unchecked")
   public void clear() {
-    backingImmutableData = (AbstractSszComposite<SszChildT>) getSchema().getDefault();
+    resetBackingImmutableData((AbstractSszComposite<SszChildT>) getSchema().getDefault());
+  }
+
+  /**
+   * Replaces the whole content of this structure with the specified immutable data discarding all
+   * the pending changes
+   */
+  protected void resetBackingImmutableData(AbstractSszComposite<SszChildT> newBackingData) {
+    backingImmutableData = newBackingData;
     childrenChanges.clear();
     childrenRefs.clear();
     childrenRefsChanged.clear();
@@ -13,7 +13,10 @@
 
 package tech.pegasys.teku.ssz.backing.view;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import tech.pegasys.teku.ssz.backing.SszData;
+import tech.pegasys.teku.ssz.backing.SszList;
 import tech.pegasys.teku.ssz.backing.SszMutableList;
 import tech.pegasys.teku.ssz.backing.SszMutableRefList;
 import tech.pegasys.teku.ssz.backing.cache.IntCache;
@@ -68,6 +71,16 @@ public class SszMutableListImpl<SszElementT extends SszData, SszMutableElementT
     cachedSize = 0;
   }
 
+  @Override
+  public void setAll(SszList<SszElementT> elements) {
+    checkArgument(
+        elements.getSchema().equals(getSchema()),
+        "Incompatible list schema: %s",
+        elements.getSchema());
+    cachedSize = elements.size();
+    resetBackingImmutableData(new SszListImpl<>(getSchema(), elements.getBackingNode()));
+  }
+
   @Override
   protected void checkIndex(int index, boolean set) {
     if ((!set && index >= size())
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.sos;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link SszWriter} which writes the serialized data to an {@link OutputStream} in chunks of a
+ * fixed size, so that large structures (e.g. a {@code BeaconState}) can be serialized while
+ * walking their backing tree without materializing the whole serialization in memory.
+ *
+ * <p>Since {@link SszWriter} methods can't throw checked exceptions any {@link IOException} is
+ * rethrown as {@link UncheckedIOException}. {@link #flush()} must be called to write the last
+ * buffered chunk
+ */
+public class SszOutputStreamWriter implements SszWriter {
+  public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private final OutputStream out;
+  private final byte[] buffer;
+  private int bufferSize = 0;
+
+  public SszOutputStreamWriter(OutputStream out) {
+    this(out, DEFAULT_CHUNK_SIZE);
+  }
+
+  public SszOutputStreamWriter(OutputStream out, int chunkSize) {
+    checkArgument(chunkSize > 0, "Invalid chunk size: %s", chunkSize);
+    this.out = out;
+    this.buffer = new byte[chunkSize];
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) {
+    if (length > buffer.length - bufferSize) {
+      writeBuffer();
+    }
+    if (length >= buffer.length) {
+      // no need to copy large blocks to the buffer
+      writeToStream(bytes, offset, length);
+    } else {
+      System.arraycopy(bytes, offset, buffer, bufferSize, length);
+      bufferSize += length;
+    }
+  }
+
+  /** Writes the buffered data to the underlying stream and flushes it */
+  public void flush() {
+    writeBuffer();
+    try {
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeBuffer() {
+    if (bufferSize > 0) {
+      writeToStream(buffer, 0, bufferSize);
+      bufferSize = 0;
+    }
+  }
+
+  private void writeToStream(byte[] bytes, int offset, int length) {
+    try {
+      out.write(bytes, offset, length);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
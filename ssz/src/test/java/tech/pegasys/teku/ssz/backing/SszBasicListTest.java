@@ -94,4 +94,34 @@ public class SszBasicListTest {
     listView.clear();
     assertThat(listView.commitChanges().hashTreeRoot()).isEqualTo(n0.hashTreeRoot());
   }
+
+  @Test
+  public void setAll_shouldReplaceListContent() {
+    SszListSchema<SszUInt64, ?> listType =
+        SszListSchema.create(SszPrimitiveSchemas.UINT64_SCHEMA, 7);
+    SszMutableList<SszUInt64> source = listType.getDefault().createWritableCopy();
+    source.append(new SszUInt64(UInt64.valueOf(0x111)));
+    source.append(new SszUInt64(UInt64.valueOf(0x222)));
+    source.append(new SszUInt64(UInt64.valueOf(0x333)));
+    SszList<SszUInt64> expected = source.commitChanges();
+
+    SszMutableList<SszUInt64> listView = listType.getDefault().createWritableCopy();
+    listView.append(new SszUInt64(UInt64.valueOf(0x999)));
+    listView.setAll(expected);
+
+    assertThat(listView.size()).isEqualTo(3);
+    assertThat(listView.get(2).longValue()).isEqualTo(0x333);
+    assertThat(listView.commitChanges().hashTreeRoot()).isEqualTo(expected.hashTreeRoot());
+
+    listView.append(new SszUInt64(UInt64.valueOf(0x444)));
+    SszList<SszUInt64> updated = listView.commitChanges();
+    assertThat(updated.size()).isEqualTo(4);
+    assertThat(updated.get(0).longValue()).isEqualTo(0x111);
+    assertThat(updated.get(3).longValue()).isEqualTo(0x444);
+
+    SszListSchema<SszUInt64, ?> otherListType =
+        SszListSchema.create(SszPrimitiveSchemas.UINT64_SCHEMA, 8);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> listView.setAll(otherListType.getDefault()));
+  }
 }
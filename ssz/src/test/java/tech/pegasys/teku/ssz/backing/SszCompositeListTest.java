@@ -25,6 +25,7 @@ import tech.pegasys.teku.ssz.backing.schema.SszListSchema;
 import tech.pegasys.teku.ssz.backing.schema.SszSchema;
 import tech.pegasys.teku.ssz.backing.tree.LeafNode;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeSource;
 import tech.pegasys.teku.ssz.sos.SszLengthBounds;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
@@ -79,6 +80,11 @@ public class SszCompositeListTest {
           return null;
         }
 
+        @Override
+        public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+          return LeafNode.create(rootHash);
+        }
+
         @Override
         public SszLengthBounds getSszLengthBounds() {
           return SszLengthBounds.ZERO;
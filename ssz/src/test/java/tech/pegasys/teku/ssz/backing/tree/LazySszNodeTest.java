@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.teku.ssz.backing.SszDataAssert.assertThatSszData;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.ssz.backing.SszContainer;
+import tech.pegasys.teku.ssz.backing.SszList;
+import tech.pegasys.teku.ssz.backing.SszMutableContainer;
+import tech.pegasys.teku.ssz.backing.TestContainers.VariableSizeContainer;
+import tech.pegasys.teku.ssz.backing.schema.SszType;
+import tech.pegasys.teku.ssz.backing.view.SszPrimitives.SszUInt64;
+import tech.pegasys.teku.ssz.sos.SszDeserializeException;
+
+public class LazySszNodeTest {
+
+  // TestSubContainer + list offset + uint64
+  private static final int FIXED_PART_SIZE = 40 + 4 + 8;
+
+  private final Random random = new Random(1);
+
+  @Test
+  void sszDeserializeLazily_shouldBeEqualToEagerlyDeserialized() {
+    Bytes ssz = createContainerSsz(5);
+
+    VariableSizeContainer lazy = VariableSizeContainer.SSZ_SCHEMA.sszDeserializeLazily(ssz);
+    VariableSizeContainer eager = VariableSizeContainer.SSZ_SCHEMA.sszDeserialize(ssz);
+
+    assertThat(lazy.getBackingNode()).isInstanceOf(LazySszNode.class);
+    assertThatSszData(lazy).isEqualByAllMeansTo(eager);
+  }
+
+  @Test
+  void sszDeserializeLazily_shouldOnlyDeserializeAccessedFields() {
+    // the list max length is 10 so the list field is invalid
+    Bytes ssz = createContainerSsz(11);
+    assertThatThrownBy(() -> VariableSizeContainer.SSZ_SCHEMA.sszDeserialize(ssz))
+        .isInstanceOf(SszDeserializeException.class);
+
+    VariableSizeContainer lazy = VariableSizeContainer.SSZ_SCHEMA.sszDeserializeLazily(ssz);
+
+    assertThat(lazy.get(2)).isEqualTo(SszUInt64.fromLong(ssz.getLong(44, LITTLE_ENDIAN)));
+    assertThat(lazy.get(0).sszSerialize()).isEqualTo(ssz.slice(0, 40));
+    assertThat(lazy.sszSerialize()).isEqualTo(ssz);
+    assertThatThrownBy(() -> ((SszList<?>) lazy.get(1)).size())
+        .isInstanceOf(SszDeserializeException.class);
+  }
+
+  @Test
+  void sszDeserializeLazily_shouldMatchEagerlyDeserializedAfterUpdate() {
+    Bytes ssz = createContainerSsz(7);
+    SszMutableContainer lazy =
+        VariableSizeContainer.SSZ_SCHEMA.sszDeserializeLazily(ssz).createWritableCopy();
+    SszMutableContainer eager =
+        VariableSizeContainer.SSZ_SCHEMA.sszDeserialize(ssz).createWritableCopy();
+
+    lazy.set(2, SszUInt64.fromLong(777));
+    eager.set(2, SszUInt64.fromLong(777));
+    SszContainer updatedLazy = lazy.commitChanges();
+    SszContainer updatedEager = eager.commitChanges();
+
+    assertThatSszData(updatedLazy).isEqualByAllMeansTo(updatedEager);
+    assertThat(updatedLazy.getSszSize()).isEqualTo(ssz.size());
+  }
+
+  @Test
+  void sszDeserializeLazily_lazyChildrenShouldNotRetainParentSsz() {
+    byte[] sszArray = createContainerSsz(5).toArray();
+    Bytes expectedListSsz = Bytes.wrap(sszArray).slice(FIXED_PART_SIZE).copy();
+
+    VariableSizeContainer lazy =
+        VariableSizeContainer.SSZ_SCHEMA.sszDeserializeLazily(Bytes.wrap(sszArray));
+    TreeNode listNode = lazy.get(1).getBackingNode();
+    assertThat(listNode).isInstanceOf(LazySszNode.class);
+
+    // a child owning a copy of its slice is not affected by changes to the parent array
+    Arrays.fill(sszArray, (byte) 0);
+    assertThat(((LazySszNode) listNode).getSsz()).isEqualTo(expectedListSsz);
+  }
+
+  private Bytes createContainerSsz(int listSize) {
+    return Bytes.concatenate(
+        randomBytes(40),
+        SszType.lengthToBytes(FIXED_PART_SIZE),
+        randomBytes(8),
+        randomBytes(listSize * 8));
+  }
+
+  private Bytes randomBytes(int size) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return Bytes.wrap(bytes);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TreeHasherTest {
+
+  private static Bytes32 recursiveHashTreeRoot(TreeNode node) {
+    if (node instanceof BranchNode) {
+      BranchNode branchNode = (BranchNode) node;
+      return Hash.sha2_256(
+          Bytes.wrap(
+              recursiveHashTreeRoot(branchNode.left()), recursiveHashTreeRoot(branchNode.right())));
+    } else {
+      return node.hashTreeRoot();
+    }
+  }
+
+  private static List<TreeNode> createLeaves(int count) {
+    return IntStream.range(0, count).mapToObj(TreeTest::newTestLeaf).collect(Collectors.toList());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 255, 256, 257, 1000, 4096})
+  void hashTreeRoot_shouldMatchRecursiveHashing(int leafCount) {
+    TreeNode tree = TreeUtil.createTree(createLeaves(leafCount), 13);
+    Bytes32 expected = recursiveHashTreeRoot(tree);
+
+    assertThat(TreeHasher.hashTreeRoot(tree)).isEqualTo(expected);
+    assertThat(tree.hashTreeRoot()).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 1000})
+  void hashTreeRoot_shouldRehashOnlyUpdatedNodes(int leafCount) {
+    TreeNode tree = TreeUtil.createTree(createLeaves(leafCount), 10);
+    tree.hashTreeRoot();
+
+    TreeNode updatedTree =
+        tree.updated(
+            new TreeUpdates(
+                List.of(
+                    new TreeUpdates.Update(1 << 10, TreeTest.newTestLeaf(777)),
+                    new TreeUpdates.Update((1 << 11) - 1, TreeTest.newTestLeaf(888)))));
+
+    assertThat(updatedTree.hashTreeRoot()).isEqualTo(recursiveHashTreeRoot(updatedTree));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 1000})
+  void hashTreeRoot_shouldHandleSharedSubtrees(int elementCount) {
+    TreeNode element = TreeUtil.createTree(createLeaves(3));
+    TreeNode tree = TreeUtil.createDefaultTree(elementCount, element);
+
+    assertThat(tree.hashTreeRoot()).isEqualTo(recursiveHashTreeRoot(tree));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 255, 256, 257, 1000, 4096})
+  void hashTreeRootParallel_shouldMatchRecursiveHashing(int leafCount) {
+    TreeNode tree = TreeUtil.createTree(createLeaves(leafCount), 13);
+    Bytes32 expected = recursiveHashTreeRoot(tree);
+
+    assertThat(TreeHasher.hashTreeRootParallel(tree, 16)).isEqualTo(expected);
+    assertThat(tree.hashTreeRoot()).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3, 5, 255, 256, 257, 1000})
+  void merkleizeChunks_shouldMatchTreeRoot(int chunkCount) {
+    List<TreeNode> leaves = createLeaves(chunkCount);
+    byte[] chunks = new byte[chunkCount * Bytes32.SIZE];
+    for (int i = 0; i < chunkCount; i++) {
+      System.arraycopy(
+          leaves.get(i).hashTreeRoot().toArrayUnsafe(), 0, chunks, i * Bytes32.SIZE, Bytes32.SIZE);
+    }
+
+    Bytes32 expected = recursiveHashTreeRoot(TreeUtil.createTree(leaves, 11));
+    assertThat(TreeHasher.merkleizeChunks(chunks, chunkCount, 11)).isEqualTo(expected);
+  }
+}
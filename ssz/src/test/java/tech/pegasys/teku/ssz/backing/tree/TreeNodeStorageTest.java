@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.teku.ssz.backing.SszDataAssert.assertThatSszData;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.ssz.backing.SszData;
+import tech.pegasys.teku.ssz.backing.SszList;
+import tech.pegasys.teku.ssz.backing.SszMutableList;
+import tech.pegasys.teku.ssz.backing.TestContainers.TestSubContainer;
+import tech.pegasys.teku.ssz.backing.TestContainers.VariableSizeContainer;
+import tech.pegasys.teku.ssz.backing.schema.SszListSchema;
+import tech.pegasys.teku.ssz.backing.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.ssz.backing.schema.SszSchema;
+import tech.pegasys.teku.ssz.backing.schema.SszSchemaHints;
+import tech.pegasys.teku.ssz.backing.schema.SszType;
+import tech.pegasys.teku.ssz.backing.schema.SszVectorSchema;
+import tech.pegasys.teku.ssz.backing.schema.collections.SszBitlistSchema;
+import tech.pegasys.teku.ssz.backing.view.SszPrimitives.SszUInt64;
+
+public class TreeNodeStorageTest {
+
+  private static final Random random = new Random(1);
+
+  private final MapTreeNodeStore store = new MapTreeNodeStore();
+
+  static Stream<Arguments> storedData() {
+    SszListSchema<SszUInt64, ?> uintListSchema =
+        SszListSchema.create(SszPrimitiveSchemas.UINT64_SCHEMA, 100);
+    SszListSchema<TestSubContainer, ?> containerListSchema =
+        SszListSchema.create(TestSubContainer.SSZ_SCHEMA, 100);
+    SszListSchema<TestSubContainer, ?> superNodeListSchema =
+        SszListSchema.create(TestSubContainer.SSZ_SCHEMA, 100, SszSchemaHints.sszSuperNode(2));
+    return Stream.of(
+        Arguments.of(SszPrimitiveSchemas.UINT64_SCHEMA.sszDeserialize(randomBytes(8))),
+        Arguments.of(TestSubContainer.SSZ_SCHEMA.sszDeserialize(randomBytes(40))),
+        Arguments.of(
+            SszVectorSchema.create(SszPrimitiveSchemas.BYTE_SCHEMA, 67)
+                .sszDeserialize(randomBytes(67))),
+        Arguments.of(uintListSchema.getDefault()),
+        Arguments.of(uintListSchema.sszDeserialize(randomBytes(5 * 8))),
+        Arguments.of(containerListSchema.sszDeserialize(randomBytes(7 * 40))),
+        Arguments.of(superNodeListSchema.sszDeserialize(randomBytes(7 * 40))),
+        Arguments.of(SszBitlistSchema.create(100).ofBits(13, 0, 5, 12)),
+        Arguments.of(VariableSizeContainer.SSZ_SCHEMA.getDefault()),
+        Arguments.of(
+            VariableSizeContainer.SSZ_SCHEMA.sszDeserializeLazily(
+                Bytes.concatenate(
+                    randomBytes(40), SszType.lengthToBytes(52), randomBytes(8), randomBytes(24)))));
+  }
+
+  @ParameterizedTest
+  @MethodSource("storedData")
+  void loadBackingNodes_shouldRestoreStoredTree(SszData data) {
+    TreeNodeStorage.storeTree(data.getBackingNode(), store);
+
+    SszData loaded = load(data.getSchema(), data.hashTreeRoot());
+
+    assertThatSszData(loaded).isEqualByAllMeansTo(data);
+  }
+
+  @Test
+  void loadBackingNodes_shouldRestoreSuperNodes() {
+    SszListSchema<TestSubContainer, ?> schema =
+        SszListSchema.create(TestSubContainer.SSZ_SCHEMA, 100, SszSchemaHints.sszSuperNode(2));
+    SszList<TestSubContainer> list = schema.sszDeserialize(randomBytes(7 * 40));
+    TreeNodeStorage.storeTree(list.getBackingNode(), store);
+
+    SszList<TestSubContainer> loaded = load(schema, list.hashTreeRoot());
+
+    assertThat(loaded.getBackingNode().get(schema.getChildGeneralizedIndex(0)))
+        .isInstanceOf(SszSuperNode.class);
+    assertThatSszData(loaded).isEqualByAllMeansTo(list);
+  }
+
+  @Test
+  void loadBackingNodes_shouldRestoreSuperNodesStoredAsBranches() {
+    SszListSchema<TestSubContainer, ?> schema =
+        SszListSchema.create(TestSubContainer.SSZ_SCHEMA, 100);
+    SszListSchema<TestSubContainer, ?> superNodeSchema =
+        SszListSchema.create(TestSubContainer.SSZ_SCHEMA, 100, SszSchemaHints.sszSuperNode(2));
+    SszList<TestSubContainer> list = schema.sszDeserialize(randomBytes(7 * 40));
+    TreeNodeStorage.storeTree(list.getBackingNode(), store);
+
+    SszList<TestSubContainer> loaded = load(superNodeSchema, list.hashTreeRoot());
+
+    assertThat(loaded.hashTreeRoot()).isEqualTo(list.hashTreeRoot());
+    assertThat(loaded.sszSerialize()).isEqualTo(list.sszSerialize());
+  }
+
+  @Test
+  void storeTree_shouldOnlyStoreChangedNodes() {
+    SszListSchema<TestSubContainer, ?> schema =
+        SszListSchema.create(TestSubContainer.SSZ_SCHEMA, 1024);
+    SszList<TestSubContainer> list = schema.sszDeserialize(randomBytes(100 * 40));
+    TreeNodeStorage.storeTree(list.getBackingNode(), store);
+    int storedNodesCount = store.nodes.size();
+
+    TreeNodeStorage.storeTree(list.getBackingNode(), store);
+    assertThat(store.nodes).hasSize(storedNodesCount);
+
+    SszMutableList<TestSubContainer> mutableList = list.createWritableCopy();
+    mutableList.set(50, TestSubContainer.SSZ_SCHEMA.sszDeserialize(randomBytes(40)));
+    SszList<TestSubContainer> updatedList = mutableList.commitChanges();
+    TreeNodeStorage.storeTree(updatedList.getBackingNode(), store);
+
+    // list root + path to the element + the element root
+    assertThat(store.nodes).hasSize(storedNodesCount + 1 + schema.treeDepth() + 1);
+    assertThatSszData(load(schema, updatedList.hashTreeRoot())).isEqualByAllMeansTo(updatedList);
+    assertThatSszData(load(schema, list.hashTreeRoot())).isEqualByAllMeansTo(list);
+  }
+
+  @Test
+  void storeTree_shouldReferenceOnlyStoredChildren() {
+    SszList<SszUInt64> list =
+        SszListSchema.create(SszPrimitiveSchemas.UINT64_SCHEMA, 100)
+            .sszDeserialize(randomBytes(5 * 8));
+    TreeNodeStorage.storeTree(list.getBackingNode(), store);
+
+    store.childRoots.forEach(
+        (root, childRoots) -> {
+          childRoots.forEach(childRoot -> assertThat(store.nodes).containsKey(childRoot));
+          assertThat(TreeNodeStorage.getStoredChildRoots(store.nodes.get(root)))
+              .isEqualTo(childRoots);
+        });
+    // the list length leaf is not stored
+    assertThat(store.childRoots.get(list.hashTreeRoot())).hasSize(1);
+  }
+
+  @Test
+  void loadBackingNodes_shouldThrowWhenNodeIsMissing() {
+    SszList<TestSubContainer> list =
+        SszListSchema.create(TestSubContainer.SSZ_SCHEMA, 100)
+            .sszDeserialize(randomBytes(7 * 40));
+    TreeNodeStorage.storeTree(list.getBackingNode(), store);
+    store.nodes.remove(list.get(3).hashTreeRoot());
+
+    assertThatThrownBy(() -> load(list.getSchema(), list.hashTreeRoot()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends SszData> T load(SszSchema<?> schema, Bytes32 root) {
+    return (T) schema.createFromBackingNode(schema.loadBackingNodes(store, root));
+  }
+
+  private static Bytes randomBytes(int size) {
+    return Bytes.random(size, random);
+  }
+
+  private static class MapTreeNodeStore implements TreeNodeStore, TreeNodeSource {
+    private final Map<Bytes32, Bytes> nodes = new HashMap<>();
+    private final Map<Bytes32, List<Bytes32>> childRoots = new HashMap<>();
+
+    @Override
+    public boolean containsNode(Bytes32 root) {
+      return nodes.containsKey(root);
+    }
+
+    @Override
+    public void storeNode(Bytes32 root, Bytes node, List<Bytes32> childRoots) {
+      nodes.put(root, node);
+      this.childRoots.put(root, childRoots);
+    }
+
+    @Override
+    public Optional<Bytes> loadNode(Bytes32 root) {
+      return Optional.ofNullable(nodes.get(root));
+    }
+  }
+}
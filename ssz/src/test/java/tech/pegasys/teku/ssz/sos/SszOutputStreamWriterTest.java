@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.sos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.ssz.backing.SszList;
+import tech.pegasys.teku.ssz.backing.SszMutableList;
+import tech.pegasys.teku.ssz.backing.TestContainers.VariableSizeContainer;
+import tech.pegasys.teku.ssz.backing.schema.SszListSchema;
+import tech.pegasys.teku.ssz.backing.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.ssz.backing.view.SszPrimitives.SszUInt64;
+
+public class SszOutputStreamWriterTest {
+
+  private static final SszListSchema<SszUInt64, ?> LIST_SCHEMA =
+      SszListSchema.create(SszPrimitiveSchemas.UINT64_SCHEMA, 1024);
+  private static final SszListSchema<VariableSizeContainer, ?> CONTAINER_LIST_SCHEMA =
+      SszListSchema.create(VariableSizeContainer.SSZ_SCHEMA, 16);
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 7, 32, 100, 1 << 16})
+  void sszSerialize_shouldWriteTheSameBytesInChunks(int chunkSize) {
+    final SszList<VariableSizeContainer> data = createContainerList();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final SszOutputStreamWriter writer = new SszOutputStreamWriter(out, chunkSize);
+
+    data.sszSerialize(writer);
+    writer.flush();
+
+    assertThat(Bytes.wrap(out.toByteArray())).isEqualTo(data.sszSerialize());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {7, 32, 100, 1 << 16})
+  void write_shouldNotWriteToStreamUntilChunkIsFull(int chunkSize) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final SszOutputStreamWriter writer = new SszOutputStreamWriter(out, chunkSize);
+
+    writer.write(new byte[chunkSize - 1]);
+    assertThat(out.size()).isZero();
+
+    writer.write(new byte[2]);
+    assertThat(out.size()).isEqualTo(chunkSize - 1);
+
+    writer.flush();
+    assertThat(out.size()).isEqualTo(chunkSize + 1);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 500})
+  void sszSerializeToStream_shouldMatchSszSerialize(int elementCount) throws IOException {
+    final SszMutableList<SszUInt64> list = LIST_SCHEMA.getDefault().createWritableCopy();
+    for (int i = 0; i < elementCount; i++) {
+      list.append(new SszUInt64(UInt64.valueOf(i)));
+    }
+    final SszList<SszUInt64> data = list.commitChanges();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    data.sszSerialize(out);
+
+    assertThat(Bytes.wrap(out.toByteArray())).isEqualTo(data.sszSerialize());
+    assertThat(data.getSszSize()).isEqualTo(out.size());
+  }
+
+  private SszList<VariableSizeContainer> createContainerList() {
+    final SszMutableList<VariableSizeContainer> list =
+        CONTAINER_LIST_SCHEMA.getDefault().createWritableCopy();
+    for (int i = 0; i < 10; i++) {
+      list.append(VariableSizeContainer.SSZ_SCHEMA.getDefault());
+    }
+    return list.commitChanges();
+  }
+}
@@ -14,8 +14,10 @@
 package tech.pegasys.teku.storage.api;
 
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.events.ChannelInterface;
@@ -44,6 +46,13 @@ public interface StorageQueryChannel extends ChannelInterface {
 
   SafeFuture<Optional<SignedBeaconBlock>> getLatestFinalizedBlockAtSlot(final UInt64 slot);
 
+  /**
+   * Returns the SSZ serialized finalized blocks for slots {@code startSlot + n * step} up to and
+   * including endSlot, as stored without deserializing them.
+   */
+  SafeFuture<NavigableMap<UInt64, Bytes>> getFinalizedBlockSszBySlot(
+      final UInt64 startSlot, final UInt64 endSlot, final UInt64 step);
+
   SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(final Bytes32 blockRoot);
 
   SafeFuture<Optional<SignedBlockAndState>> getHotBlockAndStateByBlockRoot(final Bytes32 blockRoot);
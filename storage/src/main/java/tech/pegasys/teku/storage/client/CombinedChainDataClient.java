@@ -21,8 +21,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -134,6 +136,23 @@ public class CombinedChainDataClient {
     return historicalChainData.getLatestFinalizedBlockAtSlot(slot);
   }
 
+  /**
+   * Returns the SSZ serialized finalized blocks for slots <code>startSlot + n * step</code> up to
+   * and including <code>endSlot</code> without deserializing them. Empty slots are not included.
+   *
+   * @param startSlot the first slot to get the block for
+   * @param endSlot the last slot to get the block for
+   * @param step the distance between the requested slots
+   * @return the serialized blocks keyed by slot
+   */
+  public SafeFuture<NavigableMap<UInt64, Bytes>> getFinalizedBlockSszBySlot(
+      final UInt64 startSlot, final UInt64 endSlot, final UInt64 step) {
+    if (!isChainDataFullyAvailable()) {
+      return completedFuture(new TreeMap<>());
+    }
+    return historicalChainData.getFinalizedBlockSszBySlot(startSlot, endSlot, step);
+  }
+
   public SafeFuture<Optional<BeaconBlockAndState>> getBlockAndStateInEffectAtSlot(
       final UInt64 slot) {
     return getSignedBlockAndStateInEffectAtSlot(slot)
@@ -65,6 +65,11 @@ public class StorageUpdate {
         && stateRoots.isEmpty();
   }
 
+  /** Returns true if this update moves data from the hot database to the finalized database */
+  public boolean hasFinalizedData() {
+    return finalizedChainData.isPresent();
+  }
+
   public Optional<UInt64> getGenesisTime() {
     return genesisTime;
   }
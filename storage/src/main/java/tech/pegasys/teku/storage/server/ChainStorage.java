@@ -16,9 +16,13 @@ package tech.pegasys.teku.storage.server;
 import com.google.common.eventbus.EventBus;
 import java.util.Collection;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
@@ -46,22 +50,41 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel,
 
   private final Database database;
   private final FinalizedStateCache finalizedStateCache;
+  private final StorageUpdateWriter writer;
   private volatile Optional<StoreBuilder> cachedStore = Optional.empty();
 
   private ChainStorage(
+      final MetricsSystem metricsSystem,
       final EventBus eventBus,
       final Database database,
-      final FinalizedStateCache finalizedStateCache) {
+      final FinalizedStateCache finalizedStateCache,
+      final Executor writeExecutor) {
     this.eventBus = eventBus;
     this.database = database;
     this.finalizedStateCache = finalizedStateCache;
+    this.writer =
+        new StorageUpdateWriter(metricsSystem, database, writeExecutor, this::handleStoreUpdate);
   }
 
+  /**
+   * Creates the storage server.
+   *
+   * @param writeExecutor the executor to apply writes to the database on. It should run one task
+   *     at a time so that consecutive updates can be coalesced while a write is in progress.
+   */
   public static ChainStorage create(
-      final EventBus eventBus, final Database database, final Spec spec) {
+      final MetricsSystem metricsSystem,
+      final EventBus eventBus,
+      final Database database,
+      final Spec spec,
+      final Executor writeExecutor) {
     final int finalizedStateCacheSize = spec.getSlotsPerEpoch(SpecConstants.GENESIS_EPOCH) * 3;
     return new ChainStorage(
-        eventBus, database, new FinalizedStateCache(spec, database, finalizedStateCacheSize, true));
+        metricsSystem,
+        eventBus,
+        database,
+        new FinalizedStateCache(spec, database, finalizedStateCacheSize, true),
+        writeExecutor);
   }
 
   public void start() {
@@ -101,26 +124,22 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel,
 
   @Override
   public SafeFuture<Void> onStorageUpdate(final StorageUpdate event) {
-    return SafeFuture.fromRunnable(
-        () -> {
-          database.update(event);
-          handleStoreUpdate();
-        });
+    return writer.update(event);
   }
 
   @Override
   public SafeFuture<Void> onFinalizedBlocks(final Collection<SignedBeaconBlock> finalizedBlocks) {
-    return SafeFuture.fromRunnable(() -> database.storeFinalizedBlocks(finalizedBlocks));
+    return writer.write(() -> database.storeFinalizedBlocks(finalizedBlocks));
   }
 
   @Override
   public void onChainInitialized(final AnchorPoint initialAnchor) {
-    database.storeInitialAnchor(initialAnchor);
+    writer.write(() -> database.storeInitialAnchor(initialAnchor)).join();
   }
 
   @Override
   public SafeFuture<Void> onWeakSubjectivityUpdate(WeakSubjectivityUpdate weakSubjectivityUpdate) {
-    return SafeFuture.fromRunnable(
+    return writer.write(
         () -> {
           database.updateWeakSubjectivityState(weakSubjectivityUpdate);
         });
@@ -146,6 +165,12 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel,
     return SafeFuture.of(() -> database.getLatestFinalizedBlockAtSlot(slot));
   }
 
+  @Override
+  public SafeFuture<NavigableMap<UInt64, Bytes>> getFinalizedBlockSszBySlot(
+      final UInt64 startSlot, final UInt64 endSlot, final UInt64 step) {
+    return SafeFuture.of(() -> database.getFinalizedBlockSszBySlot(startSlot, endSlot, step));
+  }
+
   @Override
   public SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(final Bytes32 blockRoot) {
     return SafeFuture.of(() -> database.getSignedBlock(blockRoot));
@@ -217,6 +242,6 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel,
 
   @Override
   public void onVotesUpdated(final Map<UInt64, VoteTracker> votes) {
-    database.storeVotes(votes);
+    writer.write(() -> database.storeVotes(votes)).join();
   }
 }
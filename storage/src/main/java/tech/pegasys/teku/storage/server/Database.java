@@ -17,9 +17,11 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
@@ -41,6 +43,14 @@ public interface Database extends AutoCloseable {
 
   void update(StorageUpdate event);
 
+  /**
+   * Applies updates which don't contain finalized data in a single transaction. The updates are
+   * applied in order so later updates take precedence.
+   *
+   * @param events The updates to apply, none of which may contain finalized data
+   */
+  void updateHotData(List<StorageUpdate> events);
+
   void storeFinalizedBlocks(Collection<SignedBeaconBlock> blocks);
 
   void updateWeakSubjectivityState(WeakSubjectivityUpdate weakSubjectivityUpdate);
@@ -101,6 +111,18 @@ public interface Database extends AutoCloseable {
   @MustBeClosed
   Stream<SignedBeaconBlock> streamFinalizedBlocks(UInt64 startSlot, UInt64 endSlot);
 
+  /**
+   * Return the SSZ serialized finalized blocks from startSlot to endSlot (both inclusive) which
+   * slots are {@code startSlot + n * step}, as stored without deserializing them.
+   *
+   * @param startSlot the first slot to return a block for
+   * @param endSlot the last slot to return a block for
+   * @param step the distance between the requested slots
+   * @return the serialized blocks by slot, empty slots are not included
+   */
+  NavigableMap<UInt64, Bytes> getFinalizedBlockSszBySlot(
+      UInt64 startSlot, UInt64 endSlot, UInt64 step);
+
   List<Bytes32> getStateRootsBeforeSlot(final UInt64 slot);
 
   void addHotStateRoots(final Map<Bytes32, SlotAndBlockRoot> stateRootToSlotAndBlockRootMap);
@@ -20,6 +20,7 @@ public enum DatabaseVersion {
   V4("4"),
   V5("5"),
   V6("6"),
+  V6_BLOCK_SEGMENTS("6-block-segments"),
   LEVELDB1("leveldb1"),
   LEVELDB2("leveldb2");
 
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.storage.events.StorageUpdate;
+
+/**
+ * Applies writes to the database in the order they are received.
+ *
+ * <p>Writes are queued and applied by tasks run on the supplied executor, which is expected to run
+ * a single task at a time. Consecutive storage updates which don't contain finalized data are
+ * coalesced and committed in a single transaction. The future returned for each update completes
+ * once the transaction containing it is committed, so callers see the same ordering and
+ * durability as when each update is committed on its own. If a coalesced transaction fails, its
+ * updates are retried one at a time so an invalid update doesn't fail the others.
+ */
+class StorageUpdateWriter {
+  private static final Logger LOG = LogManager.getLogger();
+  @VisibleForTesting static final int MAX_BATCH_SIZE = 64;
+
+  private final Database database;
+  private final Executor executor;
+  private final Runnable onUpdateCommitted;
+  private final Queue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+
+  private final Counter batchCounter;
+  private final Counter updateCounter;
+  private final MetricsHistogram batchSizeHistogram;
+  private final OperationTimer commitTimer;
+
+  StorageUpdateWriter(
+      final MetricsSystem metricsSystem,
+      final Database database,
+      final Executor executor,
+      final Runnable onUpdateCommitted) {
+    this.database = database;
+    this.executor = executor;
+    this.onUpdateCommitted = onUpdateCommitted;
+
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.STORAGE,
+        "update_queue_size",
+        "Number of storage updates waiting to be written",
+        queue::size);
+    batchCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE,
+            "update_batch_count",
+            "Number of transactions committed for storage updates");
+    updateCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE,
+            "update_count",
+            "Number of storage updates committed, possibly coalesced into fewer transactions");
+    batchSizeHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.STORAGE,
+            metricsSystem,
+            "update_batch_size",
+            "Histogram recording the number of storage updates committed in each transaction",
+            1);
+    commitTimer =
+        metricsSystem
+            .createLabelledTimer(
+                TekuMetricCategory.STORAGE,
+                "update_commit_latency",
+                "Time taken to write and commit a batch of storage updates")
+            .labels();
+  }
+
+  public SafeFuture<Void> update(final StorageUpdate update) {
+    final Optional<StorageUpdate> hotUpdate =
+        update.hasFinalizedData() ? Optional.empty() : Optional.of(update);
+    return enqueue(new PendingWrite(() -> database.update(update), hotUpdate, true));
+  }
+
+  /** Runs a write which is ordered with the storage updates but never coalesced with them */
+  public SafeFuture<Void> write(final Runnable write) {
+    return enqueue(new PendingWrite(write, Optional.empty(), false));
+  }
+
+  private SafeFuture<Void> enqueue(final PendingWrite write) {
+    queue.add(write);
+    try {
+      executor.execute(this::writePending);
+    } catch (final RejectedExecutionException e) {
+      if (queue.remove(write)) {
+        write.future.completeExceptionally(new ShuttingDownException());
+      }
+    }
+    return write.future;
+  }
+
+  // Synchronized so that writes are applied in order even if the executor runs tasks concurrently
+  // and reentrant so that callbacks of completed writes can write synchronously
+  private synchronized void writePending() {
+    PendingWrite next;
+    while ((next = queue.poll()) != null) {
+      if (next.hotUpdate.isPresent()) {
+        final List<PendingWrite> batch = new ArrayList<>();
+        batch.add(next);
+        while (batch.size() < MAX_BATCH_SIZE
+            && queue.peek() != null
+            && queue.peek().hotUpdate.isPresent()) {
+          batch.add(queue.poll());
+        }
+        commitHotUpdates(batch);
+      } else if (next.isStorageUpdate) {
+        commitUpdates(List.of(next), next.write);
+      } else {
+        apply(List.of(next), next.write);
+      }
+    }
+  }
+
+  private void commitHotUpdates(final List<PendingWrite> batch) {
+    final List<StorageUpdate> updates = new ArrayList<>(batch.size());
+    batch.forEach(write -> updates.add(write.hotUpdate.orElseThrow()));
+    if (batch.size() == 1) {
+      commitUpdates(batch, () -> database.updateHotData(updates));
+      return;
+    }
+    final TimingContext timingContext = commitTimer.startTimer();
+    try {
+      database.updateHotData(updates);
+    } catch (final Throwable t) {
+      // Nothing from the batch was committed. Retry each update in its own transaction so only
+      // the updates which can't be applied fail.
+      LOG.debug("Failed to commit {} coalesced storage updates, retrying each", batch.size(), t);
+      batch.forEach(write -> commitUpdates(List.of(write), write.write));
+      return;
+    }
+    apply(batch, () -> onCommitted(timingContext, batch.size()));
+  }
+
+  private void commitUpdates(final List<PendingWrite> batch, final Runnable write) {
+    final TimingContext timingContext = commitTimer.startTimer();
+    apply(
+        batch,
+        () -> {
+          write.run();
+          onCommitted(timingContext, batch.size());
+        });
+  }
+
+  private void onCommitted(final TimingContext timingContext, final int updateCount) {
+    timingContext.stopTimer();
+    batchCounter.inc();
+    updateCounter.inc(updateCount);
+    batchSizeHistogram.recordValue(updateCount);
+    onUpdateCommitted.run();
+  }
+
+  private void apply(final List<PendingWrite> batch, final Runnable write) {
+    try {
+      write.run();
+    } catch (final Throwable t) {
+      LOG.debug("Failed to apply {} storage writes", batch.size(), t);
+      batch.forEach(pendingWrite -> pendingWrite.future.completeExceptionally(t));
+      return;
+    }
+    batch.forEach(pendingWrite -> pendingWrite.future.complete(null));
+  }
+
+  private static class PendingWrite {
+    private final Runnable write;
+    // Present if the write is an update which can be coalesced with other hot updates
+    private final Optional<StorageUpdate> hotUpdate;
+    private final boolean isStorageUpdate;
+    private final SafeFuture<Void> future = new SafeFuture<>();
+
+    private PendingWrite(
+        final Runnable write,
+        final Optional<StorageUpdate> hotUpdate,
+        final boolean isStorageUpdate) {
+      this.write = write;
+      this.hotUpdate = hotUpdate;
+      this.isStorageUpdate = isStorageUpdate;
+    }
+  }
+}
@@ -38,8 +38,10 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
   private static final Logger LOG = LogManager.getLogger();
 
   public static final long DEFAULT_STORAGE_FREQUENCY = 2048L;
+  public static final long DEFAULT_STATE_SNAPSHOT_FREQUENCY = 32768L;
   @VisibleForTesting static final String DB_PATH = "db";
   @VisibleForTesting static final String ARCHIVE_PATH = "archive";
+  @VisibleForTesting static final String BLOCK_SEGMENTS_PATH = "blocks";
   @VisibleForTesting static final String DB_VERSION_PATH = "db.version";
   @VisibleForTesting static final String METADATA_FILENAME = "metadata.yml";
   @VisibleForTesting static final String NETWORK_FILENAME = "network.yml";
@@ -49,10 +51,13 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
   private final File dbDirectory;
   private final File v5ArchiveDirectory;
   private final Optional<File> v6ArchiveDirectory;
+  private final File blockSegmentsDirectory;
   private final File dbVersionFile;
   private final StateStorageMode stateStorageMode;
   private final DatabaseVersion createDatabaseVersion;
   private final long stateStorageFrequency;
+  private final long stateSnapshotFrequency;
+  private final boolean storeHotStateTreeNodes;
   private final Optional<Eth1Address> eth1Address;
   private final Spec spec;
 
@@ -101,14 +106,64 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
       final long stateStorageFrequency,
       final Optional<Eth1Address> eth1Address,
       final Spec spec) {
+    this(
+        metricsSystem,
+        dataPath,
+        maybeArchiveDataPath,
+        dataStorageMode,
+        createDatabaseVersion,
+        stateStorageFrequency,
+        DEFAULT_STATE_SNAPSHOT_FREQUENCY,
+        eth1Address,
+        spec);
+  }
+
+  public VersionedDatabaseFactory(
+      final MetricsSystem metricsSystem,
+      final Path dataPath,
+      final Optional<Path> maybeArchiveDataPath,
+      final StateStorageMode dataStorageMode,
+      final DatabaseVersion createDatabaseVersion,
+      final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final Optional<Eth1Address> eth1Address,
+      final Spec spec) {
+    this(
+        metricsSystem,
+        dataPath,
+        maybeArchiveDataPath,
+        dataStorageMode,
+        createDatabaseVersion,
+        stateStorageFrequency,
+        stateSnapshotFrequency,
+        false,
+        eth1Address,
+        spec);
+  }
+
+  public VersionedDatabaseFactory(
+      final MetricsSystem metricsSystem,
+      final Path dataPath,
+      final Optional<Path> maybeArchiveDataPath,
+      final StateStorageMode dataStorageMode,
+      final DatabaseVersion createDatabaseVersion,
+      final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
+      final Optional<Eth1Address> eth1Address,
+      final Spec spec) {
     this.metricsSystem = metricsSystem;
     this.dataDirectory = dataPath.toFile();
     this.dbDirectory = this.dataDirectory.toPath().resolve(DB_PATH).toFile();
     this.v5ArchiveDirectory = this.dataDirectory.toPath().resolve(ARCHIVE_PATH).toFile();
     this.v6ArchiveDirectory = maybeArchiveDataPath.map(p -> p.resolve(ARCHIVE_PATH).toFile());
+    this.blockSegmentsDirectory =
+        maybeArchiveDataPath.orElse(dataPath).resolve(BLOCK_SEGMENTS_PATH).toFile();
     this.dbVersionFile = this.dataDirectory.toPath().resolve(DB_VERSION_PATH).toFile();
     this.stateStorageMode = dataStorageMode;
     this.stateStorageFrequency = stateStorageFrequency;
+    this.stateSnapshotFrequency = stateSnapshotFrequency;
+    this.storeHotStateTreeNodes = storeHotStateTreeNodes;
     this.eth1Address = eth1Address;
     this.spec = spec;
 
@@ -152,22 +207,16 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
             v5ArchiveDirectory.getAbsolutePath());
         break;
       case V6:
-        database = createV6Database();
-        if (v6ArchiveDirectory.isPresent()) {
-          LOG.info(
-              "Created V6 Hot database ({}) at {}",
-              dbVersion.getValue(),
-              dbDirectory.getAbsolutePath());
-          LOG.info(
-              "Created V6 Finalized database ({}) at {}",
-              dbVersion.getValue(),
-              v6ArchiveDirectory.get().getAbsolutePath());
-        } else {
-          LOG.info(
-              "Created V6 Hot and Finalized database ({}) at {}",
-              dbVersion.getValue(),
-              dbDirectory.getAbsolutePath());
-        }
+        database = createV6Database(Optional.empty());
+        logV6DatabaseCreated(dbVersion);
+        break;
+      case V6_BLOCK_SEGMENTS:
+        database = createV6Database(Optional.of(blockSegmentsDirectory.toPath()));
+        logV6DatabaseCreated(dbVersion);
+        LOG.info(
+            "Created finalized block segments ({}) at {}",
+            dbVersion.getValue(),
+            blockSegmentsDirectory.getAbsolutePath());
         break;
       case LEVELDB1:
         database = createLevelDbV1Database();
@@ -204,6 +253,24 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
     return database;
   }
 
+  private void logV6DatabaseCreated(final DatabaseVersion dbVersion) {
+    if (v6ArchiveDirectory.isPresent()) {
+      LOG.info(
+          "Created V6 Hot database ({}) at {}",
+          dbVersion.getValue(),
+          dbDirectory.getAbsolutePath());
+      LOG.info(
+          "Created V6 Finalized database ({}) at {}",
+          dbVersion.getValue(),
+          v6ArchiveDirectory.get().getAbsolutePath());
+    } else {
+      LOG.info(
+          "Created V6 Hot and Finalized database ({}) at {}",
+          dbVersion.getValue(),
+          dbDirectory.getAbsolutePath());
+    }
+  }
+
   private Database createV4Database() {
     try {
       DatabaseNetwork.init(
@@ -214,6 +281,8 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           RocksDbConfiguration.v4Settings(v5ArchiveDirectory.toPath()),
           stateStorageMode,
           stateStorageFrequency,
+          stateSnapshotFrequency,
+          storeHotStateTreeNodes,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read configuration file", e);
@@ -237,13 +306,15 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           metaData.getArchiveDbConfiguration().withDatabaseDir(v5ArchiveDirectory.toPath()),
           stateStorageMode,
           stateStorageFrequency,
+          stateSnapshotFrequency,
+          storeHotStateTreeNodes,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read metadata", e);
     }
   }
 
-  private Database createV6Database() {
+  private Database createV6Database(final Optional<Path> blockSegmentsDirectory) {
     try {
       final V6DatabaseMetadata defaultMetaData;
       if (v6ArchiveDirectory.isPresent()) {
@@ -285,8 +356,11 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           finalizedConfiguration,
           V4SchemaHot.create(spec),
           V6SchemaFinalized.create(spec),
+          blockSegmentsDirectory,
           stateStorageMode,
           stateStorageFrequency,
+          stateSnapshotFrequency,
+          storeHotStateTreeNodes,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read metadata", e);
@@ -310,6 +384,8 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           metaData.getArchiveDbConfiguration().withDatabaseDir(v5ArchiveDirectory.toPath()),
           stateStorageMode,
           stateStorageFrequency,
+          stateSnapshotFrequency,
+          storeHotStateTreeNodes,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read metadata", e);
@@ -360,6 +436,8 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           V6SchemaFinalized.create(spec),
           stateStorageMode,
           stateStorageFrequency,
+          stateSnapshotFrequency,
+          storeHotStateTreeNodes,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read metadata", e);
@@ -403,6 +481,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
         }
         break;
       case V6:
+      case V6_BLOCK_SEGMENTS:
       case LEVELDB2:
         v6ArchiveDirectory.ifPresent(
             archiveDirectory -> {
@@ -25,6 +25,7 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -35,6 +36,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
@@ -122,6 +124,15 @@ public class LevelDbInstance implements RocksDbAccessor {
         });
   }
 
+  @Override
+  public <K, V> Map<K, V> multiGet(final RocksDbColumn<K, V> column, final Collection<K> keys) {
+    final Map<K, V> values = new HashMap<>();
+    for (K key : keys) {
+      get(column, key).ifPresent(value -> values.put(key, value));
+    }
+    return values;
+  }
+
   @Override
   public <K, V> Optional<ColumnEntry<K, V>> getFloorEntry(
       final RocksDbColumn<K, V> column, final K key) {
@@ -221,13 +232,31 @@ public class LevelDbInstance implements RocksDbAccessor {
     return stream(column, fromBytes, toBytes);
   }
 
+  @Override
+  @MustBeClosed
+  public <K extends Comparable<K>, V> Stream<ColumnEntry<K, Bytes>> streamRaw(
+      final RocksDbColumn<K, V> column, final K from, final K to) {
+    final byte[] fromBytes = getColumnKey(column, from);
+    final byte[] toBytes = getColumnKey(column, to);
+    return stream(column, Bytes::wrap, fromBytes, toBytes);
+  }
+
   @MustBeClosed
   private <K, V> Stream<ColumnEntry<K, V>> stream(
       final RocksDbColumn<K, V> column, final byte[] fromBytes, final byte[] toBytes) {
+    return stream(column, column.getValueSerializer()::deserialize, fromBytes, toBytes);
+  }
+
+  @MustBeClosed
+  private <K, V> Stream<ColumnEntry<K, V>> stream(
+      final RocksDbColumn<K, ?> column,
+      final Function<byte[], V> valueDeserializer,
+      final byte[] fromBytes,
+      final byte[] toBytes) {
     assertOpen();
     final DBIterator iterator = createIterator();
     iterator.seek(fromBytes);
-    return new LevelDbIterator<>(this, iterator, column, toBytes)
+    return new LevelDbIterator<>(this, iterator, column, valueDeserializer, toBytes)
         .toStream()
         .onClose(() -> closeIterator(iterator));
   }
@@ -13,13 +13,15 @@
 
 package tech.pegasys.teku.storage.server.leveldb;
 
-import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.asColumnEntry;
+import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.deserializeKey;
 import static tech.pegasys.teku.storage.server.leveldb.LevelDbUtils.isFromColumn;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.iq80.leveldb.DBIterator;
@@ -30,7 +32,8 @@ public class LevelDbIterator<K, V> implements Iterator<ColumnEntry<K, V>> {
 
   private final LevelDbInstance dbInstance;
   private final DBIterator iterator;
-  private final RocksDbColumn<K, V> column;
+  private final RocksDbColumn<K, ?> column;
+  private final Function<byte[], V> valueDeserializer;
   private final byte[] lastKey;
 
   public LevelDbIterator(
@@ -38,9 +41,19 @@ public class LevelDbIterator<K, V> implements Iterator<ColumnEntry<K, V>> {
       final DBIterator iterator,
       final RocksDbColumn<K, V> column,
       final byte[] lastKey) {
+    this(dbInstance, iterator, column, column.getValueSerializer()::deserialize, lastKey);
+  }
+
+  public LevelDbIterator(
+      final LevelDbInstance dbInstance,
+      final DBIterator iterator,
+      final RocksDbColumn<K, ?> column,
+      final Function<byte[], V> valueDeserializer,
+      final byte[] lastKey) {
     this.dbInstance = dbInstance;
     this.iterator = iterator;
     this.column = column;
+    this.valueDeserializer = valueDeserializer;
     this.lastKey = lastKey;
   }
 
@@ -58,7 +71,9 @@ public class LevelDbIterator<K, V> implements Iterator<ColumnEntry<K, V>> {
   @Override
   public ColumnEntry<K, V> next() {
     dbInstance.assertOpen();
-    return asColumnEntry(column, iterator.next());
+    final Map.Entry<byte[], byte[]> entry = iterator.next();
+    return ColumnEntry.create(
+        deserializeKey(column, entry.getKey()), valueDeserializer.apply(entry.getValue()));
   }
 
   public Stream<ColumnEntry<K, V>> toStream() {
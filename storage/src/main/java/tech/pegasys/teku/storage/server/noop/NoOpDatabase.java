@@ -17,9 +17,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
@@ -44,6 +47,9 @@ public class NoOpDatabase implements Database {
   @Override
   public void update(final StorageUpdate event) {}
 
+  @Override
+  public void updateHotData(final List<StorageUpdate> events) {}
+
   @Override
   public void storeFinalizedBlocks(final Collection<SignedBeaconBlock> blocks) {}
 
@@ -121,6 +127,12 @@ public class NoOpDatabase implements Database {
     return Stream.empty();
   }
 
+  @Override
+  public NavigableMap<UInt64, Bytes> getFinalizedBlockSszBySlot(
+      final UInt64 startSlot, final UInt64 endSlot, final UInt64 step) {
+    return new TreeMap<>();
+  }
+
   @Override
   public List<Bytes32> getStateRootsBeforeSlot(final UInt64 slot) {
     return Collections.emptyList();
@@ -77,6 +77,11 @@ public class RocksDbConfiguration {
   @JsonProperty("bottomMostCompressionType")
   private CompressionType bottomMostCompressionType = CompressionType.NO_COMPRESSION;
 
+  // Tune each column family for its access pattern instead of using the same options everywhere.
+  // Profiles choose their own compression so the compression types above must be left unset.
+  @JsonProperty("columnProfilesEnabled")
+  private boolean columnProfilesEnabled = false;
+
   @JsonIgnore private Path databaseDir;
 
   public static RocksDbConfiguration v4Settings(final Path databaseDir) {
@@ -86,15 +91,20 @@ public class RocksDbConfiguration {
   public static RocksDbConfiguration v5HotDefaults() {
     final RocksDbConfiguration config = new RocksDbConfiguration();
     config.optimizeForSmallDb = true;
+    config.columnProfilesEnabled = true;
     return config;
   }
 
   public static RocksDbConfiguration v5ArchiveDefaults() {
-    return new RocksDbConfiguration();
+    final RocksDbConfiguration config = new RocksDbConfiguration();
+    config.columnProfilesEnabled = true;
+    return config;
   }
 
   public static RocksDbConfiguration v6SingleDefaults() {
-    return new RocksDbConfiguration();
+    final RocksDbConfiguration config = new RocksDbConfiguration();
+    config.columnProfilesEnabled = true;
+    return config;
   }
 
   public RocksDbConfiguration withDatabaseDir(final Path databaseDir) {
@@ -138,6 +148,10 @@ public class RocksDbConfiguration {
     return optimizeForSmallDb;
   }
 
+  public boolean isColumnProfilesEnabled() {
+    return columnProfilesEnabled;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -148,6 +162,7 @@ public class RocksDbConfiguration {
         .add("writeBufferCapacity", writeBufferCapacity)
         .add("compressionType", compressionType)
         .add("bottomMostCompressionType", bottomMostCompressionType)
+        .add("columnProfilesEnabled", columnProfilesEnabled)
         .add("databaseDir", databaseDir)
         .toString();
   }
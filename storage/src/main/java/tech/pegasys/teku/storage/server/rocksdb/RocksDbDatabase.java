@@ -26,6 +26,7 @@ import static tech.pegasys.teku.spec.datastructures.util.BeaconStateUtil.get_dom
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.annotations.MustBeClosed;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -33,6 +34,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -78,6 +80,7 @@ import tech.pegasys.teku.storage.server.StateStorageMode;
 import tech.pegasys.teku.storage.server.leveldb.LevelDbInstanceFactory;
 import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
 import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbInstanceFactory;
+import tech.pegasys.teku.storage.server.rocksdb.dataaccess.BlockSegmentFinalizedRocksDbDao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbEth1Dao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbEth1Dao.Eth1Updater;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbFinalizedDao;
@@ -87,11 +90,13 @@ import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbHotDao.HotUpda
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbProtoArrayDao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.V4FinalizedRocksDbDao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.V4HotRocksDbDao;
+import tech.pegasys.teku.storage.server.rocksdb.schema.BlockSegmentSchema;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumn;
 import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaFinalized;
 import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaHot;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaFinalized;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
+import tech.pegasys.teku.storage.server.segment.BlockSegmentStore;
 import tech.pegasys.teku.storage.server.state.StateRootRecorder;
 import tech.pegasys.teku.storage.store.StoreBuilder;
 
@@ -116,6 +121,8 @@ public class RocksDbDatabase implements Database {
       final RocksDbConfiguration finalizedConfiguration,
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
       final Spec spec) {
     final RocksDbAccessor hotDb =
         RocksDbInstanceFactory.create(
@@ -130,7 +137,14 @@ public class RocksDbDatabase implements Database {
             finalizedConfiguration,
             V4SchemaFinalized.create(spec).getAllColumns());
     return createV4(
-        metricsSystem, hotDb, finalizedDb, stateStorageMode, stateStorageFrequency, spec);
+        metricsSystem,
+        hotDb,
+        finalizedDb,
+        stateStorageMode,
+        stateStorageFrequency,
+        stateSnapshotFrequency,
+        storeHotStateTreeNodes,
+        spec);
   }
 
   public static Database createV6(
@@ -141,24 +155,59 @@ public class RocksDbDatabase implements Database {
       final SchemaFinalized schemaFinalized,
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
+      final Spec spec) {
+    return createV6(
+        metricsSystem,
+        hotConfiguration,
+        finalizedConfiguration,
+        schemaHot,
+        schemaFinalized,
+        Optional.empty(),
+        stateStorageMode,
+        stateStorageFrequency,
+        stateSnapshotFrequency,
+        storeHotStateTreeNodes,
+        spec);
+  }
+
+  /**
+   * Creates V6 database which, if {@code blockSegmentsDirectory} is present, stores finalized
+   * blocks in append-only segment files in that directory instead of RocksDB
+   */
+  public static Database createV6(
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration hotConfiguration,
+      final Optional<RocksDbConfiguration> finalizedConfiguration,
+      final SchemaHot schemaHot,
+      final SchemaFinalized schemaFinalized,
+      final Optional<Path> blockSegmentsDirectory,
+      final StateStorageMode stateStorageMode,
+      final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
       final Spec spec) {
     final RocksDbAccessor hotDb;
     final RocksDbAccessor finalizedDb;
 
+    final List<RocksDbColumn<?, ?>> finalizedColumns =
+        new ArrayList<>(schemaFinalized.getAllColumns());
+    if (blockSegmentsDirectory.isPresent()) {
+      finalizedColumns.addAll(BlockSegmentSchema.create().getAllColumns());
+    }
+
     if (finalizedConfiguration.isPresent()) {
       hotDb =
           RocksDbInstanceFactory.create(
               metricsSystem, STORAGE_HOT_DB, hotConfiguration, schemaHot.getAllColumns());
       finalizedDb =
           RocksDbInstanceFactory.create(
-              metricsSystem,
-              STORAGE_FINALIZED_DB,
-              finalizedConfiguration.get(),
-              schemaFinalized.getAllColumns());
+              metricsSystem, STORAGE_FINALIZED_DB, finalizedConfiguration.get(), finalizedColumns);
     } else {
 
       ArrayList<RocksDbColumn<?, ?>> allColumns = new ArrayList<>(schemaHot.getAllColumns());
-      allColumns.addAll(schemaFinalized.getAllColumns());
+      allColumns.addAll(finalizedColumns);
       finalizedDb =
           RocksDbInstanceFactory.create(metricsSystem, STORAGE, hotConfiguration, allColumns);
       hotDb = finalizedDb;
@@ -169,8 +218,11 @@ public class RocksDbDatabase implements Database {
         finalizedDb,
         schemaHot,
         schemaFinalized,
+        blockSegmentsDirectory,
         stateStorageMode,
         stateStorageFrequency,
+        stateSnapshotFrequency,
+        storeHotStateTreeNodes,
         spec);
   }
 
@@ -180,6 +232,8 @@ public class RocksDbDatabase implements Database {
       final RocksDbConfiguration finalizedConfiguration,
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
       final Spec spec) {
     final List<RocksDbColumn<?, ?>> v4FinalizedColumns =
         V4SchemaFinalized.create(spec).getAllColumns();
@@ -190,7 +244,14 @@ public class RocksDbDatabase implements Database {
         LevelDbInstanceFactory.create(
             metricsSystem, STORAGE_FINALIZED_DB, finalizedConfiguration, v4FinalizedColumns);
     return createV4(
-        metricsSystem, hotDb, finalizedDb, stateStorageMode, stateStorageFrequency, spec);
+        metricsSystem,
+        hotDb,
+        finalizedDb,
+        stateStorageMode,
+        stateStorageFrequency,
+        stateSnapshotFrequency,
+        storeHotStateTreeNodes,
+        spec);
   }
 
   public static Database createLevelDbV2(
@@ -201,6 +262,8 @@ public class RocksDbDatabase implements Database {
       final SchemaFinalized schemaFinalized,
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
       final Spec spec) {
     final RocksDbAccessor hotDb;
     final RocksDbAccessor finalizedDb;
@@ -231,6 +294,8 @@ public class RocksDbDatabase implements Database {
         schemaFinalized,
         stateStorageMode,
         stateStorageFrequency,
+        stateSnapshotFrequency,
+        storeHotStateTreeNodes,
         spec);
   }
 
@@ -240,11 +305,17 @@ public class RocksDbDatabase implements Database {
       final RocksDbAccessor finalizedDb,
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
       final Spec spec) {
-    final V4HotRocksDbDao dao = new V4HotRocksDbDao(hotDb, V4SchemaHot.create(spec));
+    final V4HotRocksDbDao dao =
+        new V4HotRocksDbDao(hotDb, V4SchemaHot.create(spec), storeHotStateTreeNodes, spec);
     final V4FinalizedRocksDbDao finalizedDbDao =
         new V4FinalizedRocksDbDao(
-            finalizedDb, V4SchemaFinalized.create(spec), stateStorageFrequency);
+            finalizedDb,
+            V4SchemaFinalized.create(spec),
+            stateStorageFrequency,
+            stateSnapshotFrequency);
     return new RocksDbDatabase(
         metricsSystem, dao, finalizedDbDao, dao, dao, stateStorageMode, spec);
   }
@@ -257,10 +328,47 @@ public class RocksDbDatabase implements Database {
       final SchemaFinalized schemaFinalized,
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
+      final Spec spec) {
+    return createV6(
+        metricsSystem,
+        hotDb,
+        finalizedDb,
+        schemaHot,
+        schemaFinalized,
+        Optional.empty(),
+        stateStorageMode,
+        stateStorageFrequency,
+        stateSnapshotFrequency,
+        storeHotStateTreeNodes,
+        spec);
+  }
+
+  static Database createV6(
+      final MetricsSystem metricsSystem,
+      final RocksDbAccessor hotDb,
+      final RocksDbAccessor finalizedDb,
+      final SchemaHot schemaHot,
+      final SchemaFinalized schemaFinalized,
+      final Optional<Path> blockSegmentsDirectory,
+      final StateStorageMode stateStorageMode,
+      final long stateStorageFrequency,
+      final long stateSnapshotFrequency,
+      final boolean storeHotStateTreeNodes,
       final Spec spec) {
-    final V4HotRocksDbDao dao = new V4HotRocksDbDao(hotDb, schemaHot);
+    final V4HotRocksDbDao dao = new V4HotRocksDbDao(hotDb, schemaHot, storeHotStateTreeNodes, spec);
     final V4FinalizedRocksDbDao finalizedDbDao =
-        new V4FinalizedRocksDbDao(finalizedDb, schemaFinalized, stateStorageFrequency);
+        blockSegmentsDirectory.isPresent()
+            ? BlockSegmentFinalizedRocksDbDao.create(
+                finalizedDb,
+                schemaFinalized,
+                blockSegmentsDirectory.get(),
+                BlockSegmentStore.DEFAULT_SEGMENT_SIZE,
+                stateStorageFrequency,
+                stateSnapshotFrequency)
+            : new V4FinalizedRocksDbDao(
+                finalizedDb, schemaFinalized, stateStorageFrequency, stateSnapshotFrequency);
     return new RocksDbDatabase(
         metricsSystem, dao, finalizedDbDao, dao, dao, stateStorageMode, spec);
   }
@@ -330,6 +438,20 @@ public class RocksDbDatabase implements Database {
     doUpdate(event);
   }
 
+  @Override
+  public void updateHotData(final List<StorageUpdate> events) {
+    checkArgument(
+        events.stream().noneMatch(StorageUpdate::hasFinalizedData),
+        "Finalized data must be written with update");
+    try (final HotUpdater updater = hotDao.hotUpdater()) {
+      events.stream()
+          .filter(event -> !event.isEmpty())
+          .forEach(event -> applyHotUpdates(updater, event));
+      LOG.trace("Committing {} hot db updates", events.size());
+      updater.commit();
+    }
+  }
+
   @Override
   public void storeFinalizedBlocks(final Collection<SignedBeaconBlock> blocks) {
     if (blocks.isEmpty()) {
@@ -568,6 +690,12 @@ public class RocksDbDatabase implements Database {
     return finalizedDao.streamFinalizedBlocks(startSlot, endSlot);
   }
 
+  @Override
+  public NavigableMap<UInt64, Bytes> getFinalizedBlockSszBySlot(
+      final UInt64 startSlot, final UInt64 endSlot, final UInt64 step) {
+    return finalizedDao.getFinalizedBlockSszBySlot(startSlot, endSlot, step);
+  }
+
   @Override
   public List<Bytes32> getStateRootsBeforeSlot(final UInt64 slot) {
     return hotDao.getStateRootsBeforeSlot(slot);
@@ -675,8 +803,6 @@ public class RocksDbDatabase implements Database {
 
     LOG.trace("Applying hot updates");
     try (final HotUpdater updater = hotDao.hotUpdater()) {
-      // Store new hot data
-      update.getGenesisTime().ifPresent(updater::setGenesisTime);
       update
           .getFinalizedCheckpoint()
           .ifPresent(
@@ -687,20 +813,7 @@ public class RocksDbDatabase implements Database {
                 updater.pruneHotStateRoots(hotDao.getStateRootsBeforeSlot(finalizedSlot));
                 updater.deleteHotState(checkpoint.getRoot());
               });
-
-      update.getJustifiedCheckpoint().ifPresent(updater::setJustifiedCheckpoint);
-      update.getBestJustifiedCheckpoint().ifPresent(updater::setBestJustifiedCheckpoint);
-      update.getLatestFinalizedState().ifPresent(updater::setLatestFinalizedState);
-
-      updater.addHotBlocks(update.getHotBlocks());
-      updater.addHotStates(update.getHotStates());
-
-      if (update.getStateRoots().size() > 0) {
-        updater.addHotStateRoots(update.getStateRoots());
-      }
-
-      // Delete finalized data from hot db
-      update.getDeletedHotBlocks().forEach(updater::deleteHotBlock);
+      applyHotUpdates(updater, update);
 
       LOG.trace("Committing hot db changes");
       updater.commit();
@@ -708,6 +821,24 @@ public class RocksDbDatabase implements Database {
     LOG.trace("Update complete");
   }
 
+  private void applyHotUpdates(final HotUpdater updater, final StorageUpdate update) {
+    // Store new hot data
+    update.getGenesisTime().ifPresent(updater::setGenesisTime);
+    update.getJustifiedCheckpoint().ifPresent(updater::setJustifiedCheckpoint);
+    update.getBestJustifiedCheckpoint().ifPresent(updater::setBestJustifiedCheckpoint);
+    update.getLatestFinalizedState().ifPresent(updater::setLatestFinalizedState);
+
+    updater.addHotBlocks(update.getHotBlocks());
+    updater.addHotStates(update.getHotStates());
+
+    if (update.getStateRoots().size() > 0) {
+      updater.addHotStateRoots(update.getStateRoots());
+    }
+
+    // Delete finalized data from hot db
+    update.getDeletedHotBlocks().forEach(updater::deleteHotBlock);
+  }
+
   private void updateFinalizedData(
       Map<Bytes32, Bytes32> finalizedChildToParentMap,
       final Map<Bytes32, SignedBeaconBlock> finalizedBlocks,
@@ -14,9 +14,11 @@
 package tech.pegasys.teku.storage.server.rocksdb.core;
 
 import com.google.errorprone.annotations.MustBeClosed;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumn;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbVariable;
 
@@ -28,6 +30,18 @@ public interface RocksDbAccessor extends AutoCloseable {
 
   <K, V> Map<K, V> getAll(RocksDbColumn<K, V> column);
 
+  /**
+   * Returns the values stored for the given keys, reading them in a single batch where the
+   * underlying database supports it.
+   *
+   * @param column The column we want to query
+   * @param keys The requested keys
+   * @param <K> The key type of the column
+   * @param <V> The value type of the column
+   * @return The stored values by key. Keys without a stored value are not included
+   */
+  <K, V> Map<K, V> multiGet(RocksDbColumn<K, V> column, Collection<K> keys);
+
   /**
    * Returns the last entry with a key less than or equal to the given key.
    *
@@ -76,6 +90,21 @@ public interface RocksDbAccessor extends AutoCloseable {
   <K extends Comparable<K>, V> Stream<ColumnEntry<K, V>> stream(
       RocksDbColumn<K, V> column, K from, K to);
 
+  /**
+   * Stream entries from a column between keys from and to fully inclusive, returning the values
+   * as the stored bytes rather than deserializing them.
+   *
+   * @param column the column to stream entries from
+   * @param from the first key to return
+   * @param to the last key to return
+   * @param <K> the key type of the column
+   * @param <V> the value type of the column
+   * @return a Stream of entries with serialized values between from and to (fully inclusive).
+   */
+  @MustBeClosed
+  <K extends Comparable<K>, V> Stream<ColumnEntry<K, Bytes>> streamRaw(
+      RocksDbColumn<K, V> column, K from, K to);
+
   RocksDbTransaction startTransaction();
 
   interface RocksDbTransaction extends AutoCloseable {
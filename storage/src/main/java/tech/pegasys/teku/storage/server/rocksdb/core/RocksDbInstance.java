@@ -15,6 +15,10 @@ package tech.pegasys.teku.storage.server.rocksdb.core;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.MustBeClosed;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +30,7 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.rocksdb.AbstractRocksIterator;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
@@ -90,6 +95,29 @@ public class RocksDbInstance implements RocksDbAccessor {
     }
   }
 
+  @Override
+  public <K, V> Map<K, V> multiGet(final RocksDbColumn<K, V> column, final Collection<K> keys) {
+    assertOpen();
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    final List<K> keyList = new ArrayList<>(keys);
+    final List<byte[]> keyBytes =
+        keyList.stream().map(column.getKeySerializer()::serialize).collect(Collectors.toList());
+    try {
+      final List<byte[]> values =
+          db.multiGetAsList(Collections.nCopies(keyBytes.size(), handle), keyBytes);
+      final Map<K, V> result = new HashMap<>();
+      for (int i = 0; i < keyList.size(); i++) {
+        final byte[] value = values.get(i);
+        if (value != null) {
+          result.put(keyList.get(i), column.getValueSerializer().deserialize(value));
+        }
+      }
+      return result;
+    } catch (RocksDBException e) {
+      throw RocksDbExceptionUtil.wrapException("Failed to get values", e);
+    }
+  }
+
   @Override
   public <K, V> Optional<ColumnEntry<K, V>> getFloorEntry(RocksDbColumn<K, V> column, final K key) {
     assertOpen();
@@ -139,6 +167,19 @@ public class RocksDbInstance implements RocksDbAccessor {
         key -> key.compareTo(to) <= 0);
   }
 
+  @Override
+  @SuppressWarnings("MustBeClosedChecker")
+  @MustBeClosed
+  public <K extends Comparable<K>, V> Stream<ColumnEntry<K, Bytes>> streamRaw(
+      final RocksDbColumn<K, V> column, final K from, final K to) {
+    assertOpen();
+    final RocksIterator rocksDbIterator = createIterator(column);
+    rocksDbIterator.seek(column.getKeySerializer().serialize(from));
+    return RocksDbIterator.createRaw(
+            column, rocksDbIterator, key -> key.compareTo(to) <= 0, closed::get)
+        .toStream();
+  }
+
   @Override
   @MustBeClosed
   public synchronized RocksDbTransaction startTransaction() {
@@ -160,12 +201,16 @@ public class RocksDbInstance implements RocksDbAccessor {
       RocksDbColumn<K, V> column,
       Consumer<RocksIterator> setupIterator,
       Predicate<K> continueTest) {
-    final ColumnFamilyHandle handle = columnHandles.get(column);
-    final RocksIterator rocksDbIterator = db.newIterator(handle);
+    final RocksIterator rocksDbIterator = createIterator(column);
     setupIterator.accept(rocksDbIterator);
     return RocksDbIterator.create(column, rocksDbIterator, continueTest, closed::get).toStream();
   }
 
+  private RocksIterator createIterator(final RocksDbColumn<?, ?> column) {
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    return db.newIterator(handle);
+  }
+
   @Override
   public synchronized void close() throws Exception {
     if (closed.compareAndSet(false, true)) {
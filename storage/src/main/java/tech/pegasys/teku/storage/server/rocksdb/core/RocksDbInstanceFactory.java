@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -26,12 +27,15 @@ import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.Env;
+import org.rocksdb.Filter;
 import org.rocksdb.LRUCache;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Statistics;
@@ -41,9 +45,19 @@ import tech.pegasys.teku.storage.server.DatabaseStorageException;
 import tech.pegasys.teku.storage.server.rocksdb.RocksDbConfiguration;
 import tech.pegasys.teku.storage.server.rocksdb.RocksDbExceptionUtil;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumn;
+import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile;
 import tech.pegasys.teku.storage.server.rocksdb.schema.Schema;
 
 public class RocksDbInstanceFactory {
+  private static final double BLOOM_FILTER_BITS_PER_KEY = 10;
+  private static final long POINT_LOOKUP_BLOCK_SIZE = 4 << 10;
+  private static final long RANGE_SCAN_BLOCK_SIZE = 16 << 10;
+  private static final long BLOB_BLOCK_SIZE = 64 << 10;
+  private static final long APPEND_ONLY_TARGET_FILE_SIZE = 256 << 20;
+  // The default column stores variables, including the latest finalized state
+  private static final RocksDbColumnProfile DEFAULT_COLUMN_PROFILE =
+      RocksDbColumnProfile.LARGE_BLOB;
+
   static {
     RocksDbUtil.loadNativeLibrary();
   }
@@ -59,17 +73,17 @@ public class RocksDbInstanceFactory {
     checkArgument(
         columns.stream().map(RocksDbColumn::getId).distinct().count() == columns.size(),
         "Column IDs are not distinct");
+    checkCompressionNotConfiguredWithColumnProfiles(configuration);
 
     // Create options
     final TransactionDBOptions txOptions = new TransactionDBOptions();
     final RocksDbStats rocksDbStats = new RocksDbStats(metricsSystem, metricCategory);
     final DBOptions dbOptions = createDBOptions(configuration, rocksDbStats.getStats());
     final LRUCache blockCache = new LRUCache(configuration.getCacheCapacity());
-    final ColumnFamilyOptions columnFamilyOptions =
-        createColumnFamilyOptions(configuration, blockCache);
     final List<AutoCloseable> resources =
-        new ArrayList<>(
-            List.of(txOptions, dbOptions, columnFamilyOptions, rocksDbStats, blockCache));
+        new ArrayList<>(List.of(txOptions, dbOptions, rocksDbStats, blockCache));
+    final Map<RocksDbColumnProfile, ColumnFamilyOptions> columnFamilyOptions =
+        createColumnFamilyOptions(configuration, blockCache, resources);
 
     List<ColumnFamilyDescriptor> columnDescriptors =
         createColumnFamilyDescriptors(columns, columnFamilyOptions);
@@ -112,6 +126,24 @@ public class RocksDbInstanceFactory {
     }
   }
 
+  /**
+   * Column profiles choose the compression of each column, so explicitly configured compression
+   * types would be silently ignored.
+   */
+  private static void checkCompressionNotConfiguredWithColumnProfiles(
+      final RocksDbConfiguration configuration) {
+    if (configuration.isColumnProfilesEnabled()
+        && (configuration.getCompressionType() != CompressionType.NO_COMPRESSION
+            || configuration.getBottomMostCompressionType() != CompressionType.NO_COMPRESSION)) {
+      throw DatabaseStorageException.unrecoverable(
+          "Database at "
+              + configuration.getDatabaseDir()
+              + " sets compressionType or bottomMostCompressionType but also enables "
+              + "columnProfilesEnabled. Column profiles choose the compression for each column, "
+              + "so remove the compression settings from the database metadata.");
+    }
+  }
+
   private static ColumnFamilyHandle getDefaultHandle(List<ColumnFamilyHandle> columnHandles) {
     return columnHandles.stream()
         .filter(
@@ -147,24 +179,87 @@ public class RocksDbInstanceFactory {
     return options;
   }
 
+  /**
+   * Creates the options to use for each column profile. Databases created before column profiles
+   * were introduced use the same options for every column.
+   *
+   * @param resources the list to add any created resources that need to be closed to
+   */
+  private static Map<RocksDbColumnProfile, ColumnFamilyOptions> createColumnFamilyOptions(
+      final RocksDbConfiguration configuration,
+      final Cache cache,
+      final List<AutoCloseable> resources) {
+    final Map<RocksDbColumnProfile, ColumnFamilyOptions> optionsByProfile =
+        new EnumMap<>(RocksDbColumnProfile.class);
+    if (!configuration.isColumnProfilesEnabled()) {
+      final ColumnFamilyOptions options =
+          new ColumnFamilyOptions()
+              .setCompressionType(configuration.getCompressionType())
+              .setBottommostCompressionType(configuration.getBottomMostCompressionType())
+              .setTableFormatConfig(createBlockBasedTableConfig(cache));
+      resources.add(options);
+      for (RocksDbColumnProfile profile : RocksDbColumnProfile.values()) {
+        optionsByProfile.put(profile, options);
+      }
+      return optionsByProfile;
+    }
+
+    final Filter bloomFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false);
+    resources.add(bloomFilter);
+    for (RocksDbColumnProfile profile : RocksDbColumnProfile.values()) {
+      final ColumnFamilyOptions options = createColumnFamilyOptions(profile, cache, bloomFilter);
+      resources.add(options);
+      optionsByProfile.put(profile, options);
+    }
+    return optionsByProfile;
+  }
+
   private static ColumnFamilyOptions createColumnFamilyOptions(
-      final RocksDbConfiguration configuration, final Cache cache) {
-    return new ColumnFamilyOptions()
-        .setCompressionType(configuration.getCompressionType())
-        .setBottommostCompressionType(configuration.getBottomMostCompressionType())
-        .setTableFormatConfig(createBlockBasedTableConfig(cache));
+      final RocksDbColumnProfile profile, final Cache cache, final Filter bloomFilter) {
+    final ColumnFamilyOptions options =
+        new ColumnFamilyOptions().setCompressionType(CompressionType.LZ4_COMPRESSION);
+    final BlockBasedTableConfig tableConfig = createBlockBasedTableConfig(cache);
+    switch (profile) {
+      case POINT_LOOKUP:
+        tableConfig.setBlockSize(POINT_LOOKUP_BLOCK_SIZE).setFilterPolicy(bloomFilter);
+        break;
+      case RANGE_SCAN:
+        tableConfig.setBlockSize(RANGE_SCAN_BLOCK_SIZE);
+        break;
+      case LARGE_BLOB:
+        // Blobs have few keys so the filter is cheap and avoids reading large blocks for misses
+        tableConfig.setBlockSize(BLOB_BLOCK_SIZE).setFilterPolicy(bloomFilter);
+        options.setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION);
+        break;
+      case APPEND_ONLY_BLOB:
+        // Keys are written in increasing order so new files are mostly moved down the levels
+        // without rewriting. Dynamic level sizing keeps space amplification low as data grows.
+        tableConfig.setBlockSize(BLOB_BLOCK_SIZE);
+        options
+            .setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION)
+            .setTargetFileSizeBase(APPEND_ONLY_TARGET_FILE_SIZE)
+            .setLevelCompactionDynamicLevelBytes(true);
+        break;
+      default:
+        throw new IllegalArgumentException("Unhandled column profile: " + profile);
+    }
+    return options.setTableFormatConfig(tableConfig);
   }
 
   private static List<ColumnFamilyDescriptor> createColumnFamilyDescriptors(
       final Collection<RocksDbColumn<?, ?>> columns,
-      final ColumnFamilyOptions columnFamilyOptions) {
+      final Map<RocksDbColumnProfile, ColumnFamilyOptions> columnFamilyOptions) {
     List<ColumnFamilyDescriptor> columnDescriptors =
         columns.stream()
             .map(
-                col -> new ColumnFamilyDescriptor(col.getId().toArrayUnsafe(), columnFamilyOptions))
+                col ->
+                    new ColumnFamilyDescriptor(
+                        col.getId().toArrayUnsafe(), columnFamilyOptions.get(col.getProfile())))
             .collect(Collectors.toList());
     columnDescriptors.add(
-        new ColumnFamilyDescriptor(Schema.DEFAULT_COLUMN_ID.toArrayUnsafe(), columnFamilyOptions));
+        new ColumnFamilyDescriptor(
+            Schema.DEFAULT_COLUMN_ID.toArrayUnsafe(),
+            columnFamilyOptions.get(DEFAULT_COLUMN_PROFILE)));
     return columnDescriptors;
   }
 
@@ -19,12 +19,14 @@ import java.util.NoSuchElementException;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import tech.pegasys.teku.storage.server.ShuttingDownException;
@@ -33,18 +35,21 @@ import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumn;
 class RocksDbIterator<TKey, TValue> implements Iterator<ColumnEntry<TKey, TValue>>, AutoCloseable {
   private static final Logger LOG = LogManager.getLogger();
 
-  private final RocksDbColumn<TKey, TValue> column;
+  private final RocksDbColumn<TKey, ?> column;
+  private final Function<byte[], TValue> valueDeserializer;
   private final RocksIterator rocksIterator;
   private final AtomicBoolean closed = new AtomicBoolean(false);
   private final Predicate<TKey> continueTest;
   private final Supplier<Boolean> isDatabaseClosed;
 
   private RocksDbIterator(
-      final RocksDbColumn<TKey, TValue> column,
+      final RocksDbColumn<TKey, ?> column,
+      final Function<byte[], TValue> valueDeserializer,
       final RocksIterator rocksIterator,
       final Predicate<TKey> continueTest,
       final Supplier<Boolean> isDatabaseClosed) {
     this.column = column;
+    this.valueDeserializer = valueDeserializer;
     this.rocksIterator = rocksIterator;
     this.continueTest = continueTest;
     this.isDatabaseClosed = isDatabaseClosed;
@@ -56,7 +61,18 @@ class RocksDbIterator<TKey, TValue> implements Iterator<ColumnEntry<TKey, TValue
       final RocksIterator rocksIt,
       final Predicate<K> continueTest,
       final Supplier<Boolean> isDatabaseClosed) {
-    return new RocksDbIterator<>(column, rocksIt, continueTest, isDatabaseClosed);
+    return new RocksDbIterator<>(
+        column, column.getValueSerializer()::deserialize, rocksIt, continueTest, isDatabaseClosed);
+  }
+
+  /** Creates an iterator which returns values as the stored bytes without deserializing them */
+  @MustBeClosed
+  public static <K> RocksDbIterator<K, Bytes> createRaw(
+      final RocksDbColumn<K, ?> column,
+      final RocksIterator rocksIt,
+      final Predicate<K> continueTest,
+      final Supplier<Boolean> isDatabaseClosed) {
+    return new RocksDbIterator<>(column, Bytes::wrap, rocksIt, continueTest, isDatabaseClosed);
   }
 
   @Override
@@ -78,7 +94,7 @@ class RocksDbIterator<TKey, TValue> implements Iterator<ColumnEntry<TKey, TValue
       throw new NoSuchElementException();
     }
     final TKey key = column.getKeySerializer().deserialize(rocksIterator.key());
-    final TValue value = column.getValueSerializer().deserialize(rocksIterator.value());
+    final TValue value = valueDeserializer.apply(rocksIterator.value());
     final ColumnEntry<TKey, TValue> entry = ColumnEntry.create(key, value);
     rocksIterator.next();
     return entry;
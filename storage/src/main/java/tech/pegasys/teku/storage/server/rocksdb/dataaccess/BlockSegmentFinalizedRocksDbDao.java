@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import com.google.errorprone.annotations.MustBeClosed;
+import java.nio.file.Path;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.storage.server.rocksdb.core.ColumnEntry;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
+import tech.pegasys.teku.storage.server.rocksdb.schema.BlockSegmentSchema;
+import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaFinalized;
+import tech.pegasys.teku.storage.server.segment.BlockSegmentStore;
+import tech.pegasys.teku.storage.server.segment.SegmentLocation;
+
+/**
+ * Same as {@link V4FinalizedRocksDbDao} except that finalized blocks are written to an append-only
+ * {@link BlockSegmentStore} instead of {@link SchemaFinalized#getColumnFinalizedBlocksBySlot()}.
+ * Only the location of every block is kept in RocksDB, so block data is never rewritten by
+ * compaction and is read straight from the memory mapped segments.
+ */
+public class BlockSegmentFinalizedRocksDbDao extends V4FinalizedRocksDbDao {
+  private final RocksDbAccessor db;
+  private final SchemaFinalized schema;
+  private final BlockSegmentSchema segmentSchema;
+  private final BlockSegmentStore segmentStore;
+  // Serializes commits which add blocks, see BlockSegmentFinalizedUpdater.commit
+  private final Object blockCommitLock = new Object();
+  private final UInt64 stateStorageFrequency;
+  private final UInt64 stateSnapshotFrequency;
+
+  private BlockSegmentFinalizedRocksDbDao(
+      final RocksDbAccessor db,
+      final SchemaFinalized schema,
+      final BlockSegmentSchema segmentSchema,
+      final BlockSegmentStore segmentStore,
+      final long stateStorageFrequency,
+      final long stateSnapshotFrequency) {
+    super(db, schema, stateStorageFrequency, stateSnapshotFrequency);
+    this.db = db;
+    this.schema = schema;
+    this.segmentSchema = segmentSchema;
+    this.segmentStore = segmentStore;
+    this.stateStorageFrequency = UInt64.valueOf(stateStorageFrequency);
+    this.stateSnapshotFrequency = UInt64.valueOf(stateSnapshotFrequency);
+  }
+
+  public static BlockSegmentFinalizedRocksDbDao create(
+      final RocksDbAccessor db,
+      final SchemaFinalized schema,
+      final Path segmentsDirectory,
+      final int segmentSize,
+      final long stateStorageFrequency,
+      final long stateSnapshotFrequency) {
+    final BlockSegmentSchema segmentSchema = BlockSegmentSchema.create();
+    final long endPosition =
+        db.get(segmentSchema.getVariableBlockSegmentsEndPosition())
+            .map(UInt64::longValue)
+            .orElse(0L);
+    final BlockSegmentStore segmentStore =
+        BlockSegmentStore.open(segmentsDirectory, segmentSize, endPosition);
+    return new BlockSegmentFinalizedRocksDbDao(
+        db, schema, segmentSchema, segmentStore, stateStorageFrequency, stateSnapshotFrequency);
+  }
+
+  @Override
+  public Optional<SignedBeaconBlock> getFinalizedBlockAtSlot(final UInt64 slot) {
+    return db.get(segmentSchema.getColumnFinalizedBlockLocationsBySlot(), slot)
+        .map(this::readBlock);
+  }
+
+  @Override
+  public Optional<UInt64> getEarliestFinalizedBlockSlot() {
+    return db.getFirstEntry(segmentSchema.getColumnFinalizedBlockLocationsBySlot())
+        .map(ColumnEntry::getKey);
+  }
+
+  @Override
+  public Optional<SignedBeaconBlock> getEarliestFinalizedBlock() {
+    return db.getFirstEntry(segmentSchema.getColumnFinalizedBlockLocationsBySlot())
+        .map(entry -> readBlock(entry.getValue()));
+  }
+
+  @Override
+  public Optional<SignedBeaconBlock> getLatestFinalizedBlockAtSlot(final UInt64 slot) {
+    return db.getFloorEntry(segmentSchema.getColumnFinalizedBlockLocationsBySlot(), slot)
+        .map(entry -> readBlock(entry.getValue()));
+  }
+
+  @Override
+  @MustBeClosed
+  public Stream<SignedBeaconBlock> streamFinalizedBlocks(
+      final UInt64 startSlot, final UInt64 endSlot) {
+    return db.stream(segmentSchema.getColumnFinalizedBlockLocationsBySlot(), startSlot, endSlot)
+        .map(entry -> readBlock(entry.getValue()));
+  }
+
+  @Override
+  public NavigableMap<UInt64, Bytes> getFinalizedBlockSszBySlot(
+      final UInt64 startSlot, final UInt64 endSlot, final UInt64 step) {
+    try (final Stream<ColumnEntry<UInt64, SegmentLocation>> stream =
+        db.stream(segmentSchema.getColumnFinalizedBlockLocationsBySlot(), startSlot, endSlot)) {
+      final NavigableMap<UInt64, Bytes> blocks = new TreeMap<>();
+      stream
+          .filter(entry -> entry.getKey().minus(startSlot).mod(step).isZero())
+          .forEach(entry -> blocks.put(entry.getKey(), segmentStore.read(entry.getValue())));
+      return blocks;
+    }
+  }
+
+  @Override
+  @MustBeClosed
+  public FinalizedUpdater finalizedUpdater() {
+    return new BlockSegmentFinalizedUpdater(
+        db,
+        schema,
+        segmentSchema,
+        segmentStore,
+        blockCommitLock,
+        stateStorageFrequency,
+        stateSnapshotFrequency);
+  }
+
+  @Override
+  public void close() throws Exception {
+    segmentStore.close();
+    super.close();
+  }
+
+  private SignedBeaconBlock readBlock(final SegmentLocation location) {
+    return SignedBeaconBlock.getSszSchema().sszDeserialize(segmentStore.read(location));
+  }
+
+  private static class BlockSegmentFinalizedUpdater extends V4FinalizedUpdater {
+    private final SchemaFinalized schema;
+    private final BlockSegmentSchema segmentSchema;
+    private final BlockSegmentStore segmentStore;
+    private final Object blockCommitLock;
+    private boolean blocksAdded = false;
+
+    BlockSegmentFinalizedUpdater(
+        final RocksDbAccessor db,
+        final SchemaFinalized schema,
+        final BlockSegmentSchema segmentSchema,
+        final BlockSegmentStore segmentStore,
+        final Object blockCommitLock,
+        final UInt64 stateStorageFrequency,
+        final UInt64 stateSnapshotFrequency) {
+      super(db, schema, stateStorageFrequency, stateSnapshotFrequency);
+      this.schema = schema;
+      this.segmentSchema = segmentSchema;
+      this.segmentStore = segmentStore;
+      this.blockCommitLock = blockCommitLock;
+    }
+
+    @Override
+    public void addFinalizedBlock(final SignedBeaconBlock block) {
+      final SegmentLocation location = segmentStore.append(block.sszSerialize());
+      transaction.put(schema.getColumnSlotsByFinalizedRoot(), block.getRoot(), block.getSlot());
+      transaction.put(
+          segmentSchema.getColumnFinalizedBlockLocationsBySlot(), block.getSlot(), location);
+      blocksAdded = true;
+    }
+
+    @Override
+    public void commit() {
+      if (!blocksAdded) {
+        super.commit();
+        return;
+      }
+      // Block data has to be on disk before the index referring to it is committed. Concurrent
+      // commits are serialized so that the persisted end position never moves backwards. The lock
+      // is separate from the segment store monitor so appends and reads aren't blocked while the
+      // segments are flushed.
+      synchronized (blockCommitLock) {
+        final long endPosition = segmentStore.sync();
+        transaction.put(
+            segmentSchema.getVariableBlockSegmentsEndPosition(), UInt64.valueOf(endPosition));
+        super.commit();
+      }
+    }
+  }
+}
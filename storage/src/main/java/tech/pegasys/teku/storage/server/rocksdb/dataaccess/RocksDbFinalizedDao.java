@@ -14,8 +14,10 @@
 package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
 
 import com.google.errorprone.annotations.MustBeClosed;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -45,6 +47,9 @@ public interface RocksDbFinalizedDao extends AutoCloseable {
   @MustBeClosed
   Stream<SignedBeaconBlock> streamFinalizedBlocks(UInt64 startSlot, UInt64 endSlot);
 
+  NavigableMap<UInt64, Bytes> getFinalizedBlockSszBySlot(
+      UInt64 startSlot, UInt64 endSlot, UInt64 step);
+
   Optional<UInt64> getSlotForFinalizedBlockRoot(Bytes32 blockRoot);
 
   Optional<UInt64> getSlotForFinalizedStateRoot(Bytes32 stateRoot);
@@ -14,8 +14,11 @@
 package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
 
 import com.google.errorprone.annotations.MustBeClosed;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -24,17 +27,29 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.server.rocksdb.core.ColumnEntry;
 import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
 import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaFinalized;
+import tech.pegasys.teku.storage.server.rocksdb.serialization.BeaconStateDiff;
 
+/**
+ * Finalized states are stored every {@code stateStorageFrequency} slots either as a full state
+ * snapshot or, until {@code stateSnapshotFrequency} slots have passed since the latest snapshot, as
+ * a {@link BeaconStateDiff} from that snapshot. Any stored state is thus reconstructed from at most
+ * one snapshot and one diff.
+ */
 public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
   private final RocksDbAccessor db;
   private final SchemaFinalized schema;
   private final UInt64 stateStorageFrequency;
+  private final UInt64 stateSnapshotFrequency;
 
   public V4FinalizedRocksDbDao(
-      final RocksDbAccessor db, final SchemaFinalized schema, final long stateStorageFrequency) {
+      final RocksDbAccessor db,
+      final SchemaFinalized schema,
+      final long stateStorageFrequency,
+      final long stateSnapshotFrequency) {
     this.db = db;
     this.schema = schema;
     this.stateStorageFrequency = UInt64.valueOf(stateStorageFrequency);
+    this.stateSnapshotFrequency = UInt64.valueOf(stateSnapshotFrequency);
   }
 
   @Override
@@ -65,8 +80,30 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
 
   @Override
   public Optional<BeaconState> getLatestAvailableFinalizedState(final UInt64 maxSlot) {
-    return db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot)
-        .map(ColumnEntry::getValue);
+    final Optional<ColumnEntry<UInt64, BeaconState>> maybeSnapshot =
+        db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot);
+    final Optional<ColumnEntry<UInt64, Bytes>> maybeDiff =
+        db.getFloorEntry(schema.getColumnFinalizedStateDiffsBySlot(), maxSlot);
+    if (maybeDiff.isEmpty()) {
+      return maybeSnapshot.map(ColumnEntry::getValue);
+    }
+    final UInt64 diffSlot = maybeDiff.get().getKey();
+    if (maybeSnapshot.isPresent() && maybeSnapshot.get().getKey().isGreaterThan(diffSlot)) {
+      return maybeSnapshot.map(ColumnEntry::getValue);
+    }
+
+    final Bytes diff = maybeDiff.get().getValue();
+    final UInt64 baseSlot = BeaconStateDiff.getBaseSlot(diff);
+    final BeaconState base =
+        maybeSnapshot
+            .filter(snapshot -> snapshot.getKey().equals(baseSlot))
+            .map(ColumnEntry::getValue)
+            .or(() -> db.get(schema.getColumnFinalizedStatesBySlot(), baseSlot))
+            .orElseThrow(
+                () ->
+                    new IllegalStateException(
+                        "Missing finalized state snapshot at slot " + baseSlot));
+    return Optional.of(BeaconStateDiff.apply(base, diff));
   }
 
   @Override
@@ -77,6 +114,19 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
         .map(ColumnEntry::getValue);
   }
 
+  @Override
+  public NavigableMap<UInt64, Bytes> getFinalizedBlockSszBySlot(
+      final UInt64 startSlot, final UInt64 endSlot, final UInt64 step) {
+    try (final Stream<ColumnEntry<UInt64, Bytes>> stream =
+        db.streamRaw(schema.getColumnFinalizedBlocksBySlot(), startSlot, endSlot)) {
+      final NavigableMap<UInt64, Bytes> blocks = new TreeMap<>();
+      stream
+          .filter(entry -> entry.getKey().minus(startSlot).mod(step).isZero())
+          .forEach(entry -> blocks.put(entry.getKey(), entry.getValue()));
+      return blocks;
+    }
+  }
+
   @Override
   public Optional<UInt64> getSlotForFinalizedBlockRoot(final Bytes32 blockRoot) {
     return db.get(schema.getColumnSlotsByFinalizedRoot(), blockRoot);
@@ -106,25 +156,31 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
   @Override
   @MustBeClosed
   public FinalizedUpdater finalizedUpdater() {
-    return new V4FinalizedRocksDbDao.V4FinalizedUpdater(db, schema, stateStorageFrequency);
+    return new V4FinalizedRocksDbDao.V4FinalizedUpdater(
+        db, schema, stateStorageFrequency, stateSnapshotFrequency);
   }
 
-  private static class V4FinalizedUpdater implements FinalizedUpdater {
-    private final RocksDbAccessor.RocksDbTransaction transaction;
+  static class V4FinalizedUpdater implements FinalizedUpdater {
+    final RocksDbAccessor.RocksDbTransaction transaction;
     private final RocksDbAccessor db;
     private final SchemaFinalized schema;
     private final UInt64 stateStorageFrequency;
+    private final UInt64 stateSnapshotFrequency;
     private Optional<UInt64> lastStateStoredSlot = Optional.empty();
     private boolean loadedLastStoreState = false;
+    private Optional<BeaconState> lastSnapshot = Optional.empty();
+    private boolean loadedLastSnapshot = false;
 
     V4FinalizedUpdater(
         final RocksDbAccessor db,
         final SchemaFinalized schema,
-        final UInt64 stateStorageFrequency) {
+        final UInt64 stateStorageFrequency,
+        final UInt64 stateSnapshotFrequency) {
       this.transaction = db.startTransaction();
       this.db = db;
       this.schema = schema;
       this.stateStorageFrequency = stateStorageFrequency;
+      this.stateSnapshotFrequency = stateSnapshotFrequency;
     }
 
     @Override
@@ -136,7 +192,10 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
     @Override
     public void addFinalizedState(final Bytes32 blockRoot, final BeaconState state) {
       if (!loadedLastStoreState) {
-        lastStateStoredSlot = db.getLastKey(schema.getColumnFinalizedStatesBySlot());
+        lastStateStoredSlot =
+            max(
+                db.getLastKey(schema.getColumnFinalizedStatesBySlot()),
+                db.getLastKey(schema.getColumnFinalizedStateDiffsBySlot()));
         loadedLastStoreState = true;
       }
       if (lastStateStoredSlot.isPresent()) {
@@ -155,10 +214,42 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
     }
 
     private void addFinalizedState(final BeaconState state) {
-      transaction.put(schema.getColumnFinalizedStatesBySlot(), state.getSlot(), state);
+      final Optional<BeaconState> diffBase =
+          getLastSnapshot()
+              .filter(
+                  snapshot ->
+                      state.getSlot().isLessThan(snapshot.getSlot().plus(stateSnapshotFrequency))
+                          && snapshot.getSchema().equals(state.getSchema()));
+      if (diffBase.isPresent()) {
+        transaction.put(
+            schema.getColumnFinalizedStateDiffsBySlot(),
+            state.getSlot(),
+            BeaconStateDiff.create(diffBase.get(), state));
+      } else {
+        transaction.put(schema.getColumnFinalizedStatesBySlot(), state.getSlot(), state);
+        lastSnapshot = Optional.of(state);
+        loadedLastSnapshot = true;
+      }
       lastStateStoredSlot = Optional.of(state.getSlot());
     }
 
+    private Optional<BeaconState> getLastSnapshot() {
+      if (!loadedLastSnapshot) {
+        lastSnapshot =
+            db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), UInt64.MAX_VALUE)
+                .map(ColumnEntry::getValue);
+        loadedLastSnapshot = true;
+      }
+      return lastSnapshot;
+    }
+
+    private static Optional<UInt64> max(final Optional<UInt64> a, final Optional<UInt64> b) {
+      if (a.isEmpty() || b.isEmpty()) {
+        return a.or(() -> b);
+      }
+      return Optional.of(a.get().max(b.get()));
+    }
+
     @Override
     public void commit() {
       // Commit db updates
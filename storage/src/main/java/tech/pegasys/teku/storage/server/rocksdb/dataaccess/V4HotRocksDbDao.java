@@ -13,17 +13,27 @@
 
 package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.google.errorprone.annotations.MustBeClosed;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.protoarray.ProtoArraySnapshot;
+import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpointEpochs;
 import tech.pegasys.teku.spec.datastructures.blocks.CheckpointEpochs;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -31,19 +41,48 @@ import tech.pegasys.teku.spec.datastructures.blocks.SlotAndBlockRoot;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateSchema;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeStorage;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeStore;
 import tech.pegasys.teku.storage.server.rocksdb.core.ColumnEntry;
 import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
 import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
 import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaHot;
-
+import tech.pegasys.teku.storage.server.state.SlotAndStateRoot;
+
+/**
+ * When {@code storeHotStateTreeNodes} is enabled, hot states are stored as deduplicated tree nodes
+ * (see {@link TreeNodeStorage}) so that the subtrees shared between states of a chain are stored
+ * only once. Every stored node has a reference count: the number of stored parent nodes plus the
+ * number of hot states referencing it. The node is deleted once its reference count drops to zero.
+ * A state is read back by fetching its nodes in one batch per tree level.
+ *
+ * <p>Reference counts are read from the database rather than from the transaction, so only one
+ * updater at a time may modify state trees. An updater takes the state tree lock before its first
+ * state tree read and holds it until it is committed or cancelled; other updaters wait for it.
+ *
+ * <p>Otherwise, and for states stored before it was enabled, each state is stored as a single
+ * serialized value. States stored in either format are loaded and pruned.
+ */
 public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbProtoArrayDao {
   // Persistent data
   private final RocksDbAccessor db;
   private final SchemaHot schema;
+  private final boolean storeHotStateTreeNodes;
+  private final Spec spec;
 
-  public V4HotRocksDbDao(final RocksDbAccessor db, final SchemaHot schema) {
+  private final ReentrantLock stateTreeLock = new ReentrantLock();
+
+  public V4HotRocksDbDao(
+      final RocksDbAccessor db,
+      final SchemaHot schema,
+      final boolean storeHotStateTreeNodes,
+      final Spec spec) {
     this.db = db;
     this.schema = schema;
+    this.storeHotStateTreeNodes = storeHotStateTreeNodes;
+    this.spec = spec;
   }
 
   @Override
@@ -83,7 +122,54 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
 
   @Override
   public Optional<BeaconState> getHotState(final Bytes32 root) {
-    return db.get(schema.getColumnHotStatesByRoot(), root);
+    final Optional<SlotAndStateRoot> stateTreeRoot =
+        db.get(schema.getColumnHotStateTreeRootsByBlockRoot(), root);
+    if (stateTreeRoot.isEmpty()) {
+      return db.get(schema.getColumnHotStatesByRoot(), root);
+    }
+    try {
+      return Optional.of(loadHotStateTree(stateTreeRoot.get()));
+    } catch (final IllegalStateException e) {
+      if (db.get(schema.getColumnHotStateTreeRootsByBlockRoot(), root).isEmpty()) {
+        // The state was pruned while being loaded
+        return Optional.empty();
+      }
+      throw e;
+    }
+  }
+
+  private BeaconState loadHotStateTree(final SlotAndStateRoot stateTreeRoot) {
+    final BeaconStateSchema stateSchema =
+        spec.atSlot(stateTreeRoot.getSlot()).getSchemaDefinitions().getBeaconStateSchema();
+    final Map<Bytes32, Bytes> nodes = loadStateTreeNodes(stateTreeRoot.getStateRoot());
+    final TreeNode tree =
+        stateSchema.loadBackingNodes(
+            nodeRoot -> Optional.ofNullable(nodes.get(nodeRoot)), stateTreeRoot.getStateRoot());
+    return stateSchema.createFromBackingNode(tree);
+  }
+
+  /**
+   * Reads all stored nodes of the state tree one tree level at a time, so the number of database
+   * reads is bounded by the tree depth rather than by the number of nodes.
+   */
+  private Map<Bytes32, Bytes> loadStateTreeNodes(final Bytes32 stateRoot) {
+    final Map<Bytes32, Bytes> nodes = new HashMap<>();
+    Set<Bytes32> levelRoots = Set.of(stateRoot);
+    while (!levelRoots.isEmpty()) {
+      final Map<Bytes32, Bytes> levelNodes =
+          db.multiGet(schema.getColumnHotStateTreeNodes(), levelRoots);
+      nodes.putAll(levelNodes);
+      final Set<Bytes32> nextLevelRoots = new HashSet<>();
+      for (Bytes node : levelNodes.values()) {
+        for (Bytes32 childRoot : TreeNodeStorage.getStoredChildRoots(node)) {
+          if (!nodes.containsKey(childRoot)) {
+            nextLevelRoots.add(childRoot);
+          }
+        }
+      }
+      levelRoots = nextLevelRoots;
+    }
+    return nodes;
   }
 
   @Override
@@ -142,19 +228,19 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
   @Override
   @MustBeClosed
   public HotUpdater hotUpdater() {
-    return new V4HotUpdater(db, schema);
+    return new V4HotUpdater(db, schema, storeHotStateTreeNodes, stateTreeLock);
   }
 
   @Override
   @MustBeClosed
   public Eth1Updater eth1Updater() {
-    return new V4HotUpdater(db, schema);
+    return new V4HotUpdater(db, schema, storeHotStateTreeNodes, stateTreeLock);
   }
 
   @Override
   @MustBeClosed
   public ProtoArrayUpdater protoArrayUpdater() {
-    return new V4HotUpdater(db, schema);
+    return new V4HotUpdater(db, schema, storeHotStateTreeNodes, stateTreeLock);
   }
 
   @Override
@@ -162,14 +248,33 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
     db.close();
   }
 
-  private static class V4HotUpdater implements HotUpdater, Eth1Updater, ProtoArrayUpdater {
+  private static class V4HotUpdater
+      implements HotUpdater, Eth1Updater, ProtoArrayUpdater, TreeNodeStore {
 
+    private final RocksDbAccessor db;
     private final RocksDbTransaction transaction;
     private final SchemaHot schema;
-
-    V4HotUpdater(final RocksDbAccessor db, final SchemaHot schema) {
+    private final boolean storeHotStateTreeNodes;
+    private final ReentrantLock stateTreeLock;
+    private boolean holdsStateTreeLock = false;
+
+    // The transaction can't be read from so the pending state tree updates are tracked here.
+    // An empty value means the entry is deleted
+    private final Map<Bytes32, Optional<SlotAndStateRoot>> pendingStateTreeRoots =
+        new HashMap<>();
+    private final Map<Bytes32, Optional<Bytes>> pendingNodes = new HashMap<>();
+    private final Map<Bytes32, Optional<UInt64>> pendingRefCounts = new HashMap<>();
+
+    V4HotUpdater(
+        final RocksDbAccessor db,
+        final SchemaHot schema,
+        final boolean storeHotStateTreeNodes,
+        final ReentrantLock stateTreeLock) {
+      this.db = db;
       this.transaction = db.startTransaction();
       this.schema = schema;
+      this.storeHotStateTreeNodes = storeHotStateTreeNodes;
+      this.stateTreeLock = stateTreeLock;
     }
 
     @Override
@@ -228,7 +333,30 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
 
     @Override
     public void addHotState(final Bytes32 blockRoot, final BeaconState state) {
-      transaction.put(schema.getColumnHotStatesByRoot(), blockRoot, state);
+      if (!storeHotStateTreeNodes) {
+        transaction.put(schema.getColumnHotStatesByRoot(), blockRoot, state);
+        return;
+      }
+      lockStateTrees();
+      if (getStateTreeRoot(blockRoot).isPresent()) {
+        return;
+      }
+      TreeNodeStorage.storeTree(state.getBackingNode(), this);
+      final Bytes32 stateRoot = state.hashTreeRoot();
+      incrementRefCount(stateRoot);
+      putStateTreeRoot(blockRoot, Optional.of(new SlotAndStateRoot(state.getSlot(), stateRoot)));
+    }
+
+    @Override
+    public boolean containsNode(final Bytes32 root) {
+      return getRefCount(root).isPresent();
+    }
+
+    @Override
+    public void storeNode(final Bytes32 root, final Bytes node, final List<Bytes32> childRoots) {
+      putNode(root, Optional.of(node));
+      putRefCount(root, Optional.of(UInt64.ZERO));
+      childRoots.forEach(this::incrementRefCount);
     }
 
     @Override
@@ -262,6 +390,95 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
     @Override
     public void deleteHotState(final Bytes32 blockRoot) {
       transaction.delete(schema.getColumnHotStatesByRoot(), blockRoot);
+      lockStateTrees();
+      final Optional<SlotAndStateRoot> stateTreeRoot = getStateTreeRoot(blockRoot);
+      if (stateTreeRoot.isPresent()) {
+        putStateTreeRoot(blockRoot, Optional.empty());
+        releaseNode(stateTreeRoot.get().getStateRoot());
+      }
+    }
+
+    /**
+     * Takes the state tree lock so the reference counts read from the database can't be changed by
+     * another updater before this one is committed.
+     */
+    private void lockStateTrees() {
+      if (holdsStateTreeLock) {
+        return;
+      }
+      checkState(
+          !stateTreeLock.isHeldByCurrentThread(),
+          "State trees are already being updated by another updater on this thread");
+      stateTreeLock.lock();
+      holdsStateTreeLock = true;
+    }
+
+    private void releaseNode(final Bytes32 root) {
+      final Deque<Bytes32> releasedRoots = new ArrayDeque<>();
+      releasedRoots.push(root);
+      while (!releasedRoots.isEmpty()) {
+        final Bytes32 nodeRoot = releasedRoots.pop();
+        final UInt64 refCount =
+            getRefCount(nodeRoot)
+                .orElseThrow(() -> new IllegalStateException("Missing tree node " + nodeRoot));
+        if (refCount.isGreaterThan(UInt64.ONE)) {
+          putRefCount(nodeRoot, Optional.of(refCount.decrement()));
+        } else {
+          getNode(nodeRoot)
+              .map(TreeNodeStorage::getStoredChildRoots)
+              .ifPresent(childRoots -> childRoots.forEach(releasedRoots::push));
+          putNode(nodeRoot, Optional.empty());
+          putRefCount(nodeRoot, Optional.empty());
+        }
+      }
+    }
+
+    private void incrementRefCount(final Bytes32 root) {
+      final UInt64 refCount =
+          getRefCount(root)
+              .orElseThrow(() -> new IllegalStateException("Missing tree node " + root));
+      putRefCount(root, Optional.of(refCount.increment()));
+    }
+
+    private Optional<SlotAndStateRoot> getStateTreeRoot(final Bytes32 blockRoot) {
+      return pendingStateTreeRoots.containsKey(blockRoot)
+          ? pendingStateTreeRoots.get(blockRoot)
+          : db.get(schema.getColumnHotStateTreeRootsByBlockRoot(), blockRoot);
+    }
+
+    private Optional<Bytes> getNode(final Bytes32 root) {
+      return pendingNodes.containsKey(root)
+          ? pendingNodes.get(root)
+          : db.get(schema.getColumnHotStateTreeNodes(), root);
+    }
+
+    private Optional<UInt64> getRefCount(final Bytes32 root) {
+      return pendingRefCounts.containsKey(root)
+          ? pendingRefCounts.get(root)
+          : db.get(schema.getColumnHotStateTreeNodeRefCounts(), root);
+    }
+
+    private void putStateTreeRoot(
+        final Bytes32 blockRoot, final Optional<SlotAndStateRoot> stateTreeRoot) {
+      pendingStateTreeRoots.put(blockRoot, stateTreeRoot);
+      stateTreeRoot.ifPresentOrElse(
+          value ->
+              transaction.put(schema.getColumnHotStateTreeRootsByBlockRoot(), blockRoot, value),
+          () -> transaction.delete(schema.getColumnHotStateTreeRootsByBlockRoot(), blockRoot));
+    }
+
+    private void putNode(final Bytes32 root, final Optional<Bytes> node) {
+      pendingNodes.put(root, node);
+      node.ifPresentOrElse(
+          value -> transaction.put(schema.getColumnHotStateTreeNodes(), root, value),
+          () -> transaction.delete(schema.getColumnHotStateTreeNodes(), root));
+    }
+
+    private void putRefCount(final Bytes32 root, final Optional<UInt64> refCount) {
+      pendingRefCounts.put(root, refCount);
+      refCount.ifPresentOrElse(
+          value -> transaction.put(schema.getColumnHotStateTreeNodeRefCounts(), root, value),
+          () -> transaction.delete(schema.getColumnHotStateTreeNodeRefCounts(), root));
     }
 
     @Override
@@ -294,7 +511,14 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
 
     @Override
     public void close() {
-      transaction.close();
+      try {
+        transaction.close();
+      } finally {
+        if (holdsStateTreeLock) {
+          holdsStateTreeLock = false;
+          stateTreeLock.unlock();
+        }
+      }
     }
   }
 }
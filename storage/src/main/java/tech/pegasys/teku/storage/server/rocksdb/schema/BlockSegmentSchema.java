@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.schema;
+
+import static tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile.RANGE_SCAN;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.SEGMENT_LOCATION_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.UINT64_SERIALIZER;
+
+import java.util.List;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.server.segment.BlockSegmentStore;
+import tech.pegasys.teku.storage.server.segment.SegmentLocation;
+
+/**
+ * Index of finalized blocks kept in a {@link BlockSegmentStore}. It is stored alongside {@link
+ * V6SchemaFinalized} so that the index and the segment end position are committed atomically with
+ * the rest of the finalized data.
+ */
+public class BlockSegmentSchema implements Schema {
+  // ids should be distinct from both V4SchemaHot and V6SchemaFinalized
+  private static final int ID_OFFSET = 128;
+
+  private static final RocksDbColumn<UInt64, SegmentLocation> FINALIZED_BLOCK_LOCATIONS_BY_SLOT =
+      RocksDbColumn.create(
+          ID_OFFSET + 6, UINT64_SERIALIZER, SEGMENT_LOCATION_SERIALIZER, RANGE_SCAN);
+
+  private static final RocksDbVariable<UInt64> BLOCK_SEGMENTS_END_POSITION =
+      RocksDbVariable.create(ID_OFFSET + 1, UINT64_SERIALIZER);
+
+  private static final BlockSegmentSchema INSTANCE = new BlockSegmentSchema();
+
+  private BlockSegmentSchema() {}
+
+  public static BlockSegmentSchema create() {
+    return INSTANCE;
+  }
+
+  public RocksDbColumn<UInt64, SegmentLocation> getColumnFinalizedBlockLocationsBySlot() {
+    return FINALIZED_BLOCK_LOCATIONS_BY_SLOT;
+  }
+
+  public RocksDbVariable<UInt64> getVariableBlockSegmentsEndPosition() {
+    return BLOCK_SEGMENTS_END_POSITION;
+  }
+
+  @Override
+  public List<RocksDbColumn<?, ?>> getAllColumns() {
+    return List.of(FINALIZED_BLOCK_LOCATIONS_BY_SLOT);
+  }
+
+  @Override
+  public List<RocksDbVariable<?>> getAllVariables() {
+    return List.of(BLOCK_SEGMENTS_END_POSITION);
+  }
+}
@@ -23,22 +23,33 @@ public class RocksDbColumn<TKey, TValue> {
   private final Bytes id;
   private final RocksDbSerializer<TKey> keySerializer;
   private final RocksDbSerializer<TValue> valueSerializer;
+  private final RocksDbColumnProfile profile;
 
   private RocksDbColumn(
       final byte[] id,
       final RocksDbSerializer<TKey> keySerializer,
-      final RocksDbSerializer<TValue> valueSerializer) {
+      final RocksDbSerializer<TValue> valueSerializer,
+      final RocksDbColumnProfile profile) {
     this.id = Bytes.wrap(id);
     this.keySerializer = keySerializer;
     this.valueSerializer = valueSerializer;
+    this.profile = profile;
   }
 
   public static <K, V> RocksDbColumn<K, V> create(
       final int id,
       final RocksDbSerializer<K> keySerializer,
       final RocksDbSerializer<V> valueSerializer) {
+    return create(id, keySerializer, valueSerializer, RocksDbColumnProfile.RANGE_SCAN);
+  }
+
+  public static <K, V> RocksDbColumn<K, V> create(
+      final int id,
+      final RocksDbSerializer<K> keySerializer,
+      final RocksDbSerializer<V> valueSerializer,
+      final RocksDbColumnProfile profile) {
     final byte byteId = toByteExact(id);
-    return new RocksDbColumn<>(new byte[] {byteId}, keySerializer, valueSerializer);
+    return new RocksDbColumn<>(new byte[] {byteId}, keySerializer, valueSerializer, profile);
   }
 
   public Bytes getId() {
@@ -53,6 +64,10 @@ public class RocksDbColumn<TKey, TValue> {
     return valueSerializer;
   }
 
+  public RocksDbColumnProfile getProfile() {
+    return profile;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) return true;
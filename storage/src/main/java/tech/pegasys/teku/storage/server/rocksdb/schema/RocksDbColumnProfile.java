@@ -0,0 +1,31 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.schema;
+
+/**
+ * Describes how a column is accessed so the database can tune the column family for that workload.
+ */
+public enum RocksDbColumnProfile {
+  /** Small values read by their exact key. Benefits from bloom filters and small blocks. */
+  POINT_LOOKUP,
+  /** Small values read by iterating over key ranges. Benefits from larger blocks. */
+  RANGE_SCAN,
+  /** Large values such as blocks and states which are read and replaced by their exact key. */
+  LARGE_BLOB,
+  /**
+   * Large values which are written once in increasing key order and never updated, such as
+   * finalized blocks and states. Benefits from strong compression and large files.
+   */
+  APPEND_ONLY_BLOB
+}
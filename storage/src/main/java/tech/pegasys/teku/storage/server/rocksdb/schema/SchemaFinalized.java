@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.storage.server.rocksdb.schema;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -25,5 +26,12 @@ public interface SchemaFinalized extends Schema {
 
   RocksDbColumn<UInt64, BeaconState> getColumnFinalizedStatesBySlot();
 
+  /**
+   * Finalized states stored as a {@link
+   * tech.pegasys.teku.storage.server.rocksdb.serialization.BeaconStateDiff} from the latest full
+   * state of {@link #getColumnFinalizedStatesBySlot()} preceding them
+   */
+  RocksDbColumn<UInt64, Bytes> getColumnFinalizedStateDiffsBySlot();
+
   RocksDbColumn<Bytes32, UInt64> getColumnSlotsByFinalizedStateRoot();
 }
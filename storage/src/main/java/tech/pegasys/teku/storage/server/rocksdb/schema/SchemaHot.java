@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.storage.server.rocksdb.schema;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
@@ -24,6 +25,7 @@ import tech.pegasys.teku.spec.datastructures.blocks.SlotAndBlockRoot;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.storage.server.state.SlotAndStateRoot;
 
 public interface SchemaHot extends Schema {
   RocksDbColumn<Bytes32, SignedBeaconBlock> getColumnHotBlocksByRoot();
@@ -41,6 +43,13 @@ public interface SchemaHot extends Schema {
 
   RocksDbColumn<Bytes32, BeaconState> getColumnHotStatesByRoot();
 
+  // Hot states stored as deduplicated tree nodes, see TreeNodeStorage
+  RocksDbColumn<Bytes32, SlotAndStateRoot> getColumnHotStateTreeRootsByBlockRoot();
+
+  RocksDbColumn<Bytes32, Bytes> getColumnHotStateTreeNodes();
+
+  RocksDbColumn<Bytes32, UInt64> getColumnHotStateTreeNodeRefCounts();
+
   // Variables
   RocksDbVariable<UInt64> getVariableGenesisTime();
 
@@ -13,12 +13,16 @@
 
 package tech.pegasys.teku.storage.server.rocksdb.schema;
 
+import static tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile.APPEND_ONLY_BLOB;
+import static tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile.POINT_LOOKUP;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.SIGNED_BLOCK_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.UINT64_SERIALIZER;
 
 import java.util.Collections;
 import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
@@ -28,16 +32,19 @@ import tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer;
 
 public class V4SchemaFinalized implements SchemaFinalized {
   private static final RocksDbColumn<Bytes32, UInt64> SLOTS_BY_FINALIZED_ROOT =
-      RocksDbColumn.create(1, BYTES32_SERIALIZER, UINT64_SERIALIZER);
+      RocksDbColumn.create(1, BYTES32_SERIALIZER, UINT64_SERIALIZER, POINT_LOOKUP);
   private static final RocksDbColumn<UInt64, SignedBeaconBlock> FINALIZED_BLOCKS_BY_SLOT =
-      RocksDbColumn.create(2, UINT64_SERIALIZER, SIGNED_BLOCK_SERIALIZER);
+      RocksDbColumn.create(2, UINT64_SERIALIZER, SIGNED_BLOCK_SERIALIZER, APPEND_ONLY_BLOB);
   private final RocksDbColumn<UInt64, BeaconState> finalizedStatesBySlot;
   private static final RocksDbColumn<Bytes32, UInt64> SLOTS_BY_FINALIZED_STATE_ROOT =
-      RocksDbColumn.create(4, BYTES32_SERIALIZER, UINT64_SERIALIZER);
+      RocksDbColumn.create(4, BYTES32_SERIALIZER, UINT64_SERIALIZER, POINT_LOOKUP);
+  private static final RocksDbColumn<UInt64, Bytes> FINALIZED_STATE_DIFFS_BY_SLOT =
+      RocksDbColumn.create(5, UINT64_SERIALIZER, BYTES_SERIALIZER, APPEND_ONLY_BLOB);
 
   private V4SchemaFinalized(final Spec spec) {
     this.finalizedStatesBySlot =
-        RocksDbColumn.create(3, UINT64_SERIALIZER, RocksDbSerializer.createStateSerializer(spec));
+        RocksDbColumn.create(
+            3, UINT64_SERIALIZER, RocksDbSerializer.createStateSerializer(spec), APPEND_ONLY_BLOB);
   }
 
   public static SchemaFinalized create(final Spec spec) {
@@ -59,6 +66,11 @@ public class V4SchemaFinalized implements SchemaFinalized {
     return finalizedStatesBySlot;
   }
 
+  @Override
+  public RocksDbColumn<UInt64, Bytes> getColumnFinalizedStateDiffsBySlot() {
+    return FINALIZED_STATE_DIFFS_BY_SLOT;
+  }
+
   @Override
   public RocksDbColumn<Bytes32, UInt64> getColumnSlotsByFinalizedStateRoot() {
     return SLOTS_BY_FINALIZED_STATE_ROOT;
@@ -70,7 +82,8 @@ public class V4SchemaFinalized implements SchemaFinalized {
         SLOTS_BY_FINALIZED_ROOT,
         FINALIZED_BLOCKS_BY_SLOT,
         finalizedStatesBySlot,
-        SLOTS_BY_FINALIZED_STATE_ROOT);
+        SLOTS_BY_FINALIZED_STATE_ROOT,
+        FINALIZED_STATE_DIFFS_BY_SLOT);
   }
 
   @Override
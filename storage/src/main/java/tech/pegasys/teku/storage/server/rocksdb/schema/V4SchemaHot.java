@@ -13,7 +13,11 @@
 
 package tech.pegasys.teku.storage.server.rocksdb.schema;
 
+import static tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile.LARGE_BLOB;
+import static tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile.POINT_LOOKUP;
+import static tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile.RANGE_SCAN;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.CHECKPOINT_EPOCHS_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.CHECKPOINT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER;
@@ -21,10 +25,12 @@ import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSeri
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.PROTO_ARRAY_SNAPSHOT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.SIGNED_BLOCK_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.SLOT_AND_BLOCK_ROOT_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.SLOT_AND_STATE_ROOT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.UINT64_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.VOTES_SERIALIZER;
 
 import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
@@ -38,22 +44,30 @@ import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer;
+import tech.pegasys.teku.storage.server.state.SlotAndStateRoot;
 
 public class V4SchemaHot implements SchemaHot {
   private static final RocksDbColumn<Bytes32, SignedBeaconBlock> HOT_BLOCKS_BY_ROOT =
-      RocksDbColumn.create(1, BYTES32_SERIALIZER, SIGNED_BLOCK_SERIALIZER);
+      RocksDbColumn.create(1, BYTES32_SERIALIZER, SIGNED_BLOCK_SERIALIZER, LARGE_BLOB);
   // Checkpoint states are no longer stored, keeping only for backwards compatibility.
   private final RocksDbColumn<Checkpoint, BeaconState> checkpointStates;
   private static final RocksDbColumn<UInt64, VoteTracker> VOTES =
-      RocksDbColumn.create(3, UINT64_SERIALIZER, VOTES_SERIALIZER);
+      RocksDbColumn.create(3, UINT64_SERIALIZER, VOTES_SERIALIZER, RANGE_SCAN);
   private static final RocksDbColumn<UInt64, DepositsFromBlockEvent> DEPOSITS_FROM_BLOCK_EVENTS =
-      RocksDbColumn.create(4, UINT64_SERIALIZER, DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER);
+      RocksDbColumn.create(4, UINT64_SERIALIZER, DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER, RANGE_SCAN);
   private static final RocksDbColumn<Bytes32, SlotAndBlockRoot> STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT =
-      RocksDbColumn.create(5, BYTES32_SERIALIZER, SLOT_AND_BLOCK_ROOT_SERIALIZER);
+      RocksDbColumn.create(5, BYTES32_SERIALIZER, SLOT_AND_BLOCK_ROOT_SERIALIZER, POINT_LOOKUP);
   private final RocksDbColumn<Bytes32, BeaconState> hotStatesByRoot;
   private static final RocksDbColumn<Bytes32, CheckpointEpochs>
       HOT_BLOCK_CHECKPOINT_EPOCHS_BY_ROOT =
-          RocksDbColumn.create(7, BYTES32_SERIALIZER, CHECKPOINT_EPOCHS_SERIALIZER);
+          RocksDbColumn.create(7, BYTES32_SERIALIZER, CHECKPOINT_EPOCHS_SERIALIZER, POINT_LOOKUP);
+  private static final RocksDbColumn<Bytes32, SlotAndStateRoot>
+      HOT_STATE_TREE_ROOTS_BY_BLOCK_ROOT =
+          RocksDbColumn.create(8, BYTES32_SERIALIZER, SLOT_AND_STATE_ROOT_SERIALIZER, POINT_LOOKUP);
+  private static final RocksDbColumn<Bytes32, Bytes> HOT_STATE_TREE_NODES =
+      RocksDbColumn.create(9, BYTES32_SERIALIZER, BYTES_SERIALIZER, POINT_LOOKUP);
+  private static final RocksDbColumn<Bytes32, UInt64> HOT_STATE_TREE_NODE_REF_COUNTS =
+      RocksDbColumn.create(10, BYTES32_SERIALIZER, UINT64_SERIALIZER, POINT_LOOKUP);
 
   // Variables
   private static final RocksDbVariable<UInt64> GENESIS_TIME =
@@ -77,8 +91,8 @@ public class V4SchemaHot implements SchemaHot {
   private V4SchemaHot(final Spec spec) {
     final RocksDbSerializer<BeaconState> stateSerializer =
         RocksDbSerializer.createStateSerializer(spec);
-    checkpointStates = RocksDbColumn.create(2, CHECKPOINT_SERIALIZER, stateSerializer);
-    hotStatesByRoot = RocksDbColumn.create(6, BYTES32_SERIALIZER, stateSerializer);
+    checkpointStates = RocksDbColumn.create(2, CHECKPOINT_SERIALIZER, stateSerializer, LARGE_BLOB);
+    hotStatesByRoot = RocksDbColumn.create(6, BYTES32_SERIALIZER, stateSerializer, LARGE_BLOB);
     latestFinalizedState = RocksDbVariable.create(5, stateSerializer);
   }
 
@@ -121,6 +135,21 @@ public class V4SchemaHot implements SchemaHot {
     return hotStatesByRoot;
   }
 
+  @Override
+  public RocksDbColumn<Bytes32, SlotAndStateRoot> getColumnHotStateTreeRootsByBlockRoot() {
+    return HOT_STATE_TREE_ROOTS_BY_BLOCK_ROOT;
+  }
+
+  @Override
+  public RocksDbColumn<Bytes32, Bytes> getColumnHotStateTreeNodes() {
+    return HOT_STATE_TREE_NODES;
+  }
+
+  @Override
+  public RocksDbColumn<Bytes32, UInt64> getColumnHotStateTreeNodeRefCounts() {
+    return HOT_STATE_TREE_NODE_REF_COUNTS;
+  }
+
   @Override
   public RocksDbVariable<UInt64> getVariableGenesisTime() {
     return GENESIS_TIME;
@@ -175,7 +204,10 @@ public class V4SchemaHot implements SchemaHot {
         DEPOSITS_FROM_BLOCK_EVENTS,
         STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT,
         hotStatesByRoot,
-        HOT_BLOCK_CHECKPOINT_EPOCHS_BY_ROOT);
+        HOT_BLOCK_CHECKPOINT_EPOCHS_BY_ROOT,
+        HOT_STATE_TREE_ROOTS_BY_BLOCK_ROOT,
+        HOT_STATE_TREE_NODES,
+        HOT_STATE_TREE_NODE_REF_COUNTS);
   }
 
   @Override
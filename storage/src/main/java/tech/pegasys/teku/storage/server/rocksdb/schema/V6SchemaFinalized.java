@@ -13,12 +13,16 @@
 
 package tech.pegasys.teku.storage.server.rocksdb.schema;
 
+import static tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile.APPEND_ONLY_BLOB;
+import static tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumnProfile.POINT_LOOKUP;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.SIGNED_BLOCK_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.UINT64_SERIALIZER;
 
 import java.util.Collections;
 import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
@@ -36,17 +40,23 @@ public class V6SchemaFinalized implements SchemaFinalized {
   private static final int ID_OFFSET = 128;
 
   private static final RocksDbColumn<Bytes32, UInt64> SLOTS_BY_FINALIZED_ROOT =
-      RocksDbColumn.create(ID_OFFSET + 1, BYTES32_SERIALIZER, UINT64_SERIALIZER);
+      RocksDbColumn.create(ID_OFFSET + 1, BYTES32_SERIALIZER, UINT64_SERIALIZER, POINT_LOOKUP);
   private static final RocksDbColumn<UInt64, SignedBeaconBlock> FINALIZED_BLOCKS_BY_SLOT =
-      RocksDbColumn.create(ID_OFFSET + 2, UINT64_SERIALIZER, SIGNED_BLOCK_SERIALIZER);
+      RocksDbColumn.create(
+          ID_OFFSET + 2, UINT64_SERIALIZER, SIGNED_BLOCK_SERIALIZER, APPEND_ONLY_BLOB);
   private final RocksDbColumn<UInt64, BeaconState> finalizedStatesBySlot;
   private static final RocksDbColumn<Bytes32, UInt64> SLOTS_BY_FINALIZED_STATE_ROOT =
-      RocksDbColumn.create(ID_OFFSET + 4, BYTES32_SERIALIZER, UINT64_SERIALIZER);
+      RocksDbColumn.create(ID_OFFSET + 4, BYTES32_SERIALIZER, UINT64_SERIALIZER, POINT_LOOKUP);
+  private static final RocksDbColumn<UInt64, Bytes> FINALIZED_STATE_DIFFS_BY_SLOT =
+      RocksDbColumn.create(ID_OFFSET + 5, UINT64_SERIALIZER, BYTES_SERIALIZER, APPEND_ONLY_BLOB);
 
   private V6SchemaFinalized(final Spec spec) {
     finalizedStatesBySlot =
         RocksDbColumn.create(
-            ID_OFFSET + 3, UINT64_SERIALIZER, RocksDbSerializer.createStateSerializer(spec));
+            ID_OFFSET + 3,
+            UINT64_SERIALIZER,
+            RocksDbSerializer.createStateSerializer(spec),
+            APPEND_ONLY_BLOB);
   }
 
   public static SchemaFinalized create(final Spec spec) {
@@ -68,6 +78,11 @@ public class V6SchemaFinalized implements SchemaFinalized {
     return finalizedStatesBySlot;
   }
 
+  @Override
+  public RocksDbColumn<UInt64, Bytes> getColumnFinalizedStateDiffsBySlot() {
+    return FINALIZED_STATE_DIFFS_BY_SLOT;
+  }
+
   @Override
   public RocksDbColumn<Bytes32, UInt64> getColumnSlotsByFinalizedStateRoot() {
     return SLOTS_BY_FINALIZED_STATE_ROOT;
@@ -79,7 +94,8 @@ public class V6SchemaFinalized implements SchemaFinalized {
         SLOTS_BY_FINALIZED_ROOT,
         FINALIZED_BLOCKS_BY_SLOT,
         finalizedStatesBySlot,
-        SLOTS_BY_FINALIZED_STATE_ROOT);
+        SLOTS_BY_FINALIZED_STATE_ROOT,
+        FINALIZED_STATE_DIFFS_BY_SLOT);
   }
 
   @Override
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.ssz.backing.SszData;
+import tech.pegasys.teku.ssz.backing.schema.AbstractSszContainerSchema;
+import tech.pegasys.teku.ssz.backing.schema.SszCollectionSchema;
+import tech.pegasys.teku.ssz.backing.schema.SszSchema;
+
+/**
+ * Compact difference between a base {@link BeaconState} snapshot and a later state of the same
+ * schema.
+ *
+ * <p>Only the top level state fields which changed are recorded. Fields sharing the same backing
+ * subtree are skipped without serialization. Collections of fixed size elements (validators,
+ * balances, randao mixes, block and state roots, etc) are recorded as their new length plus the
+ * changed elements only, unless writing the whole field is smaller. Other changed fields are
+ * recorded as their full SSZ.
+ *
+ * <p>Layout: {@code [base slot: long][changed field count: int]} followed by every changed field
+ * as {@code [field index: int][FULL_FIELD][ssz length: int][ssz]} or {@code [field index:
+ * int][CHANGED_ELEMENTS][element count: int][changed element count: int]([element index:
+ * int][element ssz])*}
+ */
+public class BeaconStateDiff {
+  private static final byte FULL_FIELD = 0;
+  private static final byte CHANGED_ELEMENTS = 1;
+
+  public static Bytes create(final BeaconState base, final BeaconState state) {
+    checkArgument(
+        base.getSchema().equals(state.getSchema()), "Can't diff states with different schemas");
+    final List<SszSchema<?>> fieldSchemas = state.getSchema().getFieldSchemas();
+    final List<Bytes> fieldDiffs = new ArrayList<>();
+    for (int fieldIndex = 0; fieldIndex < fieldSchemas.size(); fieldIndex++) {
+      final SszData baseField = base.get(fieldIndex);
+      final SszData field = state.get(fieldIndex);
+      if (baseField.getBackingNode() == field.getBackingNode()) {
+        continue;
+      }
+      final Bytes baseSsz = baseField.sszSerialize();
+      final Bytes ssz = field.sszSerialize();
+      if (!baseSsz.equals(ssz)) {
+        fieldDiffs.add(createFieldDiff(fieldIndex, fieldSchemas.get(fieldIndex), baseSsz, ssz));
+      }
+    }
+    return Bytes.wrap(
+        Bytes.ofUnsignedLong(base.getSlot().longValue()),
+        Bytes.ofUnsignedInt(fieldDiffs.size()),
+        Bytes.wrap(fieldDiffs.toArray(new Bytes[0])));
+  }
+
+  public static UInt64 getBaseSlot(final Bytes diff) {
+    return UInt64.fromLongBits(diff.getLong(0));
+  }
+
+  public static BeaconState apply(final BeaconState base, final Bytes diff) {
+    checkArgument(
+        getBaseSlot(diff).equals(base.getSlot()),
+        "Diff base slot %s doesn't match state slot %s",
+        getBaseSlot(diff),
+        base.getSlot());
+    final AbstractSszContainerSchema<?> schema = base.getSchema();
+    final List<SszSchema<?>> fieldSchemas = schema.getFieldSchemas();
+    final List<SszData> fields = new ArrayList<>(fieldSchemas.size());
+    for (int fieldIndex = 0; fieldIndex < fieldSchemas.size(); fieldIndex++) {
+      fields.add(base.get(fieldIndex));
+    }
+
+    final ByteBuffer buffer = ByteBuffer.wrap(diff.toArrayUnsafe());
+    buffer.position(Long.BYTES);
+    final int changedFieldCount = buffer.getInt();
+    for (int i = 0; i < changedFieldCount; i++) {
+      final int fieldIndex = buffer.getInt();
+      final SszSchema<?> fieldSchema = fieldSchemas.get(fieldIndex);
+      final byte fieldDiffType = buffer.get();
+      final byte[] ssz;
+      if (fieldDiffType == FULL_FIELD) {
+        ssz = new byte[buffer.getInt()];
+        buffer.get(ssz);
+      } else if (fieldDiffType == CHANGED_ELEMENTS) {
+        final int elementSize = getElementSize(fieldSchema);
+        final byte[] baseSsz = fields.get(fieldIndex).sszSerialize().toArrayUnsafe();
+        ssz = Arrays.copyOf(baseSsz, buffer.getInt() * elementSize);
+        final int changedElementCount = buffer.getInt();
+        for (int j = 0; j < changedElementCount; j++) {
+          buffer.get(ssz, buffer.getInt() * elementSize, elementSize);
+        }
+      } else {
+        throw new IllegalArgumentException("Unknown state field diff type: " + fieldDiffType);
+      }
+      fields.set(fieldIndex, fieldSchema.sszDeserialize(Bytes.wrap(ssz)));
+    }
+    return (BeaconState) schema.createFromBackingNode(schema.createTreeFromFieldValues(fields));
+  }
+
+  private static Bytes createFieldDiff(
+      final int fieldIndex, final SszSchema<?> fieldSchema, final Bytes baseSsz, final Bytes ssz) {
+    final int elementSize = getElementSize(fieldSchema);
+    if (elementSize > 0) {
+      final Bytes changedElements = createChangedElementsDiff(elementSize, baseSsz, ssz);
+      if (changedElements.size() < ssz.size()) {
+        return Bytes.wrap(
+            Bytes.ofUnsignedInt(fieldIndex), Bytes.of(CHANGED_ELEMENTS), changedElements);
+      }
+    }
+    return Bytes.wrap(
+        Bytes.ofUnsignedInt(fieldIndex),
+        Bytes.of(FULL_FIELD),
+        Bytes.ofUnsignedInt(ssz.size()),
+        ssz);
+  }
+
+  private static Bytes createChangedElementsDiff(
+      final int elementSize, final Bytes baseSsz, final Bytes ssz) {
+    final byte[] baseData = baseSsz.toArrayUnsafe();
+    final byte[] data = ssz.toArrayUnsafe();
+    final int elementCount = data.length / elementSize;
+    final int baseElementCount = baseData.length / elementSize;
+    final List<Bytes> changedElements = new ArrayList<>();
+    int diffSize = 2 * Integer.BYTES;
+    for (int i = 0; i < elementCount && diffSize < data.length; i++) {
+      final int from = i * elementSize;
+      final int to = from + elementSize;
+      if (i >= baseElementCount || !Arrays.equals(data, from, to, baseData, from, to)) {
+        changedElements.add(Bytes.ofUnsignedInt(i));
+        changedElements.add(Bytes.wrap(data, from, elementSize));
+        diffSize += Integer.BYTES + elementSize;
+      }
+    }
+    if (diffSize >= data.length) {
+      // Not worth it, the caller falls back to the full field
+      return ssz;
+    }
+    return Bytes.wrap(
+        Bytes.ofUnsignedInt(elementCount),
+        Bytes.ofUnsignedInt(changedElements.size() / 2),
+        Bytes.wrap(changedElements.toArray(new Bytes[0])));
+  }
+
+  /**
+   * Returns the SSZ size of elements if the field is a collection of fixed size elements which
+   * occupy whole bytes, or 0 otherwise
+   */
+  private static int getElementSize(final SszSchema<?> fieldSchema) {
+    if (!(fieldSchema instanceof SszCollectionSchema)) {
+      return 0;
+    }
+    final SszSchema<?> elementSchema = ((SszCollectionSchema<?, ?>) fieldSchema).getElementSchema();
+    if (!elementSchema.isFixedSize() || elementSchema.getBitsSize() < Byte.SIZE) {
+      return 0;
+    }
+    return elementSchema.getFixedPartSize();
+  }
+}
@@ -28,7 +28,8 @@ class BeaconStateSerializer implements RocksDbSerializer<BeaconState> {
 
   @Override
   public BeaconState deserialize(final byte[] data) {
-    return spec.deserializeBeaconState(Bytes.wrap(data));
+    // stored states are trusted so only the fields which are accessed get deserialized
+    return spec.deserializeBeaconStateLazily(Bytes.wrap(data));
   }
 
   @Override
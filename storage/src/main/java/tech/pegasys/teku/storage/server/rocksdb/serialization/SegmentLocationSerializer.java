@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import java.nio.ByteBuffer;
+import tech.pegasys.teku.storage.server.segment.SegmentLocation;
+
+class SegmentLocationSerializer implements RocksDbSerializer<SegmentLocation> {
+  private static final int SIZE = 3 * Integer.BYTES;
+
+  @Override
+  public SegmentLocation deserialize(final byte[] data) {
+    final ByteBuffer buffer = ByteBuffer.wrap(data);
+    return new SegmentLocation(buffer.getInt(), buffer.getInt(), buffer.getInt());
+  }
+
+  @Override
+  public byte[] serialize(final SegmentLocation value) {
+    return ByteBuffer.allocate(SIZE)
+        .putInt(value.getSegment())
+        .putInt(value.getOffset())
+        .putInt(value.getLength())
+        .array();
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.segment;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.storage.server.DatabaseStorageException;
+import tech.pegasys.teku.storage.server.ShuttingDownException;
+
+/**
+ * Append-only store of immutable entries (SSZ encoded finalized blocks) kept in fixed-size segment
+ * files which are memory mapped.
+ *
+ * <p>Entries never span segments: when the remainder of the current segment is too small the entry
+ * is written at the start of the next segment. Reads return {@link Bytes} wrapping a slice of the
+ * mapped segment, so no data is copied until the entry is deserialized.
+ *
+ * <p>The store does not keep an index of its entries. The caller records the returned {@link
+ * SegmentLocation}s together with the position returned by {@link #sync()} and passes that
+ * position back to {@link #open(Path, int, long)} on restart. Anything written after the last
+ * recorded position is then overwritten.
+ *
+ * <p>Once {@link #close() closed} the store rejects any further access with {@link
+ * ShuttingDownException} and drops its references to the mapped segments. Java can't unmap a buffer
+ * explicitly, so each mapping is released when its buffer and any {@link Bytes} previously returned
+ * by {@link #read(SegmentLocation)} are garbage collected.
+ */
+public class BlockSegmentStore implements AutoCloseable {
+  public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024 * 1024;
+  private static final String SEGMENT_FILE_FORMAT = "blocks-%06d.seg";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final Map<Integer, MappedByteBuffer> segments = new ConcurrentHashMap<>();
+  // Serializes syncs so a position is only returned once all data before it has been flushed
+  private final Object syncLock = new Object();
+
+  // Guarded by this
+  private final Set<Integer> unsyncedSegments = new HashSet<>();
+  private long endPosition;
+  private volatile boolean closed = false;
+
+  private BlockSegmentStore(final Path directory, final int segmentSize, final long endPosition) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.endPosition = endPosition;
+  }
+
+  /**
+   * Opens the store located in {@code directory}
+   *
+   * @param directory the directory containing segment files, created if it doesn't exist
+   * @param segmentSize the size of every segment file, must not change between restarts
+   * @param endPosition the position returned by the latest {@link #sync()} which result was
+   *     persisted, or 0 for a new store
+   * @return the opened store
+   */
+  public static BlockSegmentStore open(
+      final Path directory, final int segmentSize, final long endPosition) {
+    checkArgument(segmentSize > 0, "Segment size must be positive");
+    checkArgument(endPosition >= 0, "Invalid end position %s", endPosition);
+    try {
+      Files.createDirectories(directory);
+    } catch (final IOException e) {
+      throw DatabaseStorageException.unrecoverable(
+          "Unable to create the path to store block segments at " + directory, e);
+    }
+    return new BlockSegmentStore(directory, segmentSize, endPosition);
+  }
+
+  /** Appends the data to the store. The data is durable only after the next {@link #sync()} */
+  public synchronized SegmentLocation append(final Bytes data) {
+    checkArgument(
+        data.size() <= segmentSize,
+        "Entry of %s bytes exceeds segment size of %s bytes",
+        data.size(),
+        segmentSize);
+    int segment = Math.toIntExact(endPosition / segmentSize);
+    int offset = (int) (endPosition % segmentSize);
+    if (offset + data.size() > segmentSize) {
+      segment++;
+      offset = 0;
+    }
+    final ByteBuffer buffer = getSegment(segment).duplicate();
+    buffer.position(offset);
+    buffer.put(data.toArrayUnsafe());
+    unsyncedSegments.add(segment);
+    endPosition = (long) segment * segmentSize + offset + data.size();
+    return new SegmentLocation(segment, offset, data.size());
+  }
+
+  /** Returns the entry data without copying it out of the mapped segment */
+  public Bytes read(final SegmentLocation location) {
+    checkArgument(
+        location.getOffset() + location.getLength() <= segmentSize,
+        "Invalid location %s",
+        location);
+    final ByteBuffer buffer = getSegment(location.getSegment()).duplicate();
+    buffer.position(location.getOffset());
+    buffer.limit(location.getOffset() + location.getLength());
+    return Bytes.wrapByteBuffer(buffer.slice());
+  }
+
+  /**
+   * Flushes all appended data to disk
+   *
+   * @return the end position of the store which covers all data flushed by this call
+   */
+  public long sync() {
+    synchronized (syncLock) {
+      final List<MappedByteBuffer> toSync = new ArrayList<>();
+      final long syncedPosition;
+      synchronized (this) {
+        assertOpen();
+        unsyncedSegments.forEach(segment -> toSync.add(segments.get(segment)));
+        unsyncedSegments.clear();
+        syncedPosition = endPosition;
+      }
+      // Flush without holding the store monitor so that appends and reads aren't blocked by disk IO
+      toSync.forEach(MappedByteBuffer::force);
+      return syncedPosition;
+    }
+  }
+
+  public synchronized long getEndPosition() {
+    return endPosition;
+  }
+
+  /**
+   * Closes the store. Data appended since the last {@link #sync()} is not flushed and will be
+   * overwritten when the store is reopened at the last persisted position.
+   */
+  @Override
+  public void close() {
+    // Wait for an in progress sync to complete flushing
+    synchronized (syncLock) {
+      synchronized (this) {
+        closed = true;
+        unsyncedSegments.clear();
+        segments.clear();
+      }
+    }
+  }
+
+  private MappedByteBuffer getSegment(final int segment) {
+    assertOpen();
+    return segments.computeIfAbsent(segment, this::mapSegment);
+  }
+
+  private void assertOpen() {
+    if (closed) {
+      throw new ShuttingDownException();
+    }
+  }
+
+  private MappedByteBuffer mapSegment(final int segment) {
+    final Path file = directory.resolve(String.format(SEGMENT_FILE_FORMAT, segment));
+    try (final FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      // Mapping beyond the end of the file grows it to the full segment size
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    } catch (final IOException e) {
+      throw DatabaseStorageException.unrecoverable("Unable to map block segment " + file, e);
+    }
+  }
+}
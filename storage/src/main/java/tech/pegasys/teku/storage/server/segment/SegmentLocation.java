@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.segment;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+
+/** Position of a single entry within the files of a {@link BlockSegmentStore} */
+public class SegmentLocation {
+  private final int segment;
+  private final int offset;
+  private final int length;
+
+  public SegmentLocation(final int segment, final int offset, final int length) {
+    this.segment = segment;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  public int getSegment() {
+    return segment;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getLength() {
+    return length;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final SegmentLocation that = (SegmentLocation) o;
+    return segment == that.segment && offset == that.offset && length == that.length;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(segment, offset, length);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("segment", segment)
+        .add("offset", offset)
+        .add("length", length)
+        .toString();
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.state;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+public class SlotAndStateRoot {
+  private final UInt64 slot;
+  private final Bytes32 stateRoot;
+
+  public SlotAndStateRoot(final UInt64 slot, final Bytes32 stateRoot) {
+    this.slot = slot;
+    this.stateRoot = stateRoot;
+  }
+
+  public UInt64 getSlot() {
+    return slot;
+  }
+
+  public Bytes32 getStateRoot() {
+    return stateRoot;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    final SlotAndStateRoot that = (SlotAndStateRoot) o;
+    return Objects.equals(slot, that.slot) && Objects.equals(stateRoot, that.stateRoot);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(slot, stateRoot);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("slot", slot)
+        .add("stateRoot", stateRoot)
+        .toString();
+  }
+}
@@ -23,8 +23,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -59,6 +57,7 @@ import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.spec.datastructures.blocks.SlotAndBlockRoot;
 import tech.pegasys.teku.spec.datastructures.blocks.StateAndBlockSummary;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteStore;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater;
 import tech.pegasys.teku.spec.datastructures.hashtree.HashTree;
@@ -96,7 +95,7 @@ class Store implements UpdatableStore {
   final CachingTaskQueue<Bytes32, StateAndBlockSummary> states;
   final Map<Bytes32, SignedBeaconBlock> blocks;
   final CachingTaskQueue<SlotAndBlockRoot, BeaconState> checkpointStates;
-  final Map<UInt64, VoteTracker> votes;
+  final VoteStore votes;
   private ForkChoiceStrategy forkChoiceStrategy;
 
   private Store(
@@ -138,7 +137,7 @@ class Store implements UpdatableStore {
     this.justified_checkpoint = justified_checkpoint;
     this.best_justified_checkpoint = best_justified_checkpoint;
     this.blocks = blocks;
-    this.votes = new HashMap<>(votes);
+    this.votes = VoteStore.create(votes);
     this.blockMetadata = blockMetadata;
 
     // Track latest finalized block
@@ -234,7 +233,9 @@ class Store implements UpdatableStore {
             checkpointStateTaskQueue);
     if (maybeForkChoiceStrategy.isEmpty()) {
       final ForkChoiceStrategy forkChoiceStrategy =
-          ForkChoiceStrategy.initializeAndMigrateStorage(store, protoArrayStorageChannel).join();
+          ForkChoiceStrategy.initializeAndMigrateStorage(
+                  store, blockInfoByRoot, protoArrayStorageChannel)
+              .join();
       store.blockMetadata = forkChoiceStrategy;
       store.forkChoiceStrategy = forkChoiceStrategy;
     } else {
@@ -514,7 +515,7 @@ class Store implements UpdatableStore {
   Set<UInt64> getVotedValidatorIndices() {
     readLock.lock();
     try {
-      return new HashSet<>(votes.keySet());
+      return votes.getVotedValidatorIndices();
     } finally {
       readLock.unlock();
     }
@@ -523,7 +524,7 @@ class Store implements UpdatableStore {
   VoteTracker getVote(UInt64 validatorIndex) {
     readLock.lock();
     try {
-      return votes.get(validatorIndex);
+      return votes.getVote(validatorIndex);
     } finally {
       readLock.unlock();
     }
@@ -227,7 +227,10 @@ class StoreTransaction implements UpdatableStore.StoreTransaction {
 
   @Override
   public ReadOnlyForkChoiceStrategy getForkChoiceStrategy() {
-    return store.getForkChoiceStrategy();
+    if (blockAndStates.isEmpty()) {
+      return store.getForkChoiceStrategy();
+    }
+    return new TransactionForkChoiceStrategy(store.getForkChoiceStrategy(), blockAndStates);
   }
 
   @Override
@@ -21,6 +21,7 @@ import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteStore;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.spec.datastructures.forkchoice.VoteUpdater;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
@@ -46,8 +47,7 @@ public class StoreVoteUpdater implements VoteUpdater {
     if (txVote != null) {
       return txVote;
     } else {
-      VoteTracker storeVote = store.getVote(validatorIndex);
-      return storeVote != null ? storeVote : VoteTracker.DEFAULT;
+      return store.getVote(validatorIndex);
     }
   }
 
@@ -61,6 +61,18 @@ public class StoreVoteUpdater implements VoteUpdater {
     votes.put(validatorIndex, vote);
   }
 
+  @Override
+  public VoteStore applyPendingVotes() {
+    lock.writeLock().lock();
+    try {
+      votes.forEach(store.votes::putVote);
+      votes.clear();
+      return store.votes;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
   @Override
   public Bytes32 applyForkChoiceScoreChanges(
       final Checkpoint finalizedCheckpoint,
@@ -84,8 +96,18 @@ public class StoreVoteUpdater implements VoteUpdater {
   @Override
   public void commit() {
     // Votes are applied to the store immediately since the changes to the in-memory ProtoArray
-    // can't be rolled back.
-    store.votes.putAll(votes);
-    voteUpdateChannel.onVotesUpdated(votes);
+    // can't be rolled back. Only the votes updated since the last commit are persisted.
+    final Map<UInt64, VoteTracker> updatedVotes;
+    lock.writeLock().lock();
+    try {
+      votes.forEach(store.votes::putVote);
+      votes.clear();
+      updatedVotes = store.votes.removeUpdatedVotes();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    if (!updatedVotes.isEmpty()) {
+      voteUpdateChannel.onVotesUpdated(updatedVotes);
+    }
   }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.spec.datastructures.forkchoice.ReadOnlyForkChoiceStrategy;
+
+/**
+ * Fork choice view of a store transaction. Blocks added to the transaction but not yet committed
+ * are visible in addition to the blocks of the underlying fork choice strategy, so that several
+ * consecutive blocks can be imported in a single transaction.
+ */
+class TransactionForkChoiceStrategy implements ReadOnlyForkChoiceStrategy {
+  private final ReadOnlyForkChoiceStrategy delegate;
+  private final Map<Bytes32, SignedBlockAndState> pendingBlocks;
+
+  TransactionForkChoiceStrategy(
+      final ReadOnlyForkChoiceStrategy delegate,
+      final Map<Bytes32, SignedBlockAndState> pendingBlocks) {
+    this.delegate = delegate;
+    this.pendingBlocks = pendingBlocks;
+  }
+
+  @Override
+  public Optional<UInt64> blockSlot(final Bytes32 blockRoot) {
+    final SignedBlockAndState pendingBlock = pendingBlocks.get(blockRoot);
+    return pendingBlock != null
+        ? Optional.of(pendingBlock.getSlot())
+        : delegate.blockSlot(blockRoot);
+  }
+
+  @Override
+  public Optional<Bytes32> blockParentRoot(final Bytes32 blockRoot) {
+    final SignedBlockAndState pendingBlock = pendingBlocks.get(blockRoot);
+    return pendingBlock != null
+        ? Optional.of(pendingBlock.getParentRoot())
+        : delegate.blockParentRoot(blockRoot);
+  }
+
+  @Override
+  public Optional<Bytes32> getAncestor(final Bytes32 blockRoot, final UInt64 slot) {
+    Bytes32 currentRoot = blockRoot;
+    SignedBlockAndState pendingBlock = pendingBlocks.get(currentRoot);
+    while (pendingBlock != null) {
+      if (pendingBlock.getSlot().isLessThanOrEqualTo(slot)) {
+        return Optional.of(currentRoot);
+      }
+      currentRoot = pendingBlock.getParentRoot();
+      pendingBlock = pendingBlocks.get(currentRoot);
+    }
+    return delegate.getAncestor(currentRoot, slot);
+  }
+
+  @Override
+  public Map<Bytes32, UInt64> getChainHeads() {
+    if (pendingBlocks.isEmpty()) {
+      return delegate.getChainHeads();
+    }
+    final Map<Bytes32, UInt64> chainHeads = new HashMap<>(delegate.getChainHeads());
+    pendingBlocks
+        .values()
+        .forEach(blockAndState -> chainHeads.put(blockAndState.getRoot(), blockAndState.getSlot()));
+    pendingBlocks
+        .values()
+        .forEach(blockAndState -> chainHeads.remove(blockAndState.getParentRoot()));
+    return chainHeads;
+  }
+
+  @Override
+  public boolean contains(final Bytes32 blockRoot) {
+    return pendingBlocks.containsKey(blockRoot) || delegate.contains(blockRoot);
+  }
+}
@@ -36,6 +36,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -850,6 +851,8 @@ public abstract class AbstractDatabaseTest {
         primaryChain.getBlockAtSlot(1),
         primaryChain.getBlockAtSlot(2),
         primaryChain.getBlockAtSlot(3));
+    assertFinalizedBlockSszAvailable(
+        1, 3, 2, primaryChain.getBlockAtSlot(1), primaryChain.getBlockAtSlot(3));
 
     switch (storageMode) {
       case ARCHIVE:
@@ -877,6 +880,20 @@ public abstract class AbstractDatabaseTest {
     }
   }
 
+  protected void assertFinalizedBlockSszAvailable(
+      final int fromSlot,
+      final int toSlot,
+      final int step,
+      final SignedBeaconBlock... expectedBlocks) {
+    final Map<UInt64, Bytes> expected =
+        Stream.of(expectedBlocks)
+            .collect(toMap(SignedBeaconBlock::getSlot, SignedBeaconBlock::sszSerialize));
+    assertThat(
+            database.getFinalizedBlockSszBySlot(
+                UInt64.valueOf(fromSlot), UInt64.valueOf(toSlot), UInt64.valueOf(step)))
+        .isEqualTo(expected);
+  }
+
   protected void assertFinalizedBlocksAndStatesAvailable(
       final List<SignedBlockAndState> blocksAndStates) {
     final List<SignedBeaconBlock> blocks =
@@ -30,6 +30,12 @@ public class DatabaseVersionTest {
     assertThat(data).contains(DatabaseVersion.V6);
   }
 
+  @Test
+  public void shouldAcceptV6BlockSegmentsFromString() {
+    Optional<DatabaseVersion> data = DatabaseVersion.fromString("6-block-segments");
+    assertThat(data).contains(DatabaseVersion.V6_BLOCK_SEGMENTS);
+  }
+
   @Test
   public void shouldAcceptV5FromString() {
     Optional<DatabaseVersion> data = DatabaseVersion.fromString("5");
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.storage.events.StorageUpdate;
+
+class StorageUpdateWriterTest {
+  private final Database database = mock(Database.class);
+  private final List<Runnable> pendingTasks = new ArrayList<>();
+  private final AtomicInteger committedCount = new AtomicInteger();
+
+  private final StorageUpdateWriter writer =
+      new StorageUpdateWriter(
+          new NoOpMetricsSystem(), database, pendingTasks::add, committedCount::incrementAndGet);
+
+  @Test
+  void update_shouldCoalesceQueuedHotUpdates() {
+    final StorageUpdate update1 = hotUpdate();
+    final StorageUpdate update2 = hotUpdate();
+    final SafeFuture<Void> result1 = writer.update(update1);
+    final SafeFuture<Void> result2 = writer.update(update2);
+    assertThat(result1).isNotDone();
+    assertThat(result2).isNotDone();
+
+    runPendingTasks();
+
+    verify(database).updateHotData(List.of(update1, update2));
+    verify(database, never()).update(any());
+    assertThat(result1).isCompleted();
+    assertThat(result2).isCompleted();
+    assertThat(committedCount).hasValue(1);
+  }
+
+  @Test
+  void update_shouldPreserveOrderAroundFinalizedUpdatesAndOtherWrites() {
+    final StorageUpdate update1 = hotUpdate();
+    final StorageUpdate update2 = hotUpdate();
+    final StorageUpdate finalizedUpdate = finalizedUpdate();
+    final StorageUpdate update3 = hotUpdate();
+    final StorageUpdate update4 = hotUpdate();
+    writer.update(update1);
+    writer.update(update2);
+    writer.update(finalizedUpdate);
+    writer.update(update3);
+    writer.write(() -> database.storeVotes(null));
+    writer.update(update4);
+
+    runPendingTasks();
+
+    final InOrder inOrder = inOrder(database);
+    inOrder.verify(database).updateHotData(List.of(update1, update2));
+    inOrder.verify(database).update(finalizedUpdate);
+    inOrder.verify(database).updateHotData(List.of(update3));
+    inOrder.verify(database).storeVotes(null);
+    inOrder.verify(database).updateHotData(List.of(update4));
+    assertThat(committedCount).hasValue(4);
+  }
+
+  @Test
+  void update_shouldLimitBatchSize() {
+    final List<StorageUpdate> updates =
+        IntStream.range(0, StorageUpdateWriter.MAX_BATCH_SIZE + 1)
+            .mapToObj(__ -> hotUpdate())
+            .collect(Collectors.toList());
+    updates.forEach(writer::update);
+
+    runPendingTasks();
+
+    final int maxBatchSize = StorageUpdateWriter.MAX_BATCH_SIZE;
+    final InOrder inOrder = inOrder(database);
+    inOrder.verify(database).updateHotData(updates.subList(0, maxBatchSize));
+    inOrder.verify(database).updateHotData(updates.subList(maxBatchSize, maxBatchSize + 1));
+  }
+
+  @Test
+  void update_shouldRetryUpdatesIndividuallyWhenBatchFails() {
+    final StorageUpdate update1 = hotUpdate();
+    final StorageUpdate poisonedUpdate = hotUpdate();
+    final StorageUpdate update3 = hotUpdate();
+    final RuntimeException error = new RuntimeException("Nope");
+    doThrow(error).when(database).updateHotData(List.of(update1, poisonedUpdate, update3));
+    doThrow(error).when(database).update(poisonedUpdate);
+    final SafeFuture<Void> result1 = writer.update(update1);
+    final SafeFuture<Void> result2 = writer.update(poisonedUpdate);
+    final SafeFuture<Void> result3 = writer.update(update3);
+
+    runPendingTasks();
+
+    final InOrder inOrder = inOrder(database);
+    inOrder.verify(database).updateHotData(List.of(update1, poisonedUpdate, update3));
+    inOrder.verify(database).update(update1);
+    inOrder.verify(database).update(poisonedUpdate);
+    inOrder.verify(database).update(update3);
+    assertThat(result1).isCompleted();
+    assertThatSafeFuture(result2).isCompletedExceptionallyWith(error);
+    assertThat(result3).isCompleted();
+    assertThat(committedCount).hasValue(2);
+  }
+
+  @Test
+  void update_shouldFailSingleUpdateWithoutRetrying() {
+    final StorageUpdate update = hotUpdate();
+    final RuntimeException error = new RuntimeException("Nope");
+    doThrow(error).when(database).updateHotData(List.of(update));
+    final SafeFuture<Void> result = writer.update(update);
+
+    runPendingTasks();
+
+    assertThatSafeFuture(result).isCompletedExceptionallyWith(error);
+    verify(database, never()).update(any());
+    assertThat(committedCount).hasValue(0);
+  }
+
+  @Test
+  void write_shouldNotNotifyUpdateCommitted() {
+    final SafeFuture<Void> result = writer.write(() -> database.storeVotes(null));
+
+    runPendingTasks();
+
+    assertThat(result).isCompleted();
+    assertThat(committedCount).hasValue(0);
+  }
+
+  private void runPendingTasks() {
+    final List<Runnable> tasks = new ArrayList<>(pendingTasks);
+    pendingTasks.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  private StorageUpdate hotUpdate() {
+    return mock(StorageUpdate.class);
+  }
+
+  private StorageUpdate finalizedUpdate() {
+    final StorageUpdate update = mock(StorageUpdate.class);
+    when(update.hasFinalizedData()).thenReturn(true);
+    return update;
+  }
+}
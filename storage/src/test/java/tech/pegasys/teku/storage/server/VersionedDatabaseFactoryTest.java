@@ -130,6 +130,31 @@ public class VersionedDatabaseFactoryTest {
     assertThat(metadataFile).exists();
   }
 
+  @Test
+  public void createDatabase_asV6BlockSegmentsDatabase() throws Exception {
+    final DatabaseFactory dbFactory =
+        new VersionedDatabaseFactory(
+            new StubMetricsSystem(),
+            dataDir,
+            DATA_STORAGE_MODE,
+            DatabaseVersion.V6_BLOCK_SEGMENTS,
+            1L,
+            eth1Address,
+            spec);
+    try (final Database db = dbFactory.createDatabase()) {
+      assertThat(db).isNotNull();
+      assertDbVersionSaved(dataDir, DatabaseVersion.V6_BLOCK_SEGMENTS);
+    }
+    final File dbDirectory = new File(dataDir.toFile(), VersionedDatabaseFactory.DB_PATH);
+    final File blockSegmentsDirectory =
+        new File(dataDir.toFile(), VersionedDatabaseFactory.BLOCK_SEGMENTS_PATH);
+    final File metadataFile =
+        new File(dataDir.toFile(), VersionedDatabaseFactory.METADATA_FILENAME);
+    assertThat(dbDirectory).exists();
+    assertThat(blockSegmentsDirectory).exists();
+    assertThat(metadataFile).exists();
+  }
+
   @Test
   public void createDatabase_asV6DatabaseSeparate() throws Exception {
     Path mainDataDir = dataDir.resolve("hot");
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -227,6 +228,24 @@ class LevelDbInstanceTest {
     }
   }
 
+  @Test
+  void streamRaw_shouldReturnSerializedValues() {
+    update(
+        tx -> {
+          for (int i = 0; i < 5; i++) {
+            tx.put(column1, i, i * 10);
+          }
+        });
+
+    try (final Stream<ColumnEntry<Integer, Bytes>> stream = instance.streamRaw(column1, 1, 3)) {
+      assertThat(stream)
+          .containsExactly(
+              ColumnEntry.create(1, Bytes.wrap(Ints.toByteArray(10))),
+              ColumnEntry.create(2, Bytes.wrap(Ints.toByteArray(20))),
+              ColumnEntry.create(3, Bytes.wrap(Ints.toByteArray(30))));
+    }
+  }
+
   @Test
   void getFloorEntry_shouldGetMatchingEntryWhenKeyExists() {
     update(
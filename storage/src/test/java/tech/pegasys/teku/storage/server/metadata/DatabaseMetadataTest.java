@@ -86,6 +86,30 @@ class DatabaseMetadataTest {
         .isEqualToComparingFieldByField(defaultConfiguration);
   }
 
+  @Test
+  void shouldEnableColumnProfilesForNewDatabases(@TempDir final File tempDir) throws Exception {
+    final File metadataFile = new File(tempDir, "metadata.yml");
+    final V5DatabaseMetadata result =
+        V5DatabaseMetadata.init(metadataFile, V5DatabaseMetadata.v5Defaults());
+    assertThat(result.getHotDbConfiguration().isColumnProfilesEnabled()).isTrue();
+    assertThat(result.getArchiveDbConfiguration().isColumnProfilesEnabled()).isTrue();
+  }
+
+  @Test
+  void shouldNotEnableColumnProfilesForExistingDatabases(@TempDir final File tempDir)
+      throws Exception {
+    final File metadataFile = new File(tempDir, "metadata.yml");
+    writeMetaData(
+        ImmutableMap.of(
+            HOT_DB_CONFIGURATION_KEY, ImmutableMap.of("compressionType", "NO_COMPRESSION")),
+        metadataFile);
+
+    final V5DatabaseMetadata result =
+        V5DatabaseMetadata.init(metadataFile, V5DatabaseMetadata.v5Defaults());
+    assertThat(result.getHotDbConfiguration().isColumnProfilesEnabled()).isFalse();
+    assertThat(result.getArchiveDbConfiguration().isColumnProfilesEnabled()).isFalse();
+  }
+
   @Test
   void shouldCreateV6SingleMetadataFile(@TempDir final File tempDir) throws Exception {
     final File metadataFile = new File(tempDir, "metadata.yml");
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.SpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpointEpochs;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.spec.datastructures.state.AnchorPoint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.storage.events.StorageUpdate;
+import tech.pegasys.teku.storage.server.Database;
+import tech.pegasys.teku.storage.server.StateStorageMode;
+import tech.pegasys.teku.storage.server.rocksdb.core.MockRocksDbInstance;
+import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbHotDao.HotUpdater;
+import tech.pegasys.teku.storage.server.rocksdb.dataaccess.V4HotRocksDbDao;
+import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaHot;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaFinalized;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
+
+public class RocksDbHotStateTreeNodesTest {
+  private final Spec spec = SpecFactory.createMinimal();
+  private final ChainBuilder chainBuilder = ChainBuilder.createDefault();
+  private final SchemaHot hotSchema = V4SchemaHot.create(spec);
+  private final MockRocksDbInstance hotDb =
+      MockRocksDbInstance.createEmpty(hotSchema.getAllColumns(), hotSchema.getAllVariables());
+  private final MockRocksDbInstance coldDb =
+      MockRocksDbInstance.createEmpty(
+          V4SchemaFinalized.create(spec).getAllColumns(),
+          V4SchemaFinalized.create(spec).getAllVariables());
+  private final Database database =
+      InMemoryRocksDbDatabaseFactory.createV4(
+          hotDb, coldDb, StateStorageMode.PRUNE, 1L, true, spec);
+
+  @BeforeEach
+  void setUp() {
+    final SignedBlockAndState genesis = chainBuilder.generateGenesis();
+    database.storeInitialAnchor(AnchorPoint.fromGenesisState(genesis.getState()));
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    database.close();
+  }
+
+  @Test
+  void shouldRemoveAllTreeNodesWhenHotStatesArePruned() {
+    final List<SignedBlockAndState> blocksAndStates = chainBuilder.generateBlocksUpToSlot(10);
+    addHotBlocksAndStates(blocksAndStates);
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodes())).isNotEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodeRefCounts())).isNotEmpty();
+
+    deleteHotBlocks(blocksAndStates);
+
+    blocksAndStates.forEach(
+        blockAndState -> assertThat(database.getHotState(blockAndState.getRoot())).isEmpty());
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeRootsByBlockRoot())).isEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodes())).isEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodeRefCounts())).isEmpty();
+  }
+
+  @Test
+  void shouldKeepNodesSharedWithRemainingStatesWhenPruning() {
+    final List<SignedBlockAndState> blocksAndStates = chainBuilder.generateBlocksUpToSlot(10);
+    addHotBlocksAndStates(blocksAndStates);
+
+    final List<SignedBlockAndState> pruned = blocksAndStates.subList(0, 5);
+    final List<SignedBlockAndState> remaining = blocksAndStates.subList(5, 10);
+    deleteHotBlocks(pruned);
+
+    pruned.forEach(
+        blockAndState -> assertThat(database.getHotState(blockAndState.getRoot())).isEmpty());
+    remaining.forEach(
+        blockAndState ->
+            assertThat(database.getHotState(blockAndState.getRoot()))
+                .contains(blockAndState.getState()));
+
+    deleteHotBlocks(remaining);
+
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodes())).isEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodeRefCounts())).isEmpty();
+  }
+
+  @Test
+  void updateHotData_shouldCoalesceAddingAndDeletingTheSameBlocksAndStates() {
+    final List<SignedBlockAndState> blocksAndStates = chainBuilder.generateBlocksUpToSlot(5);
+
+    database.updateHotData(
+        List.of(
+            addHotBlocksAndStatesUpdate(blocksAndStates), deleteHotBlocksUpdate(blocksAndStates)));
+
+    blocksAndStates.forEach(
+        blockAndState -> {
+          assertThat(database.getHotBlock(blockAndState.getRoot())).isEmpty();
+          assertThat(database.getHotState(blockAndState.getRoot())).isEmpty();
+        });
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeRootsByBlockRoot())).isEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodes())).isEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodeRefCounts())).isEmpty();
+  }
+
+  @Test
+  void updateHotData_shouldKeepNodesSharedWithStatesAddedInTheSameTransaction() {
+    final List<SignedBlockAndState> blocksAndStates = chainBuilder.generateBlocksUpToSlot(10);
+    final List<SignedBlockAndState> pruned = blocksAndStates.subList(0, 5);
+    final List<SignedBlockAndState> remaining = blocksAndStates.subList(5, 10);
+
+    database.updateHotData(
+        List.of(
+            addHotBlocksAndStatesUpdate(pruned),
+            addHotBlocksAndStatesUpdate(remaining),
+            deleteHotBlocksUpdate(pruned)));
+
+    pruned.forEach(
+        blockAndState -> assertThat(database.getHotState(blockAndState.getRoot())).isEmpty());
+    remaining.forEach(
+        blockAndState ->
+            assertThat(database.getHotState(blockAndState.getRoot()))
+                .contains(blockAndState.getState()));
+
+    deleteHotBlocks(remaining);
+
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodes())).isEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodeRefCounts())).isEmpty();
+  }
+
+  @Test
+  void updateHotData_shouldStoreStatesAddedAgainAfterBeingDeletedInTheSameTransaction() {
+    final List<SignedBlockAndState> blocksAndStates = chainBuilder.generateBlocksUpToSlot(5);
+
+    database.updateHotData(
+        List.of(
+            addHotBlocksAndStatesUpdate(blocksAndStates),
+            deleteHotBlocksUpdate(blocksAndStates),
+            addHotBlocksAndStatesUpdate(blocksAndStates)));
+
+    blocksAndStates.forEach(
+        blockAndState ->
+            assertThat(database.getHotState(blockAndState.getRoot()))
+                .contains(blockAndState.getState()));
+
+    deleteHotBlocks(blocksAndStates);
+
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodes())).isEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodeRefCounts())).isEmpty();
+  }
+
+  @Test
+  void shouldStoreSerializedHotStatesWhenTreeNodesAreDisabled() throws Exception {
+    final MockRocksDbInstance serializedHotDb =
+        MockRocksDbInstance.createEmpty(hotSchema.getAllColumns(), hotSchema.getAllVariables());
+    final MockRocksDbInstance serializedColdDb =
+        MockRocksDbInstance.createEmpty(
+            V4SchemaFinalized.create(spec).getAllColumns(),
+            V4SchemaFinalized.create(spec).getAllVariables());
+    try (Database serializedDatabase =
+        InMemoryRocksDbDatabaseFactory.createV4(
+            serializedHotDb, serializedColdDb, StateStorageMode.PRUNE, 1L, false, spec)) {
+      final List<SignedBlockAndState> blocksAndStates = chainBuilder.generateBlocksUpToSlot(5);
+      serializedDatabase.update(addHotBlocksAndStatesUpdate(blocksAndStates));
+
+      assertThat(serializedHotDb.getAll(hotSchema.getColumnHotStatesByRoot()))
+          .hasSize(blocksAndStates.size());
+      assertThat(serializedHotDb.getAll(hotSchema.getColumnHotStateTreeRootsByBlockRoot()))
+          .isEmpty();
+      assertThat(serializedHotDb.getAll(hotSchema.getColumnHotStateTreeNodes())).isEmpty();
+      blocksAndStates.forEach(
+          blockAndState ->
+              assertThat(serializedDatabase.getHotState(blockAndState.getRoot()))
+                  .contains(blockAndState.getState()));
+
+      serializedDatabase.update(deleteHotBlocksUpdate(blocksAndStates));
+
+      assertThat(serializedHotDb.getAll(hotSchema.getColumnHotStatesByRoot())).isEmpty();
+    }
+  }
+
+  @Test
+  void hotUpdater_shouldWaitForOtherStateTreeUpdatesToComplete() throws Exception {
+    final V4HotRocksDbDao dao = new V4HotRocksDbDao(hotDb, hotSchema, true, spec);
+    final List<SignedBlockAndState> blocksAndStates = chainBuilder.generateBlocksUpToSlot(2);
+    final SignedBlockAndState first = blocksAndStates.get(0);
+    final SignedBlockAndState second = blocksAndStates.get(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<?> concurrentUpdate;
+      try (HotUpdater updater = dao.hotUpdater()) {
+        updater.addHotState(first.getRoot(), first.getState());
+        concurrentUpdate =
+            executor.submit(
+                () -> {
+                  try (HotUpdater otherUpdater = dao.hotUpdater()) {
+                    otherUpdater.addHotState(second.getRoot(), second.getState());
+                    otherUpdater.commit();
+                  }
+                });
+        assertThatThrownBy(() -> concurrentUpdate.get(100, TimeUnit.MILLISECONDS))
+            .isInstanceOf(TimeoutException.class);
+        updater.commit();
+      }
+      concurrentUpdate.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(database.getHotState(first.getRoot())).contains(first.getState());
+    assertThat(database.getHotState(second.getRoot())).contains(second.getState());
+    try (HotUpdater updater = dao.hotUpdater()) {
+      updater.deleteHotState(first.getRoot());
+      updater.deleteHotState(second.getRoot());
+      updater.commit();
+    }
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodes())).isEmpty();
+    assertThat(hotDb.getAll(hotSchema.getColumnHotStateTreeNodeRefCounts())).isEmpty();
+  }
+
+  @Test
+  void hotUpdater_shouldRejectNestedStateTreeUpdatesOnTheSameThread() {
+    final V4HotRocksDbDao dao = new V4HotRocksDbDao(hotDb, hotSchema, true, spec);
+    final List<SignedBlockAndState> blocksAndStates = chainBuilder.generateBlocksUpToSlot(2);
+    try (HotUpdater updater = dao.hotUpdater();
+        HotUpdater nestedUpdater = dao.hotUpdater()) {
+      updater.addHotState(blocksAndStates.get(0).getRoot(), blocksAndStates.get(0).getState());
+      assertThatThrownBy(
+              () ->
+                  nestedUpdater.addHotState(
+                      blocksAndStates.get(1).getRoot(), blocksAndStates.get(1).getState()))
+          .isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  private void addHotBlocksAndStates(final List<SignedBlockAndState> blocksAndStates) {
+    database.update(addHotBlocksAndStatesUpdate(blocksAndStates));
+  }
+
+  private void deleteHotBlocks(final List<SignedBlockAndState> blocksAndStates) {
+    database.update(deleteHotBlocksUpdate(blocksAndStates));
+  }
+
+  private StorageUpdate addHotBlocksAndStatesUpdate(
+      final List<SignedBlockAndState> blocksAndStates) {
+    final Map<Bytes32, BlockAndCheckpointEpochs> hotBlocks =
+        blocksAndStates.stream()
+            .collect(
+                Collectors.toMap(
+                    SignedBlockAndState::getRoot, BlockAndCheckpointEpochs::fromBlockAndState));
+    final Map<Bytes32, BeaconState> hotStates =
+        blocksAndStates.stream()
+            .collect(Collectors.toMap(SignedBlockAndState::getRoot, SignedBlockAndState::getState));
+    return new StorageUpdate(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        hotBlocks,
+        hotStates,
+        Set.of(),
+        Map.of());
+  }
+
+  private StorageUpdate deleteHotBlocksUpdate(final List<SignedBlockAndState> blocksAndStates) {
+    return new StorageUpdate(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Map.of(),
+        Map.of(),
+        blocksAndStates.stream().map(SignedBlockAndState::getRoot).collect(Collectors.toSet()),
+        Map.of());
+  }
+}
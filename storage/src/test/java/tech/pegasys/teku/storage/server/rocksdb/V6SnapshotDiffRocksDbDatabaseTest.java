@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.storage.server.DatabaseVersion;
+import tech.pegasys.teku.storage.server.StateStorageMode;
+import tech.pegasys.teku.storage.storageSystem.FileBackedStorageSystemBuilder;
+import tech.pegasys.teku.storage.storageSystem.StorageSystem;
+import tech.pegasys.teku.storage.store.StoreConfig;
+
+public class V6SnapshotDiffRocksDbDatabaseTest extends AbstractRocksDbDatabaseWithHotStatesTest {
+  private static final long STATE_SNAPSHOT_FREQUENCY = 4;
+
+  @Override
+  protected StorageSystem createStorageSystem(
+      final File tempDir, final StateStorageMode storageMode, final StoreConfig storeConfig) {
+    return FileBackedStorageSystemBuilder.create()
+        .dataDir(tempDir.toPath())
+        .version(DatabaseVersion.V6)
+        .storageMode(storageMode)
+        .stateStorageFrequency(1L)
+        .stateSnapshotFrequency(STATE_SNAPSHOT_FREQUENCY)
+        .storeConfig(storeConfig)
+        .build();
+  }
+
+  @Test
+  public void shouldReadEveryFinalizedStateAcrossSnapshotBoundaries() {
+    chainBuilder.generateBlocksUpToSlot(18);
+    final SignedBlockAndState finalizedBlock = chainBuilder.getBlockAndStateAtSlot(16);
+    final List<SignedBlockAndState> blocksAndStates =
+        chainBuilder.streamBlocksAndStates(1, 18).collect(Collectors.toList());
+
+    add(blocksAndStates);
+    justifyAndFinalizeEpoch(UInt64.valueOf(2), finalizedBlock);
+
+    // Read back from disk rather than from any in-memory caches
+    restartStorage();
+
+    // Slots 0, 4, 8, 12 and 16 are snapshots, everything in between is stored as a diff
+    for (long slot = 0; slot <= finalizedBlock.getSlot().longValue(); slot++) {
+      assertThat(database.getLatestAvailableFinalizedState(UInt64.valueOf(slot)))
+          .describedAs("State at slot %s", slot)
+          .contains(chainBuilder.getStateAtSlot(slot));
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.SpecFactory;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+public class BeaconStateDiffTest {
+  private final Spec spec = SpecFactory.createMinimal();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final BeaconState base = dataStructureUtil.randomBeaconState(64);
+
+  @Test
+  public void shouldRecreateSameState() {
+    final Bytes diff = BeaconStateDiff.create(base, base);
+
+    assertThat(BeaconStateDiff.getBaseSlot(diff)).isEqualTo(base.getSlot());
+    assertThat(BeaconStateDiff.apply(base, diff)).isEqualTo(base);
+  }
+
+  @Test
+  public void shouldRecreateStateWithUpdatedFields() {
+    final BeaconState state =
+        base.updated(
+            s -> {
+              s.setSlot(base.getSlot().plus(5));
+              s.getBalances().set(3, UInt64.valueOf(31_000_000_000L));
+              s.getValidators().set(7, s.getValidators().get(7).withSlashed(true));
+              s.getRandao_mixes().set(2, dataStructureUtil.randomBytes32());
+            });
+
+    final Bytes diff = BeaconStateDiff.create(base, state);
+
+    assertThat(BeaconStateDiff.getBaseSlot(diff)).isEqualTo(base.getSlot());
+    assertThat(BeaconStateDiff.apply(base, diff)).isEqualTo(state);
+    assertThat(diff.size()).isLessThan(state.sszSerialize().size() / 4);
+  }
+
+  @Test
+  public void shouldRecreateStateWithAddedValidators() {
+    final BeaconState state =
+        base.updated(
+            s -> {
+              s.getValidators().add(dataStructureUtil.randomValidator());
+              s.getBalances().add(UInt64.valueOf(32_000_000_000L));
+            });
+
+    assertThat(BeaconStateDiff.apply(base, BeaconStateDiff.create(base, state))).isEqualTo(state);
+  }
+
+  @Test
+  public void shouldRecreateStateWithRemovedListElements() {
+    final BeaconState state = base.updated(s -> s.getEth1_data_votes().clear());
+
+    assertThat(BeaconStateDiff.apply(base, BeaconStateDiff.create(base, state))).isEqualTo(state);
+  }
+
+  @Test
+  public void shouldRecreateUnrelatedState() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(32);
+
+    assertThat(BeaconStateDiff.apply(base, BeaconStateDiff.create(base, state))).isEqualTo(state);
+  }
+}
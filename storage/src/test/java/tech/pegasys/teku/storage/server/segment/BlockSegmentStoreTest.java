@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.segment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.storage.server.ShuttingDownException;
+
+class BlockSegmentStoreTest {
+  private static final int SEGMENT_SIZE = 100;
+
+  @TempDir Path dataDir;
+
+  @Test
+  void append_shouldReturnLocationOfReadableData() {
+    final BlockSegmentStore store = BlockSegmentStore.open(dataDir, SEGMENT_SIZE, 0);
+    final Bytes data1 = Bytes.random(30);
+    final Bytes data2 = Bytes.random(20);
+
+    final SegmentLocation location1 = store.append(data1);
+    final SegmentLocation location2 = store.append(data2);
+
+    assertThat(location1).isEqualTo(new SegmentLocation(0, 0, 30));
+    assertThat(location2).isEqualTo(new SegmentLocation(0, 30, 20));
+    assertThat(store.read(location1)).isEqualTo(data1);
+    assertThat(store.read(location2)).isEqualTo(data2);
+    assertThat(store.getEndPosition()).isEqualTo(50);
+  }
+
+  @Test
+  void append_shouldStartNewSegmentWhenDataDoesNotFit() {
+    final BlockSegmentStore store = BlockSegmentStore.open(dataDir, SEGMENT_SIZE, 0);
+    store.append(Bytes.random(70));
+    final Bytes data = Bytes.random(40);
+
+    final SegmentLocation location = store.append(data);
+
+    assertThat(location).isEqualTo(new SegmentLocation(1, 0, 40));
+    assertThat(store.read(location)).isEqualTo(data);
+    assertThat(store.getEndPosition()).isEqualTo(SEGMENT_SIZE + 40);
+    assertThat(dataDir.resolve("blocks-000001.seg")).exists();
+  }
+
+  @Test
+  void append_shouldRejectDataLargerThanSegment() {
+    final BlockSegmentStore store = BlockSegmentStore.open(dataDir, SEGMENT_SIZE, 0);
+    assertThatThrownBy(() -> store.append(Bytes.random(SEGMENT_SIZE + 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void open_shouldReadSyncedDataAndAppendAfterSyncedPosition() {
+    final BlockSegmentStore store = BlockSegmentStore.open(dataDir, SEGMENT_SIZE, 0);
+    final Bytes data = Bytes.random(60);
+    final SegmentLocation location = store.append(data);
+    final long syncedPosition = store.sync();
+    // Not synced so should be overwritten after reopening
+    store.append(Bytes.random(10));
+
+    final BlockSegmentStore reopenedStore =
+        BlockSegmentStore.open(dataDir, SEGMENT_SIZE, syncedPosition);
+
+    assertThat(reopenedStore.read(location)).isEqualTo(data);
+    assertThat(reopenedStore.append(Bytes.random(10)))
+        .isEqualTo(new SegmentLocation(0, 60, 10));
+  }
+
+  @Test
+  void close_shouldRejectFurtherAccess() {
+    final BlockSegmentStore store = BlockSegmentStore.open(dataDir, SEGMENT_SIZE, 0);
+    final SegmentLocation location = store.append(Bytes.random(10));
+
+    store.close();
+
+    assertThatThrownBy(() -> store.append(Bytes.random(10)))
+        .isInstanceOf(ShuttingDownException.class);
+    assertThatThrownBy(() -> store.read(location)).isInstanceOf(ShuttingDownException.class);
+    assertThatThrownBy(store::sync).isInstanceOf(ShuttingDownException.class);
+  }
+
+  @Test
+  void close_shouldKeepSyncedDataReadableAfterReopening() {
+    final BlockSegmentStore store = BlockSegmentStore.open(dataDir, SEGMENT_SIZE, 0);
+    final Bytes data = Bytes.random(60);
+    final SegmentLocation location = store.append(data);
+    final long syncedPosition = store.sync();
+
+    store.close();
+    final BlockSegmentStore reopenedStore =
+        BlockSegmentStore.open(dataDir, SEGMENT_SIZE, syncedPosition);
+
+    assertThat(reopenedStore.read(location)).isEqualTo(data);
+  }
+}
@@ -15,8 +15,11 @@ package tech.pegasys.teku.storage.api;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -60,6 +63,12 @@ public class StubStorageQueryChannel implements StorageQueryChannel {
     return SafeFuture.completedFuture(Optional.empty());
   }
 
+  @Override
+  public SafeFuture<NavigableMap<UInt64, Bytes>> getFinalizedBlockSszBySlot(
+      UInt64 startSlot, UInt64 endSlot, UInt64 step) {
+    return SafeFuture.completedFuture(new TreeMap<>());
+  }
+
   @Override
   public SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(Bytes32 blockRoot) {
     return SafeFuture.completedFuture(Optional.empty());
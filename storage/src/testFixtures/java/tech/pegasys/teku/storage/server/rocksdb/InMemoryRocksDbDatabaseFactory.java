@@ -17,6 +17,7 @@ import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.storage.server.Database;
 import tech.pegasys.teku.storage.server.StateStorageMode;
+import tech.pegasys.teku.storage.server.VersionedDatabaseFactory;
 import tech.pegasys.teku.storage.server.rocksdb.core.MockRocksDbInstance;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V6SchemaFinalized;
@@ -29,8 +30,25 @@ public class InMemoryRocksDbDatabaseFactory {
       final StateStorageMode storageMode,
       final long stateStorageFrequency,
       final Spec spec) {
+    return createV4(hotDb, coldDb, storageMode, stateStorageFrequency, false, spec);
+  }
+
+  public static Database createV4(
+      MockRocksDbInstance hotDb,
+      MockRocksDbInstance coldDb,
+      final StateStorageMode storageMode,
+      final long stateStorageFrequency,
+      final boolean storeHotStateTreeNodes,
+      final Spec spec) {
     return RocksDbDatabase.createV4(
-        new StubMetricsSystem(), hotDb, coldDb, storageMode, stateStorageFrequency, spec);
+        new StubMetricsSystem(),
+        hotDb,
+        coldDb,
+        storageMode,
+        stateStorageFrequency,
+        VersionedDatabaseFactory.DEFAULT_STATE_SNAPSHOT_FREQUENCY,
+        storeHotStateTreeNodes,
+        spec);
   }
 
   public static Database createV6(
@@ -47,6 +65,8 @@ public class InMemoryRocksDbDatabaseFactory {
         V6SchemaFinalized.create(spec),
         storageMode,
         stateStorageFrequency,
+        VersionedDatabaseFactory.DEFAULT_STATE_SNAPSHOT_FREQUENCY,
+        false,
         spec);
   }
 }
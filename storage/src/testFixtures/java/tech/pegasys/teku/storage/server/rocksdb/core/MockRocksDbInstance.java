@@ -98,6 +98,15 @@ public class MockRocksDbInstance implements RocksDbAccessor {
     return stream(column).collect(Collectors.toMap(ColumnEntry::getKey, ColumnEntry::getValue));
   }
 
+  @Override
+  public <K, V> Map<K, V> multiGet(final RocksDbColumn<K, V> column, final Collection<K> keys) {
+    final Map<K, V> values = new HashMap<>();
+    for (K key : keys) {
+      get(column, key).ifPresent(value -> values.put(key, value));
+    }
+    return values;
+  }
+
   @Override
   public <K, V> Optional<ColumnEntry<K, V>> getFloorEntry(
       final RocksDbColumn<K, V> column, final K key) {
@@ -145,6 +154,16 @@ public class MockRocksDbInstance implements RocksDbAccessor {
         .map(e -> columnEntry(column, e));
   }
 
+  @Override
+  public <K extends Comparable<K>, V> Stream<ColumnEntry<K, Bytes>> streamRaw(
+      final RocksDbColumn<K, V> column, final K from, final K to) {
+    assertOpen();
+    return columnData.get(column)
+        .subMap(keyToBytes(column, from), true, keyToBytes(column, to), true).entrySet().stream()
+        .peek(value -> assertOpen())
+        .map(e -> ColumnEntry.create(columnKey(column, e.getKey()), e.getValue()));
+  }
+
   @Override
   public RocksDbTransaction startTransaction() {
     assertOpen();
@@ -24,6 +24,7 @@ import tech.pegasys.teku.spec.SpecFactory;
 import tech.pegasys.teku.storage.server.Database;
 import tech.pegasys.teku.storage.server.DatabaseVersion;
 import tech.pegasys.teku.storage.server.StateStorageMode;
+import tech.pegasys.teku.storage.server.VersionedDatabaseFactory;
 import tech.pegasys.teku.storage.server.rocksdb.RocksDbConfiguration;
 import tech.pegasys.teku.storage.server.rocksdb.RocksDbDatabase;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
@@ -41,8 +42,10 @@ public class FileBackedStorageSystemBuilder {
   private Path dataDir;
   private Path hotDir;
   private Path archiveDir;
+  private Path blockSegmentsDir;
   private Optional<Path> v6ArchiveDir = Optional.empty();
   private long stateStorageFrequency = 1L;
+  private long stateSnapshotFrequency = VersionedDatabaseFactory.DEFAULT_STATE_SNAPSHOT_FREQUENCY;
 
   private FileBackedStorageSystemBuilder() {}
 
@@ -60,7 +63,10 @@ public class FileBackedStorageSystemBuilder {
         database = createLevelDb1Database();
         break;
       case V6:
-        database = createV6Database();
+        database = createV6Database(Optional.empty());
+        break;
+      case V6_BLOCK_SEGMENTS:
+        database = createV6Database(Optional.of(blockSegmentsDir));
         break;
       case V5:
         database = createV5Database();
@@ -83,6 +89,7 @@ public class FileBackedStorageSystemBuilder {
         .v6ArchiveDir(v6ArchiveDir)
         .storageMode(storageMode)
         .stateStorageFrequency(stateStorageFrequency)
+        .stateSnapshotFrequency(stateSnapshotFrequency)
         .storeConfig(storeConfig);
   }
 
@@ -106,6 +113,7 @@ public class FileBackedStorageSystemBuilder {
     this.dataDir = dataDir;
     this.hotDir = dataDir.resolve("hot");
     this.archiveDir = dataDir.resolve("archive");
+    this.blockSegmentsDir = dataDir.resolve("blocks");
     return this;
   }
 
@@ -131,6 +139,11 @@ public class FileBackedStorageSystemBuilder {
     return this;
   }
 
+  public FileBackedStorageSystemBuilder stateSnapshotFrequency(final long stateSnapshotFrequency) {
+    this.stateSnapshotFrequency = stateSnapshotFrequency;
+    return this;
+  }
+
   public FileBackedStorageSystemBuilder storeConfig(final StoreConfig storeConfig) {
     checkNotNull(storeConfig);
     this.storeConfig = storeConfig;
@@ -148,10 +161,12 @@ public class FileBackedStorageSystemBuilder {
         RocksDbConfiguration.v5ArchiveDefaults().withDatabaseDir(archiveDir),
         storageMode,
         stateStorageFrequency,
+        stateSnapshotFrequency,
+        false,
         spec);
   }
 
-  private Database createV6Database() {
+  private Database createV6Database(final Optional<Path> blockSegmentsDir) {
     RocksDbConfiguration hotConfigDefault =
         v6ArchiveDir.isPresent()
             ? RocksDbConfiguration.v5HotDefaults()
@@ -165,8 +180,11 @@ public class FileBackedStorageSystemBuilder {
         coldConfig,
         V4SchemaHot.create(spec),
         V6SchemaFinalized.create(spec),
+        blockSegmentsDir,
         storageMode,
         stateStorageFrequency,
+        stateSnapshotFrequency,
+        false,
         spec);
   }
 
@@ -186,6 +204,8 @@ public class FileBackedStorageSystemBuilder {
         V6SchemaFinalized.create(spec),
         storageMode,
         stateStorageFrequency,
+        stateSnapshotFrequency,
+        false,
         spec);
   }
 
@@ -196,6 +216,8 @@ public class FileBackedStorageSystemBuilder {
         RocksDbConfiguration.v5ArchiveDefaults().withDatabaseDir(archiveDir),
         storageMode,
         stateStorageFrequency,
+        stateSnapshotFrequency,
+        false,
         spec);
   }
 
@@ -206,6 +228,8 @@ public class FileBackedStorageSystemBuilder {
         RocksDbConfiguration.v4Settings(archiveDir),
         storageMode,
         stateStorageFrequency,
+        stateSnapshotFrequency,
+        false,
         spec);
   }
 }
@@ -16,6 +16,7 @@ package tech.pegasys.teku.storage.storageSystem;
 import static tech.pegasys.teku.infrastructure.async.SyncAsyncRunner.SYNC_RUNNER;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.MoreExecutors;
 import tech.pegasys.teku.core.ChainBuilder;
 import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
 import tech.pegasys.teku.pow.api.TrackingEth1EventsChannel;
@@ -83,7 +84,9 @@ public class StorageSystem implements AutoCloseable {
     final EventBus eventBus = new EventBus();
 
     // Create and start storage server
-    final ChainStorage chainStorageServer = ChainStorage.create(eventBus, database, spec);
+    final ChainStorage chainStorageServer =
+        ChainStorage.create(
+            metricsSystem, eventBus, database, spec, MoreExecutors.directExecutor());
     chainStorageServer.start();
 
     // Create recent chain data
@@ -43,7 +43,10 @@ public class BatchImporter {
   /**
    * Import the blocks in the specified batch.
    *
-   * <p>Guaranteed to return immediately and perform the import on worker threads.
+   * <p>Guaranteed to return immediately and perform the import on worker threads. The blocks are
+   * first imported together with a single batch signature verification. If that fails, the blocks
+   * are imported one by one so the valid blocks at the start of the batch are still imported and
+   * the first invalid block is reported.
    *
    * @param batch the batch to import
    * @return a future reporting the result of the import
@@ -56,51 +59,72 @@ public class BatchImporter {
     checkState(!blocks.isEmpty(), "Batch has no blocks to import");
     return asyncRunner.runAsync(
         () -> {
-          SafeFuture<BlockImportResult> importResult =
-              importBlock(blocks.get(0), source.orElseThrow());
-          for (int i = 1; i < blocks.size(); i++) {
-            final SignedBeaconBlock block = blocks.get(i);
-            importResult =
-                importResult.thenCompose(
-                    previousResult -> {
-                      if (previousResult.isSuccessful()) {
-                        return importBlock(block, source.orElseThrow());
-                      } else {
-                        return SafeFuture.completedFuture(previousResult);
-                      }
-                    });
-          }
+          final SafeFuture<BlockImportResult> importResult =
+              importBlocks(blocks, source.orElseThrow());
           return importResult.thenApply(
-              lastBlockImportResult -> {
-                if (lastBlockImportResult.isSuccessful()) {
+              blocksImportResult -> {
+                if (blocksImportResult.isSuccessful()) {
                   return BatchImportResult.IMPORTED_ALL_BLOCKS;
                 }
                 LOG.debug(
                     "Failed to import batch {}: {}",
                     batch,
-                    lastBlockImportResult.getFailureReason(),
-                    lastBlockImportResult.getFailureCause().orElse(null));
+                    blocksImportResult.getFailureReason(),
+                    blocksImportResult.getFailureCause().orElse(null));
                 return BatchImportResult.IMPORT_FAILED;
               });
         });
   }
 
-  private SafeFuture<BlockImportResult> importBlock(
-      final SignedBeaconBlock block, final SyncSource source) {
+  private SafeFuture<BlockImportResult> importBlocks(
+      final List<SignedBeaconBlock> blocks, final SyncSource source) {
     return blockImporter
-        .importBlock(block)
-        .thenApply(
+        .importBlocks(blocks)
+        .thenCompose(
             result -> {
               if (result.getFailureReason()
-                  == BlockImportResult.FailureReason.FAILED_WEAK_SUBJECTIVITY_CHECKS) {
-                LOG.warn(
-                    "Disconnecting source ({}) for sending block that failed weak subjectivity checks: {}",
-                    source,
-                    result);
-                source.disconnectCleanly(DisconnectReason.REMOTE_FAULT).reportExceptions();
+                  != BlockImportResult.FailureReason.FAILED_STATE_TRANSITION) {
+                return SafeFuture.completedFuture(result);
               }
-              return result;
-            });
+              // The batch transaction was discarded. Import each block with its own signature
+              // verification to commit the valid prefix and find the block which is invalid.
+              LOG.debug(
+                  "Batch import failed, importing blocks individually: {}",
+                  result.getFailureCause().map(Throwable::getMessage).orElse("unknown cause"));
+              return importBlocksIndividually(blocks);
+            })
+        .thenApply(result -> checkWeakSubjectivity(result, source));
+  }
+
+  private SafeFuture<BlockImportResult> importBlocksIndividually(
+      final List<SignedBeaconBlock> blocks) {
+    SafeFuture<BlockImportResult> importResult = blockImporter.importBlock(blocks.get(0));
+    for (int i = 1; i < blocks.size(); i++) {
+      final SignedBeaconBlock block = blocks.get(i);
+      importResult =
+          importResult.thenCompose(
+              previousResult -> {
+                if (previousResult.isSuccessful()) {
+                  return blockImporter.importBlock(block);
+                } else {
+                  return SafeFuture.completedFuture(previousResult);
+                }
+              });
+    }
+    return importResult;
+  }
+
+  private BlockImportResult checkWeakSubjectivity(
+      final BlockImportResult result, final SyncSource source) {
+    if (result.getFailureReason()
+        == BlockImportResult.FailureReason.FAILED_WEAK_SUBJECTIVITY_CHECKS) {
+      LOG.warn(
+          "Disconnecting source ({}) for sending block that failed weak subjectivity checks: {}",
+          source,
+          result);
+      source.disconnectCleanly(DisconnectReason.REMOTE_FAULT).reportExceptions();
+    }
+    return result;
   }
 
   public enum BatchImportResult {
@@ -16,6 +16,7 @@ package tech.pegasys.teku.sync.forward.multipeer;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -53,18 +54,14 @@ class BatchImporterTest {
   }
 
   @Test
-  void shouldImportBlocksInOrder() {
+  void shouldImportAllBlocksTogether() {
     final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
     final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
     final SignedBeaconBlock block3 = dataStructureUtil.randomSignedBeaconBlock(3);
-    final SafeFuture<BlockImportResult> importResult1 = new SafeFuture<>();
-    final SafeFuture<BlockImportResult> importResult2 = new SafeFuture<>();
-    final SafeFuture<BlockImportResult> importResult3 = new SafeFuture<>();
+    final SafeFuture<BlockImportResult> importResult = new SafeFuture<>();
     final List<SignedBeaconBlock> blocks = new ArrayList<>(List.of(block1, block2, block3));
     when(batch.getBlocks()).thenReturn(blocks);
-    when(blockImporter.importBlock(block1)).thenReturn(importResult1);
-    when(blockImporter.importBlock(block2)).thenReturn(importResult2);
-    when(blockImporter.importBlock(block3)).thenReturn(importResult3);
+    when(blockImporter.importBlocks(List.of(block1, block2, block3))).thenReturn(importResult);
 
     final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
 
@@ -78,11 +75,11 @@ class BatchImporterTest {
 
     asyncRunner.executeQueuedActions();
 
-    blockImportedSuccessfully(block1, importResult1);
-    assertThat(result).isNotDone();
-    blockImportedSuccessfully(block2, importResult2);
+    ignoreFuture(verify(blockImporter).importBlocks(List.of(block1, block2, block3)));
+    verifyNoMoreInteractions(blockImporter);
     assertThat(result).isNotDone();
-    blockImportedSuccessfully(block3, importResult3);
+
+    importResult.complete(BlockImportResult.successful(block3));
     assertThat(result).isCompletedWithValue(BatchImportResult.IMPORTED_ALL_BLOCKS);
 
     // And check we didn't touch the batch from a different thread
@@ -90,35 +87,73 @@ class BatchImporterTest {
   }
 
   @Test
-  void shouldStopImportingAfterFailure() {
+  void shouldFailWhenBlocksCanNotBeImported() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    when(batch.getBlocks()).thenReturn(List.of(block1, block2));
+    when(blockImporter.importBlocks(List.of(block1, block2)))
+        .thenReturn(SafeFuture.completedFuture(BlockImportResult.FAILED_UNKNOWN_PARENT));
+
+    final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
+
+    asyncRunner.executeQueuedActions();
+
+    assertThat(result).isCompletedWithValue(BatchImportResult.IMPORT_FAILED);
+    ignoreFuture(verify(blockImporter).importBlocks(List.of(block1, block2)));
+    verifyNoMoreInteractions(blockImporter);
+    verify(syncSource, never()).disconnectCleanly(any());
+  }
+
+  @Test
+  void shouldImportValidPrefixIndividuallyWhenBatchSignatureVerificationFails() {
     final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
     final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
     final SignedBeaconBlock block3 = dataStructureUtil.randomSignedBeaconBlock(3);
-    final SafeFuture<BlockImportResult> importResult1 = new SafeFuture<>();
-    final SafeFuture<BlockImportResult> importResult2 = new SafeFuture<>();
-    final SafeFuture<BlockImportResult> importResult3 = new SafeFuture<>();
+    final BlockImportResult badSignatureResult =
+        BlockImportResult.failedStateTransition(new Exception("Invalid block signature"));
     when(batch.getBlocks()).thenReturn(List.of(block1, block2, block3));
-    when(blockImporter.importBlock(block1)).thenReturn(importResult1);
-    when(blockImporter.importBlock(block2)).thenReturn(importResult2);
-    when(blockImporter.importBlock(block3)).thenReturn(importResult3);
+    when(blockImporter.importBlocks(List.of(block1, block2, block3)))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                BlockImportResult.failedStateTransition(
+                    new Exception("Batch signature verification failed"))));
+    when(blockImporter.importBlock(block1))
+        .thenReturn(SafeFuture.completedFuture(BlockImportResult.successful(block1)));
+    when(blockImporter.importBlock(block2))
+        .thenReturn(SafeFuture.completedFuture(badSignatureResult));
 
     final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
 
-    // Should not be started on the calling thread
-    verifyNoInteractions(blockImporter);
-
     asyncRunner.executeQueuedActions();
 
-    blockImportedSuccessfully(block1, importResult1);
-    assertThat(result).isNotDone();
-
+    assertThat(result).isCompletedWithValue(BatchImportResult.IMPORT_FAILED);
+    ignoreFuture(verify(blockImporter).importBlocks(List.of(block1, block2, block3)));
+    ignoreFuture(verify(blockImporter).importBlock(block1));
     ignoreFuture(verify(blockImporter).importBlock(block2));
-    verifyNoMoreInteractions(blockImporter);
+    ignoreFuture(verify(blockImporter, never()).importBlock(block3));
+    verify(syncSource, never()).disconnectCleanly(any());
+  }
 
-    importResult2.complete(
-        BlockImportResult.failedStateTransition(new Exception("Naughty block!")));
-    assertThat(result).isCompletedWithValue(BatchImportResult.IMPORT_FAILED);
-    verifyNoMoreInteractions(blockImporter);
+  @Test
+  void shouldSucceedWhenAllBlocksImportIndividuallyAfterBatchFailure() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    when(batch.getBlocks()).thenReturn(List.of(block1, block2));
+    when(blockImporter.importBlocks(List.of(block1, block2)))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                BlockImportResult.failedStateTransition(
+                    new Exception("Batch signature verification failed"))));
+    when(blockImporter.importBlock(block1))
+        .thenReturn(SafeFuture.completedFuture(BlockImportResult.successful(block1)));
+    when(blockImporter.importBlock(block2))
+        .thenReturn(SafeFuture.completedFuture(BlockImportResult.successful(block2)));
+
+    final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
+
+    asyncRunner.executeQueuedActions();
+
+    assertThat(result).isCompletedWithValue(BatchImportResult.IMPORTED_ALL_BLOCKS);
   }
 
   @Test
@@ -127,11 +162,9 @@ class BatchImporterTest {
 
     final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
     final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
-    final SafeFuture<BlockImportResult> importResult1 = new SafeFuture<>();
-    final SafeFuture<BlockImportResult> importResult2 = new SafeFuture<>();
+    final SafeFuture<BlockImportResult> importResult = new SafeFuture<>();
     when(batch.getBlocks()).thenReturn(List.of(block1, block2));
-    when(blockImporter.importBlock(block1)).thenReturn(importResult1);
-    when(blockImporter.importBlock(block2)).thenReturn(importResult2);
+    when(blockImporter.importBlocks(List.of(block1, block2))).thenReturn(importResult);
 
     final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
 
@@ -139,27 +172,12 @@ class BatchImporterTest {
     verifyNoInteractions(blockImporter);
 
     asyncRunner.executeQueuedActions();
-
-    blockImportedSuccessfully(block1, importResult1);
     assertThat(result).isNotDone();
 
-    ignoreFuture(verify(blockImporter).importBlock(block2));
-    verifyNoMoreInteractions(blockImporter);
-
     // Import bad block
-    importResult2.complete(BlockImportResult.FAILED_WEAK_SUBJECTIVITY_CHECKS);
+    importResult.complete(BlockImportResult.FAILED_WEAK_SUBJECTIVITY_CHECKS);
     assertThat(result).isCompletedWithValue(BatchImportResult.IMPORT_FAILED);
     verify(batch).getSource();
     verify(syncSource).disconnectCleanly(DisconnectReason.REMOTE_FAULT);
-
-    verifyNoMoreInteractions(blockImporter);
-  }
-
-  private void blockImportedSuccessfully(
-      final SignedBeaconBlock block, final SafeFuture<BlockImportResult> importResult1) {
-    ignoreFuture(verify(blockImporter).importBlock(block));
-    verifyNoMoreInteractions(blockImporter);
-
-    importResult1.complete(BlockImportResult.successful(block));
   }
 }
@@ -35,6 +35,17 @@ public class DataStorageOptions {
       arity = "1")
   private long dataStorageFrequency = VersionedDatabaseFactory.DEFAULT_STORAGE_FREQUENCY;
 
+  @CommandLine.Option(
+      names = {"--Xdata-storage-archive-snapshot-frequency"},
+      paramLabel = "<FREQUENCY>",
+      description =
+          "Sets the frequency, in slots, at which to store full finalized states in archive mode. "
+              + "States in between are stored as differences from the previous full state. "
+              + "Must be a multiple of the archive frequency.",
+      arity = "1",
+      hidden = true)
+  private Long dataStorageSnapshotFrequency;
+
   @CommandLine.Option(
       names = {"--Xdata-storage-create-db-version"},
       paramLabel = "<VERSION>",
@@ -43,16 +54,32 @@ public class DataStorageOptions {
       hidden = true)
   private String createDbVersion = DatabaseVersion.DEFAULT_VERSION.getValue();
 
+  @CommandLine.Option(
+      names = {"--Xdata-storage-hot-state-tree-nodes-enabled"},
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Store hot states as deduplicated tree nodes rather than one serialized copy per state. "
+              + "States stored in either format can always be read back.",
+      arity = "0..1",
+      fallbackValue = "true",
+      hidden = true)
+  private boolean storeHotStateTreeNodes = false;
+
   public StateStorageMode getDataStorageMode() {
     return dataStorageMode;
   }
 
   public void configure(final TekuConfiguration.Builder builder) {
     builder.storageConfiguration(
-        b ->
-            b.dataStorageMode(dataStorageMode)
-                .dataStorageFrequency(dataStorageFrequency)
-                .dataStorageCreateDbVersion(parseDatabaseVersion()));
+        b -> {
+          b.dataStorageMode(dataStorageMode)
+              .dataStorageFrequency(dataStorageFrequency)
+              .dataStorageCreateDbVersion(parseDatabaseVersion())
+              .storeHotStateTreeNodes(storeHotStateTreeNodes);
+          if (dataStorageSnapshotFrequency != null) {
+            b.dataStorageSnapshotFrequency(dataStorageSnapshotFrequency);
+          }
+        });
   }
 
   private DatabaseVersion parseDatabaseVersion() {
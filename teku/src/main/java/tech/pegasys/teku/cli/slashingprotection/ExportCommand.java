@@ -75,7 +75,7 @@ public class ExportCommand implements Runnable {
           1,
           "Unable to locate the path containing slashing protection data. Expected "
               + slashProtectionPath.toString()
-              + " to be a directory containing slashing protection yml files.");
+              + " to be a directory containing slashing protection records.");
     }
   }
 
@@ -14,6 +14,7 @@
 package tech.pegasys.teku.cli.subcommand.debug;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -243,8 +244,9 @@ public class DebugDbCommand implements Runnable {
       System.err.println("No state available.");
       return 2;
     }
-    try {
-      Files.write(outputFile, state.get().sszSerialize().toArrayUnsafe());
+    try (final OutputStream out = Files.newOutputStream(outputFile)) {
+      // Stream the serialized state to the file rather than serializing it in memory first
+      state.get().sszSerialize(out);
     } catch (IOException e) {
       System.err.println("Unable to write state to " + outputFile + ": " + e.getMessage());
       return 1;
@@ -73,6 +73,48 @@ public class DataOptionsTest extends AbstractBeaconNodeCommandTest {
     assertThat(config.getDataStorageFrequency()).isEqualTo(1024000L);
   }
 
+  @Test
+  public void dataStorageSnapshotFrequency_shouldDefault() {
+    final StorageConfiguration config = getTekuConfigurationFromArguments().storageConfiguration();
+    assertThat(config.getDataStorageSnapshotFrequency()).isEqualTo(32768L);
+  }
+
+  @Test
+  public void dataStorageSnapshotFrequency_shouldDefaultToMultipleOfStorageFrequency() {
+    final StorageConfiguration config =
+        getTekuConfigurationFromArguments("--data-storage-archive-frequency", "1024000")
+            .storageConfiguration();
+    assertThat(config.getDataStorageSnapshotFrequency()).isEqualTo(1024000L);
+  }
+
+  @Test
+  public void dataStorageSnapshotFrequency_shouldAcceptNonDefaultValues() {
+    final StorageConfiguration config =
+        getTekuConfigurationFromArguments("--Xdata-storage-archive-snapshot-frequency", "4096")
+            .storageConfiguration();
+    assertThat(config.getDataStorageSnapshotFrequency()).isEqualTo(4096L);
+  }
+
+  @Test
+  public void dataStorageSnapshotFrequency_shouldRejectZero() {
+    beaconNodeCommand.parse(new String[] {"--Xdata-storage-archive-snapshot-frequency", "0"});
+    final String output = getCommandLineOutput();
+    assertThat(output).contains("Invalid archive snapshot frequency 0");
+    assertThat(output).contains("positive");
+  }
+
+  @Test
+  public void dataStorageSnapshotFrequency_shouldRejectValuesNotMultipleOfStorageFrequency() {
+    final String[] args = {
+      "--data-storage-archive-frequency", "2048",
+      "--Xdata-storage-archive-snapshot-frequency", "3000"
+    };
+    beaconNodeCommand.parse(args);
+    final String output = getCommandLineOutput();
+    assertThat(output).contains("Invalid archive snapshot frequency 3000");
+    assertThat(output).contains("multiple of the archive storage frequency (2048)");
+  }
+
   @Test
   public void dataStorageCreateDbVersion_shouldDefault() {
     final StorageConfiguration config = getTekuConfigurationFromArguments().storageConfiguration();
@@ -86,4 +128,18 @@ public class DataOptionsTest extends AbstractBeaconNodeCommandTest {
             .storageConfiguration();
     assertThat(config.getDataStorageCreateDbVersion()).isEqualTo(DatabaseVersion.NOOP);
   }
+
+  @Test
+  public void storeHotStateTreeNodes_shouldDefaultToFalse() {
+    final StorageConfiguration config = getTekuConfigurationFromArguments().storageConfiguration();
+    assertThat(config.isStoreHotStateTreeNodes()).isFalse();
+  }
+
+  @Test
+  public void storeHotStateTreeNodes_shouldBeEnabledWhenSpecified() {
+    final StorageConfiguration config =
+        getTekuConfigurationFromArguments("--Xdata-storage-hot-state-tree-nodes-enabled")
+            .storageConfiguration();
+    assertThat(config.isStoreHotStateTreeNodes()).isTrue();
+  }
 }
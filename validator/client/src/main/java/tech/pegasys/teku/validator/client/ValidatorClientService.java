@@ -13,14 +13,18 @@
 
 package tech.pegasys.teku.validator.client;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.signatures.LocalSlashingProtector;
 import tech.pegasys.teku.core.signatures.SlashingProtector;
+import tech.pegasys.teku.data.signingrecord.SigningRecordLog;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.events.EventChannels;
-import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
 import tech.pegasys.teku.infrastructure.io.SystemSignalListener;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.service.serviceutils.Service;
@@ -41,7 +45,9 @@ import tech.pegasys.teku.validator.eventadapter.InProcessBeaconNodeApi;
 import tech.pegasys.teku.validator.remote.RemoteBeaconNodeApi;
 
 public class ValidatorClientService extends Service {
+  private static final Logger LOG = LogManager.getLogger();
   private final EventChannels eventChannels;
+  private final SigningRecordLog signingRecordLog;
   private final ValidatorLoader validatorLoader;
   private final BeaconNodeApi beaconNodeApi;
   private final ForkProvider forkProvider;
@@ -56,11 +62,13 @@ public class ValidatorClientService extends Service {
 
   private ValidatorClientService(
       final EventChannels eventChannels,
+      final SigningRecordLog signingRecordLog,
       final ValidatorLoader validatorLoader,
       final BeaconNodeApi beaconNodeApi,
       final ForkProvider forkProvider,
       final Spec spec) {
     this.eventChannels = eventChannels;
+    this.signingRecordLog = signingRecordLog;
     this.validatorLoader = validatorLoader;
     this.beaconNodeApi = beaconNodeApi;
     this.forkProvider = forkProvider;
@@ -90,11 +98,18 @@ public class ValidatorClientService extends Service {
     final ForkProvider forkProvider =
         new ForkProvider(asyncRunner, validatorApiChannel, genesisDataProvider);
 
-    final ValidatorLoader validatorLoader = createValidatorLoader(config, asyncRunner, services);
+    final SigningRecordLog signingRecordLog = openSigningRecordLog(services);
+    final ValidatorLoader validatorLoader =
+        createValidatorLoader(config, signingRecordLog, asyncRunner, services);
 
     ValidatorClientService validatorClientService =
         new ValidatorClientService(
-            eventChannels, validatorLoader, beaconNodeApi, forkProvider, config.getSpec());
+            eventChannels,
+            signingRecordLog,
+            validatorLoader,
+            beaconNodeApi,
+            forkProvider,
+            config.getSpec());
 
     asyncRunner
         .runAsync(
@@ -105,13 +120,23 @@ public class ValidatorClientService extends Service {
     return validatorClientService;
   }
 
+  private static SigningRecordLog openSigningRecordLog(final ServiceConfig services) {
+    final Path slashingProtectionPath = getSlashingProtectionPath(services.getDataDirLayout());
+    try {
+      return SigningRecordLog.open(slashingProtectionPath);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          "Failed to load slashing protection records from " + slashingProtectionPath, e);
+    }
+  }
+
   private static ValidatorLoader createValidatorLoader(
       final ValidatorClientConfiguration config,
+      final SigningRecordLog signingRecordLog,
       final AsyncRunner asyncRunner,
       final ServiceConfig services) {
-    final Path slashingProtectionPath = getSlashingProtectionPath(services.getDataDirLayout());
     final SlashingProtector slashingProtector =
-        new LocalSlashingProtector(new SyncDataAccessor(), slashingProtectionPath);
+        new LocalSlashingProtector(signingRecordLog, asyncRunner);
     return ValidatorLoader.create(
         config.getValidatorConfig(),
         config.getInteropConfig(),
@@ -198,6 +223,14 @@ public class ValidatorClientService extends Service {
 
   @Override
   protected SafeFuture<?> doStop() {
-    return beaconNodeApi.unsubscribeFromEvents();
+    return beaconNodeApi.unsubscribeFromEvents().alwaysRun(this::closeSigningRecordLog);
+  }
+
+  private void closeSigningRecordLog() {
+    try {
+      signingRecordLog.close();
+    } catch (final IOException e) {
+      LOG.error("Failed to close slashing protection records", e);
+    }
   }
 }